@@ -63,6 +63,8 @@ public class DataMigrationForResponseRate extends RemoteApiClient {
         List<FeedbackSessionAttributes> feedbackSessionsWithNoRespondents = new ArrayList<FeedbackSessionAttributes>();
 
         for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+            // the lists of a session only hold the respondents stored in the session itself until merged
+            fsDb.mergeRespondents(feedbackSession);
             if (feedbackSession.getRespondingStudentList().size() != 0
                     || feedbackSession.getRespondingInstructorList().size() != 0) {
                 continue;
@@ -74,7 +76,8 @@ public class DataMigrationForResponseRate extends RemoteApiClient {
         return feedbackSessionsWithNoRespondents;
     }
 
-    /* Operation for a specific session */
+    /* Operation for a specific session. Respondents recorded already, e.g. by submissions made to an open
+     * session while this runs, are kept. */
     private void updateRespondentsForSession(String feedbackSessionName, String courseId) {
         if (isPreview) {
             System.out.println("Modifying : [" + courseId + ": " + feedbackSessionName + "]");
@@ -82,7 +85,7 @@ public class DataMigrationForResponseRate extends RemoteApiClient {
         }
 
         try {
-            logic.updateRespondents(feedbackSessionName, courseId);
+            logic.addRespondents(feedbackSessionName, courseId);
             System.out.println("Successfully updated response rate for session " + feedbackSessionName
                                + " in course " + courseId);
         } catch (InvalidParametersException | EntityDoesNotExistException e) {
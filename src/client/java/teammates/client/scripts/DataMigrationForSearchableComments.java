@@ -1,6 +1,7 @@
 package teammates.client.scripts;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.jdo.Query;
@@ -18,6 +19,8 @@ public class DataMigrationForSearchableComments extends RemoteApiClient {
 
     private Logic logic = new Logic();
 
+    private int frCommentsPut;
+
     public static void main(String[] args) throws IOException {
         DataMigrationForSearchableComments migrator = new DataMigrationForSearchableComments();
         migrator.doOperationRemotely();
@@ -26,10 +29,14 @@ public class DataMigrationForSearchableComments extends RemoteApiClient {
     @Override
     @SuppressWarnings("deprecation")
     protected void doOperation() {
+        long startTime = System.currentTimeMillis();
         List<InstructorAttributes> allInstructors = InstructorsLogic.inst().getAllInstructors();
         for (InstructorAttributes instructor : allInstructors) {
             updateCommentsForInstructor(instructor);
         }
+        long timeTaken = Math.max(System.currentTimeMillis() - startTime, 1);
+        System.out.println("Put " + frCommentsPut + " feedback response comments in " + timeTaken + " ms ("
+                           + frCommentsPut * 1000L / timeTaken + " documents/second)");
     }
 
     private void updateCommentsForInstructor(InstructorAttributes instructor) {
@@ -38,9 +45,11 @@ public class DataMigrationForSearchableComments extends RemoteApiClient {
             putCommentToSearchableDocument(new CommentAttributes(c));
         }
         List<FeedbackResponseComment> frComments = getFrCommentEntitiesForInstructor(instructor);
+        List<FeedbackResponseCommentAttributes> frCommentsToPut = new ArrayList<FeedbackResponseCommentAttributes>();
         for (FeedbackResponseComment c : frComments) {
-            putFrCommentToSearchableDocument(new FeedbackResponseCommentAttributes(c));
+            frCommentsToPut.add(new FeedbackResponseCommentAttributes(c));
         }
+        putFrCommentsToSearchableDocuments(frCommentsToPut);
         PM.close();
     }
 
@@ -72,8 +81,10 @@ public class DataMigrationForSearchableComments extends RemoteApiClient {
         logic.putDocument(comment);
     }
 
-    private void putFrCommentToSearchableDocument(FeedbackResponseCommentAttributes comment) {
-        logic.putDocument(comment);
+    private void putFrCommentsToSearchableDocuments(List<FeedbackResponseCommentAttributes> comments) {
+        // the documents of the comments are built from the data of the course read once for all the comments
+        logic.putFeedbackResponseCommentDocuments(comments);
+        frCommentsPut += comments.size();
     }
 
 }
@@ -1,13 +1,12 @@
 package teammates.client.scripts;
 
 import java.io.BufferedWriter;
-import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 
 import teammates.client.remoteapi.RemoteApiClient;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.exception.ExceedingRangeException;
 import teammates.logic.api.Logic;
 
 /**
@@ -24,35 +23,14 @@ public class GenerateFeedbackReport extends RemoteApiClient {
     protected void doOperation() {
         Logic logic = new Logic();
 
-        try {
-            String fileContent =
-                    logic.getFeedbackSessionResultSummaryAsCsv(
-                            "CourseID", "Session Name", "instructor@email.com", null, true, true, null);
-            writeToFile("result.csv", fileContent);
-        } catch (EntityDoesNotExistException | ExceedingRangeException e) {
+        // the report is written to the file question by question instead of being built in memory
+        try (Writer writer = new BufferedWriter(new FileWriter("result.csv"))) {
+            logic.writeFeedbackSessionResultSummaryAsCsv(
+                    "CourseID", "Session Name", "instructor@email.com", null, null, null, true, true, writer);
+        } catch (EntityDoesNotExistException | IOException e) {
             e.printStackTrace();
         }
 
     }
 
-    private void writeToFile(String fileName, String fileContent) {
-        try {
-
-            File file = new File(fileName);
-
-            // if file doesnt exists, then create it
-            if (!file.exists()) {
-                file.createNewFile();
-            }
-
-            FileWriter fw = new FileWriter(file.getAbsoluteFile());
-            BufferedWriter bw = new BufferedWriter(fw);
-            bw.write(fileContent);
-            bw.close();
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
 }
@@ -0,0 +1,107 @@
+package teammates.client.scripts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Query;
+
+import teammates.client.scripts.util.Stopwatch;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.storage.search.LocalSearchBackend;
+import teammates.storage.search.StudentSearchDocument;
+import teammates.storage.search.StudentSearchQuery;
+
+/**
+ * Measures the time taken to index and search student documents with the {@link LocalSearchBackend},
+ * without the dev server or the GAE Search API.
+ *
+ * <p>Usage: run as a Java application. The numbers are printed to the console.
+ */
+public final class LocalSearchBackendBenchmark {
+
+    private static final int NUM_OF_STUDENTS = 100000;
+    private static final int NUM_OF_STUDENTS_PER_COURSE = 100;
+    private static final int NUM_OF_STUDENTS_PER_TEAM = 5;
+    private static final int NUM_OF_SEARCHES = 1000;
+
+    /**
+     * The number of documents put in one call, which is the most the Search API allows.
+     */
+    private static final int NUM_OF_DOCUMENTS_PER_PUT = 200;
+
+    private final LocalSearchBackend backend = new LocalSearchBackend();
+
+    private LocalSearchBackendBenchmark() {
+        // script, not meant to be instantiated from outside
+    }
+
+    public static void main(String[] args) {
+        new LocalSearchBackendBenchmark().run();
+    }
+
+    private void run() {
+        List<Document> documents = new ArrayList<Document>();
+        for (int i = 0; i < NUM_OF_STUDENTS; i++) {
+            documents.add(new StudentSearchDocument(createStudent(i)).toDocument());
+        }
+
+        Stopwatch stopwatch = new Stopwatch();
+        stopwatch.start();
+        for (int i = 0; i < documents.size(); i += NUM_OF_DOCUMENTS_PER_PUT) {
+            backend.putDocuments(Const.SearchIndex.STUDENT,
+                                 documents.subList(i, Math.min(i + NUM_OF_DOCUMENTS_PER_PUT, documents.size())));
+        }
+        double putTime = stopwatch.getTimeElapsedInSeconds();
+        System.out.println(String.format("Put %d documents in %.2f s (%.0f documents/second)",
+                                         documents.size(), putTime, documents.size() / putTime));
+
+        List<Query> queriesByName = new ArrayList<Query>();
+        List<Query> queriesByEmail = new ArrayList<Query>();
+        List<Query> queriesByTeam = new ArrayList<Query>();
+        for (int i = 0; i < NUM_OF_SEARCHES; i++) {
+            // a student of a different course, team and position in the course for each search
+            StudentAttributes student = createStudent(i * (NUM_OF_STUDENTS / NUM_OF_SEARCHES)
+                                                      + i % NUM_OF_STUDENTS_PER_COURSE);
+            InstructorAttributes instructor =
+                    new InstructorAttributes("instructor", student.course, "Instructor", "instructor@example.com");
+            queriesByName.add(new StudentSearchQuery(Arrays.asList(instructor), student.name).toQuery());
+            queriesByEmail.add(new StudentSearchQuery(Arrays.asList(instructor), student.email).toQuery());
+            // searched by the admin in all courses
+            queriesByTeam.add(new StudentSearchQuery("\"" + student.team + "\"").toQuery());
+        }
+
+        runSearches("by name in a course", queriesByName);
+        runSearches("by email in a course", queriesByEmail);
+        runSearches("by team in all courses", queriesByTeam);
+
+        LocalSearchBackend.clear();
+    }
+
+    private void runSearches(String description, List<Query> queries) {
+        long numberFound = 0;
+        Stopwatch stopwatch = new Stopwatch();
+        stopwatch.start();
+        for (Query query : queries) {
+            numberFound += backend.searchDocuments(Const.SearchIndex.STUDENT, query).getNumberFound();
+        }
+        double searchTime = stopwatch.getTimeElapsedInSeconds();
+        System.out.println(String.format("Searched %d times %s in %.2f s (%.3f ms per search, %.1f documents found)",
+                                         queries.size(), description, searchTime, searchTime * 1000 / queries.size(),
+                                         (double) numberFound / queries.size()));
+    }
+
+    private static StudentAttributes createStudent(int index) {
+        int courseIndex = index / NUM_OF_STUDENTS_PER_COURSE;
+        int teamIndex = index % NUM_OF_STUDENTS_PER_COURSE / NUM_OF_STUDENTS_PER_TEAM;
+        StudentAttributes student = new StudentAttributes("Section " + (teamIndex / 10), "Team " + teamIndex,
+                                                          "Student " + index + " Name", "student" + index + "@example.com",
+                                                          "", "benchmark.course" + courseIndex);
+        student.key = "key" + index;
+        return student;
+    }
+
+}
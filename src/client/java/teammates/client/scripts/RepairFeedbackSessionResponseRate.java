@@ -113,6 +113,7 @@ public class RepairFeedbackSessionResponseRate extends RemoteApiClient {
     private Set<String> getNonRespondentsForFeedbackSession(FeedbackSessionAttributes feedbackSession) {
 
         // obtain the respondents first
+        fsDb.mergeRespondents(feedbackSession);
         Set<String> respondingStudentsEmail = feedbackSession.getRespondingStudentList();
         Set<String> respondingInstructorsEmail = feedbackSession.getRespondingInstructorList();
 
@@ -1,23 +1,34 @@
 package teammates.common.datatransfer;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
 
 /**
  * Contains a list of students and instructors in a course. Useful for caching
  * a copy of student and instructor details of a course instead of reading
  * them from the database multiple times.
  */
-public class CourseRoster {
+public class CourseRoster implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     Map<String, StudentAttributes> studentListByEmail = new HashMap<String, StudentAttributes>();
     Map<String, InstructorAttributes> instructorListByEmail = new HashMap<String, InstructorAttributes>();
 
+    /**
+     * Students by the name of their team, sorted by team name.
+     * Built when first needed rather than cached with the roster, as it can be derived from the students.
+     */
+    private transient Map<String, List<StudentAttributes>> studentListByTeam;
+
     public CourseRoster(List<StudentAttributes> students, List<InstructorAttributes> instructors) {
         populateStudentListByEmail(students);
         populateInstructorListByEmail(instructors);
@@ -64,6 +75,46 @@ public class CourseRoster {
         return instructorListByEmail.get(email);
     }
 
+    /**
+     * Returns the names of the teams that have students in the course, sorted by name.
+     */
+    public List<String> getTeams() {
+        return new ArrayList<String>(getStudentListByTeam().keySet());
+    }
+
+    /**
+     * Returns the students in the team, or an empty list if there is no such team in the course.
+     */
+    public List<StudentAttributes> getStudentsInTeam(String teamName) {
+        List<StudentAttributes> students = getStudentListByTeam().get(teamName);
+        return students == null ? new ArrayList<StudentAttributes>() : new ArrayList<StudentAttributes>(students);
+    }
+
+    /**
+     * Returns the section of the team, or {@link Const#DEFAULT_SECTION} if there is no such team in the course.
+     */
+    public String getSectionForTeam(String teamName) {
+        List<StudentAttributes> students = getStudentListByTeam().get(teamName);
+        return students == null ? Const.DEFAULT_SECTION : students.get(0).section;
+    }
+
+    private Map<String, List<StudentAttributes>> getStudentListByTeam() {
+        if (studentListByTeam != null) {
+            return studentListByTeam;
+        }
+
+        studentListByTeam = new TreeMap<String, List<StudentAttributes>>();
+        for (StudentAttributes student : studentListByEmail.values()) {
+            List<StudentAttributes> studentsInTeam = studentListByTeam.get(student.team);
+            if (studentsInTeam == null) {
+                studentsInTeam = new ArrayList<StudentAttributes>();
+                studentListByTeam.put(student.team, studentsInTeam);
+            }
+            studentsInTeam.add(student);
+        }
+        return studentListByTeam;
+    }
+
     private void populateStudentListByEmail(List<StudentAttributes> students) {
 
         if (students == null) {
@@ -17,6 +17,7 @@ import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttribute
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.datatransfer.questions.FeedbackResponseStatistics;
 import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.common.util.SanitizationHelper;
@@ -59,6 +60,16 @@ public class FeedbackSessionResultsBundle {
     // Key is questionId, value is a map of team name to TeamEvalResult
     public Map<String, Map<String, TeamEvalResult>> contributionQuestionTeamEvalResults =
             new HashMap<String, Map<String, TeamEvalResult>>();
+    // Key is questionId, value is a map of team name to TeamEvalResult of every team computed so far,
+    // which is shared by the statistics and the response rows of the question
+    public Map<String, Map<String, TeamEvalResult>> contributionQuestionComputedTeamEvalResults =
+            new HashMap<String, Map<String, TeamEvalResult>>();
+
+    // For numerical scale and constant sum questions.
+    // Key is questionId, value is the statistics of the responses last summarised for the question,
+    // which are shared by the HTML and CSV summaries computed from the same responses
+    public Map<String, FeedbackResponseStatistics> questionStatistics =
+            new HashMap<String, FeedbackResponseStatistics>();
 
     /*
      * sectionTeamNameTable takes into account the section viewing privileges of the logged-in instructor
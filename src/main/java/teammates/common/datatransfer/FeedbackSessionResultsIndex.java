@@ -0,0 +1,154 @@
+package teammates.common.datatransfer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
+
+/**
+ * Contains all the responses and response comments of a feedback session, grouped by question.
+ * Useful for caching a copy of the results of a session instead of querying the database
+ * for the responses of every section or question being viewed.
+ *
+ * <p>The index holds the raw results only; what a particular user is allowed to see is
+ * still decided when the results are viewed.
+ */
+public class FeedbackSessionResultsIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String feedbackSessionName;
+    private String courseId;
+    private boolean isComplete;
+    private Map<String, List<FeedbackResponseAttributes>> responsesByQuestion =
+            new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
+    private List<FeedbackResponseCommentAttributes> responseComments =
+            new ArrayList<FeedbackResponseCommentAttributes>();
+
+    public FeedbackSessionResultsIndex(String feedbackSessionName, String courseId,
+            List<FeedbackResponseAttributes> responses, List<FeedbackResponseCommentAttributes> responseComments) {
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.isComplete = true;
+        for (FeedbackResponseAttributes response : responses) {
+            List<FeedbackResponseAttributes> responsesForQuestion = responsesByQuestion.get(response.feedbackQuestionId);
+            if (responsesForQuestion == null) {
+                responsesForQuestion = new ArrayList<FeedbackResponseAttributes>();
+                responsesByQuestion.put(response.feedbackQuestionId, responsesForQuestion);
+            }
+            responsesForQuestion.add(response);
+        }
+        this.responseComments.addAll(responseComments);
+    }
+
+    /**
+     * Creates an index without any results, for a session that has too many responses to be indexed.
+     */
+    public FeedbackSessionResultsIndex(String feedbackSessionName, String courseId) {
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.isComplete = false;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Returns false if the session has too many responses to be indexed, in which case
+     * the index does not contain any results.
+     */
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    public int getNumberOfResponses() {
+        int numberOfResponses = 0;
+        for (List<FeedbackResponseAttributes> responsesForQuestion : responsesByQuestion.values()) {
+            numberOfResponses += responsesForQuestion.size();
+        }
+        return numberOfResponses;
+    }
+
+    /**
+     * Returns the responses to the question, or an empty list if there are none.
+     */
+    public List<FeedbackResponseAttributes> getResponsesForQuestion(String feedbackQuestionId) {
+        List<FeedbackResponseAttributes> responsesForQuestion = responsesByQuestion.get(feedbackQuestionId);
+        return responsesForQuestion == null
+               ? new ArrayList<FeedbackResponseAttributes>()
+               : new ArrayList<FeedbackResponseAttributes>(responsesForQuestion);
+    }
+
+    /**
+     * Returns the responses whose giver or recipient is in {@code section}.
+     * @param section the section to filter by, or null to get all responses in the session
+     */
+    public List<FeedbackResponseAttributes> getResponsesInSection(String section) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (List<FeedbackResponseAttributes> responsesForQuestion : responsesByQuestion.values()) {
+            for (FeedbackResponseAttributes response : responsesForQuestion) {
+                if (section == null || section.equals(response.giverSection)
+                        || section.equals(response.recipientSection)) {
+                    responses.add(response);
+                }
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the responses whose giver is in {@code section}.
+     * @param section the section to filter by, or null to get all responses in the session
+     */
+    public List<FeedbackResponseAttributes> getResponsesFromSection(String section) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (List<FeedbackResponseAttributes> responsesForQuestion : responsesByQuestion.values()) {
+            for (FeedbackResponseAttributes response : responsesForQuestion) {
+                if (section == null || section.equals(response.giverSection)) {
+                    responses.add(response);
+                }
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the responses whose recipient is in {@code section}.
+     * @param section the section to filter by, or null to get all responses in the session
+     */
+    public List<FeedbackResponseAttributes> getResponsesToSection(String section) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (List<FeedbackResponseAttributes> responsesForQuestion : responsesByQuestion.values()) {
+            for (FeedbackResponseAttributes response : responsesForQuestion) {
+                if (section == null || section.equals(response.recipientSection)) {
+                    responses.add(response);
+                }
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the response comments whose giver or receiver section is {@code section}.
+     * @param section the section to filter by, or null to get all response comments in the session
+     */
+    public List<FeedbackResponseCommentAttributes> getResponseCommentsInSection(String section) {
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseCommentAttributes comment : responseComments) {
+            if (section == null || section.equals(comment.giverSection) || section.equals(comment.receiverSection)) {
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+}
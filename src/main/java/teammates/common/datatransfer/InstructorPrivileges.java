@@ -1,6 +1,9 @@
 package teammates.common.datatransfer;
 
+import java.io.Serializable;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -12,7 +15,9 @@ import teammates.common.util.Const;
 /**
  * Representation of instructor privileges. Store the privileges of the instructor
  */
-public final class InstructorPrivileges {
+public final class InstructorPrivileges implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static final Map<String, Boolean> PRIVILEGES_COOWNER = new LinkedHashMap<>();
     private static final Map<String, Boolean> PRIVILEGES_MANAGER = new LinkedHashMap<>();
@@ -113,6 +118,12 @@ public final class InstructorPrivileges {
     private Map<String, Map<String, Boolean>> sectionLevel;
     private Map<String, Map<String, Map<String, Boolean>>> sessionLevel;
 
+    /**
+     * The privileges above compiled into bitmasks, or null if they have not been compiled since they were
+     * last changed. Not serialized, as it is derived from the privileges above.
+     */
+    private transient CompiledPrivileges compiledPrivileges;
+
     public InstructorPrivileges() {
         this.courseLevel = new LinkedHashMap<String, Boolean>();
         this.sectionLevel = new LinkedHashMap<String, Map<String, Boolean>>();
@@ -182,6 +193,7 @@ public final class InstructorPrivileges {
         for (Map.Entry<String, Boolean> entry : defaultPrivileges.entrySet()) {
             courseLevel.put(entry.getKey(), entry.getValue());
         }
+        compiledPrivileges = null;
     }
 
     public Map<String, Boolean> getOverallPrivilegesForSections() {
@@ -246,6 +258,7 @@ public final class InstructorPrivileges {
             return;
         }
         this.courseLevel.put(privilegeName, isAllowed);
+        compiledPrivileges = null;
     }
 
     private void updatePrivilegeInSectionLevel(String sectionName, String privilegeName, boolean isAllowed) {
@@ -256,6 +269,7 @@ public final class InstructorPrivileges {
             sectionLevel.put(sectionName, new LinkedHashMap<String, Boolean>());
         }
         sectionLevel.get(sectionName).put(privilegeName, isAllowed);
+        compiledPrivileges = null;
     }
 
     private void updatePrivilegeInSessionLevel(String sectionName, String sessionName,
@@ -268,6 +282,7 @@ public final class InstructorPrivileges {
             this.sessionLevel.get(sectionName).put(sessionName, new LinkedHashMap<String, Boolean>());
         }
         this.sessionLevel.get(sectionName).get(sessionName).put(privilegeName, isAllowed);
+        compiledPrivileges = null;
     }
 
     public void updatePrivileges(String sectionName, Map<String, Boolean> privileges) {
@@ -285,6 +300,7 @@ public final class InstructorPrivileges {
             }
         }
         sectionLevel.put(sectionName, new LinkedHashMap<String, Boolean>(privileges));
+        compiledPrivileges = null;
     }
 
     private void updatePrivilegesInSessionLevel(String sectionName, String sessionName,
@@ -296,12 +312,14 @@ public final class InstructorPrivileges {
         }
         verifyExistenceOfsectionName(sectionName);
         this.sessionLevel.get(sectionName).put(sessionName, new LinkedHashMap<String, Boolean>(privileges));
+        compiledPrivileges = null;
     }
 
     private void verifyExistenceOfsectionName(String sectionName) {
         if (!this.sessionLevel.containsKey(sectionName)) {
             addSectionWithDefaultPrivileges(sectionName);
             this.sessionLevel.put(sectionName, new LinkedHashMap<String, Map<String, Boolean>>());
+            compiledPrivileges = null;
         }
     }
 
@@ -310,6 +328,7 @@ public final class InstructorPrivileges {
             return;
         }
         this.sectionLevel.put(sectionName, getOverallPrivilegesForSections());
+        compiledPrivileges = null;
     }
 
     public void addSessionWithDefaultPrivileges(String sectionName, String sessionName) {
@@ -318,6 +337,7 @@ public final class InstructorPrivileges {
             return;
         }
         this.sessionLevel.get(sectionName).put(sessionName, getOverallPrivilegesForSessionsInSection(sectionName));
+        compiledPrivileges = null;
     }
 
     /**
@@ -406,6 +426,7 @@ public final class InstructorPrivileges {
             this.sectionLevel.remove(sectionName);
         }
         this.removeSessionsPrivilegesForSection(sectionName);
+        compiledPrivileges = null;
     }
 
     /**
@@ -415,6 +436,7 @@ public final class InstructorPrivileges {
         if (this.sessionLevel.containsKey(sectionName)) {
             this.sessionLevel.remove(sectionName);
         }
+        compiledPrivileges = null;
     }
 
     /**
@@ -424,58 +446,36 @@ public final class InstructorPrivileges {
         if (this.sessionLevel.containsKey(sectionName) && this.sessionLevel.get(sectionName).containsKey(sessionName)) {
             this.sessionLevel.get(sectionName).remove(sessionName);
         }
+        compiledPrivileges = null;
     }
 
     private boolean isAllowedInCourseLevel(String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        if (!this.courseLevel.containsKey(privilegeName)) {
-            return false;
-        }
-
-        return this.courseLevel.get(privilegeName).booleanValue();
+        int privilegeMask = Privilege.getMask(privilegeName);
+        return (getCompiledPrivileges().courseLevel & privilegeMask) != 0;
     }
 
     private boolean isAllowedInSectionLevel(String sectionName, String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        if (!this.sectionLevel.containsKey(sectionName)) {
-            return isAllowedInCourseLevel(privilegeName);
-        }
-        if (!this.sectionLevel.get(sectionName).containsKey(privilegeName)) {
-            return false;
-        }
-        return this.sectionLevel.get(sectionName).get(privilegeName).booleanValue();
+        int privilegeMask = Privilege.getMask(privilegeName);
+        return (getCompiledPrivileges().getSectionLevel(sectionName) & privilegeMask) != 0;
     }
 
     private boolean isAllowedInSessionLevel(String sectionName, String sessionName, String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        if (!this.sessionLevel.containsKey(sectionName)
-                || !this.sessionLevel.get(sectionName).containsKey(sessionName)) {
-            return isAllowedInSectionLevel(sectionName, privilegeName);
-        }
-        if (!this.sessionLevel.get(sectionName).get(sessionName).containsKey(privilegeName)) {
-            return false;
-        }
-        return this.sessionLevel.get(sectionName).get(sessionName).get(privilegeName).booleanValue();
+        int privilegeMask = Privilege.getMask(privilegeName);
+        return (getCompiledPrivileges().getSessionLevel(sectionName, sessionName) & privilegeMask) != 0;
     }
 
     private boolean isAllowedInSessionLevelAnySection(String sessionName, String privilegeName) {
+        int privilegeMask = Privilege.getMask(privilegeName);
+        return (getCompiledPrivileges().getSessionLevelInAnySection(sessionName) & privilegeMask) != 0;
+    }
 
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        Set<String> sections = new LinkedHashSet<String>(this.sessionLevel.keySet());
-        sections.addAll(this.sectionLevel.keySet());
-        for (String sectionName : sections) {
-            if (isAllowedInSessionLevel(sectionName, sessionName, privilegeName)) {
-                return true;
-            }
+    private CompiledPrivileges getCompiledPrivileges() {
+        CompiledPrivileges compiled = compiledPrivileges;
+        if (compiled == null) {
+            compiled = new CompiledPrivileges(courseLevel, sectionLevel, sessionLevel);
+            compiledPrivileges = compiled;
         }
-        return false;
+        return compiled;
     }
 
     /**
@@ -522,6 +522,7 @@ public final class InstructorPrivileges {
                 }
             }
         }
+        compiledPrivileges = null;
     }
 
     public Map<String, Boolean> getCourseLevelPrivileges() {
@@ -552,6 +553,19 @@ public final class InstructorPrivileges {
         return copy;
     }
 
+    /**
+     * Returns a copy of the privileges which can be changed independently of these privileges.
+     * The privileges are compiled once and shared with the copy until either of them is changed.
+     */
+    public InstructorPrivileges getCopy() {
+        InstructorPrivileges copy = new InstructorPrivileges();
+        copy.courseLevel = getCourseLevelPrivileges();
+        copy.sectionLevel = getSectionLevelPrivileges();
+        copy.sessionLevel = getSessionLevelPrivileges();
+        copy.compiledPrivileges = getCompiledPrivileges();
+        return copy;
+    }
+
     @Override
     public boolean equals(Object another) {
         if (!(another instanceof InstructorPrivileges)) {
@@ -579,4 +593,121 @@ public final class InstructorPrivileges {
         return result;
     }
 
+    /**
+     * The privileges which can be granted, each of which is represented by one bit in the compiled privileges.
+     */
+    private enum Privilege {
+        MODIFY_COURSE(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE),
+        MODIFY_INSTRUCTOR(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_INSTRUCTOR),
+        MODIFY_SESSION(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION),
+        MODIFY_STUDENT(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT),
+        VIEW_STUDENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS),
+        VIEW_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_COMMENT_IN_SECTIONS),
+        GIVE_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS),
+        MODIFY_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS),
+        VIEW_SESSION_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS),
+        SUBMIT_SESSION_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS),
+        MODIFY_SESSION_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION_COMMENT_IN_SECTIONS);
+
+        private static final Map<String, Privilege> PRIVILEGES_BY_NAME = new HashMap<String, Privilege>();
+
+        static {
+            for (Privilege privilege : values()) {
+                PRIVILEGES_BY_NAME.put(privilege.privilegeName, privilege);
+            }
+        }
+
+        private final String privilegeName;
+
+        Privilege(String privilegeName) {
+            this.privilegeName = privilegeName;
+        }
+
+        /**
+         * Returns the bitmask of the privilege specified by privilegeName, which must be a valid privilege name.
+         */
+        static int getMask(String privilegeName) {
+            Privilege privilege = PRIVILEGES_BY_NAME.get(privilegeName);
+            Assumption.assertTrue(privilege != null);
+            return 1 << privilege.ordinal();
+        }
+
+        /**
+         * Returns the bitmask of the privileges which are allowed in {@code privileges}.
+         */
+        static int getMask(Map<String, Boolean> privileges) {
+            int mask = 0;
+            for (Map.Entry<String, Boolean> entry : privileges.entrySet()) {
+                Privilege privilege = PRIVILEGES_BY_NAME.get(entry.getKey());
+                if (privilege != null && Boolean.TRUE.equals(entry.getValue())) {
+                    mask |= 1 << privilege.ordinal();
+                }
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * The privileges allowed in course level, section level and session level, compiled into bitmasks of
+     * {@link Privilege}s so that checking a privilege takes at most two map lookups.
+     * Section levels and session levels which are not specified are resolved when compiled.
+     */
+    private static final class CompiledPrivileges {
+
+        private final int courseLevel;
+        private final Map<String, Integer> sectionLevel = new HashMap<String, Integer>();
+        private final Map<String, Map<String, Integer>> sessionLevel = new HashMap<String, Map<String, Integer>>();
+        private final int sessionLevelInAnySection;
+        private final Map<String, Integer> sessionsLevelInAnySection = new HashMap<String, Integer>();
+
+        CompiledPrivileges(Map<String, Boolean> courseLevel, Map<String, Map<String, Boolean>> sectionLevel,
+                           Map<String, Map<String, Map<String, Boolean>>> sessionLevel) {
+            this.courseLevel = Privilege.getMask(courseLevel);
+            for (Map.Entry<String, Map<String, Boolean>> section : sectionLevel.entrySet()) {
+                this.sectionLevel.put(section.getKey(), Privilege.getMask(section.getValue()));
+            }
+
+            Set<String> sessionNames = new HashSet<String>();
+            for (Map.Entry<String, Map<String, Map<String, Boolean>>> section : sessionLevel.entrySet()) {
+                Map<String, Integer> sessions = new HashMap<String, Integer>();
+                for (Map.Entry<String, Map<String, Boolean>> session : section.getValue().entrySet()) {
+                    sessions.put(session.getKey(), Privilege.getMask(session.getValue()));
+                    sessionNames.add(session.getKey());
+                }
+                this.sessionLevel.put(section.getKey(), sessions);
+            }
+
+            Set<String> sectionNames = new HashSet<String>(sessionLevel.keySet());
+            sectionNames.addAll(sectionLevel.keySet());
+            int inAnySection = 0;
+            for (String sectionName : sectionNames) {
+                inAnySection |= getSectionLevel(sectionName);
+            }
+            this.sessionLevelInAnySection = inAnySection;
+            for (String sessionName : sessionNames) {
+                int sessionInAnySection = 0;
+                for (String sectionName : sectionNames) {
+                    sessionInAnySection |= getSessionLevel(sectionName, sessionName);
+                }
+                this.sessionsLevelInAnySection.put(sessionName, sessionInAnySection);
+            }
+        }
+
+        int getSectionLevel(String sectionName) {
+            Integer section = sectionLevel.get(sectionName);
+            return section == null ? courseLevel : section;
+        }
+
+        int getSessionLevel(String sectionName, String sessionName) {
+            Map<String, Integer> sessions = sessionLevel.get(sectionName);
+            Integer session = sessions == null ? null : sessions.get(sessionName);
+            return session == null ? getSectionLevel(sectionName) : session;
+        }
+
+        int getSessionLevelInAnySection(String sessionName) {
+            Integer session = sessionsLevelInAnySection.get(sessionName);
+            return session == null ? sessionLevelInAnySection : session;
+        }
+    }
+
 }
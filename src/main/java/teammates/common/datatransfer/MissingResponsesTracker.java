@@ -0,0 +1,65 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps track of the possible givers and recipients of a question who have no response between them,
+ * while the responses to the question are visited in the order of their givers.
+ *
+ * <p>Participants are kept in hash sets that preserve the order they were given in, so that
+ * every response is accounted for in constant time and the missing responses are still listed
+ * in the order of the possible givers and recipients.
+ */
+public class MissingResponsesTracker {
+
+    private final Set<String> giversWithoutResponses;
+    private Set<String> recipientsWithoutResponsesFromGiver = new LinkedHashSet<String>();
+
+    /**
+     * Starts keeping track of the responses to a question.
+     * @param possibleGivers the possible givers of the question, in the order their missing responses are listed
+     */
+    public MissingResponsesTracker(List<String> possibleGivers) {
+        giversWithoutResponses = new LinkedHashSet<String>(possibleGivers);
+    }
+
+    /**
+     * Starts keeping track of the responses of a new giver, discarding the recipients left from the previous giver.
+     * @param possibleRecipients the possible recipients of the giver, in the order their missing responses are listed
+     */
+    public void startGiver(List<String> possibleRecipients) {
+        recipientsWithoutResponsesFromGiver = new LinkedHashSet<String>(possibleRecipients);
+    }
+
+    public void removeGiver(String giver) {
+        giversWithoutResponses.remove(giver);
+    }
+
+    public void removeRecipient(String recipient) {
+        recipientsWithoutResponsesFromGiver.remove(recipient);
+    }
+
+    /**
+     * Stops keeping track of missing responses, e.g. when the identities of givers or recipients are hidden.
+     * Missing responses are only tracked again for the givers started after this.
+     */
+    public void clear() {
+        giversWithoutResponses.clear();
+        recipientsWithoutResponsesFromGiver.clear();
+    }
+
+    public List<String> getGiversWithoutResponses() {
+        return new ArrayList<String>(giversWithoutResponses);
+    }
+
+    /**
+     * Returns the possible recipients of the current giver who have no response from the giver.
+     */
+    public List<String> getRecipientsWithoutResponsesFromGiver() {
+        return new ArrayList<String>(recipientsWithoutResponsesFromGiver);
+    }
+
+}
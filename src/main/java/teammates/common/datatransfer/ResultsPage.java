@@ -0,0 +1,36 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+
+/**
+ * Represents one page of the results of a query which is read page by page.
+ * <br> Contains:
+ * <br> * The results in the page.
+ * <br> * The cursor which the next page starts at, or null if there are no more results.
+ *
+ * <p>The cursor is an opaque string which is safe to be used in URLs. As a page is cut off at its size, a page
+ * which is exactly full is given a cursor even if there are no more results, in which case the next page is empty.
+ */
+public class ResultsPage<T> {
+
+    private final List<T> results;
+    private final String nextCursor;
+
+    public ResultsPage(List<T> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+}
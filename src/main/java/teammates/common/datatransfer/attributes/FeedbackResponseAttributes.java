@@ -1,5 +1,9 @@
 package teammates.common.datatransfer.attributes;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -16,7 +20,10 @@ import teammates.common.util.FieldValidator;
 import teammates.common.util.JsonUtils;
 import teammates.storage.entity.FeedbackResponse;
 
-public class FeedbackResponseAttributes extends EntityAttributes {
+public class FeedbackResponseAttributes extends EntityAttributes implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     public String feedbackSessionName;
     public String courseId;
     public String feedbackQuestionId;
@@ -45,6 +52,14 @@ public class FeedbackResponseAttributes extends EntityAttributes {
     protected transient Date updatedAt;
     private String feedbackResponseId;
 
+    /**
+     * The response details last parsed from {@link #responseMetaData}, which are only reused
+     * while {@link #responseMetaData} and {@link #feedbackQuestionType} are still the ones they were parsed from.
+     */
+    private transient FeedbackResponseDetails responseDetails;
+    private transient Text responseDetailsMetaData;
+    private transient FeedbackQuestionType responseDetailsQuestionType;
+
     public FeedbackResponseAttributes() {
         // attributes to be set after construction
     }
@@ -188,6 +203,8 @@ public class FeedbackResponseAttributes extends EntityAttributes {
 
     /**
      * Retrieves the Feedback*ResponseDetails object for this response.
+     * The details are parsed only once and the same object is returned by later calls,
+     * so it should not be modified; use {@link #setResponseDetails} to change the response instead.
      * @return The Feedback*ResponseDetails object representing the response's details
      */
     public FeedbackResponseDetails getResponseDetails() {
@@ -196,6 +213,16 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             return null;
         }
 
+        if (responseDetails == null || responseDetailsMetaData != responseMetaData
+                || responseDetailsQuestionType != feedbackQuestionType) {
+            responseDetails = parseResponseDetails();
+            responseDetailsMetaData = responseMetaData;
+            responseDetailsQuestionType = feedbackQuestionType;
+        }
+        return responseDetails;
+    }
+
+    private FeedbackResponseDetails parseResponseDetails() {
         Class<? extends FeedbackResponseDetails> responseDetailsClass = getFeedbackResponseDetailsClass();
 
         if (responseDetailsClass == FeedbackTextResponseDetails.class) {
@@ -223,6 +250,21 @@ public class FeedbackResponseAttributes extends EntityAttributes {
         return responseMetaData == null;
     }
 
+    /**
+     * Writes the timestamps as well, which are only transient to keep them out of the JSON form.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(createdAt);
+        out.writeObject(updatedAt);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        createdAt = (Date) in.readObject();
+        updatedAt = (Date) in.readObject();
+    }
+
     public static void sortFeedbackResponses(List<FeedbackResponseAttributes> frs) {
         Collections.sort(frs, new Comparator<FeedbackResponseAttributes>() {
             @Override
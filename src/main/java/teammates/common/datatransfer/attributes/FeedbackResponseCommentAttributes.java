@@ -1,5 +1,9 @@
 package teammates.common.datatransfer.attributes;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -20,7 +24,9 @@ import teammates.storage.entity.FeedbackResponseComment;
 /**
  * Represents a data transfer object for {@link FeedbackResponseComment} entities.
  */
-public class FeedbackResponseCommentAttributes extends EntityAttributes {
+public class FeedbackResponseCommentAttributes extends EntityAttributes implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public String courseId;
     public String feedbackSessionName;
@@ -210,6 +216,26 @@ public class FeedbackResponseCommentAttributes extends EntityAttributes {
         });
     }
 
+    /**
+     * Writes the sending state as well, which is only transient to keep it out of the JSON form.
+     * The visibility lists are copied as they may be backed by the datastore.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        if (showCommentTo != null) {
+            showCommentTo = new ArrayList<FeedbackParticipantType>(showCommentTo);
+        }
+        if (showGiverNameTo != null) {
+            showGiverNameTo = new ArrayList<FeedbackParticipantType>(showGiverNameTo);
+        }
+        out.defaultWriteObject();
+        out.writeObject(sendingState);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        sendingState = (CommentSendingState) in.readObject();
+    }
+
     public String getEditedAtText(Boolean isGiverAnonymous) {
         if (this.lastEditedAt == null || this.lastEditedAt.equals(this.createdAt)) {
             return "";
@@ -40,6 +40,8 @@ public class FeedbackSessionAttributes extends EntityAttributes implements Sessi
     private boolean isOpeningEmailEnabled;
     private boolean isClosingEmailEnabled;
     private boolean isPublishedEmailEnabled;
+    // only respondents stored in the session itself, unless the respondents recorded separately
+    // have been merged in with FeedbackSessionsDb#mergeRespondents
     private transient Set<String> respondingInstructorList;
     private transient Set<String> respondingStudentList;
 
@@ -71,10 +73,13 @@ public class FeedbackSessionAttributes extends EntityAttributes implements Sessi
         this.isOpeningEmailEnabled = fs.isOpeningEmailEnabled();
         this.isClosingEmailEnabled = fs.isClosingEmailEnabled();
         this.isPublishedEmailEnabled = fs.isPublishedEmailEnabled();
-        this.respondingInstructorList = fs.getRespondingInstructorList() == null ? new HashSet<String>()
-                                                                                 : fs.getRespondingInstructorList();
-        this.respondingStudentList = fs.getRespondingStudentList() == null ? new HashSet<String>()
-                                                                           : fs.getRespondingStudentList();
+        // the sets are copied so that changing them does not change the entity, which may be shared
+        this.respondingInstructorList = fs.getRespondingInstructorList() == null
+                                        ? new HashSet<String>()
+                                        : new HashSet<String>(fs.getRespondingInstructorList());
+        this.respondingStudentList = fs.getRespondingStudentList() == null
+                                     ? new HashSet<String>()
+                                     : new HashSet<String>(fs.getRespondingStudentList());
     }
 
     public FeedbackSessionAttributes(String feedbackSessionName, String courseId, String creatorId,
@@ -1,7 +1,11 @@
 package teammates.common.datatransfer.attributes;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.util.Const;
@@ -13,10 +17,32 @@ import teammates.storage.entity.Instructor;
 /**
  * The data transfer class for Instructor entities.
  */
-public class InstructorAttributes extends EntityAttributes {
+public class InstructorAttributes extends EntityAttributes implements Serializable {
 
     public static final String DEFAULT_DISPLAY_NAME = "Instructor";
 
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The maximum number of distinct privileges kept in {@link #DECODED_PRIVILEGES}.
+     */
+    private static final int MAX_DECODED_PRIVILEGES = 1000;
+
+    /**
+     * The privileges decoded from the privileges text of recently loaded instructors, by the text.
+     * As most instructors have the privileges of one of the default roles, the text of each instructor
+     * need not be decoded again.
+     */
+    private static final Map<String, InstructorPrivileges> DECODED_PRIVILEGES = Collections.synchronizedMap(
+            new LinkedHashMap<String, InstructorPrivileges>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, InstructorPrivileges> eldest) {
+                    return size() > MAX_DECODED_PRIVILEGES;
+                }
+            });
+
     // Note: be careful when changing these variables as their names are used in *.json files.
     public String googleId;
     public String courseId;
@@ -139,8 +165,20 @@ public class InstructorAttributes extends EntityAttributes {
         return JsonUtils.toJson(privileges, InstructorPrivileges.class);
     }
 
+    /**
+     * Returns the privileges decoded from {@code instructorPrivilegesAsText}. The privileges are copied
+     * from those decoded earlier from the same text, if any, as they can be changed after they are returned.
+     */
     private static InstructorPrivileges getInstructorPrivilegesFromText(String instructorPrivilegesAsText) {
-        return JsonUtils.fromJson(instructorPrivilegesAsText, InstructorPrivileges.class);
+        InstructorPrivileges privileges = DECODED_PRIVILEGES.get(instructorPrivilegesAsText);
+        if (privileges == null) {
+            privileges = JsonUtils.fromJson(instructorPrivilegesAsText, InstructorPrivileges.class);
+            if (privileges == null) {
+                return null;
+            }
+            DECODED_PRIVILEGES.put(instructorPrivilegesAsText, privileges);
+        }
+        return privileges.getCopy();
     }
 
     public String getName() {
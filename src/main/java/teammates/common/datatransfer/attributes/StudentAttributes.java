@@ -2,6 +2,10 @@ package teammates.common.datatransfer.attributes;
 
 import static teammates.common.util.Const.EOL;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -18,7 +22,9 @@ import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StringHelper;
 import teammates.storage.entity.CourseStudent;
 
-public class StudentAttributes extends EntityAttributes {
+public class StudentAttributes extends EntityAttributes implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // Note: be careful when changing these variables as their names are used in *.json files.
     public String googleId;
@@ -346,4 +352,21 @@ public class StudentAttributes extends EntityAttributes {
     public boolean isEmailChanged(StudentAttributes originalStudentAttribute) {
         return this.email != null && !this.email.equals(originalStudentAttribute.email);
     }
+
+    /**
+     * Writes the update status and timestamps as well, which are only transient to keep them out of the JSON form.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(updateStatus);
+        out.writeObject(createdAt);
+        out.writeObject(updatedAt);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        updateStatus = (StudentUpdateStatus) in.readObject();
+        createdAt = (Date) in.readObject();
+        updatedAt = (Date) in.readObject();
+    }
 }
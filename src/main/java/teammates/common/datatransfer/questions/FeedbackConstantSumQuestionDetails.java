@@ -2,9 +2,7 @@ package teammates.common.datatransfer.questions;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -364,10 +362,10 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
                 optionListHtml.append(optionFragment);
             }
             optionListHtml.append("</ul>");
-            additionalInfo.append(Templates.populateTemplate(
+            Templates.appendPopulatedTemplate(additionalInfo,
                     FormTemplates.MSQ_ADDITIONAL_INFO,
                     Slots.QUESTION_TYPE_NAME, this.getQuestionTypeDisplayName(),
-                    Slots.MSQ_ADDITIONAL_INFO_FRAGMENTS, optionListHtml.toString()));
+                    Slots.MSQ_ADDITIONAL_INFO_FRAGMENTS, optionListHtml.toString());
 
         }
         //Point information
@@ -397,45 +395,34 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         }
 
         StringBuilder fragments = new StringBuilder();
-        List<String> options = constSumOptions;
 
-        Map<String, List<Integer>> optionPoints = generateOptionPointsMapping(responses);
+        FeedbackResponseStatistics statistics = getStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
 
-        Map<String, List<Integer>> sortedOptionPoints = new TreeMap<String, List<Integer>>();
+        for (Entry<String, String> entry : getSortedKeys(statistics, bundle).entrySet()) {
 
-        Map<String, String> identifierMap = new HashMap<String, String>();
-
-        if (distributeToRecipients) {
-            putRecipientsInSortedMap(optionPoints, identifierMap, sortedOptionPoints, bundle);
-        } else {
-            putOptionsInSortedMap(optionPoints, options, sortedOptionPoints);
-        }
-
-        for (Entry<String, List<Integer>> entry : sortedOptionPoints.entrySet()) {
-
-            List<Integer> points = entry.getValue();
-            double average = computeAverage(points);
-            String pointsReceived = getListOfPointsAsString(points);
+            String key = entry.getValue();
+            double average = statistics.getAverage(key);
+            String pointsReceived = getListOfPointsAsString(statistics.getSortedValues(key));
 
             if (distributeToRecipients) {
-                String participantIdentifier = identifierMap.get(entry.getKey());
+                String participantIdentifier = key;
                 String name = bundle.getNameForEmail(participantIdentifier);
                 String teamName = bundle.getTeamNameForEmail(participantIdentifier);
 
-                fragments.append(Templates.populateTemplate(FormTemplates.CONSTSUM_RESULT_STATS_RECIPIENTFRAGMENT,
+                Templates.appendPopulatedTemplate(fragments, FormTemplates.CONSTSUM_RESULT_STATS_RECIPIENTFRAGMENT,
                         Slots.CONSTSUM_OPTION_VALUE, SanitizationHelper.sanitizeForHtml(name),
                         Slots.TEAM, SanitizationHelper.sanitizeForHtml(teamName),
                         Slots.CONSTSUM_POINTS_RECEIVED, pointsReceived,
-                        Slots.CONSTSUM_AVERAGE_POINTS, df.format(average)));
+                        Slots.CONSTSUM_AVERAGE_POINTS, df.format(average));
             } else {
                 String option = entry.getKey();
 
-                fragments.append(Templates.populateTemplate(FormTemplates.CONSTSUM_RESULT_STATS_OPTIONFRAGMENT,
+                Templates.appendPopulatedTemplate(fragments, FormTemplates.CONSTSUM_RESULT_STATS_OPTIONFRAGMENT,
                         Slots.CONSTSUM_OPTION_VALUE, SanitizationHelper.sanitizeForHtml(option),
                         Slots.CONSTSUM_POINTS_RECEIVED, pointsReceived,
-                        Slots.CONSTSUM_AVERAGE_POINTS, df.format(average)));
+                        Slots.CONSTSUM_AVERAGE_POINTS, df.format(average));
             }
         }
 
@@ -459,25 +446,15 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         }
 
         StringBuilder fragments = new StringBuilder();
-        List<String> options = constSumOptions;
-        Map<String, List<Integer>> optionPoints = generateOptionPointsMapping(responses);
-
-        DecimalFormat df = new DecimalFormat("#.##");
-
-        Map<String, List<Integer>> sortedOptionPoints = new TreeMap<String, List<Integer>>();
 
-        Map<String, String> identifierMap = new HashMap<String, String>();
+        FeedbackResponseStatistics statistics = getStatistics(responses, question, bundle);
 
-        if (distributeToRecipients) {
-            putRecipientsInSortedMap(optionPoints, identifierMap, sortedOptionPoints, bundle);
-        } else {
-            putOptionsInSortedMap(optionPoints, options, sortedOptionPoints);
-        }
+        DecimalFormat df = new DecimalFormat("#.##");
 
-        for (Entry<String, List<Integer>> entry : sortedOptionPoints.entrySet()) {
+        for (Entry<String, String> entry : getSortedKeys(statistics, bundle).entrySet()) {
             String option;
             if (distributeToRecipients) {
-                String participantIdentifier = identifierMap.get(entry.getKey());
+                String participantIdentifier = entry.getValue();
                 String teamName = bundle.getTeamNameForEmail(participantIdentifier);
                 String recipientName = bundle.getNameForEmail(participantIdentifier);
 
@@ -487,8 +464,7 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
                 option = SanitizationHelper.sanitizeForCsv(entry.getKey());
             }
 
-            List<Integer> points = entry.getValue();
-            double average = computeAverage(points);
+            double average = statistics.getAverage(entry.getValue());
             fragments.append(option).append(',').append(df.format(average)).append(Const.EOL);
 
         }
@@ -499,54 +475,39 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
     }
 
     /**
-     * Puts recipients from an unsorted map to a sorted map.
-     *
-     * @param recipientMapping      Original map containing recipients
-     * @param identifierMap         Helper map to retrieve email from name concatenated with email string
-     * @param sortedOptionPoints    Sorted map to contain recipient info, recipient concatenated with email used as key
+     * Returns the keys of the statistics, i.e. the recipients' participant identifiers or the options' indices,
+     * in a map sorted by the recipients' names concatenated with their identifiers or by the options.
+     * The keys of the map returned are the strings sorted by, and the values are the keys of the statistics.
      */
-    private void putRecipientsInSortedMap(
-            Map<String, List<Integer>> recipientMapping, Map<String, String> identifierMap,
-            Map<String, List<Integer>> sortedOptionPoints, FeedbackSessionResultsBundle bundle) {
-
-        for (Entry<String, List<Integer>> entry : recipientMapping.entrySet()) {
-            String participantIdentifier = entry.getKey();
-            String name = bundle.getNameForEmail(participantIdentifier);
-            String nameEmail = name + participantIdentifier;
-
-            identifierMap.put(nameEmail, participantIdentifier);
-            sortedOptionPoints.put(nameEmail, entry.getValue());
+    private Map<String, String> getSortedKeys(FeedbackResponseStatistics statistics,
+                                              FeedbackSessionResultsBundle bundle) {
+        Map<String, String> sortedKeys = new TreeMap<String, String>();
+        for (String key : statistics.getKeys()) {
+            if (distributeToRecipients) {
+                String name = bundle.getNameForEmail(key);
+                sortedKeys.put(name + key, key);
+            } else {
+                sortedKeys.put(constSumOptions.get(Integer.parseInt(key)), key);
+            }
         }
+        return sortedKeys;
     }
 
     /**
-     * Puts options from an unsorted map to a sorted map.
-     *
-     * @param optionPoints          Original mapping of option points
-     * @param optionList            List of options in question
-     * @param sortedOptionPoints    Sorted map of option points
+     * From the feedback responses, generates the statistics of the points received by each option,
+     * which are computed once for the responses and then shared by the views of the results in the bundle.
+     * The keys of the statistics are the option indices / recipients' participant identifiers.
      */
-    private void putOptionsInSortedMap(
-            Map<String, List<Integer>> optionPoints, List<String> optionList,
-            Map<String, List<Integer>> sortedOptionPoints) {
-
-        for (Entry<String, List<Integer>> entry : optionPoints.entrySet()) {
-            String option = optionList.get(Integer.parseInt(entry.getKey()));
-
-            sortedOptionPoints.put(option, entry.getValue());
+    private FeedbackResponseStatistics getStatistics(List<FeedbackResponseAttributes> responses,
+                                                     FeedbackQuestionAttributes question,
+                                                     FeedbackSessionResultsBundle bundle) {
+        FeedbackResponseStatistics statistics =
+                FeedbackResponseStatistics.getCachedStatistics(bundle, question, responses);
+        if (statistics != null) {
+            return statistics;
         }
-    }
 
-    /**
-     * From the feedback responses, generate a mapping of the option to a list of points received for that option.
-     * The key of the map returned is the option name / recipient's participant identifier.
-     * The values of the map are list of points received by the key.
-     * @param responses  a list of responses
-     */
-    private Map<String, List<Integer>> generateOptionPointsMapping(
-            List<FeedbackResponseAttributes> responses) {
-
-        Map<String, List<Integer>> optionPoints = new HashMap<String, List<Integer>>();
+        statistics = new FeedbackResponseStatistics(responses, true);
         for (FeedbackResponseAttributes response : responses) {
             FeedbackConstantSumResponseDetails frd = (FeedbackConstantSumResponseDetails) response.getResponseDetails();
 
@@ -555,45 +516,30 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
                         distributeToRecipients ? response.recipient : String.valueOf(i);
 
                 int pointsReceived = frd.getAnswerList().get(i);
-                updateOptionPointsMapping(optionPoints, optionReceivingPoints, pointsReceived);
+                statistics.add(optionReceivingPoints, pointsReceived, false);
             }
         }
-        return optionPoints;
-    }
-
-    /**
-     * Used to update the OptionPointsMapping for the option optionReceivingPoints.
-     */
-    private void updateOptionPointsMapping(
-            Map<String, List<Integer>> optionPoints,
-            String optionReceivingPoints, int pointsReceived) {
-        List<Integer> points = optionPoints.get(optionReceivingPoints);
-        if (points == null) {
-            points = new ArrayList<Integer>();
-            optionPoints.put(optionReceivingPoints, points);
-        }
-
-        points.add(pointsReceived);
+        statistics.cacheIn(bundle, question);
+        return statistics;
     }
 
     /**
      * Returns the list of points as as string to display.
      */
-    private String getListOfPointsAsString(List<Integer> points) {
-        Collections.sort(points);
+    private String getListOfPointsAsString(double[] sortedPoints) {
         StringBuilder pointsReceived = new StringBuilder();
-        if (points.size() > 10) {
+        if (sortedPoints.length > 10) {
             for (int i = 0; i < 5; i++) {
-                pointsReceived.append(points.get(i)).append(" , ");
+                pointsReceived.append((int) sortedPoints[i]).append(" , ");
             }
             pointsReceived.append("...");
-            for (int i = points.size() - 5; i < points.size(); i++) {
-                pointsReceived.append(" , ").append(points.get(i));
+            for (int i = sortedPoints.length - 5; i < sortedPoints.length; i++) {
+                pointsReceived.append(" , ").append((int) sortedPoints[i]);
             }
         } else {
-            for (int i = 0; i < points.size(); i++) {
-                pointsReceived.append(points.get(i));
-                if (i != points.size() - 1) {
+            for (int i = 0; i < sortedPoints.length; i++) {
+                pointsReceived.append((int) sortedPoints[i]);
+                if (i != sortedPoints.length - 1) {
                     pointsReceived.append(" , ");
                 }
             }
@@ -601,15 +547,6 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         return pointsReceived.toString();
     }
 
-    private double computeAverage(List<Integer> points) {
-        double average = 0;
-        for (Integer point : points) {
-            average += point;
-        }
-        average = average / points.size();
-        return average;
-    }
-
     @Override
     public boolean isChangesRequiresResponseDeletion(
             FeedbackQuestionDetails newDetails) {
@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -172,28 +174,15 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         //List of teams with at least one response
         List<String> teamNames = getTeamsWithAtLeastOneResponse(actualResponses, bundle);
 
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-
         //Each team's contribution question results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(bundle, question, teamNames);
 
         TeamEvalResult currentUserTeamResults = teamResults.get(currentUserTeam);
         if (currentUserTeamResults == null) {
             return "";
         }
 
-        int currentUserIndex = teamMembersEmail.get(currentUserTeam).indexOf(studentEmail);
+        int currentUserIndex = currentUserTeamResults.studentEmails.indexOf(studentEmail);
         int selfClaim = currentUserTeamResults.claimed[currentUserIndex][currentUserIndex];
         int teamClaim = currentUserTeamResults.denormalizedAveragePerceived[currentUserIndex][currentUserIndex];
 
@@ -231,25 +220,11 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         //List of teams visible to the instructor and in the selected section
         List<String> teamNames = getTeamNames(bundle);
 
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(bundle, question, teamNames);
 
         //Each person's results summary
-        Map<String, StudentResultSummary> studentResults = getStudentResults(
-                teamMembersEmail, teamResults);
+        Map<String, StudentResultSummary> studentResults = getStudentResults(teamResults);
 
         //Check visibility of recipient
         boolean hideRecipient = false;
@@ -270,9 +245,8 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             String name = bundle.roster.getStudentForEmail(email).name;
             String team = bundle.roster.getStudentForEmail(email).team;
 
-            List<String> teamEmails = teamMembersEmail.get(team);
             TeamEvalResult teamResult = teamResults.get(team);
-            int studentIndx = teamEmails.indexOf(email);
+            int studentIndx = teamResult.studentEmails.indexOf(email);
 
             String displayName = name;
             String displayTeam = team;
@@ -285,7 +259,7 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             for (int i = 0; i < incomingPoints.length; i++) {
                 incomingPoints[i] = teamResult.normalizedPeerContributionRatio[i][studentIndx];
             }
-            contribFragments.append(Templates.populateTemplate(
+            Templates.appendPopulatedTemplate(contribFragments,
                     FormTemplates.CONTRIB_RESULT_STATS_FRAGMENT,
                     Slots.CONTRIB_STUDENT_TEAM, SanitizationHelper.sanitizeForHtml(displayTeam),
                     Slots.CONTRIB_STUDENT_NAME, SanitizationHelper.sanitizeForHtml(displayName),
@@ -293,7 +267,7 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
                     Slots.CONTRIB_PC, getPointsAsColorizedHtml(summary.perceivedToInstructor),
                     Slots.CONTRIB_DIFF, getPointsDiffAsHtml(summary),
                     Slots.CONTRIB_RR, getNormalizedPointsListColorizedDescending(incomingPoints, studentIndx),
-                    Slots.CONTRIB_PARAM_STUDENT_NAME, Const.ParamsNames.STUDENT_NAME));
+                    Slots.CONTRIB_PARAM_STUDENT_NAME, Const.ParamsNames.STUDENT_NAME);
         }
 
         return Templates.populateTemplate(
@@ -320,25 +294,11 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         //List of teams visible to the instructor and in the selected section
         List<String> teamNames = getTeamNames(bundle);
 
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = getTeamResults(bundle, question, teamNames);
 
         //Each person's results summary
-        Map<String, StudentResultSummary> studentResults = getStudentResults(
-                teamMembersEmail, teamResults);
+        Map<String, StudentResultSummary> studentResults = getStudentResults(teamResults);
 
         //Check visibility of recipient
         boolean hideRecipient = false;
@@ -362,9 +322,8 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             String name = bundle.roster.getStudentForEmail(email).name;
             String team = bundle.roster.getStudentForEmail(email).team;
 
-            List<String> teamEmails = teamMembersEmail.get(team);
             TeamEvalResult teamResult = teamResults.get(team);
-            int studentIndx = teamEmails.indexOf(email);
+            int studentIndx = teamResult.studentEmails.indexOf(email);
 
             String displayName;
             String displayTeam;
@@ -432,26 +391,11 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
      */
     Map<String, StudentResultSummary> getStudentResults(FeedbackSessionResultsBundle bundle,
             FeedbackQuestionAttributes question) {
-
-        List<FeedbackResponseAttributes> responses = getActualResponses(question, bundle);
-
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(responses, bundle);
-
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-
-        return getStudentResults(teamMembersEmail, teamResults);
+        return getStudentResults(getTeamEvalResults(bundle, question));
     }
 
     /**
-     * Returns A Map with student email as key and TeamEvalResult as value for the specified question.
+     * Returns A Map with team name as key and TeamEvalResult as value for the specified question.
      */
     Map<String, TeamEvalResult> getTeamEvalResults(FeedbackSessionResultsBundle bundle,
             FeedbackQuestionAttributes question) {
@@ -460,26 +404,14 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
 
         List<String> teamNames = getTeamsWithAtLeastOneResponse(responses, bundle);
 
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-
-        return getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        return getTeamResults(bundle, question, teamNames);
     }
 
-    private Map<String, StudentResultSummary> getStudentResults(
-            Map<String, List<String>> teamMembersEmail,
-            Map<String, TeamEvalResult> teamResults) {
+    private Map<String, StudentResultSummary> getStudentResults(Map<String, TeamEvalResult> teamResults) {
         Map<String, StudentResultSummary> studentResults = new LinkedHashMap<String, StudentResultSummary>();
-        for (Map.Entry<String, TeamEvalResult> entry : teamResults.entrySet()) {
-            TeamEvalResult teamResult = entry.getValue();
-            List<String> teamEmails = teamMembersEmail.get(entry.getKey());
+        for (TeamEvalResult teamResult : teamResults.values()) {
             int i = 0;
-            for (String studentEmail : teamEmails) {
+            for (String studentEmail : teamResult.studentEmails) {
                 StudentResultSummary summary = new StudentResultSummary();
                 summary.claimedToInstructor = teamResult.normalizedClaimed[i][i];
                 summary.perceivedToInstructor = teamResult.normalizedAveragePerceived[i];
@@ -492,86 +424,102 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         return studentResults;
     }
 
-    @SuppressWarnings("PMD.UnusedPrivateMethod") // false positive by PMD.
-    private Map<String, TeamEvalResult> getTeamResults(List<String> teamNames,
-            Map<String, int[][]> teamSubmissionArray, Map<String, List<String>> teamMembersEmail) {
+    /**
+     * Returns the results of the specified teams for the question, in the order of teamNames.
+     *
+     * <p>The result of a team only depends on the responses of its members, so it is computed once per bundle
+     * and shared by the statistics and the response rows of the question, whichever teams they show.
+     */
+    private Map<String, TeamEvalResult> getTeamResults(FeedbackSessionResultsBundle bundle,
+            FeedbackQuestionAttributes question, List<String> teamNames) {
+        Map<String, TeamEvalResult> computedTeamResults =
+                bundle.contributionQuestionComputedTeamEvalResults.get(question.getId());
+        if (computedTeamResults == null) {
+            computedTeamResults = new HashMap<String, TeamEvalResult>();
+            bundle.contributionQuestionComputedTeamEvalResults.put(question.getId(), computedTeamResults);
+        }
+
+        Map<String, List<FeedbackResponseAttributes>> teamResponses = null;
         Map<String, TeamEvalResult> teamResults = new LinkedHashMap<String, TeamEvalResult>();
         for (String team : teamNames) {
-            TeamEvalResult teamEvalResult = new TeamEvalResult(teamSubmissionArray.get(team));
-            teamEvalResult.studentEmails = teamMembersEmail.get(team);
+            TeamEvalResult teamEvalResult = computedTeamResults.get(team);
+            if (teamEvalResult == null) {
+                if (teamResponses == null) {
+                    teamResponses = getTeamResponses(getActualResponses(question, bundle), bundle);
+                }
+                List<String> teamMembersEmail = getTeamMembersEmail(bundle, team);
+
+                //Get the team's submission array. -> int[teamSize][teamSize]
+                //Where int[0][1] refers points from student 0 to student 1
+                //Where student 0 is the 0th student in teamMembersEmail
+                teamEvalResult = new TeamEvalResult(getTeamSubmissionArray(teamMembersEmail, teamResponses.get(team)));
+                teamEvalResult.studentEmails = teamMembersEmail;
+                computedTeamResults.put(team, teamEvalResult);
+            }
             teamResults.put(team, teamEvalResult);
         }
         return teamResults;
     }
 
-    private Map<String, int[][]> getTeamSubmissionArray(List<String> teamNames,
-            Map<String, List<String>> teamMembersEmail,
-            Map<String, List<FeedbackResponseAttributes>> teamResponses) {
-        Map<String, int[][]> teamSubmissionArray = new LinkedHashMap<String, int[][]>();
-        for (String team : teamNames) {
-            int teamSize = teamMembersEmail.get(team).size();
-            teamSubmissionArray.put(team, new int[teamSize][teamSize]);
-            //Initialize all as not submitted.
-            for (int i = 0; i < teamSize; i++) {
-                for (int j = 0; j < teamSize; j++) {
-                    teamSubmissionArray.get(team)[i][j] = Const.POINTS_NOT_SUBMITTED;
-                }
+    private int[][] getTeamSubmissionArray(List<String> memberEmailList,
+            List<FeedbackResponseAttributes> teamResponseList) {
+        int teamSize = memberEmailList.size();
+        int[][] teamSubmissionArray = new int[teamSize][teamSize];
+        //Initialize all as not submitted.
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                teamSubmissionArray[i][j] = Const.POINTS_NOT_SUBMITTED;
             }
-            //Fill in submitted points
-            List<FeedbackResponseAttributes> teamResponseList = teamResponses.get(team);
-            List<String> memberEmailList = teamMembersEmail.get(team);
-            for (FeedbackResponseAttributes response : teamResponseList) {
-                int giverIndx = memberEmailList.indexOf(response.giver);
-                int recipientIndx = memberEmailList.indexOf(response.recipient);
-                if (giverIndx == -1 || recipientIndx == -1) {
-                    continue;
-                }
-                int points = ((FeedbackContributionResponseDetails) response.getResponseDetails()).getAnswer();
-                teamSubmissionArray.get(team)[giverIndx][recipientIndx] = points;
+        }
+        if (teamResponseList == null) {
+            return teamSubmissionArray;
+        }
+        //Fill in submitted points
+        for (FeedbackResponseAttributes response : teamResponseList) {
+            int giverIndx = memberEmailList.indexOf(response.giver);
+            int recipientIndx = memberEmailList.indexOf(response.recipient);
+            if (giverIndx == -1 || recipientIndx == -1) {
+                continue;
             }
+            int points = ((FeedbackContributionResponseDetails) response.getResponseDetails()).getAnswer();
+            teamSubmissionArray[giverIndx][recipientIndx] = points;
         }
         return teamSubmissionArray;
     }
 
+    /**
+     * Returns the responses grouped by the team of their givers.
+     */
     private Map<String, List<FeedbackResponseAttributes>> getTeamResponses(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackSessionResultsBundle bundle, List<String> teamNames) {
+            List<FeedbackResponseAttributes> responses, FeedbackSessionResultsBundle bundle) {
         Map<String, List<FeedbackResponseAttributes>> teamResponses =
-                new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
-        for (String teamName : teamNames) {
-            teamResponses.put(teamName, new ArrayList<FeedbackResponseAttributes>());
-        }
+                new HashMap<String, List<FeedbackResponseAttributes>>();
         for (FeedbackResponseAttributes response : responses) {
             String team = bundle.emailTeamNameTable.get(response.giver);
-            if (teamResponses.containsKey(team)) {
-                teamResponses.get(team).add(response);
+            List<FeedbackResponseAttributes> responsesOfTeam = teamResponses.get(team);
+            if (responsesOfTeam == null) {
+                responsesOfTeam = new ArrayList<FeedbackResponseAttributes>();
+                teamResponses.put(team, responsesOfTeam);
             }
+            responsesOfTeam.add(response);
         }
         return teamResponses;
     }
 
-    private Map<String, List<String>> getTeamMembersEmail(
-            FeedbackSessionResultsBundle bundle, List<String> teamNames) {
-        Map<String, List<String>> teamMembersEmail = new LinkedHashMap<String, List<String>>();
-        for (String teamName : teamNames) {
-            List<String> memberEmails = new ArrayList<String>(bundle.rosterTeamNameMembersTable.get(teamName));
-            Collections.sort(memberEmails);
-            teamMembersEmail.put(teamName, memberEmails);
-        }
-        return teamMembersEmail;
+    private List<String> getTeamMembersEmail(FeedbackSessionResultsBundle bundle, String teamName) {
+        List<String> memberEmails = new ArrayList<String>(bundle.rosterTeamNameMembersTable.get(teamName));
+        Collections.sort(memberEmails);
+        return memberEmails;
     }
 
     private List<String> getTeamsWithAtLeastOneResponse(
             List<FeedbackResponseAttributes> responses,
             FeedbackSessionResultsBundle bundle) {
-        List<String> teamNames = new ArrayList<String>();
+        Set<String> teamNames = new LinkedHashSet<String>();
         for (FeedbackResponseAttributes response : responses) {
-            String teamNameOfResponseGiver = bundle.getTeamNameForEmail(response.giver);
-            if (!teamNames.contains(teamNameOfResponseGiver)) {
-                teamNames.add(teamNameOfResponseGiver);
-            }
+            teamNames.add(bundle.getTeamNameForEmail(response.giver));
         }
-        return teamNames;
+        return new ArrayList<String>(teamNames);
     }
 
     private List<FeedbackResponseAttributes> getActualResponses(
@@ -4,10 +4,8 @@ import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
@@ -179,22 +177,12 @@ public class FeedbackNumericalScaleQuestionDetails extends
     private String getInstructorQuestionResultsStatisticsHtml(
             List<FeedbackResponseAttributes> responses,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
-
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
         List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
 
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
+        FeedbackResponseStatistics statistics = getStatistics(responses, question, bundle);
 
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, statistics);
 
         String fragmentTemplateToUse = showAvgExcludingSelf
                                      ? FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE
@@ -207,27 +195,27 @@ public class FeedbackNumericalScaleQuestionDetails extends
 
         StringBuilder fragmentHtml = new StringBuilder();
 
-        for (String recipient : numResponses.keySet()) {
+        for (String recipient : statistics.getKeys()) {
             // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
             if (hiddenRecipients.contains(recipient)) {
                 continue;
             }
 
-            Double userAverageExcludingSelf = averageExcludingSelf.get(recipient);
+            Double userAverageExcludingSelf = statistics.getAverageExcludingSelf(recipient);
             String userAverageExcludingSelfText =
                     getAverageExcludingSelfText(showAvgExcludingSelf, df, userAverageExcludingSelf);
 
             String recipientName = recipient.equals(Const.GENERAL_QUESTION) ? "General" : bundle.getNameForEmail(recipient);
             String recipientTeam = bundle.getTeamNameForEmail(recipient);
 
-            fragmentHtml.append(Templates.populateTemplate(
+            Templates.appendPopulatedTemplate(fragmentHtml,
                                     fragmentTemplateToUse,
                                     Slots.RECIPIENT_TEAM, SanitizationHelper.sanitizeForHtml(recipientTeam),
                                     Slots.RECIPIENT_NAME, SanitizationHelper.sanitizeForHtml(recipientName),
-                                    Slots.AVERAGE, df.format(average.get(recipient)),
-                                    Slots.MAX, df.format(max.get(recipient)),
-                                    Slots.MIN, df.format(min.get(recipient)),
-                                    Slots.AVERAGE_EXCLUDING_SELF_RESPONSE, userAverageExcludingSelfText));
+                                    Slots.AVERAGE, df.format(statistics.getAverage(recipient)),
+                                    Slots.MAX, df.format(statistics.getMax(recipient)),
+                                    Slots.MIN, df.format(statistics.getMin(recipient)),
+                                    Slots.AVERAGE_EXCLUDING_SELF_RESPONSE, userAverageExcludingSelfText);
         }
 
         if (fragmentHtml.length() == 0) {
@@ -248,21 +236,11 @@ public class FeedbackNumericalScaleQuestionDetails extends
             List<FeedbackResponseAttributes> responses, String studentEmail,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
 
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
-
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
         List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
 
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        FeedbackResponseStatistics statistics = getStatistics(responses, question, bundle);
+        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, statistics);
 
         String fragmentTemplateToUse = showAvgExcludingSelf
                                      ? FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE
@@ -279,11 +257,11 @@ public class FeedbackNumericalScaleQuestionDetails extends
         boolean isRecipientTypeStudent = !isRecipientTypeGeneral && !isRecipientTypeTeam;
 
         String currentUserTeam = bundle.getTeamNameForEmail(studentEmail);
-        String currentUserIdentifier = getCurrentUserIdentifier(numResponses,
+        String currentUserIdentifier = getCurrentUserIdentifier(statistics,
                                                                 isRecipientTypeStudent, studentEmail,
                                                                 isRecipientTypeTeam, currentUserTeam);
 
-        Set<String> recipientSet = numResponses.keySet();
+        List<String> recipientSet = statistics.getKeys();
         ArrayList<String> recipientList = new ArrayList<String>();
 
         boolean hasCurrentUserReceivedAnyResponse = recipientSet.contains(currentUserIdentifier);
@@ -316,35 +294,30 @@ public class FeedbackNumericalScaleQuestionDetails extends
             boolean isRecipientGeneral = recipient.equalsIgnoreCase(Const.GENERAL_QUESTION);
 
             recipientName = getDisplayableRecipientName(isHiddenRecipient,
-                            isRecipientCurrentUser, hasAtLeastTwoResponses(numResponses, currentUserIdentifier),
+                            isRecipientCurrentUser, hasAtLeastTwoResponses(statistics, currentUserIdentifier),
                             isRecipientTypeStudent, hasAtLeastTwoResponsesOtherThanCurrentUser(
-                                                            numResponses, currentUserIdentifier, hiddenRecipients),
+                                                            statistics, currentUserIdentifier, hiddenRecipients),
                             isRecipientGeneral, bundle.getNameForEmail(recipient), currentUserTeam);
 
             recipientTeam = getDisplayableRecipientTeam(isHiddenRecipient,
                                                         isRecipientCurrentUser,
-                                                        hasAtLeastTwoResponses(numResponses, currentUserIdentifier),
+                                                        hasAtLeastTwoResponses(statistics, currentUserIdentifier),
                                                         isRecipientTypeStudent,
-                                                        hasAtLeastTwoResponsesOtherThanCurrentUser(numResponses,
+                                                        hasAtLeastTwoResponsesOtherThanCurrentUser(statistics,
                                                                                                    currentUserIdentifier,
                                                                                                    hiddenRecipients),
                                                         bundle.getTeamNameForEmail(recipient), currentUserTeam);
 
-            Double minScore = null;
-            Double maxScore = null;
-            Double averageScore = null;
-            Double averageScoreExcludingSelf = null;
-
             boolean isRecipientDetailsAvailable = recipientName != null && recipientTeam != null;
 
             if (!isRecipientDetailsAvailable) {
                 continue;
             }
 
-            minScore = min.get(recipient);
-            maxScore = max.get(recipient);
-            averageScore = average.get(recipient);
-            averageScoreExcludingSelf = averageExcludingSelf.get(recipient);
+            double minScore = statistics.getMin(recipient);
+            double maxScore = statistics.getMax(recipient);
+            double averageScore = statistics.getAverage(recipient);
+            Double averageScoreExcludingSelf = statistics.getAverageExcludingSelf(recipient);
 
             String averageScoreExcludingSelfText =
                     getAverageExcludingSelfText(showAvgExcludingSelf, df, averageScoreExcludingSelf);
@@ -367,7 +340,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
 
         String statsTitle = getStatsTitle(
                 isRecipientTypeGeneral, isRecipientTypeTeam,
-                hasAtLeastTwoResponsesOtherThanCurrentUser(numResponses, currentUserIdentifier, hiddenRecipients));
+                hasAtLeastTwoResponsesOtherThanCurrentUser(statistics, currentUserIdentifier, hiddenRecipients));
         String templateToUse = showAvgExcludingSelf
                              ? FormTemplates.NUMSCALE_RESULT_STATS_WITH_SELF_RESPONSE
                              : FormTemplates.NUMSCALE_RESULT_STATS;
@@ -410,28 +383,22 @@ public class FeedbackNumericalScaleQuestionDetails extends
         return null;
     }
 
-    private String getCurrentUserIdentifier(Map<String, Integer> numResponses,
+    private String getCurrentUserIdentifier(FeedbackResponseStatistics statistics,
             boolean isRecipientStudent, String currentUserEmail,
             boolean isRecipientTeam, String currentUserTeam) {
 
-        if (isRecipientStudent && numResponses.containsKey(currentUserEmail)
-                && numResponses.get(currentUserEmail) >= 1) {
+        if (isRecipientStudent && statistics.getNumValues(currentUserEmail) >= 1) {
             return currentUserEmail;
-        } else if (isRecipientTeam && numResponses.containsKey(currentUserTeam)
-                   && numResponses.get(currentUserTeam) >= 1) {
+        } else if (isRecipientTeam && statistics.getNumValues(currentUserTeam) >= 1) {
             return currentUserTeam;
         } else {
             return "";
         }
     }
 
-    private boolean hasAtLeastTwoResponses(Map<String, Integer> numResponses,
+    private boolean hasAtLeastTwoResponses(FeedbackResponseStatistics statistics,
             String recipient) {
-        if (numResponses == null) {
-            return false;
-        }
-        Integer numOfResponses = numResponses.get(recipient);
-        return numOfResponses != null && numOfResponses >= 2;
+        return statistics.getNumValues(recipient) >= 2;
     }
 
     private String getAverageExcludingSelfText(boolean showAvgExcludingSelf, DecimalFormat df, Double averageExcludingSelf) {
@@ -451,22 +418,12 @@ public class FeedbackNumericalScaleQuestionDetails extends
             return "";
         }
 
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
-
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
         List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
 
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
+        FeedbackResponseStatistics statistics = getStatistics(responses, question, bundle);
 
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, statistics);
 
         DecimalFormat df = new DecimalFormat();
         df.setMinimumFractionDigits(0);
@@ -478,7 +435,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
                          + Const.EOL;
 
         StringBuilder csvBody = new StringBuilder();
-        for (String recipient : numResponses.keySet()) {
+        for (String recipient : statistics.getKeys()) {
             // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
             if (hiddenRecipients.contains(recipient)) {
                 continue;
@@ -487,7 +444,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
             String recipientTeam = bundle.getTeamNameForEmail(recipient);
             boolean isRecipientGeneral = recipient.equals(Const.GENERAL_QUESTION);
 
-            Double averageScoreExcludingSelf = averageExcludingSelf.get(recipient);
+            Double averageScoreExcludingSelf = statistics.getAverageExcludingSelf(recipient);
             String averageScoreExcludingSelfText =
                     getAverageExcludingSelfText(showAvgExcludingSelf, df, averageScoreExcludingSelf);
 
@@ -496,9 +453,9 @@ public class FeedbackNumericalScaleQuestionDetails extends
                                                       ? "General"
                                                       : bundle.getNameForEmail(recipient))
                            + ','
-                           + df.format(average.get(recipient)) + ','
-                           + df.format(min.get(recipient)) + ','
-                           + df.format(max.get(recipient))
+                           + df.format(statistics.getAverage(recipient)) + ','
+                           + df.format(statistics.getMin(recipient)) + ','
+                           + df.format(statistics.getMax(recipient))
                            + (showAvgExcludingSelf ? ',' + averageScoreExcludingSelfText : "")
                            + Const.EOL);
         }
@@ -507,7 +464,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
     }
 
     private boolean showAverageExcludingSelf(
-            FeedbackQuestionAttributes question, Map<String, Double> averageExcludingSelf) {
+            FeedbackQuestionAttributes question, FeedbackResponseStatistics statistics) {
 
         if (question.recipientType == FeedbackParticipantType.NONE) {
             // General recipient type would not give self response
@@ -515,97 +472,33 @@ public class FeedbackNumericalScaleQuestionDetails extends
             return false;
         }
 
-        for (Double average : averageExcludingSelf.values()) {
-            // There exists at least one average score exclude self
-            if (average != null) {
-                return true;
-            }
-        }
-        return false;
+        // There exists at least one average score exclude self
+        return statistics.hasValuesExcludingSelf();
     }
 
-    private void populateSummaryStatisticsFromResponses(
+    /**
+     * Returns the minimum, maximum and average scores received by each recipient in the responses,
+     * which are computed once for the responses and then shared by the views of the results in the bundle.
+     */
+    private FeedbackResponseStatistics getStatistics(
             List<FeedbackResponseAttributes> responses,
-            Map<String, Double> min, Map<String, Double> max,
-            Map<String, Double> average, Map<String, Double> averageExcludingSelf,
-            Map<String, Double> total, Map<String, Double> totalExcludingSelf,
-            Map<String, Integer> numResponses,
-            Map<String, Integer> numResponsesExcludingSelf) {
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        FeedbackResponseStatistics statistics =
+                FeedbackResponseStatistics.getCachedStatistics(bundle, question, responses);
+        if (statistics != null) {
+            return statistics;
+        }
 
+        statistics = new FeedbackResponseStatistics(responses, false);
         for (FeedbackResponseAttributes response : responses) {
             FeedbackNumericalScaleResponseDetails responseDetails =
                     (FeedbackNumericalScaleResponseDetails) response.getResponseDetails();
-            double answer = responseDetails.getAnswer();
-            String giverEmail = response.giver;
-            String recipientEmail = response.recipient;
-
-            // Compute number of responses including user's self response
-            if (!numResponses.containsKey(recipientEmail)) {
-                numResponses.put(recipientEmail, 0);
-            }
-            int numOfResponses = numResponses.get(recipientEmail) + 1;
-            numResponses.put(recipientEmail, numOfResponses);
-
-            // Compute number of responses excluding user's self response
-            if (!numResponsesExcludingSelf.containsKey(recipientEmail)) {
-                numResponsesExcludingSelf.put(recipientEmail, 0);
-            }
-            boolean isSelfResponse = giverEmail.equalsIgnoreCase(recipientEmail);
-            if (!isSelfResponse) {
-                int numOfResponsesExcludingSelf = numResponsesExcludingSelf.get(recipientEmail) + 1;
-                numResponsesExcludingSelf.put(recipientEmail, numOfResponsesExcludingSelf);
-            }
-
-            // Compute minimum score received
-            if (!min.containsKey(recipientEmail)) {
-                min.put(recipientEmail, answer);
-            }
-            double minScoreReceived = Math.min(answer, min.get(recipientEmail));
-            min.put(recipientEmail, minScoreReceived);
-
-            // Compute maximum score received
-            if (!max.containsKey(recipientEmail)) {
-                max.put(recipientEmail, answer);
-            }
-            double maxScoreReceived = Math.max(answer, max.get(recipientEmail));
-            max.put(recipientEmail, maxScoreReceived);
-
-            // Compute total score received
-            if (!total.containsKey(recipientEmail)) {
-                total.put(recipientEmail, 0.0);
-            }
-            double totalScore = total.get(recipientEmail) + answer;
-            total.put(recipientEmail, totalScore);
-
-            // Compute total score received excluding self
-            if (!totalExcludingSelf.containsKey(recipientEmail)) {
-                totalExcludingSelf.put(recipientEmail, null);
-            }
-            if (!isSelfResponse) {
-                Double totalScoreExcludingSelf = totalExcludingSelf.get(recipientEmail);
-
-                // totalScoreExcludingSelf == null when the user has only self response
-                totalExcludingSelf.put(recipientEmail,
-                                       totalScoreExcludingSelf == null ? answer : totalScoreExcludingSelf + answer);
-            }
-
-            // Compute average score received
-            if (!average.containsKey(recipientEmail)) {
-                average.put(recipientEmail, 0.0);
-            }
-            double averageReceived = total.get(recipientEmail) / numResponses.get(recipientEmail);
-            average.put(recipientEmail, averageReceived);
-
-            // Compute average score received excluding self
-            if (!averageExcludingSelf.containsKey(recipientEmail)) {
-                averageExcludingSelf.put(recipientEmail, null);
-            }
-            if (!isSelfResponse && totalExcludingSelf.get(recipientEmail) != null) {
-                double averageReceivedExcludingSelf =
-                        totalExcludingSelf.get(recipientEmail) / numResponsesExcludingSelf.get(recipientEmail);
-                averageExcludingSelf.put(recipientEmail, averageReceivedExcludingSelf);
-            }
+            boolean isSelfResponse = response.giver.equalsIgnoreCase(response.recipient);
+            statistics.add(response.recipient, responseDetails.getAnswer(), isSelfResponse);
         }
+        statistics.cacheIn(bundle, question);
+        return statistics;
     }
 
     private List<String> getHiddenRecipients(
@@ -646,16 +539,16 @@ public class FeedbackNumericalScaleQuestionDetails extends
      * Return false otherwise.
      */
     private boolean hasAtLeastTwoResponsesOtherThanCurrentUser(
-            Map<String, Integer> numResponses, String currentUserIdentifier, List<String> hiddenRecipients) {
+            FeedbackResponseStatistics statistics, String currentUserIdentifier, List<String> hiddenRecipients) {
         boolean isAtLeastTwoResponsesOtherThanCurrentUser = false;
 
         // At least 2 responses are given to any recipient other than current user
-        for (String recipient : numResponses.keySet()) {
+        for (String recipient : statistics.getKeys()) {
             if (hiddenRecipients.contains(recipient)) {
                 continue;
             }
 
-            if (hasAtLeastTwoResponses(numResponses, recipient)
+            if (hasAtLeastTwoResponses(statistics, recipient)
                     && !recipient.equals(currentUserIdentifier)) {
 
                 isAtLeastTwoResponsesOtherThanCurrentUser = true;
@@ -0,0 +1,185 @@
+package teammates.common.datatransfer.questions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.util.Assumption;
+
+/**
+ * Summary statistics of the values given in the responses to a question, for each key such as
+ * a recipient or an option.
+ *
+ * <p>Keys are mapped to consecutive indices in the order they are first added,
+ * so that the statistics are accumulated in arrays of primitives in a single pass over the responses.
+ */
+public class FeedbackResponseStatistics {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<FeedbackResponseAttributes> responses;
+    private final boolean isValuesKept;
+
+    private final Map<String, Integer> keyIndexes = new HashMap<String, Integer>();
+    private int numOfKeys;
+
+    private int[] numValues = new int[INITIAL_CAPACITY];
+    private int[] numValuesExcludingSelf = new int[INITIAL_CAPACITY];
+    private double[] minValues = new double[INITIAL_CAPACITY];
+    private double[] maxValues = new double[INITIAL_CAPACITY];
+    private double[] totals = new double[INITIAL_CAPACITY];
+    private double[] totalsExcludingSelf = new double[INITIAL_CAPACITY];
+    private double[][] values;
+
+    /**
+     * Creates empty statistics to be accumulated from {@code responses}.
+     *
+     * @param isValuesKept whether the values added are kept, for {@link #getSortedValues(String)}
+     */
+    public FeedbackResponseStatistics(List<FeedbackResponseAttributes> responses, boolean isValuesKept) {
+        this.responses = responses;
+        this.isValuesKept = isValuesKept;
+        this.values = isValuesKept ? new double[INITIAL_CAPACITY][] : null;
+    }
+
+    /**
+     * Returns the statistics of the question cached in the {@code bundle},
+     * or null if they were not computed from the same {@code responses}.
+     */
+    public static FeedbackResponseStatistics getCachedStatistics(FeedbackSessionResultsBundle bundle,
+            FeedbackQuestionAttributes question, List<FeedbackResponseAttributes> responses) {
+        FeedbackResponseStatistics statistics = bundle.questionStatistics.get(question.getId());
+        return statistics != null && statistics.responses.equals(responses) ? statistics : null;
+    }
+
+    /**
+     * Caches the statistics of the question in the {@code bundle}, to be reused by the other views of its results.
+     */
+    public void cacheIn(FeedbackSessionResultsBundle bundle, FeedbackQuestionAttributes question) {
+        bundle.questionStatistics.put(question.getId(), this);
+    }
+
+    /**
+     * Adds a value given for the {@code key}.
+     *
+     * @param isSelfValue whether the value is given by the giver to itself, which is left out of the statistics
+     *                    excluding self
+     */
+    public void add(String key, double value, boolean isSelfValue) {
+        Integer index = keyIndexes.get(key);
+        if (index == null) {
+            index = addKey(key);
+            minValues[index] = value;
+            maxValues[index] = value;
+        }
+
+        numValues[index]++;
+        minValues[index] = Math.min(minValues[index], value);
+        maxValues[index] = Math.max(maxValues[index], value);
+        totals[index] += value;
+        if (!isSelfValue) {
+            numValuesExcludingSelf[index]++;
+            totalsExcludingSelf[index] += value;
+        }
+        if (isValuesKept) {
+            double[] valuesOfKey = values[index];
+            if (numValues[index] > valuesOfKey.length) {
+                valuesOfKey = Arrays.copyOf(valuesOfKey, valuesOfKey.length * 2);
+                values[index] = valuesOfKey;
+            }
+            valuesOfKey[numValues[index] - 1] = value;
+        }
+    }
+
+    private int addKey(String key) {
+        int index = numOfKeys++;
+        keyIndexes.put(key, index);
+        if (numOfKeys > numValues.length) {
+            int capacity = numValues.length * 2;
+            numValues = Arrays.copyOf(numValues, capacity);
+            numValuesExcludingSelf = Arrays.copyOf(numValuesExcludingSelf, capacity);
+            minValues = Arrays.copyOf(minValues, capacity);
+            maxValues = Arrays.copyOf(maxValues, capacity);
+            totals = Arrays.copyOf(totals, capacity);
+            totalsExcludingSelf = Arrays.copyOf(totalsExcludingSelf, capacity);
+            if (isValuesKept) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+        if (isValuesKept) {
+            values[index] = new double[1];
+        }
+        return index;
+    }
+
+    /**
+     * Returns the keys with values, in the iteration order of a {@link HashMap} of the keys.
+     */
+    public List<String> getKeys() {
+        return new ArrayList<String>(keyIndexes.keySet());
+    }
+
+    public boolean hasKey(String key) {
+        return keyIndexes.containsKey(key);
+    }
+
+    /**
+     * Returns the number of values of the {@code key}, or 0 if it has none.
+     */
+    public int getNumValues(String key) {
+        Integer index = keyIndexes.get(key);
+        return index == null ? 0 : numValues[index];
+    }
+
+    public double getMin(String key) {
+        return minValues[keyIndexes.get(key)];
+    }
+
+    public double getMax(String key) {
+        return maxValues[keyIndexes.get(key)];
+    }
+
+    public double getAverage(String key) {
+        int index = keyIndexes.get(key);
+        return totals[index] / numValues[index];
+    }
+
+    /**
+     * Returns the average of the values of the {@code key} not given by the giver to itself,
+     * or null if there are no such values.
+     */
+    public Double getAverageExcludingSelf(String key) {
+        int index = keyIndexes.get(key);
+        return numValuesExcludingSelf[index] == 0 ? null : totalsExcludingSelf[index] / numValuesExcludingSelf[index];
+    }
+
+    /**
+     * Returns true if any key has values not given by the giver to itself.
+     */
+    public boolean hasValuesExcludingSelf() {
+        for (int i = 0; i < numOfKeys; i++) {
+            if (numValuesExcludingSelf[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the values of the {@code key} in ascending order.
+     * Precondition: the statistics keep the values added.
+     */
+    public double[] getSortedValues(String key) {
+        Assumption.assertTrue("Values should be kept to be sorted.", isValuesKept);
+        int index = keyIndexes.get(key);
+        double[] sortedValues = Arrays.copyOf(values[index], numValues[index]);
+        Arrays.sort(sortedValues);
+        return sortedValues;
+    }
+
+}
@@ -0,0 +1,116 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A template parsed into the literal text and the placeholders (e.g. {@code ${userName}}) it consists of,
+ * so that it can be populated in a single pass over the template.
+ *
+ * @see Templates#populateTemplate(String, String...)
+ */
+final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final char PLACEHOLDER_END = '}';
+
+    /**
+     * The compiled form of every template read from a resource file, by the template itself.
+     */
+    private static final Map<String, CompiledTemplate> CACHE = new ConcurrentHashMap<String, CompiledTemplate>();
+
+    /**
+     * The literal text before, between and after the placeholders, i.e. one more than there are placeholders.
+     */
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalsLength;
+
+    private CompiledTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Compiles the {@code template} and keeps the compiled form for later calls to {@link #of(String)}.
+     */
+    static void cache(String template) {
+        CACHE.put(template, compile(template));
+    }
+
+    /**
+     * Returns the compiled form of the {@code template}, which is compiled anew if it was not cached,
+     * e.g. if it is a partially populated template.
+     */
+    static CompiledTemplate of(String template) {
+        CompiledTemplate compiledTemplate = CACHE.get(template);
+        return compiledTemplate == null ? compile(template) : compiledTemplate;
+    }
+
+    /**
+     * Parses the {@code template} into its literal text and placeholders.
+     */
+    static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> placeholders = new ArrayList<String>();
+
+        int literalStart = 0;
+        int searchFrom = 0;
+        while (true) {
+            int start = template.indexOf(PLACEHOLDER_START, searchFrom);
+            int end = start == -1 ? -1 : template.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+            if (end == -1) {
+                break;
+            }
+            // in "${a${b}", only "${b}" is a placeholder
+            start = template.lastIndexOf(PLACEHOLDER_START, end);
+            literals.add(template.substring(literalStart, start));
+            placeholders.add(template.substring(start, end + 1));
+            literalStart = end + 1;
+            searchFrom = end + 1;
+        }
+        literals.add(template.substring(literalStart));
+
+        return new CompiledTemplate(literals, placeholders);
+    }
+
+    /**
+     * Returns true if {@code key} is a single placeholder, i.e. one that {@link #compile(String)} recognises.
+     */
+    static boolean isPlaceholder(String key) {
+        return key.startsWith(PLACEHOLDER_START)
+                && key.indexOf(PLACEHOLDER_END) == key.length() - 1
+                && key.lastIndexOf(PLACEHOLDER_START) == 0;
+    }
+
+    /**
+     * Appends the template to the {@code builder}, with each placeholder replaced by the value it is paired with
+     * in {@code keyValuePairs}. If a placeholder is paired more than once, the first value is used.
+     * Placeholders without a value are left as they are.
+     */
+    void populate(StringBuilder builder, String... keyValuePairs) {
+        builder.ensureCapacity(builder.length() + literalsLength);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            builder.append(getValue(placeholders[i], keyValuePairs));
+        }
+        builder.append(literals[placeholders.length]);
+    }
+
+    private static String getValue(String placeholder, String... keyValuePairs) {
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            if (placeholder.equals(keyValuePairs[i])) {
+                return keyValuePairs[i + 1];
+            }
+        }
+        return placeholder;
+    }
+
+}
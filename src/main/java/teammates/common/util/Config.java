@@ -59,6 +59,9 @@ public final class Config {
     /** The value of the "app.mailjet.secretkey" in build.properties file. */
     public static final String MAILJET_SECRETKEY;
 
+    /** The value of the "app.search.service" in build.properties file. */
+    public static final String SEARCH_SERVICE;
+
     static {
         Properties properties = new Properties();
         try {
@@ -82,6 +85,7 @@ public final class Config {
         MAILGUN_DOMAINNAME = properties.getProperty("app.mailgun.domainname");
         MAILJET_APIKEY = properties.getProperty("app.mailjet.apikey");
         MAILJET_SECRETKEY = properties.getProperty("app.mailjet.secretkey");
+        SEARCH_SERVICE = properties.getProperty("app.search.service");
     }
 
     private Config() {
@@ -135,4 +139,8 @@ public final class Config {
                 && MAILJET_SECRETKEY != null && !MAILJET_SECRETKEY.isEmpty();
     }
 
+    public static boolean isUsingLocalSearch() {
+        return "local".equalsIgnoreCase(SEARCH_SERVICE);
+    }
+
 }
@@ -767,6 +767,8 @@ public final class Const {
         public static final String EMAIL_COURSE = "course";
         public static final String EMAIL_FEEDBACK = "feedback";
         public static final String EMAIL_TYPE = "type";
+        public static final String EMAIL_STUDENT_RECEIVERS = "studentreceivers";
+        public static final String EMAIL_INSTRUCTOR_RECEIVERS = "instructorreceivers";
         public static final String SESSION_SUMMARY_EMAIL_SEND_CHECK = "sessionsummarysendemail";
         public static final String OPEN_OR_PUBLISHED_EMAIL_SEND_CHECK = "openorpublishedemailsent";
 
@@ -775,6 +777,7 @@ public final class Const {
         public static final String EMAIL_SENDERNAME = "sendername";
         public static final String EMAIL_SUBJECT = "subject";
         public static final String EMAIL_REPLY_TO_ADDRESS = "reply";
+        public static final String EMAIL_BATCH_ID = "emailbatchid";
 
         public static final String COMMENT_EDITTYPE = "commentedittype";
         public static final String COMMENT_ID = "commentid";
@@ -792,6 +795,9 @@ public final class Const {
         public static final String SEARCH_KEY = "searchkey";
         public static final String DISPLAY_ARCHIVE = "displayarchive";
 
+        public static final String SEARCH_INDEX = "searchindex";
+        public static final String SEARCH_DOCUMENT_ID = "searchdocumentid";
+
         //Parameters for checking persistence of data during Eventual Consistency
         public static final String CHECK_PERSISTENCE_COURSE = "persistencecourse";
 
@@ -1003,6 +1009,16 @@ public final class Const {
         public static final String FEEDBACK_RESPONSE_ADJUSTMENT_QUEUE_NAME = "feedback-response-adjustment-queue";
         public static final String FEEDBACK_RESPONSE_ADJUSTMENT_WORKER_URL = "/worker/feedbackResponseAdjustment";
 
+        public static final String FEEDBACK_SESSION_GENERATE_EMAILS_QUEUE_NAME =
+                "feedback-session-generate-emails-queue";
+        public static final String FEEDBACK_SESSION_GENERATE_EMAILS_WORKER_URL =
+                "/worker/feedbackSessionGenerateEmails";
+
+        public static final String FEEDBACK_SESSION_PREPARE_EMAILS_QUEUE_NAME =
+                "feedback-session-prepare-emails-queue";
+        public static final String FEEDBACK_SESSION_PREPARE_EMAILS_WORKER_URL =
+                "/worker/feedbackSessionPrepareEmails";
+
         public static final String FEEDBACK_SESSION_PUBLISHED_EMAIL_QUEUE_NAME =
                 "feedback-session-published-email-queue";
         public static final String FEEDBACK_SESSION_PUBLISHED_EMAIL_WORKER_URL =
@@ -1029,10 +1045,8 @@ public final class Const {
         public static final String PENDING_COMMENT_CLEARED_EMAIL_WORKER_URL =
                 "/worker/pendingCommentClearedEmail";
 
-        public static final String PRODUCE_SEARCH_DOCUMENTS_COMMENTS_QUEUE_NAME =
-                "put-comment-document-queue";
-        public static final String PRODUCE_SEARCH_DOCUMENTS_COMMENTS_WORKER_URL =
-                "/worker/putCommentDocument";
+        public static final String PUT_SEARCH_DOCUMENTS_QUEUE_NAME = "put-search-documents-queue";
+        public static final String PUT_SEARCH_DOCUMENTS_WORKER_URL = "/worker/putSearchDocuments";
 
         public static final String SEND_EMAIL_QUEUE_NAME = "send-email-queue";
         public static final String SEND_EMAIL_WORKER_URL = "/worker/sendEmail";
@@ -10,20 +10,22 @@ import com.google.gson.*;
  */
 public final class JsonUtils {
 
-    private JsonUtils() {
-        // utility class
-    }
-
     /**
-     * This creates a Gson object that can handle the Date format we use in the
+     * A Gson object that can handle the Date format we use in the
      * Json file and also reformat the Json string in pretty-print format.
+     * Gson objects are thread-safe, so one is shared instead of being created for every conversion.
      */
-    private static Gson getTeammatesGson() {
-        return new GsonBuilder().setDateFormat(DateFormat.FULL)
-                                .setDateFormat(Const.SystemParams.DEFAULT_DATE_TIME_FORMAT)
-                                .setPrettyPrinting()
-                                .disableHtmlEscaping()
-                                .create();
+    private static final Gson TEAMMATES_GSON = new GsonBuilder()
+            .setDateFormat(DateFormat.FULL)
+            .setDateFormat(Const.SystemParams.DEFAULT_DATE_TIME_FORMAT)
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+
+    private static final Gson DEFAULT_GSON = new Gson();
+
+    private JsonUtils() {
+        // utility class
     }
 
     /**
@@ -32,7 +34,7 @@ public final class JsonUtils {
      * @see Gson#toJson(Object, Type)
      */
     public static String toJson(Object src, Type typeOfSrc) {
-        return getTeammatesGson().toJson(src, typeOfSrc);
+        return TEAMMATES_GSON.toJson(src, typeOfSrc);
     }
 
     /**
@@ -41,7 +43,7 @@ public final class JsonUtils {
      * @see Gson#toJson(Object)
      */
     public static String toJson(Object src) {
-        return getTeammatesGson().toJson(src);
+        return TEAMMATES_GSON.toJson(src);
     }
 
     /**
@@ -51,10 +53,10 @@ public final class JsonUtils {
      */
     public static <T> T fromJson(String json, Type typeOfT) {
         try {
-            return getTeammatesGson().fromJson(json, typeOfT);
+            return TEAMMATES_GSON.fromJson(json, typeOfT);
         } catch (JsonSyntaxException e) {
             // some of the existing data does not use the prescribed date format
-            return new Gson().fromJson(json, typeOfT);
+            return DEFAULT_GSON.fromJson(json, typeOfT);
         }
     }
 
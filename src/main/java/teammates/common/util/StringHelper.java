@@ -1,5 +1,6 @@
 package teammates.common.util;
 
+import java.security.GeneralSecurityException;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -121,16 +122,29 @@ public final class StringHelper {
 
     public static String encrypt(String value) {
         try {
-            SecretKeySpec sks = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.ENCRYPT_MODE, sks, cipher.getParameters());
-            byte[] encrypted = cipher.doFinal(value.getBytes());
+            byte[] encrypted = Aes.ENCRYPTION_CIPHER.get().doFinal(value.getBytes());
             return byteArrayToHexString(encrypted);
         } catch (Exception e) {
+            Aes.ENCRYPTION_CIPHER.remove();
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Encrypts each of the supplied strings, e.g. the registration keys of all students of a course,
+     * reusing the same cipher for all of them.
+     *
+     * @return the ciphertexts as hexadecimal strings, in the same order as {@code values}
+     * @see #encrypt(String)
+     */
+    public static List<String> encrypt(List<String> values) {
+        List<String> encryptedValues = new ArrayList<String>(values.size());
+        for (String value : values) {
+            encryptedValues.add(encrypt(value));
+        }
+        return encryptedValues;
+    }
+
     /*
      * Decrypts the supplied string.
      *
@@ -141,19 +155,62 @@ public final class StringHelper {
      */
     public static String decrypt(String message) throws InvalidParametersException {
         try {
-            SecretKeySpec sks = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.DECRYPT_MODE, sks);
-            byte[] decrypted = cipher.doFinal(hexStringToByteArray(message));
+            byte[] decrypted = Aes.DECRYPTION_CIPHER.get().doFinal(hexStringToByteArray(message));
             return new String(decrypted);
         } catch (NumberFormatException | IllegalBlockSizeException | BadPaddingException e) {
+            // a cipher which failed to finish may not be reset, so a new one is set up for the next call
+            Aes.DECRYPTION_CIPHER.remove();
             log.warning("Attempted to decrypt invalid ciphertext: " + message);
             throw new InvalidParametersException(e);
         } catch (Exception e) {
+            Aes.DECRYPTION_CIPHER.remove();
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Holds the encryption key and the ciphers used by {@link StringHelper#encrypt(String)} and
+     * {@link StringHelper#decrypt(String)}, which are set up only once as setting them up is far more expensive
+     * than encrypting a registration key. {@link Cipher} is not thread-safe, so each thread has its own ciphers.
+     *
+     * <p>A cipher returns to its initialized state after {@code doFinal}, hence it can be reused without
+     * initializing it again.
+     */
+    private static final class Aes {
+
+        static final SecretKeySpec KEY = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
+
+        static final ThreadLocal<Cipher> ENCRYPTION_CIPHER = new CipherThreadLocal(Cipher.ENCRYPT_MODE);
+
+        static final ThreadLocal<Cipher> DECRYPTION_CIPHER = new CipherThreadLocal(Cipher.DECRYPT_MODE);
+
+        private Aes() {
+            // holder class
+        }
+
+    }
+
+    private static final class CipherThreadLocal extends ThreadLocal<Cipher> {
+
+        private final int mode;
+
+        CipherThreadLocal(int mode) {
+            this.mode = mode;
+        }
+
+        @Override
+        protected Cipher initialValue() {
+            try {
+                Cipher cipher = Cipher.getInstance("AES");
+                cipher.init(mode, Aes.KEY);
+                return cipher;
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+    }
+
     /**
      * Converts and concatenates a list of objects to a single string, separated by line breaks.
      * The conversion is done by using the {@link Object#toString()} method.
@@ -14,6 +14,7 @@ import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.EmailType;
@@ -50,11 +51,16 @@ public class EmailGenerator {
      * Generates the feedback session opening emails for the given {@code session}.
      */
     public List<EmailWrapper> generateFeedbackSessionOpeningEmails(FeedbackSessionAttributes session) {
+        return generateFeedbackSessionEmailsForCourse(session, EmailType.FEEDBACK_OPENING);
+    }
 
-        String template = EmailTemplates.USER_FEEDBACK_SESSION;
-
-        CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
-        boolean isEmailNeeded = fsLogic.isFeedbackSessionForStudentsToAnswer(session);
+    /**
+     * Generates the feedback session emails of the given {@code emailType} for the given {@code session}
+     * to all students and instructors of its course, if the session needs such emails to be sent.
+     */
+    private List<EmailWrapper> generateFeedbackSessionEmailsForCourse(FeedbackSessionAttributes session,
+                                                                      EmailType emailType) {
+        boolean isEmailNeeded = isFeedbackSessionEmailNeeded(session, emailType);
         List<InstructorAttributes> instructors = isEmailNeeded
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
@@ -62,12 +68,70 @@ public class EmailGenerator {
                                            ? studentsLogic.getStudentsForCourse(session.getCourseId())
                                            : new ArrayList<StudentAttributes>();
 
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_OPENING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is now open"));
+        return generateFeedbackSessionEmails(session, emailType, students, instructors);
+    }
+
+    /**
+     * Returns true if the opening, closing or published emails, as given by {@code emailType},
+     * are to be sent to the course of the given {@code session}.
+     */
+    public boolean isFeedbackSessionEmailNeeded(FeedbackSessionAttributes session, EmailType emailType) {
+        if (emailType == EmailType.FEEDBACK_PUBLISHED) {
+            return fsLogic.isFeedbackSessionViewableToStudents(session);
         }
-        return emails;
+        return fsLogic.isFeedbackSessionForStudentsToAnswer(session);
+    }
+
+    /**
+     * Generates the opening, closing or published emails, as given by {@code emailType}, for the given
+     * {@code session} to the given {@code students} and {@code instructors} only.
+     * For closing emails, students who have completed the session are left out.
+     *
+     * <p>The parts of the emails common to all recipients are populated once for all of them,
+     * so that the recipients of a large course can be sent their emails in several smaller batches.
+     */
+    public List<EmailWrapper> generateFeedbackSessionEmails(
+            FeedbackSessionAttributes session, EmailType emailType,
+            List<StudentAttributes> students, List<InstructorAttributes> instructors) {
+
+        CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
+
+        switch (emailType) {
+        case FEEDBACK_OPENING:
+            return generateFeedbackSessionEmailBases(course, session, students, instructors,
+                    EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", "is now open"),
+                    emailType.getSubject());
+        case FEEDBACK_CLOSING:
+            return generateFeedbackSessionEmailBases(course, session, getStudentsYetToComplete(session, students),
+                    instructors, EmailTemplates.USER_FEEDBACK_SESSION_CLOSING.replace("${status}", "is closing soon"),
+                    emailType.getSubject());
+        case FEEDBACK_PUBLISHED:
+            return generateFeedbackSessionEmailBases(course, session, students, instructors,
+                    EmailTemplates.USER_FEEDBACK_SESSION_PUBLISHED, emailType.getSubject());
+        default:
+            Assumption.fail("Unexpected feedback session email type: " + emailType);
+            return null;
+        }
+    }
+
+    private List<StudentAttributes> getStudentsYetToComplete(FeedbackSessionAttributes session,
+                                                             List<StudentAttributes> students) {
+        List<StudentAttributes> studentsYetToComplete = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : students) {
+            try {
+                if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(session.getFeedbackSessionName(),
+                        session.getCourseId(), student.email)) {
+                    studentsYetToComplete.add(student);
+                }
+            } catch (EntityDoesNotExistException e) {
+                log.severe("Course " + session.getCourseId() + " does not exist or "
+                           + "session " + session.getFeedbackSessionName() + " does not exist");
+                // Course or session cannot be found for one student => it will be the case for all students
+                // Do not waste time looping through all students
+                break;
+            }
+        }
+        return studentsYetToComplete;
     }
 
     /**
@@ -79,16 +143,12 @@ public class EmailGenerator {
             List<InstructorAttributes> instructorsToRemind, List<InstructorAttributes> instructorsToNotify) {
 
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
-        String template = EmailTemplates.USER_FEEDBACK_SESSION;
+        String template = EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", "is still open for submissions");
         List<EmailWrapper> emails =
                 generateFeedbackSessionEmailBasesForInstructorReminders(course, session, instructorsToRemind, template,
                                                                         EmailType.FEEDBACK_SESSION_REMINDER.getSubject());
         emails.addAll(generateFeedbackSessionEmailBases(course, session, students, instructorsToNotify, template,
                                                         EmailType.FEEDBACK_SESSION_REMINDER.getSubject()));
-
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is still open for submissions"));
-        }
         return emails;
     }
 
@@ -111,7 +171,7 @@ public class EmailGenerator {
             }
         }
 
-        StringBuffer linksFragmentValue = new StringBuffer(1000);
+        StringBuilder linksFragmentValue = new StringBuilder(1000);
         String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
 
         String joinFragmentValue = isYetToJoinCourse(student)
@@ -145,12 +205,12 @@ public class EmailGenerator {
                 reportUrlHtml = "<a href=\"" + reportUrl + "\">" + reportUrl + "</a>";
             }
 
-            linksFragmentValue.append(Templates.populateTemplate(
+            Templates.appendPopulatedTemplate(linksFragmentValue,
                     EmailTemplates.FRAGMENT_SINGLE_FEEDBACK_SESSION_LINKS,
                     "${feedbackSessionName}", fsa.getFeedbackSessionName(),
                     "${deadline}", TimeHelper.formatTime12H(fsa.getEndTime()) + (fsa.isClosed() ? " (Passed)" : ""),
                     "${submitUrl}", submitUrlHtml,
-                    "${reportUrl}", reportUrlHtml));
+                    "${reportUrl}", reportUrlHtml);
         }
 
         String emailBody = Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION_RESEND_ALL_LINKS,
@@ -272,41 +332,7 @@ public class EmailGenerator {
      * Generates the feedback session closing emails for the given {@code session}.
      */
     public List<EmailWrapper> generateFeedbackSessionClosingEmails(FeedbackSessionAttributes session) {
-
-        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
-        boolean isEmailNeeded = fsLogic.isFeedbackSessionForStudentsToAnswer(session);
-
-        if (isEmailNeeded) {
-            List<StudentAttributes> studentsForCourse = studentsLogic.getStudentsForCourse(session.getCourseId());
-
-            for (StudentAttributes student : studentsForCourse) {
-                try {
-                    if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(session.getFeedbackSessionName(),
-                            session.getCourseId(), student.email)) {
-                        students.add(student);
-                    }
-                } catch (EntityDoesNotExistException e) {
-                    log.severe("Course " + session.getCourseId() + " does not exist or "
-                               + "session " + session.getFeedbackSessionName() + " does not exist");
-                    // Course or session cannot be found for one student => it will be the case for all students
-                    // Do not waste time looping through all students
-                    break;
-                }
-            }
-        }
-
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_CLOSING;
-        CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
-        List<InstructorAttributes> instructors = isEmailNeeded
-                                                 ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
-                                                 : new ArrayList<InstructorAttributes>();
-
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_CLOSING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is closing soon"));
-        }
-        return emails;
+        return generateFeedbackSessionEmailsForCourse(session, EmailType.FEEDBACK_CLOSING);
     }
 
     /**
@@ -338,20 +364,7 @@ public class EmailGenerator {
      * Generates the feedback session published emails for the given {@code session}.
      */
     public List<EmailWrapper> generateFeedbackSessionPublishedEmails(FeedbackSessionAttributes session) {
-
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_PUBLISHED;
-
-        CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
-        boolean isEmailNeeded = fsLogic.isFeedbackSessionViewableToStudents(session);
-        List<InstructorAttributes> instructors = isEmailNeeded
-                                                 ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
-                                                 : new ArrayList<InstructorAttributes>();
-        List<StudentAttributes> students = isEmailNeeded
-                                           ? studentsLogic.getStudentsForCourse(session.getCourseId())
-                                           : new ArrayList<StudentAttributes>();
-
-        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                EmailType.FEEDBACK_PUBLISHED.getSubject());
+        return generateFeedbackSessionEmailsForCourse(session, EmailType.FEEDBACK_PUBLISHED);
     }
 
     /**
@@ -379,73 +392,90 @@ public class EmailGenerator {
             List<InstructorAttributes> instructors, String template, String subject) {
 
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
+        if (students.isEmpty() && instructors.isEmpty()) {
+            return emails;
+        }
+
+        String emailSubject = String.format(subject, course.getName(), session.getFeedbackSessionName());
+
+        String studentTemplate = populateFeedbackSessionEmailTemplate(course, session, template, "");
+        List<String> studentKeys = new ArrayList<String>();
         for (StudentAttributes student : students) {
-            emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, student, template, subject));
+            studentKeys.add(student.key);
         }
+        List<String> encryptedStudentKeys = StringHelper.encrypt(studentKeys);
+        for (int i = 0; i < students.size(); i++) {
+            emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, students.get(i),
+                    encryptedStudentKeys.get(i), studentTemplate, emailSubject));
+        }
+
+        String instructorTemplate = Templates.populateTemplate(
+                populateFeedbackSessionEmailTemplate(course, session, template,
+                        "<p>The email below has been sent to students of course: "
+                        + SanitizationHelper.sanitizeForHtml(course.getId())
+                        + ".<br>" + Const.EOL + "<br>" + Const.EOL
+                        + "=== Email message as seen by the students ===</p>" + Const.EOL),
+                "${submitUrl}", "{in the actual email sent to the students, this will be the unique link}",
+                "${reportUrl}", "{in the actual email sent to the students, this will be the unique link}");
         for (InstructorAttributes instructor : instructors) {
-            emails.add(generateFeedbackSessionEmailBaseForInstructors(course, session, instructor, template, subject));
+            emails.add(generateFeedbackSessionEmailBaseForInstructors(instructor, instructorTemplate, emailSubject));
         }
         return emails;
     }
 
+    /**
+     * Populates the parts of the feedback session email {@code template} that are the same for all recipients,
+     * leaving only the name and links of each recipient to be populated.
+     */
+    private String populateFeedbackSessionEmailTemplate(CourseAttributes course, FeedbackSessionAttributes session,
+                                                        String template, String instructorFragment) {
+        return Templates.populateTemplate(template,
+                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
+                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
+                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName()),
+                "${deadline}", SanitizationHelper.sanitizeForHtml(TimeHelper.formatTime12H(session.getEndTime())),
+                "${instructorFragment}", instructorFragment,
+                "${sessionInstructions}", session.getInstructionsString(),
+                "${supportEmail}", Config.SUPPORT_EMAIL);
+    }
+
     private EmailWrapper generateFeedbackSessionEmailBaseForStudents(
-            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student, String template,
-            String subject) {
+            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student,
+            String encryptedKey, String populatedTemplate, String emailSubject) {
 
         String submitUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
                                  .withSessionName(session.getFeedbackSessionName())
-                                 .withRegistrationKey(StringHelper.encrypt(student.key))
+                                 .withRegistrationKey(encryptedKey)
                                  .withStudentEmail(student.email)
                                  .toAbsoluteString();
 
         String reportUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE)
                                  .withCourseId(course.getId())
                                  .withSessionName(session.getFeedbackSessionName())
-                                 .withRegistrationKey(StringHelper.encrypt(student.key))
+                                 .withRegistrationKey(encryptedKey)
                                  .withStudentEmail(student.email)
                                  .toAbsoluteString();
 
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = Templates.populateTemplate(populatedTemplate,
                 "${userName}", SanitizationHelper.sanitizeForHtml(student.name),
-                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
-                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
-                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName()),
-                "${deadline}", SanitizationHelper.sanitizeForHtml(TimeHelper.formatTime12H(session.getEndTime())),
-                "${instructorFragment}", "",
-                "${sessionInstructions}", session.getInstructionsString(),
                 "${submitUrl}", submitUrl,
-                "${reportUrl}", reportUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+                "${reportUrl}", reportUrl);
 
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setSubject(emailSubject);
         email.setContent(emailBody);
         return email;
     }
 
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructors(
-            CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            InstructorAttributes instructor, String populatedTemplate, String emailSubject) {
 
-        String emailBody = Templates.populateTemplate(template,
-                "${userName}", SanitizationHelper.sanitizeForHtml(instructor.name),
-                "${courseName}", SanitizationHelper.sanitizeForHtml(course.getName()),
-                "${courseId}", SanitizationHelper.sanitizeForHtml(course.getId()),
-                "${feedbackSessionName}", SanitizationHelper.sanitizeForHtml(session.getFeedbackSessionName()),
-                "${deadline}", SanitizationHelper.sanitizeForHtml(TimeHelper.formatTime12H(session.getEndTime())),
-                "${instructorFragment}",
-                        "<p>The email below has been sent to students of course: "
-                        + SanitizationHelper.sanitizeForHtml(course.getId())
-                        + ".<br>" + Const.EOL + "<br>" + Const.EOL
-                        + "=== Email message as seen by the students ===</p>" + Const.EOL,
-                "${sessionInstructions}", session.getInstructionsString(),
-                "${submitUrl}", "{in the actual email sent to the students, this will be the unique link}",
-                "${reportUrl}", "{in the actual email sent to the students, this will be the unique link}",
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+        String emailBody = Templates.populateTemplate(populatedTemplate,
+                "${userName}", SanitizationHelper.sanitizeForHtml(instructor.name));
 
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setSubject(emailSubject);
         email.setContent(emailBody);
         return email;
     }
@@ -1,6 +1,9 @@
 package teammates.logic.api;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import teammates.common.exception.EmailSendingException;
 import teammates.common.exception.TeammatesException;
@@ -13,6 +16,7 @@ import teammates.logic.core.JavamailService;
 import teammates.logic.core.MailgunService;
 import teammates.logic.core.MailjetService;
 import teammates.logic.core.SendgridService;
+import teammates.storage.api.SentEmailBatchesDb;
 
 /**
  * Handles operations related to sending emails.
@@ -21,6 +25,8 @@ public class EmailSender {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final SentEmailBatchesDb sentEmailBatchesDb = new SentEmailBatchesDb();
+
     private final EmailSenderService service;
 
     public EmailSender() {
@@ -46,6 +52,55 @@ public class EmailSender {
         log.info(emailLogInfo);
     }
 
+    /**
+     * Sends the given {@code messages} in as few calls to the email sending service as possible
+     * and generates a log report for each message sent.
+     *
+     * @return the messages which could not be sent
+     * @see EmailSenderService#sendEmails(List)
+     */
+    public List<EmailWrapper> sendEmails(List<EmailWrapper> messages) {
+        List<EmailWrapper> unsentMessages = service.sendEmails(messages);
+
+        Set<EmailWrapper> unsentMessagesSet = new HashSet<EmailWrapper>(unsentMessages);
+        for (EmailWrapper message : messages) {
+            if (!unsentMessagesSet.contains(message)) {
+                log.info(new EmailLogEntry(message).generateLogMessage());
+            }
+        }
+        return unsentMessages;
+    }
+
+    /**
+     * Sends the given {@code messages} as in {@link #sendEmails(List)}, unless they have already been sent
+     * under the same {@code batchId}, e.g. by an earlier run of the task sending them.
+     * The messages are recorded as sent under the {@code batchId} only if all of them are sent.
+     *
+     * @return the messages which could not be sent
+     */
+    public List<EmailWrapper> sendEmailBatch(String batchId, List<EmailWrapper> messages) {
+        if (sentEmailBatchesDb.isEmailBatchSent(batchId)) {
+            log.info("Batch of emails " + batchId + " has already been sent");
+            return new ArrayList<EmailWrapper>();
+        }
+
+        List<EmailWrapper> unsentMessages = sendEmails(messages);
+        if (unsentMessages.isEmpty()) {
+            sentEmailBatchesDb.putEmailBatchSent(batchId);
+        }
+        return unsentMessages;
+    }
+
+    /**
+     * Groups the given {@code messages} into batches, each of which can be sent in one call
+     * to the email sending service.
+     *
+     * @see EmailSenderService#groupIntoBatches(List)
+     */
+    public List<List<EmailWrapper>> groupIntoBatches(List<EmailWrapper> messages) {
+        return service.groupIntoBatches(messages);
+    }
+
     /**
      * Sends the given {@code message} with Javamail service regardless of configuration.
      */
@@ -1,5 +1,7 @@
 package teammates.logic.api;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -22,6 +24,7 @@ import teammates.common.datatransfer.FeedbackSessionResponseStatus;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentSearchResultBundle;
@@ -57,6 +60,9 @@ import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.ProfilesLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.storage.api.ConsistencyToken;
+import teammates.storage.api.EntitiesCache;
+import teammates.storage.search.SearchDocumentsBuffer;
 
 /**
  * Provides the business logic for production usage of the system.
@@ -565,6 +571,18 @@ public class Logic {
         return coursesLogic.getCourse(courseId);
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the students and instructors of the course.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+
+        Assumption.assertNotNull(courseId);
+
+        return coursesLogic.getCourseRoster(courseId);
+    }
+
     /**
      * Returns a detailed version of course data. <br>
      * Preconditions: <br>
@@ -575,6 +593,17 @@ public class Logic {
         return coursesLogic.getCourseSummary(courseId);
     }
 
+    /**
+     * Returns the course data with only the statistics of the course, e.g. the number of students,
+     * and not its sections and teams. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public CourseDetailsBundle getCourseDetailsWithStatsOnly(String courseId) throws EntityDoesNotExistException {
+        Assumption.assertNotNull(courseId);
+        return coursesLogic.getCourseSummaryWithStatsOnly(courseId);
+    }
+
     /**
      * Returns a course data, including its feedback sessions, according to the instructor passed in.<br>
      * Preconditions: <br>
@@ -838,6 +867,19 @@ public class Logic {
         return studentsLogic.getStudentsForCourse(courseId);
     }
 
+    /**
+     * Gets the students of a course page by page. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, i.e. {@link ResultsPage#getNextCursor()} of the
+     *         previous page, or null for the first page
+     * @return the page of at most {@code pageSize} students which starts at {@code cursor}
+     */
+    public ResultsPage<StudentAttributes> getStudentsForCoursePage(String courseId, String cursor, int pageSize) {
+        Assumption.assertNotNull(courseId);
+        return studentsLogic.getStudentsForCoursePage(courseId, cursor, pageSize);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1341,6 +1383,28 @@ public class Logic {
                 questionId, filterText, isMissingResponsesShown, isStatsShown);
     }
 
+    /**
+     * Writes summary results (without comments) in CSV format to {@code writer}, one question at a time. <br>
+     * Preconditions: <br>
+     * * All parameters(except section and questionId) are non-null. <br>
+     * @see FeedbackSessionsLogic#writeFeedbackSessionResultsSummaryInSectionAsCsv(String, String, String,
+     *      String, String, String, boolean, boolean, Writer)
+     */
+    public void writeFeedbackSessionResultSummaryAsCsv(
+            String courseId, String feedbackSessionName, String instructorEmail,
+            String section, String questionId, String filterText, boolean isMissingResponsesShown, boolean isStatsShown,
+            Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        Assumption.assertNotNull(courseId);
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(writer);
+
+        feedbackSessionsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                feedbackSessionName, courseId, instructorEmail, section,
+                questionId, filterText, isMissingResponsesShown, isStatsShown, writer);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1387,6 +1451,19 @@ public class Logic {
         feedbackSessionsLogic.updateRespondentsForSession(feedbackSessionName, courseId);
     }
 
+    /**
+     * Records the givers of the responses of the session as respondents, keeping the respondents recorded already.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void addRespondents(String feedbackSessionName, String courseId) throws InvalidParametersException,
+                                                                                   EntityDoesNotExistException {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+
+        feedbackSessionsLogic.addRespondentsForSession(feedbackSessionName, courseId);
+    }
+
     public void addInstructorRespondent(String email, String feedbackSessionName, String courseId)
             throws EntityDoesNotExistException, InvalidParametersException {
 
@@ -1900,6 +1977,53 @@ public class Logic {
         return feedbackResponsesLogic.getFeedbackResponsesForQuestion(questionId);
     }
 
+    /**
+     * Gets the responses of a session page by page. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, i.e. {@link ResultsPage#getNextCursor()} of the
+     *         previous page, or null for the first page
+     * @return the page of at most {@code pageSize} responses which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+    }
+
+    /**
+     * Gets the responses of a session given by students of a section page by page. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code section} and {@code cursor} are non-null.
+     * @param section the section of the givers, or null for all responses of the session
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} responses which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.getFeedbackResponsesForSessionFromSectionPage(
+                feedbackSessionName, courseId, section, cursor, pageSize);
+    }
+
+    /**
+     * Gets the responses of a session given to students of a section page by page. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code section} and {@code cursor} are non-null.
+     * @param section the section of the recipients, or null for all responses of the session
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} responses which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        return feedbackResponsesLogic.getFeedbackResponsesForSessionToSectionPage(
+                feedbackSessionName, courseId, section, cursor, pageSize);
+    }
+
     public boolean hasGiverRespondedForSession(String userEmail, String feedbackSessionName, String courseId) {
         Assumption.assertNotNull(userEmail);
         Assumption.assertNotNull(feedbackSessionName);
@@ -1928,6 +2052,26 @@ public class Logic {
         feedbackResponsesLogic.updateFeedbackResponse(feedbackResponse);
     }
 
+    /**
+     * Saves the responses submitted by their givers in a session in bulk,
+     * writing only the responses which differ from the stored ones.
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * All responses belong to the session and have their giver set.
+     * @see FeedbackResponsesLogic#saveFeedbackResponses(String, String, List, List)
+     */
+    public void saveFeedbackResponses(String feedbackSessionName, String courseId,
+            List<FeedbackResponseAttributes> responsesToSave, List<FeedbackResponseAttributes> responsesToDelete)
+            throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
+
+        Assumption.assertNotNull(feedbackSessionName);
+        Assumption.assertNotNull(courseId);
+        Assumption.assertNotNull(responsesToSave);
+        Assumption.assertNotNull(responsesToDelete);
+
+        feedbackResponsesLogic.saveFeedbackResponses(feedbackSessionName, courseId, responsesToSave, responsesToDelete);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1962,6 +2106,22 @@ public class Logic {
         return feedbackResponseCommentsLogic.getFeedbackResponseCommentsForGiver(courseId, giverEmail);
     }
 
+    /**
+     * Gets the response comments of a session page by page. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, i.e. {@link ResultsPage#getNextCursor()} of the
+     *         previous page, or null for the first page
+     * @return the page of at most {@code pageSize} comments which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForSessionPage(
+            String courseId, String feedbackSessionName, String cursor, int pageSize) {
+        Assumption.assertNotNull(courseId);
+        Assumption.assertNotNull(feedbackSessionName);
+        return feedbackResponseCommentsLogic.getFeedbackResponseCommentsForSessionPage(
+                courseId, feedbackSessionName, cursor, pageSize);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -2460,4 +2620,65 @@ public class Logic {
         return studentsLogic.getSectionForTeam(courseId, teamName);
     }
 
+    /**
+     * Starts caching the entities read by the current thread, so that reading them again
+     * while processing the same request does not query the Datastore again.
+     * {@link #stopCachingEntities()} must be called once the request has been processed.
+     *
+     * @see EntitiesCache#start()
+     */
+    public void startCachingEntities() {
+        EntitiesCache.start();
+    }
+
+    /**
+     * Stops caching the entities read by the current thread and logs how many reads were served from the cache.
+     *
+     * @see EntitiesCache#stop()
+     */
+    public void stopCachingEntities() {
+        EntitiesCache.stop();
+    }
+
+    /**
+     * Starts recording the entities created and deleted by the current thread, so that checking whether they exist
+     * while processing the same request does not have to wait for the writes to be visible to Datastore queries.
+     * {@link #stopRecordingWrites()} must be called once the request has been processed.
+     *
+     * @see ConsistencyToken#start()
+     */
+    public void startRecordingWrites() {
+        ConsistencyToken.start();
+    }
+
+    /**
+     * Stops recording the entities created and deleted by the current thread.
+     *
+     * @see ConsistencyToken#stop()
+     */
+    public void stopRecordingWrites() {
+        ConsistencyToken.stop();
+    }
+
+    /**
+     * Starts collecting the search documents put by the current thread instead of putting them right away,
+     * so that they can be put after the request by {@link TaskQueuer#scheduleSearchDocumentsProduction}.
+     * {@link #stopBufferingSearchDocuments()} must be called once the request has been processed.
+     *
+     * @see SearchDocumentsBuffer#start()
+     */
+    public void startBufferingSearchDocuments() {
+        SearchDocumentsBuffer.start();
+    }
+
+    /**
+     * Stops collecting the search documents put by the current thread.
+     *
+     * @return the IDs of the collected documents, by the name of their search index
+     * @see SearchDocumentsBuffer#stop()
+     */
+    public Map<String, List<String>> stopBufferingSearchDocuments() {
+        return SearchDocumentsBuffer.stop();
+    }
+
 }
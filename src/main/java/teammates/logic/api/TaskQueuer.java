@@ -1,12 +1,21 @@
 package teammates.logic.api;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+
+import com.google.appengine.api.taskqueue.QueueConstants;
 
 import teammates.common.datatransfer.StudentEnrollDetails;
+import teammates.common.util.Config;
+import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.TaskQueue;
+import teammates.common.util.EmailType;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.JsonUtils;
 import teammates.common.util.Logger;
@@ -20,6 +29,12 @@ public class TaskQueuer {
 
     private static final Logger log = Logger.getLogger();
 
+    /**
+     * The maximum number of search documents put by one task, which the worker puts in one call to the
+     * Search API. The IDs of that many documents are well within the size limit of a task.
+     */
+    private static final int MAX_SEARCH_DOCUMENTS_PER_TASK = 200;
+
     // The following methods are facades to the actual logic for adding tasks to the queue.
     // Using this method, the actual logic can still be black-boxed
     // while at the same time allowing this API to be mocked during test.
@@ -43,6 +58,29 @@ public class TaskQueuer {
         new TaskQueuesLogic().addDeferredTask(task, countdownTime);
     }
 
+    protected void addDeferredTasks(String queueName, String workerUrl, List<Map<String, String>> paramMaps,
+                                    long countdownTimeInterval) {
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        for (Map<String, String> paramMap : paramMaps) {
+            Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
+            for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+                multisetParamMap.put(entry.getKey(), new String[] { entry.getValue() });
+            }
+            tasks.add(new TaskWrapper(queueName, workerUrl, multisetParamMap));
+        }
+        new TaskQueuesLogic().addDeferredTasks(tasks, countdownTimeInterval);
+    }
+
+    protected void addDeferredTasksMultisetParam(String queueName, String workerUrl,
+                                                 List<Map<String, String[]>> paramMaps, long countdownTime,
+                                                 long countdownTimeInterval) {
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        for (Map<String, String[]> paramMap : paramMaps) {
+            tasks.add(new TaskWrapper(queueName, workerUrl, paramMap));
+        }
+        new TaskQueuesLogic().addDeferredTasks(tasks, countdownTime, countdownTimeInterval);
+    }
+
     protected void addTaskMultisetParam(String queueName, String workerUrl, Map<String, String[]> paramMap) {
         TaskWrapper task = new TaskWrapper(queueName, workerUrl, paramMap);
         new TaskQueuesLogic().addTask(task);
@@ -68,6 +106,16 @@ public class TaskQueuer {
         throw new UnsupportedOperationException("Method is used only for testing");
     }
 
+    /**
+     * Gets the number of calls made to add tasks, i.e. of batches of tasks added, for each queue name.
+     * This method is used only for testing, where it is overridden.
+     *
+     * @throws UnsupportedOperationException if used in production, where it is not meant to be
+     */
+    public Map<String, Integer> getNumberOfBatchesAdded() {
+        throw new UnsupportedOperationException("Method is used only for testing");
+    }
+
     // The following methods are the actual API methods to be used by the client classes
 
     /**
@@ -143,14 +191,17 @@ public class TaskQueuer {
      * Schedules for comments notifications (i.e. student has received comment but not yet notified via email)
      * for students in course {@code courseId}.
      *
+     * <p>The notifications are prepared from the comments queried by their sending state, so the task is delayed
+     * until the sending states updated just before scheduling it are visible to queries.
+     *
      * @param courseId the target course ID of the students
      */
     public void scheduleCommentsNotificationsForCourse(String courseId) {
         Map<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.EMAIL_COURSE, courseId);
 
-        addTask(TaskQueue.PENDING_COMMENT_CLEARED_EMAIL_QUEUE_NAME,
-                TaskQueue.PENDING_COMMENT_CLEARED_EMAIL_WORKER_URL, paramMap);
+        addDeferredTask(TaskQueue.PENDING_COMMENT_CLEARED_EMAIL_QUEUE_NAME,
+                        TaskQueue.PENDING_COMMENT_CLEARED_EMAIL_WORKER_URL, paramMap, Config.PERSISTENCE_CHECK_DURATION);
     }
 
     /**
@@ -188,6 +239,50 @@ public class TaskQueuer {
                              TaskQueue.FEEDBACK_SESSION_REMIND_PARTICULAR_USERS_EMAIL_WORKER_URL, paramMap);
     }
 
+    /**
+     * Schedules for the feedback session emails of the specified type to be prepared,
+     * i.e. for the students and instructors of the course to be split into batches of recipients.
+     *
+     * @param courseId the course ID of the feedback session
+     * @param feedbackSessionName the name of the feedback session
+     * @param emailType the type of the emails, i.e. opening, closing or published emails
+     */
+    public void scheduleFeedbackSessionEmailsPreparation(String courseId, String feedbackSessionName,
+                                                         EmailType emailType) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_COURSE, courseId);
+        paramMap.put(ParamsNames.EMAIL_FEEDBACK, feedbackSessionName);
+        paramMap.put(ParamsNames.EMAIL_TYPE, emailType.name());
+
+        addTask(TaskQueue.FEEDBACK_SESSION_PREPARE_EMAILS_QUEUE_NAME,
+                TaskQueue.FEEDBACK_SESSION_PREPARE_EMAILS_WORKER_URL, paramMap);
+    }
+
+    /**
+     * Schedules for the feedback session emails of the specified type to be generated and sent
+     * to a batch of students and instructors of the course.
+     *
+     * @param courseId the course ID of the feedback session
+     * @param feedbackSessionName the name of the feedback session
+     * @param emailType the type of the emails, i.e. opening, closing or published emails
+     * @param studentEmails the email addresses of the students in the batch
+     * @param instructorEmails the email addresses of the instructors in the batch
+     */
+    public void scheduleFeedbackSessionEmailsGeneration(String courseId, String feedbackSessionName,
+                                                        EmailType emailType, List<String> studentEmails,
+                                                        List<String> instructorEmails) {
+        Map<String, String[]> paramMap = new HashMap<String, String[]>();
+        paramMap.put(ParamsNames.EMAIL_COURSE, new String[] { courseId });
+        paramMap.put(ParamsNames.EMAIL_FEEDBACK, new String[] { feedbackSessionName });
+        paramMap.put(ParamsNames.EMAIL_TYPE, new String[] { emailType.name() });
+        paramMap.put(ParamsNames.EMAIL_STUDENT_RECEIVERS, studentEmails.toArray(new String[studentEmails.size()]));
+        paramMap.put(ParamsNames.EMAIL_INSTRUCTOR_RECEIVERS,
+                     instructorEmails.toArray(new String[instructorEmails.size()]));
+
+        addTaskMultisetParam(TaskQueue.FEEDBACK_SESSION_GENERATE_EMAILS_QUEUE_NAME,
+                             TaskQueue.FEEDBACK_SESSION_GENERATE_EMAILS_WORKER_URL, paramMap);
+    }
+
     /**
      * Schedules for feedback session published email to be sent.
      *
@@ -255,19 +350,15 @@ public class TaskQueuer {
     }
 
     /**
-     * Schedules adjustments to be done to responses of a feedback session in the database
-     * after change is done to a course, typically after enrollment of new students
-     * or re-enrollment of old students, or both.
+     * Schedules adjustments to be done to responses of all feedback sessions of a course in the database
+     * after change is done to the course, typically after re-enrollment of old students.
      *
-     * @param courseId the course ID of the feedback session
-     * @param feedbackSessionName the name of the feedback session
+     * @param courseId the course ID of the feedback sessions
      * @param enrollmentList the list of enrollment details
      */
-    public void scheduleFeedbackResponseAdjustmentForCourse(String courseId, String feedbackSessionName,
-                                                            List<StudentEnrollDetails> enrollmentList) {
+    public void scheduleFeedbackResponseAdjustmentForCourse(String courseId, List<StudentEnrollDetails> enrollmentList) {
         Map<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.COURSE_ID, courseId);
-        paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
 
         String enrollmentDetails = JsonUtils.toJson(enrollmentList);
         paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
@@ -277,16 +368,35 @@ public class TaskQueuer {
     }
 
     /**
-     * Schedules putting of comment document in index.
+     * Schedules putting of the search documents with the given IDs in the given search index.
+     * The documents are split across as many tasks as needed for each task to put at most
+     * {@value #MAX_SEARCH_DOCUMENTS_PER_TASK} documents.
+     *
+     * <p>Students and instructors are found from their document IDs by queries, so the tasks are delayed
+     * until the entities written just before scheduling them are visible to queries.
      *
-     * @param commentId the ID of comment to be put in index
+     * @param indexName the name of the search index
+     * @param documentIds the IDs of the documents to be put, which identify the entities to build the documents from
      */
-    public void scheduleSearchableDocumentsProductionForComments(String commentId) {
-        Map<String, String> paramMap = new HashMap<String, String>();
-        paramMap.put(ParamsNames.COMMENT_ID, commentId);
+    public void scheduleSearchDocumentsProduction(String indexName, List<String> documentIds) {
+        if (documentIds.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, String[]>> paramMaps = new ArrayList<Map<String, String[]>>();
+        for (int i = 0; i < documentIds.size(); i += MAX_SEARCH_DOCUMENTS_PER_TASK) {
+            List<String> documentIdsOfTask =
+                    documentIds.subList(i, Math.min(i + MAX_SEARCH_DOCUMENTS_PER_TASK, documentIds.size()));
+            Map<String, String[]> paramMap = new HashMap<String, String[]>();
+            paramMap.put(ParamsNames.SEARCH_INDEX, new String[] { indexName });
+            paramMap.put(ParamsNames.SEARCH_DOCUMENT_ID,
+                         documentIdsOfTask.toArray(new String[documentIdsOfTask.size()]));
+            paramMaps.add(paramMap);
+        }
 
-        addTask(TaskQueue.PRODUCE_SEARCH_DOCUMENTS_COMMENTS_QUEUE_NAME,
-                TaskQueue.PRODUCE_SEARCH_DOCUMENTS_COMMENTS_WORKER_URL, paramMap);
+        addDeferredTasksMultisetParam(TaskQueue.PUT_SEARCH_DOCUMENTS_QUEUE_NAME,
+                                      TaskQueue.PUT_SEARCH_DOCUMENTS_WORKER_URL, paramMaps,
+                                      Config.PERSISTENCE_CHECK_DURATION, 0);
     }
 
     /**
@@ -304,41 +414,127 @@ public class TaskQueuer {
         int oneHourInMillis = 60 * 60 * 1000;
         int emailIntervalMillis = Math.min(5000, oneHourInMillis / emails.size());
 
-        int numberOfEmailsSent = 0;
+        List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
         for (EmailWrapper email : emails) {
-            long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-            scheduleEmailForSending(email, emailDelayTimer);
-            numberOfEmailsSent++;
+            paramMaps.add(getEmailParamMap(email));
         }
-    }
 
-    private void scheduleEmailForSending(EmailWrapper email, long emailDelayTimer) {
-        String emailSubject = email.getSubject();
-        String emailSenderName = email.getSenderName();
-        String emailSender = email.getSenderEmail();
-        String emailReceiver = email.getRecipient();
-        String emailReplyToAddress = email.getReplyTo();
         try {
-            Map<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, email.getContent());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            if (emailSenderName != null && !emailSenderName.isEmpty()) {
-                paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
+            addDeferredTasks(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                             paramMaps, emailIntervalMillis);
+        } catch (Exception e) {
+            log.severe("Error when adding " + emails.size() + " emails to task queue, "
+                       + "some of which may not have been added: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Schedules for the given batches of emails to be sent, each batch in one task of the send-email-queue.
+     * A batch too large for one task is split across several tasks.
+     *
+     * @param batches the batches of emails to be sent, each of which has emails of the same sender,
+     *                reply-to address and subject, to different recipients
+     * @see EmailSender#groupIntoBatches(List)
+     */
+    public void scheduleEmailBatchesForSending(List<List<EmailWrapper>> batches) {
+        List<Map<String, String[]>> paramMaps = new ArrayList<Map<String, String[]>>();
+        for (List<EmailWrapper> batch : batches) {
+            for (List<EmailWrapper> batchOfTask : splitIntoBatchesOfTasks(batch)) {
+                paramMaps.add(getEmailBatchParamMap(batchOfTask));
             }
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
+        }
+        if (paramMaps.isEmpty()) {
+            return;
+        }
+
+        // Equally spread out the batches to be sent over 1 hour, as for single emails
+        int oneHourInMillis = 60 * 60 * 1000;
+        int batchIntervalMillis = Math.min(5000, oneHourInMillis / paramMaps.size());
 
-            addDeferredTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
-                            paramMap, emailDelayTimer);
+        try {
+            addDeferredTasksMultisetParam(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                                          paramMaps, 0, batchIntervalMillis);
         } catch (Exception e) {
-            log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply-to address: " + emailReplyToAddress);
+            log.severe("Error when adding " + paramMaps.size() + " batches of emails to task queue, "
+                       + "some of which may not have been added: " + e.getMessage());
+        }
+    }
+
+    private static List<List<EmailWrapper>> splitIntoBatchesOfTasks(List<EmailWrapper> batch) {
+        List<List<EmailWrapper>> batchesOfTasks = new ArrayList<List<EmailWrapper>>();
+        // the headers shared by the emails of the batch, with an ID of the same size as the batch ID
+        Map<String, String> headerParamMap = getEmailParamMap(batch.get(0));
+        headerParamMap.remove(ParamsNames.EMAIL_RECEIVER);
+        headerParamMap.remove(ParamsNames.EMAIL_CONTENT);
+        headerParamMap.put(ParamsNames.EMAIL_BATCH_ID, UUID.randomUUID().toString());
+        int maxContentSize = QueueConstants.maxPushTaskSizeBytes() - getEncodedSize(headerParamMap);
+        int start = 0;
+        int contentSize = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            EmailWrapper email = batch.get(i);
+            int emailContentSize = getEncodedSize(ParamsNames.EMAIL_RECEIVER, email.getRecipient())
+                                   + getEncodedSize(ParamsNames.EMAIL_CONTENT, email.getContent());
+            if (i > start && contentSize + emailContentSize > maxContentSize) {
+                batchesOfTasks.add(batch.subList(start, i));
+                start = i;
+                contentSize = 0;
+            }
+            contentSize += emailContentSize;
+        }
+        batchesOfTasks.add(batch.subList(start, batch.size()));
+        return batchesOfTasks;
+    }
+
+    /**
+     * Returns the size of the parameters as encoded in the payload of a task.
+     */
+    private static int getEncodedSize(Map<String, String> paramMap) {
+        int size = 0;
+        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+            size += getEncodedSize(entry.getKey(), entry.getValue());
+        }
+        return size;
+    }
+
+    private static int getEncodedSize(String paramName, String paramValue) {
+        try {
+            // the name, the value and the separators around them
+            return paramName.length() + URLEncoder.encode(paramValue, Const.SystemParams.ENCODING).length() + 2;
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Map<String, String[]> getEmailBatchParamMap(List<EmailWrapper> batch) {
+        Map<String, String[]> paramMap = new HashMap<String, String[]>();
+        for (Map.Entry<String, String> entry : getEmailParamMap(batch.get(0)).entrySet()) {
+            paramMap.put(entry.getKey(), new String[] { entry.getValue() });
+        }
+
+        String[] recipients = new String[batch.size()];
+        String[] contents = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            recipients[i] = batch.get(i).getRecipient();
+            contents[i] = batch.get(i).getContent();
+        }
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, recipients);
+        paramMap.put(ParamsNames.EMAIL_CONTENT, contents);
+        paramMap.put(ParamsNames.EMAIL_BATCH_ID, new String[] { UUID.randomUUID().toString() });
+        return paramMap;
+    }
+
+    private static Map<String, String> getEmailParamMap(EmailWrapper email) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, email.getSubject());
+        paramMap.put(ParamsNames.EMAIL_CONTENT, email.getContent());
+        paramMap.put(ParamsNames.EMAIL_SENDER, email.getSenderEmail());
+        String emailSenderName = email.getSenderName();
+        if (emailSenderName != null && !emailSenderName.isEmpty()) {
+            paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
         }
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, email.getRecipient());
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, email.getReplyTo());
+        return paramMap;
     }
 
 }
@@ -550,9 +550,8 @@ public final class CommentsLogic {
      * @throws EntityDoesNotExistException when the course doesn't exist
      */
     public Set<String> getRecipientEmailsForSendingComments(String courseId) throws EntityDoesNotExistException {
-        List<StudentAttributes> allStudents = studentsLogic.getStudentsForCourse(courseId);
-
-        CourseRoster roster = new CourseRoster(allStudents, instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
+        List<StudentAttributes> allStudents = roster.getStudents();
 
         Map<String, List<StudentAttributes>> teamStudentTable = new HashMap<String, List<StudentAttributes>>();
         Map<String, List<StudentAttributes>> sectionStudentTable = new HashMap<String, List<StudentAttributes>>();
@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -9,6 +10,8 @@ import java.util.Map;
 import java.util.Set;
 
 import teammates.common.datatransfer.CourseDetailsBundle;
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.CourseStats;
 import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.InstructorPrivileges;
@@ -29,6 +32,8 @@ import teammates.common.util.FieldValidator;
 import teammates.common.util.Logger;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StringHelper;
+import teammates.storage.api.CourseRosterDb;
+import teammates.storage.api.CourseRosterDb.CourseRosterLoader;
 import teammates.storage.api.CoursesDb;
 
 /**
@@ -43,7 +48,8 @@ public final class CoursesLogic {
 
     private static CoursesLogic instance = new CoursesLogic();
 
-    /* Explanation: This class depends on CoursesDb class but no other *Db classes.
+    /* Explanation: This class depends on CoursesDb class (and CourseRosterDb, which
+     * only caches what is read through other *Logic classes) but no other *Db classes.
      * That is because reading/writing entities from/to the datastore is the
      * responsibility of the matching *Logic class.
      * However, this class can talk to other *Logic classes. That is because
@@ -52,6 +58,7 @@ public final class CoursesLogic {
      */
 
     private static final CoursesDb coursesDb = new CoursesDb();
+    private static final CourseRosterDb courseRosterDb = new CourseRosterDb();
 
     private static final AccountsLogic accountsLogic = AccountsLogic.inst();
     private static final CommentsLogic commentsLogic = CommentsLogic.inst();
@@ -122,6 +129,20 @@ public final class CoursesLogic {
         return coursesDb.getCourse(courseId);
     }
 
+    /**
+     * Gets the roster of the course, from the cache if no student or instructor
+     * of the course has been written since it was cached.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+        return courseRosterDb.getOrLoadCourseRoster(courseId, new CourseRosterLoader() {
+            @Override
+            public CourseRoster load(String courseId) {
+                return new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                        instructorsLogic.getInstructorsForCourse(courseId));
+            }
+        });
+    }
+
     /**
      * Returns true if the course with ID courseId is present.
      */
@@ -536,7 +557,8 @@ public final class CoursesLogic {
      *
      * @param googleId The Google ID of the instructor
      * @return HashMap with courseId as key, and CourseDetailsBundle as value.
-     *         Does not include details within the course, such as feedback sessions.
+     *         Includes only the statistics of the course, and not details within the course
+     *         such as sections and feedback sessions.
      */
     public HashMap<String, CourseDetailsBundle> getCourseSummariesForInstructor(String googleId, boolean omitArchived)
             throws EntityDoesNotExistException {
@@ -553,7 +575,8 @@ public final class CoursesLogic {
      * Returns course summaries for instructors.<br>
      *
      * @return HashMap with courseId as key, and CourseDetailsBundle as value.
-     *         Does not include details within the course, such as feedback sessions.
+     *         Includes only the statistics of the course, and not details within the course
+     *         such as sections and feedback sessions.
      */
     public HashMap<String, CourseDetailsBundle> getCourseSummariesForInstructor(
             List<InstructorAttributes> instructorAttributesList) {
@@ -575,13 +598,88 @@ public final class CoursesLogic {
             log.severe("Course(s) was deleted but the instructor still exists: " + Const.EOL + courseIdList.toString());
         }
 
+        List<String> foundCourseIds = new ArrayList<String>();
         for (CourseAttributes ca : courseList) {
-            courseSummaryList.put(ca.getId(), getCourseSummary(ca));
+            foundCourseIds.add(ca.getId());
+        }
+        Map<String, CourseStats> courseStats = getCourseStats(foundCourseIds);
+
+        for (CourseAttributes ca : courseList) {
+            CourseDetailsBundle cdd = new CourseDetailsBundle(ca);
+            cdd.stats = courseStats.get(ca.getId());
+            courseSummaryList.put(ca.getId(), cdd);
         }
 
         return courseSummaryList;
     }
 
+    /**
+     * Returns the {@link CourseDetailsBundle} course details for a course using courseId,
+     * including only the statistics of the course and not its sections.
+     */
+    public CourseDetailsBundle getCourseSummaryWithStatsOnly(String courseId) throws EntityDoesNotExistException {
+        CourseAttributes cd = coursesDb.getCourse(courseId);
+
+        if (cd == null) {
+            throw new EntityDoesNotExistException("The course does not exist: " + courseId);
+        }
+
+        CourseDetailsBundle cdd = new CourseDetailsBundle(cd);
+        cdd.stats = getCourseStats(Arrays.asList(courseId)).get(courseId);
+        return cdd;
+    }
+
+    /**
+     * Returns the {@link CourseStats} of the courses, by course ID.
+     *
+     * <p>The statistics are saved when they are counted, so that they are read in one batch
+     * until a student of the course is written. Only the statistics that are outdated or missing
+     * are counted again, from the roster of the course. Statistics counted so soon after a write
+     * that the roster may not reflect it are not saved, as they would be taken as up to date.
+     */
+    public Map<String, CourseStats> getCourseStats(List<String> courseIds) {
+        Assumption.assertNotNull("Supplied parameter was null", courseIds);
+
+        // the keys have to be obtained before the rosters are read, as in getCourseRoster
+        Map<String, String> rosterKeys = courseRosterDb.getCourseRosterKeys(courseIds);
+        Map<String, CourseStats> courseStats = coursesDb.getCourseStats(rosterKeys);
+
+        for (String courseId : courseIds) {
+            if (courseStats.containsKey(courseId)) {
+                continue;
+            }
+            CourseStats stats = countCourseStats(getCourseRoster(courseId).getStudents());
+            String rosterKey = rosterKeys.get(courseId);
+            if (rosterKey != null && !courseRosterDb.isRecentlyWritten(rosterKey)) {
+                coursesDb.putCourseStats(courseId, rosterKey, stats);
+            }
+            courseStats.put(courseId, stats);
+        }
+
+        return courseStats;
+    }
+
+    private CourseStats countCourseStats(List<StudentAttributes> students) {
+        Set<String> sections = new HashSet<String>();
+        Set<List<String>> teams = new HashSet<List<String>>();
+
+        CourseStats stats = new CourseStats();
+        for (StudentAttributes student : students) {
+            stats.studentsTotal++;
+            if (!student.isRegistered()) {
+                stats.unregisteredTotal++;
+            }
+            if (!student.section.equals(Const.DEFAULT_SECTION)) {
+                sections.add(student.section);
+            }
+            teams.add(Arrays.asList(student.section, student.team));
+        }
+        stats.sectionsTotal = sections.size();
+        stats.teamsTotal = teams.size();
+
+        return stats;
+    }
+
     /**
      * Returns a Map (CourseId, {@link CourseSummaryBundle}
      * for all courses mapped to a given instructor.
@@ -657,9 +755,9 @@ public final class CoursesLogic {
      */
     public String getCourseStudentListAsCsv(String courseId, String googleId) throws EntityDoesNotExistException {
 
-        HashMap<String, CourseDetailsBundle> courses = getCourseSummariesForInstructor(googleId, false);
-        CourseDetailsBundle course = courses.get(courseId);
+        instructorsLogic.verifyInstructorExists(googleId);
         boolean hasSection = hasIndicatedSections(courseId);
+        CourseDetailsBundle course = getCourseSummary(courseId);
 
         StringBuilder export = new StringBuilder(100);
         String courseInfo = "Course ID," + SanitizationHelper.sanitizeForCsv(courseId) + Const.EOL
@@ -1,7 +1,16 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import teammates.common.exception.EmailSendingException;
+import teammates.common.exception.TeammatesException;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.Logger;
 
 /**
  * An email sender interface used by services for sending emails.
@@ -10,6 +19,8 @@ public abstract class EmailSenderService {
 
     protected static final int SUCCESS_CODE = 200;
 
+    private static final Logger log = Logger.getLogger();
+
     /**
      * Parses the {@code wrapper} email object to specific implementations of email object
      * used by the service.
@@ -29,8 +40,111 @@ public abstract class EmailSenderService {
         }
     }
 
+    /**
+     * Sends the emails packaged as {@code wrappers} in as few calls to the service as possible.
+     *
+     * <p>Emails which differ only in their recipient and content are sent in the same batch,
+     * with the content of each recipient substituted in by the service.
+     * Emails with a BCC recipient are always sent on their own.
+     *
+     * @return the emails which could not be sent
+     * @see #groupIntoBatches(List)
+     */
+    public List<EmailWrapper> sendEmails(List<EmailWrapper> wrappers) {
+        List<EmailWrapper> unsentEmails = new ArrayList<EmailWrapper>();
+        for (List<EmailWrapper> batch : groupIntoBatches(wrappers)) {
+            try {
+                if (batch.size() == 1) {
+                    sendEmailWithService(batch.get(0));
+                } else {
+                    sendEmailsWithService(batch);
+                }
+            } catch (Exception e) {
+                log.severe("Error while sending batch of " + batch.size() + " emails: "
+                           + TeammatesException.toStringWithStackTrace(e));
+                unsentEmails.addAll(batch);
+            }
+        }
+        return unsentEmails;
+    }
+
+    /**
+     * Groups the emails which can be sent together into batches of at most
+     * {@link #getMaxEmailsPerBatch()} emails each, keeping the order of the emails within each batch.
+     * Emails to the same recipient are put in different batches, as services key the content
+     * of each recipient of a batch by the recipient's address.
+     */
+    public List<List<EmailWrapper>> groupIntoBatches(List<EmailWrapper> wrappers) {
+        Map<String, List<EmailWrapper>> emailsByHeaders = new LinkedHashMap<String, List<EmailWrapper>>();
+        List<List<EmailWrapper>> batches = new ArrayList<List<EmailWrapper>>();
+        for (EmailWrapper wrapper : wrappers) {
+            if (wrapper.getBcc() != null && !wrapper.getBcc().isEmpty()) {
+                List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+                batch.add(wrapper);
+                batches.add(batch);
+                continue;
+            }
+
+            String headers = wrapper.getSenderEmail() + "|" + wrapper.getSenderName() + "|"
+                             + wrapper.getReplyTo() + "|" + wrapper.getSubject();
+            List<EmailWrapper> emailsWithSameHeaders = emailsByHeaders.get(headers);
+            if (emailsWithSameHeaders == null) {
+                emailsWithSameHeaders = new ArrayList<EmailWrapper>();
+                emailsByHeaders.put(headers, emailsWithSameHeaders);
+            }
+            emailsWithSameHeaders.add(wrapper);
+        }
+
+        for (List<EmailWrapper> emailsWithSameHeaders : emailsByHeaders.values()) {
+            batches.addAll(splitIntoBatches(emailsWithSameHeaders));
+        }
+        return batches;
+    }
+
+    private List<List<EmailWrapper>> splitIntoBatches(List<EmailWrapper> emailsWithSameHeaders) {
+        int maxEmailsPerBatch = getMaxEmailsPerBatch();
+        List<List<EmailWrapper>> batches = new ArrayList<List<EmailWrapper>>();
+        List<Set<String>> recipientsOfBatches = new ArrayList<Set<String>>();
+        for (EmailWrapper wrapper : emailsWithSameHeaders) {
+            String recipient = wrapper.getRecipient().toLowerCase();
+            int batchIndex = 0;
+            while (batchIndex < batches.size()
+                    && (batches.get(batchIndex).size() == maxEmailsPerBatch
+                        || recipientsOfBatches.get(batchIndex).contains(recipient))) {
+                batchIndex++;
+            }
+            if (batchIndex == batches.size()) {
+                batches.add(new ArrayList<EmailWrapper>());
+                recipientsOfBatches.add(new HashSet<String>());
+            }
+            batches.get(batchIndex).add(wrapper);
+            recipientsOfBatches.get(batchIndex).add(recipient);
+        }
+        return batches;
+    }
+
+    /**
+     * Returns the maximum number of emails the service can send in one call.
+     * Services which cannot send batches of emails send every email on its own.
+     */
+    protected int getMaxEmailsPerBatch() {
+        return 1;
+    }
+
     @SuppressWarnings("PMD.SignatureDeclareThrowsException")
     // accounts for the many different Exceptions from different email services
     protected abstract void sendEmailWithService(EmailWrapper wrapper) throws Exception;
 
+    /**
+     * Sends the {@code batch} of emails, which have the same sender, reply-to address and subject,
+     * in one call to the service.
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    // accounts for the many different Exceptions from different email services
+    protected void sendEmailsWithService(List<EmailWrapper> batch) throws Exception {
+        for (EmailWrapper wrapper : batch) {
+            sendEmailWithService(wrapper);
+        }
+    }
+
 }
@@ -0,0 +1,267 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.UserRole;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+
+/**
+ * The visibility rules of a feedback question, evaluated once for the user viewing its responses.
+ *
+ * <p>The rules which depend only on the question and the user, e.g. whether the responses are shown to all
+ * students, are decided when the plan is created. Deciding whether a particular response, and the names of
+ * its giver and recipient, are visible to the user then takes only the comparisons which depend on the response.
+ */
+public final class FeedbackQuestionVisibilityPlan {
+
+    private final FeedbackQuestionAttributes question;
+    private final String userEmail;
+    private final CourseRoster roster;
+
+    /**
+     * The team of the user, or null if the user is not a student of the course.
+     */
+    private final String userTeam;
+
+    private final boolean isEveryResponseVisible;
+    private final boolean isResponseVisibleToRecipient;
+
+    /**
+     * The team whose responses received are visible to the user as a member of the team, or null if there is none.
+     */
+    private final String visibleRecipientTeam;
+
+    /**
+     * The teammates of the user whose responses given are visible to the user, or null if there are none.
+     */
+    private final Set<String> teammatesWithVisibleResponsesGiven;
+
+    /**
+     * The teammates of the user whose responses received are visible to the user, or null if there are none.
+     */
+    private final Set<String> teammatesWithVisibleResponsesReceived;
+
+    /**
+     * The instructor whose privileges restrict the responses visible, or null if the user is not restricted.
+     */
+    private final InstructorAttributes instructor;
+    private final Map<String, Boolean> isSectionViewableForInstructor = new HashMap<String, Boolean>();
+
+    private final NameVisibility giverNameVisibility;
+    private final NameVisibility recipientNameVisibility;
+
+    /**
+     * Creates the visibility plan of the {@code question} for the user.
+     *
+     * @param student the user as a student, or null if the user is not a student
+     * @param studentsEmailInTeam the emails of the students in the team of the user, or null if the
+     *         responses visible to the user as a team member need not be decided
+     * @param instructor the user as an instructor, or null if the user is not restricted by instructor privileges
+     */
+    public FeedbackQuestionVisibilityPlan(FeedbackQuestionAttributes question, String userEmail, UserRole role,
+                                          CourseRoster roster, StudentAttributes student,
+                                          Set<String> studentsEmailInTeam, InstructorAttributes instructor) {
+        this.question = question;
+        this.userEmail = userEmail;
+        this.roster = roster;
+        StudentAttributes userAsStudent = roster == null ? null : roster.getStudentForEmail(userEmail);
+        this.userTeam = userAsStudent == null ? null : userAsStudent.team;
+
+        boolean isStudent = role == UserRole.STUDENT;
+        this.isEveryResponseVisible =
+                role == UserRole.INSTRUCTOR && question.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS)
+                || isStudent && question.isResponseVisibleTo(FeedbackParticipantType.STUDENTS);
+        this.isResponseVisibleToRecipient = question.isResponseVisibleTo(FeedbackParticipantType.RECEIVER);
+
+        boolean isTeamVisibilityApplicable = isStudent && studentsEmailInTeam != null;
+        this.visibleRecipientTeam =
+                isTeamVisibilityApplicable && question.recipientType == FeedbackParticipantType.TEAMS
+                && isResponseVisibleToRecipient
+                ? student.team
+                : null;
+        this.teammatesWithVisibleResponsesGiven =
+                isTeamVisibilityApplicable
+                && (question.giverType == FeedbackParticipantType.TEAMS
+                    || question.isResponseVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS))
+                ? studentsEmailInTeam
+                : null;
+        this.teammatesWithVisibleResponsesReceived =
+                isTeamVisibilityApplicable
+                && question.isResponseVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
+                ? studentsEmailInTeam
+                : null;
+        this.instructor = instructor;
+
+        if (roster == null) {
+            this.giverNameVisibility = null;
+            this.recipientNameVisibility = null;
+        } else {
+            boolean isVisibleAsInstructor = roster.getInstructorForEmail(userEmail) != null && role == UserRole.INSTRUCTOR;
+            boolean isVisibleAsStudent = roster.isStudentInCourse(userEmail);
+            this.giverNameVisibility =
+                    new NameVisibility(question.showGiverNameTo, isVisibleAsInstructor, isVisibleAsStudent);
+            this.recipientNameVisibility =
+                    new NameVisibility(question.showRecipientNameTo, isVisibleAsInstructor, isVisibleAsStudent);
+        }
+    }
+
+    /**
+     * Returns true if the {@code response} to the question is visible to the user.
+     */
+    public boolean isResponseVisible(FeedbackResponseAttributes response) {
+        boolean isVisibleResponse =
+                isEveryResponseVisible
+                || isResponseVisibleToRecipient && response.recipient.equals(userEmail)
+                || response.giver.equals(userEmail)
+                || visibleRecipientTeam != null && response.recipient.equals(visibleRecipientTeam)
+                || teammatesWithVisibleResponsesGiven != null
+                   && teammatesWithVisibleResponsesGiven.contains(response.giver)
+                || teammatesWithVisibleResponsesReceived != null
+                   && teammatesWithVisibleResponsesReceived.contains(response.recipient);
+        if (!isVisibleResponse || instructor == null) {
+            return isVisibleResponse;
+        }
+
+        // If instructors are not restricted to view the giver's section,
+        // they are allowed to view responses to GENERAL, subject to visibility options
+        return isSectionViewableForInstructor(response.giverSection, response.feedbackSessionName)
+               && (question.recipientType == FeedbackParticipantType.NONE
+                   || isSectionViewableForInstructor(response.recipientSection, response.feedbackSessionName));
+    }
+
+    /**
+     * Returns true if the name of the giver (if {@code isGiverName}) or the recipient of the {@code response}
+     * is visible to the user. The plan must have been created with the roster of the course.
+     */
+    public boolean isNameVisible(FeedbackResponseAttributes response, boolean isGiverName) {
+        Assumption.assertNotNull(roster);
+
+        // Early return if user is giver
+        if (question.giverType == FeedbackParticipantType.TEAMS) {
+            // if response is given by team, then anyone in the team can see the response
+            if (isInUserTeam(response.giver)) {
+                return true;
+            }
+        } else if (response.giver.equals(userEmail)) {
+            return true;
+        }
+
+        NameVisibility nameVisibility = isGiverName ? giverNameVisibility : recipientNameVisibility;
+        if (isNameVisible(nameVisibility, response)) {
+            return true;
+        }
+        // as when the participant types are checked in turn, an invalid type fails only if no type before it
+        // makes the name visible
+        if (nameVisibility.invalidType != null) {
+            Assumption.fail("Invalid FeedbackParticipantType " + nameVisibility.invalidType + " for showNameTo in "
+                            + "FeedbackQuestionVisibilityPlan.isNameVisible()");
+        }
+        return false;
+    }
+
+    private boolean isNameVisible(NameVisibility nameVisibility, FeedbackResponseAttributes response) {
+        if (nameVisibility.isVisibleToAll) {
+            return true;
+        }
+        if (nameVisibility.isVisibleToGiverTeam && isInUserTeam(response.giver)) {
+            return true;
+        }
+        if (question.recipientType.isTeam()) {
+            // recipient is a team name
+            return (nameVisibility.isVisibleToRecipient || nameVisibility.isVisibleToRecipientTeam)
+                   && userTeam != null && userTeam.equals(response.recipient);
+        }
+        return nameVisibility.isVisibleToRecipient && response.recipient.equals(userEmail)
+               || nameVisibility.isVisibleToRecipientTeam && isInUserTeam(response.recipient);
+    }
+
+    private boolean isInUserTeam(String studentEmail) {
+        if (userTeam == null) {
+            return false;
+        }
+        StudentAttributes student = roster.getStudentForEmail(studentEmail);
+        return student != null && userTeam.equals(student.team);
+    }
+
+    private boolean isSectionViewableForInstructor(String sectionName, String sessionName) {
+        Boolean isViewable = isSectionViewableForInstructor.get(sectionName);
+        if (isViewable == null) {
+            isViewable = instructor.isAllowedForPrivilege(
+                    sectionName, sessionName, Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
+            isSectionViewableForInstructor.put(sectionName, isViewable);
+        }
+        return isViewable;
+    }
+
+    /**
+     * The participants a name (of either the giver or the recipient) is shown to.
+     */
+    private static final class NameVisibility {
+
+        /**
+         * Whether the name is visible to the user regardless of the response.
+         */
+        final boolean isVisibleToAll;
+        final boolean isVisibleToGiverTeam;
+        final boolean isVisibleToRecipient;
+        final boolean isVisibleToRecipientTeam;
+
+        /**
+         * The first participant type the name cannot be shown to, or null if there is none.
+         * The types after it are left out, as they would never be checked.
+         */
+        final FeedbackParticipantType invalidType;
+
+        NameVisibility(List<FeedbackParticipantType> showNameTo, boolean isVisibleAsInstructor,
+                       boolean isVisibleAsStudent) {
+            boolean isVisibleToAll = false;
+            boolean isVisibleToGiverTeam = false;
+            boolean isVisibleToRecipient = false;
+            boolean isVisibleToRecipientTeam = false;
+            FeedbackParticipantType invalidType = null;
+            for (FeedbackParticipantType type : showNameTo) {
+                if (invalidType != null) {
+                    break;
+                }
+                switch (type) {
+                case INSTRUCTORS:
+                    isVisibleToAll |= isVisibleAsInstructor;
+                    break;
+                case OWN_TEAM_MEMBERS:
+                case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+                    // Refers to Giver's Team Members
+                    isVisibleToGiverTeam = true;
+                    break;
+                case RECEIVER:
+                    isVisibleToRecipient = true;
+                    break;
+                case RECEIVER_TEAM_MEMBERS:
+                    isVisibleToRecipientTeam = true;
+                    break;
+                case STUDENTS:
+                    isVisibleToAll |= isVisibleAsStudent;
+                    break;
+                default:
+                    invalidType = type;
+                    break;
+                }
+            }
+            this.isVisibleToAll = isVisibleToAll;
+            this.isVisibleToGiverTeam = isVisibleToGiverTeam;
+            this.isVisibleToRecipient = isVisibleToRecipient;
+            this.isVisibleToRecipientTeam = isVisibleToRecipientTeam;
+            this.invalidType = invalidType;
+        }
+    }
+
+}
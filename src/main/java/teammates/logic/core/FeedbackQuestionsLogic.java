@@ -9,8 +9,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
-import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -338,17 +338,36 @@ public final class FeedbackQuestionsLogic {
 
     public Map<String, String> getRecipientsForQuestion(FeedbackQuestionAttributes question, String giver)
             throws EntityDoesNotExistException {
+        return getRecipientsForQuestion(question, giver, coursesLogic.getCourseRoster(question.courseId));
+    }
+
+    private Map<String, String> getRecipientsForQuestion(FeedbackQuestionAttributes question, String giver,
+            CourseRoster roster) {
 
-        InstructorAttributes instructorGiver = instructorsLogic.getInstructorForEmail(question.courseId, giver);
-        StudentAttributes studentGiver = studentsLogic.getStudentForEmail(question.courseId, giver);
+        InstructorAttributes instructorGiver = roster.getInstructorForEmail(giver);
+        StudentAttributes studentGiver = roster.getStudentForEmail(giver);
 
-        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver);
+        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver, roster);
     }
 
     public Map<String, String> getRecipientsForQuestion(
             FeedbackQuestionAttributes question, String giver,
             InstructorAttributes instructorGiver, StudentAttributes studentGiver)
                     throws EntityDoesNotExistException {
+        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver,
+                                        coursesLogic.getCourseRoster(question.courseId));
+    }
+
+    /**
+     * Gets the recipients of the question for the giver from the students and instructors in {@code roster},
+     * so that the recipients of all questions of a session can be resolved without reading them again.
+     *
+     * @param roster the roster of the course of the question
+     * @return the names of the recipients by their email, or by their name for teams
+     */
+    public Map<String, String> getRecipientsForQuestion(
+            FeedbackQuestionAttributes question, String giver,
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver, CourseRoster roster) {
 
         Map<String, String> recipients = new HashMap<String, String>();
 
@@ -365,8 +384,7 @@ public final class FeedbackQuestionsLogic {
             }
             break;
         case STUDENTS:
-            List<StudentAttributes> studentsInCourse = studentsLogic.getStudentsForCourse(question.courseId);
-            for (StudentAttributes student : studentsInCourse) {
+            for (StudentAttributes student : roster.getStudents()) {
                 // Ensure student does not evaluate himself
                 if (!giver.equals(student.email)) {
                     recipients.put(student.email, student.name);
@@ -374,8 +392,7 @@ public final class FeedbackQuestionsLogic {
             }
             break;
         case INSTRUCTORS:
-            List<InstructorAttributes> instructorsInCourse = instructorsLogic.getInstructorsForCourse(question.courseId);
-            for (InstructorAttributes instr : instructorsInCourse) {
+            for (InstructorAttributes instr : roster.getInstructors()) {
                 // Ensure instructor does not evaluate himself
                 if (!giver.equals(instr.email)) {
                     recipients.put(instr.email, instr.name);
@@ -383,12 +400,11 @@ public final class FeedbackQuestionsLogic {
             }
             break;
         case TEAMS:
-            List<TeamDetailsBundle> teams = coursesLogic.getTeamsForCourse(question.courseId);
-            for (TeamDetailsBundle team : teams) {
+            for (String teamName : roster.getTeams()) {
                 // Ensure student('s team) does not evaluate own team.
-                if (!giverTeam.equals(team.name)) {
+                if (!giverTeam.equals(teamName)) {
                     // recipientEmail doubles as team name in this case.
-                    recipients.put(team.name, team.name);
+                    recipients.put(teamName, teamName);
                 }
             }
             break;
@@ -396,16 +412,14 @@ public final class FeedbackQuestionsLogic {
             recipients.put(giverTeam, giverTeam);
             break;
         case OWN_TEAM_MEMBERS:
-            List<StudentAttributes> students = studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
-            for (StudentAttributes student : students) {
+            for (StudentAttributes student : roster.getStudentsInTeam(giverTeam)) {
                 if (!student.email.equals(giver)) {
                     recipients.put(student.email, student.name);
                 }
             }
             break;
         case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-            List<StudentAttributes> teamMembers = studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
-            for (StudentAttributes student : teamMembers) {
+            for (StudentAttributes student : roster.getStudentsInTeam(giverTeam)) {
                 // accepts self feedback too
                 recipients.put(student.email, student.name);
             }
@@ -708,11 +722,15 @@ public final class FeedbackQuestionsLogic {
             List<FeedbackQuestionAttributes> questions, String giver)
             throws EntityDoesNotExistException {
         List<FeedbackQuestionAttributes> questionsWithRecipients = new ArrayList<FeedbackQuestionAttributes>();
+        CourseRoster roster = null;
         for (FeedbackQuestionAttributes question : questions) {
             int numRecipients = question.numberOfEntitiesToGiveFeedbackTo;
             if (numRecipients == Const.MAX_POSSIBLE_RECIPIENTS) {
-                numRecipients = this.getRecipientsForQuestion(question, giver)
-                        .size();
+                // the questions are of the same course, so its roster is read once for all of them
+                if (roster == null) {
+                    roster = coursesLogic.getCourseRoster(question.courseId);
+                }
+                numRecipients = getRecipientsForQuestion(question, giver, roster).size();
             }
             if (numRecipients > 0) {
                 questionsWithRecipients.add(question);
@@ -9,6 +9,7 @@ import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackResponseCommentSearchResultBundle;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.UserRole;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -101,6 +102,11 @@ public final class FeedbackResponseCommentsLogic {
         return frcDb.getFeedbackResponseCommentsForSessionInSection(courseId, feedbackSessionName, section);
     }
 
+    public ResultsPage<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForSessionPage(
+            String courseId, String feedbackSessionName, String cursor, int pageSize) {
+        return frcDb.getFeedbackResponseCommentsForSessionPage(courseId, feedbackSessionName, cursor, pageSize);
+    }
+
     public void updateFeedbackResponseCommentsForChangingResponseId(
             String oldResponseId, String newResponseId)
             throws InvalidParametersException, EntityDoesNotExistException {
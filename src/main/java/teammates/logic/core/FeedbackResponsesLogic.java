@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.Set;
 
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserRole;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
@@ -20,6 +22,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Logger;
 import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.api.FeedbackSessionResultsIndexDb;
 import teammates.storage.entity.FeedbackResponse;
 
 /**
@@ -35,6 +38,7 @@ public final class FeedbackResponsesLogic {
     private static FeedbackResponsesLogic instance = new FeedbackResponsesLogic();
 
     private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private static final FeedbackSessionResultsIndexDb resultsIndexDb = new FeedbackSessionResultsIndexDb();
 
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
@@ -139,6 +143,29 @@ public final class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForSessionToSectionWithinRange(feedbackSessionName, courseId, section, range);
     }
 
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        return frDb.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+    }
+
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+        if (section == null) {
+            return getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+        }
+        return frDb.getFeedbackResponsesForSessionFromSectionPage(feedbackSessionName, courseId, section,
+                                                                   cursor, pageSize);
+    }
+
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+        if (section == null) {
+            return getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+        }
+        return frDb.getFeedbackResponsesForSessionToSectionPage(feedbackSessionName, courseId, section,
+                                                                 cursor, pageSize);
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestion(String feedbackQuestionId) {
         return frDb.getFeedbackResponsesForQuestion(feedbackQuestionId);
     }
@@ -271,81 +298,9 @@ public final class FeedbackResponsesLogic {
             return false;
         }
 
-        // Early return if user is giver
-        if (question.giverType == FeedbackParticipantType.TEAMS) {
-            // if response is given by team, then anyone in the team can see the response
-            if (roster.isStudentsInSameTeam(response.giver, userEmail)) {
-                return true;
-            }
-        } else {
-            if (response.giver.equals(userEmail)) {
-                return true;
-            }
-        }
-
-        return isFeedbackParticipantNameVisibleToUser(question, response,
-                userEmail, role, isGiverName, roster);
-    }
-
-    private boolean isFeedbackParticipantNameVisibleToUser(
-            FeedbackQuestionAttributes question, FeedbackResponseAttributes response,
-            String userEmail, UserRole role, boolean isGiverName, CourseRoster roster) {
-        List<FeedbackParticipantType> showNameTo = isGiverName
-                                                 ? question.showGiverNameTo
-                                                 : question.showRecipientNameTo;
-        for (FeedbackParticipantType type : showNameTo) {
-            switch (type) {
-            case INSTRUCTORS:
-                if (roster.getInstructorForEmail(userEmail) != null && role == UserRole.INSTRUCTOR) {
-                    return true;
-                }
-                break;
-            case OWN_TEAM_MEMBERS:
-            case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-                // Refers to Giver's Team Members
-                if (roster.isStudentsInSameTeam(response.giver, userEmail)) {
-                    return true;
-                }
-                break;
-            case RECEIVER:
-                // Response to team
-                if (question.recipientType.isTeam()) {
-                    if (roster.isStudentInTeam(userEmail, response.recipient)) {
-                        // this is a team name
-                        return true;
-                    }
-                    break;
-                    // Response to individual
-                } else if (response.recipient.equals(userEmail)) {
-                    return true;
-                } else {
-                    break;
-                }
-            case RECEIVER_TEAM_MEMBERS:
-                // Response to team; recipient = teamName
-                if (question.recipientType.isTeam()) {
-                    if (roster.isStudentInTeam(userEmail, response.recipient)) {
-                        // this is a team name
-                        return true;
-                    }
-                    break;
-                } else if (roster.isStudentsInSameTeam(response.recipient, userEmail)) {
-                    // Response to individual
-                    return true;
-                }
-                break;
-            case STUDENTS:
-                if (roster.isStudentInCourse(userEmail)) {
-                    return true;
-                }
-                break;
-            default:
-                Assumption.fail("Invalid FeedbackParticipantType for showNameTo in "
-                                + "FeedbackResponseLogic.isFeedbackParticipantNameVisibleToUser()");
-                break;
-            }
-        }
-        return false;
+        FeedbackQuestionVisibilityPlan visibilityPlan =
+                new FeedbackQuestionVisibilityPlan(question, userEmail, role, roster, null, null, null);
+        return visibilityPlan.isNameVisible(response, isGiverName);
     }
 
     /**
@@ -447,6 +402,126 @@ public final class FeedbackResponsesLogic {
         }
     }
 
+    /**
+     * Saves the responses submitted by their givers in a feedback session by comparing them against
+     * the responses of the givers already stored in the session, which are retrieved with a single query.
+     * New responses are created in one batch, responses to delete are deleted in one batch, and changed
+     * responses are updated in one write. Responses which are unchanged are not written.
+     * If the giver/recipient of a response is changed, the response is recreated as in
+     * {@link #updateFeedbackResponse(FeedbackResponseAttributes, FeedbackResponse)}.<br>
+     * No response is written if any of the responses to save is invalid.<br>
+     * Preconditions: <br>
+     * * All responses belong to the given session and have their giver set.
+     */
+    public void saveFeedbackResponses(String feedbackSessionName, String courseId,
+            List<FeedbackResponseAttributes> responsesToSave, List<FeedbackResponseAttributes> responsesToDelete)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+
+        Set<String> givers = new HashSet<String>();
+        for (FeedbackResponseAttributes response : responsesToSave) {
+            givers.add(response.giver);
+        }
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            givers.add(response.giver);
+        }
+
+        Map<String, FeedbackResponse> storedResponsesById = new HashMap<String, FeedbackResponse>();
+        Map<String, FeedbackResponse> storedResponsesByKey = new HashMap<String, FeedbackResponse>();
+        for (FeedbackResponse storedResponse
+                : frDb.getFeedbackResponseEntitiesFromGiversForSession(givers, feedbackSessionName, courseId)) {
+            storedResponsesById.put(storedResponse.getId(), storedResponse);
+            storedResponsesByKey.put(getResponseKey(storedResponse.getFeedbackQuestionId(),
+                    storedResponse.getGiverEmail(), storedResponse.getRecipientEmail()), storedResponse);
+        }
+
+        List<FeedbackResponseAttributes> responsesToCreate = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponseAttributes> responsesToUpdate = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponse> entitiesToUpdate = new ArrayList<FeedbackResponse>();
+        List<FeedbackResponseAttributes> responsesToRecreate = new ArrayList<FeedbackResponseAttributes>();
+        List<FeedbackResponse> entitiesToRecreate = new ArrayList<FeedbackResponse>();
+        // responses not among the stored responses retrieved, e.g. as the query result is not yet up to date
+        List<FeedbackResponseAttributes> responsesToUpdateSeparately = new ArrayList<FeedbackResponseAttributes>();
+
+        for (FeedbackResponseAttributes response : responsesToSave) {
+            FeedbackResponse storedResponse = response.getId() == null
+                    ? storedResponsesByKey.get(
+                              getResponseKey(response.feedbackQuestionId, response.giver, response.recipient))
+                    : storedResponsesById.get(response.getId());
+
+            if (storedResponse == null) {
+                if (response.getId() == null) {
+                    responsesToCreate.add(response);
+                } else {
+                    responsesToUpdateSeparately.add(response);
+                }
+                continue;
+            }
+
+            FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(response);
+            FeedbackResponseAttributes oldResponse = new FeedbackResponseAttributes(storedResponse);
+            copyFixedValuesFromOldToNew(newResponse, oldResponse);
+
+            if (!newResponse.recipient.equals(oldResponse.recipient) || !newResponse.giver.equals(oldResponse.giver)) {
+                responsesToRecreate.add(newResponse);
+                entitiesToRecreate.add(storedResponse);
+            } else if (!newResponse.responseMetaData.equals(oldResponse.responseMetaData)
+                    || !newResponse.giverSection.equals(oldResponse.giverSection)
+                    || !newResponse.recipientSection.equals(oldResponse.recipientSection)) {
+                responsesToUpdate.add(newResponse);
+                entitiesToUpdate.add(storedResponse);
+            }
+        }
+
+        List<FeedbackResponse> entitiesToDelete = new ArrayList<FeedbackResponse>();
+        List<FeedbackResponseAttributes> responsesToDeleteSeparately = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            FeedbackResponse storedResponse = storedResponsesById.get(response.getId());
+            if (storedResponse == null) {
+                responsesToDeleteSeparately.add(response);
+            } else {
+                entitiesToDelete.add(storedResponse);
+            }
+        }
+
+        // validate all responses before writing any of them
+        for (List<FeedbackResponseAttributes> responses
+                : Arrays.asList(responsesToCreate, responsesToUpdate, responsesToRecreate, responsesToUpdateSeparately)) {
+            for (FeedbackResponseAttributes response : responses) {
+                if (!response.isValid()) {
+                    throw new InvalidParametersException(response.getInvalidityInfo());
+                }
+            }
+        }
+
+        if (!responsesToCreate.isEmpty()) {
+            frDb.createEntitiesWithoutExistenceCheck(responsesToCreate);
+        }
+
+        if (!entitiesToDelete.isEmpty()) {
+            for (FeedbackResponse entityToDelete : entitiesToDelete) {
+                frcLogic.deleteFeedbackResponseCommentsForResponse(entityToDelete.getId());
+            }
+            frDb.deleteFeedbackResponseEntities(entitiesToDelete);
+        }
+        for (FeedbackResponseAttributes response : responsesToDeleteSeparately) {
+            deleteFeedbackResponseAndCascade(response);
+        }
+
+        if (!responsesToUpdate.isEmpty()) {
+            frDb.updateFeedbackResponseEntities(responsesToUpdate, entitiesToUpdate);
+        }
+        for (int i = 0; i < responsesToRecreate.size(); i++) {
+            updateFeedbackResponse(responsesToRecreate.get(i), entitiesToRecreate.get(i));
+        }
+        for (FeedbackResponseAttributes response : responsesToUpdateSeparately) {
+            updateFeedbackResponse(response);
+        }
+    }
+
+    private String getResponseKey(String feedbackQuestionId, String giver, String recipient) {
+        return feedbackQuestionId + "%" + giver + "%" + recipient;
+    }
+
     /**
      * Copies values that cannot be changed to defensively avoid invalid parameters.
      * @param newResponse  values are copied from oldResponse
@@ -638,6 +713,7 @@ public final class FeedbackResponsesLogic {
         }
 
         frDb.commitOutstandingChanges();
+        resultsIndexDb.invalidateFeedbackSessionResultsIndex(response.feedbackSessionName, response.courseId);
 
         if (isGiverSameForResponseAndEnrollment || isReceiverSameForResponseAndEnrollment) {
             frcLogic.updateFeedbackResponseCommentsForResponse(response.getId());
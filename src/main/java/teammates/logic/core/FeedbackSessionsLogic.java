@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -12,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
@@ -19,7 +23,9 @@ import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.FeedbackSessionResponseStatus;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionResultsIndex;
 import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.MissingResponsesTracker;
 import teammates.common.datatransfer.UserRole;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -40,6 +46,8 @@ import teammates.common.util.Logger;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
+import teammates.storage.api.ConcurrentLoader;
+import teammates.storage.api.FeedbackSessionResultsIndexDb;
 import teammates.storage.api.FeedbackSessionsDb;
 
 /**
@@ -88,6 +96,7 @@ public final class FeedbackSessionsLogic {
     private static FeedbackSessionsLogic instance = new FeedbackSessionsLogic();
 
     private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final FeedbackSessionResultsIndexDb resultsIndexDb = new FeedbackSessionResultsIndexDb();
 
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
@@ -304,12 +313,13 @@ public final class FeedbackSessionsLogic {
                         courseId, userEmail);
 
         InstructorAttributes instructorGiver = instructor;
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
 
         for (FeedbackQuestionAttributes question : questions) {
 
             updateBundleAndRecipientListWithResponsesForInstructor(courseId,
                     userEmail, fsa, instructor, bundle, recipientList,
-                    question, instructorGiver, null);
+                    question, instructorGiver, null, roster);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
@@ -337,7 +347,7 @@ public final class FeedbackSessionsLogic {
 
         updateBundleAndRecipientListWithResponsesForInstructor(courseId,
                 userEmail, fsa, instructor, bundle, recipientList,
-                question, instructorGiver, null);
+                question, instructorGiver, null, coursesLogic.getCourseRoster(courseId));
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
@@ -350,19 +360,18 @@ public final class FeedbackSessionsLogic {
             Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle,
             Map<String, Map<String, String>> recipientList,
             FeedbackQuestionAttributes question,
-            InstructorAttributes instructorGiver, StudentAttributes studentGiver)
-            throws EntityDoesNotExistException {
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver, CourseRoster roster) {
         List<FeedbackResponseAttributes> responses =
                 frLogic.getFeedbackResponsesFromGiverForQuestion(
                         question.getId(), userEmail);
         Map<String, String> recipients =
-                fqLogic.getRecipientsForQuestion(question, userEmail, instructorGiver, studentGiver);
+                fqLogic.getRecipientsForQuestion(question, userEmail, instructorGiver, studentGiver, roster);
         // instructor can only see students in allowed sections for him/her
         if (question.recipientType.equals(FeedbackParticipantType.STUDENTS)) {
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> studentEntry = iter.next();
-                StudentAttributes student = studentsLogic.getStudentForEmail(courseId, studentEntry.getKey());
+                StudentAttributes student = roster.getStudentForEmail(studentEntry.getKey());
                 if (!instructor.isAllowedForPrivilege(student.section,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -374,7 +383,7 @@ public final class FeedbackSessionsLogic {
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> teamEntry = iter.next();
-                String teamSection = studentsLogic.getSectionForTeam(courseId, teamEntry.getKey());
+                String teamSection = roster.getSectionForTeam(teamEntry.getKey());
                 if (!instructor.isAllowedForPrivilege(teamSection,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -414,11 +423,12 @@ public final class FeedbackSessionsLogic {
         List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName,
                 courseId);
 
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Set<String> hiddenInstructorEmails = null;
 
         for (FeedbackQuestionAttributes question : questions) {
             if (question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS) {
-                hiddenInstructorEmails = getHiddenInstructorEmails(courseId);
+                hiddenInstructorEmails = getHiddenInstructorEmails(roster);
                 break;
             }
         }
@@ -426,7 +436,7 @@ public final class FeedbackSessionsLogic {
         for (FeedbackQuestionAttributes question : questions) {
 
             updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                    bundle, recipientList, question, hiddenInstructorEmails);
+                    bundle, recipientList, question, hiddenInstructorEmails, roster);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
@@ -454,14 +464,15 @@ public final class FeedbackSessionsLogic {
 
         FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(feedbackQuestionId);
 
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Set<String> hiddenInstructorEmails = null;
 
         if (question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS) {
-            hiddenInstructorEmails = getHiddenInstructorEmails(courseId);
+            hiddenInstructorEmails = getHiddenInstructorEmails(roster);
         }
 
         updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                bundle, recipientList, question, hiddenInstructorEmails);
+                bundle, recipientList, question, hiddenInstructorEmails, roster);
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
@@ -472,13 +483,13 @@ public final class FeedbackSessionsLogic {
             Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle,
             Map<String, Map<String, String>> recipientList,
             FeedbackQuestionAttributes question,
-            Set<String> hiddenInstructorEmails)
-            throws EntityDoesNotExistException {
+            Set<String> hiddenInstructorEmails,
+            CourseRoster roster) {
         List<FeedbackResponseAttributes> responses =
                 frLogic.getFeedbackResponsesFromStudentOrTeamForQuestion(
                         question, student);
         Map<String, String> recipients =
-                fqLogic.getRecipientsForQuestion(question, userEmail, null, student);
+                fqLogic.getRecipientsForQuestion(question, userEmail, null, student, roster);
 
         removeHiddenInstructors(question, responses, recipients, hiddenInstructorEmails);
 
@@ -539,16 +550,15 @@ public final class FeedbackSessionsLogic {
 
     /**
      * Returns a {@link Set} of emails of the instructors who are not displayed
-     * to students in the course specified by {@code courseId}.
+     * to students in the course of {@code roster}.
      *
-     * @param courseId
-     *            the ID of the course
+     * @param roster
+     *            the roster of the course
      */
-    private Set<String> getHiddenInstructorEmails(String courseId) {
-        List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(courseId);
+    private Set<String> getHiddenInstructorEmails(CourseRoster roster) {
         Set<String> hiddenInstructorEmails = new HashSet<>();
 
-        for (InstructorAttributes instructor : instructors) {
+        for (InstructorAttributes instructor : roster.getInstructors()) {
             if (!instructor.isDisplayedToStudents()) {
                 hiddenInstructorEmails.add(instructor.email);
             }
@@ -569,12 +579,12 @@ public final class FeedbackSessionsLogic {
         if (session == null) {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_VIEW + courseId + "/" + feedbackSessionName);
         }
+        fsDb.mergeRespondents(session);
 
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName,
                         courseId);
 
-        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
-                                               instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         return getFeedbackSessionResponseStatus(session, roster, allQuestions);
     }
 
@@ -589,9 +599,7 @@ public final class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -613,9 +621,7 @@ public final class FeedbackSessionsLogic {
                                                 String questionId, String selectedSection)
                                         throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -646,9 +652,7 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range, String viewType)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -671,9 +675,7 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -694,9 +696,7 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -728,9 +728,7 @@ public final class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -749,9 +747,7 @@ public final class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "false");
         params.put(PARAM_IN_SECTION, "false");
@@ -770,9 +766,7 @@ public final class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -860,21 +854,7 @@ public final class FeedbackSessionsLogic {
         Collections.sort(results.responses,
                 results.compareByGiverRecipientQuestion);
 
-        StringBuilder exportBuilder = new StringBuilder(100);
-
-        exportBuilder.append(String.format("Course,%s",
-                             SanitizationHelper.sanitizeForCsv(results.feedbackSession.getCourseId())))
-                     .append(Const.EOL)
-                     .append(String.format("Session Name,%s",
-                             SanitizationHelper.sanitizeForCsv(results.feedbackSession.getFeedbackSessionName())))
-                     .append(Const.EOL);
-
-        if (section != null) {
-            exportBuilder.append(String.format("Section Name,%s", SanitizationHelper.sanitizeForCsv(section)))
-                         .append(Const.EOL);
-        }
-
-        exportBuilder.append(Const.EOL).append(Const.EOL);
+        StringBuilder exportBuilder = getCsvHeader(results.feedbackSession, section);
 
         Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entrySet =
                 results.getQuestionResponseMap().entrySet();
@@ -890,6 +870,87 @@ public final class FeedbackSessionsLogic {
         return exportBuilder.toString();
     }
 
+    /**
+     * Writes the summary results of a feedback session in CSV format to {@code writer}.
+     *
+     * <p>The results are loaded and written one question at a time, so only the responses of a single
+     * question are held in memory at any point. Unlike
+     * {@link #getFeedbackSessionResultsSummaryInSectionAsCsv}, there is no limit on the number of
+     * responses in the session.
+     *
+     * @param section the section to export, or null to export all sections
+     * @param questionId the question to export, or null to export all questions
+     */
+    public void writeFeedbackSessionResultsSummaryInSectionAsCsv(
+            String feedbackSessionName, String courseId, String userEmail,
+            String section, String questionId, String filterText, boolean isMissingResponsesShown, boolean isStatsShown,
+            Writer writer)
+            throws EntityDoesNotExistException, IOException {
+
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(courseId, feedbackSessionName);
+
+        if (session == null) {
+            throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_VIEW + courseId + "/" + feedbackSessionName);
+        }
+
+        List<FeedbackQuestionAttributes> allQuestions =
+                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+
+        // Load details of students and instructors once and reuse it for every question
+        CourseRoster roster = coursesLogic.getCourseRoster(courseId);
+
+        boolean isPrivateSessionNotCreatedByThisUser = session.isPrivateSession() && !session.isCreator(userEmail);
+        String lowerCaseFilterText = filterText == null ? "" : filterText.toLowerCase();
+
+        writer.write(getCsvHeader(session, section).toString());
+
+        for (FeedbackQuestionAttributes question : allQuestions) {
+            boolean isQuestionExported = (questionId == null || questionId.equals(question.getId()))
+                    && question.getQuestionMetaData().getValue().toLowerCase().contains(lowerCaseFilterText);
+            if (!isQuestionExported) {
+                continue;
+            }
+
+            Map<String, FeedbackQuestionAttributes> relevantQuestions = new HashMap<String, FeedbackQuestionAttributes>();
+            FeedbackSessionResultsBundle results;
+            if (isPrivateSessionNotCreatedByThisUser) {
+                // show the question without any response
+                relevantQuestions.put(question.getId(), question);
+                results = new FeedbackSessionResultsBundle(session, relevantQuestions, roster);
+            } else {
+                results = getFeedbackSessionResultsForQuestionId(feedbackSessionName, courseId, userEmail,
+                        UserRole.INSTRUCTOR, roster, session, allQuestions, relevantQuestions, false,
+                        section, question.getId());
+            }
+
+            for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                    : results.getQuestionResponseMap().entrySet()) {
+                writer.write(getFeedbackSessionResultsForQuestionInCsvFormat(
+                        results, entry, isMissingResponsesShown, isStatsShown).toString());
+            }
+            writer.flush();
+        }
+    }
+
+    private StringBuilder getCsvHeader(FeedbackSessionAttributes session, String section) {
+        StringBuilder headerBuilder = new StringBuilder(100);
+
+        headerBuilder.append(String.format("Course,%s",
+                             SanitizationHelper.sanitizeForCsv(session.getCourseId())))
+                     .append(Const.EOL)
+                     .append(String.format("Session Name,%s",
+                             SanitizationHelper.sanitizeForCsv(session.getFeedbackSessionName())))
+                     .append(Const.EOL);
+
+        if (section != null) {
+            headerBuilder.append(String.format("Section Name,%s", SanitizationHelper.sanitizeForCsv(section)))
+                         .append(Const.EOL);
+        }
+
+        headerBuilder.append(Const.EOL).append(Const.EOL);
+        return headerBuilder;
+    }
+
     private Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> filterQuestions(
             Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entrySet,
             String filterText) {
@@ -929,37 +990,34 @@ public final class FeedbackSessionsLogic {
 
         exportBuilder.append(questionDetails.getCsvDetailedResponsesHeader());
 
-        List<String> possibleGiversWithoutResponses = fsrBundle.getPossibleGivers(question);
-        List<String> possibleRecipientsForGiver = new ArrayList<String>();
+        MissingResponsesTracker missingResponses = new MissingResponsesTracker(fsrBundle.getPossibleGivers(question));
         String prevGiver = "";
 
         for (FeedbackResponseAttributes response : allResponses) {
 
             // do not show all possible givers and recipients if there are anonymous givers and recipients
             if (!fsrBundle.isRecipientVisible(response) || !fsrBundle.isGiverVisible(response)) {
-                possibleGiversWithoutResponses.clear();
-                possibleRecipientsForGiver.clear();
+                missingResponses.clear();
             }
 
             // keep track of possible recipients with no responses
-            removeParticipantIdentifierFromList(question.giverType,
-                    possibleGiversWithoutResponses, response.giver, fsrBundle);
+            missingResponses.removeGiver(getParticipantIdentifier(question.giverType, response.giver, fsrBundle));
 
             boolean isNewGiver = !prevGiver.equals(response.giver);
             // print missing responses from the current giver
             if (isNewGiver) {
                 exportBuilder.append(getRowsOfPossibleRecipientsInCsvFormat(fsrBundle,
                         question, questionDetails,
-                        possibleRecipientsForGiver, prevGiver));
+                        missingResponses.getRecipientsWithoutResponsesFromGiver(), prevGiver));
                 String giverIdentifier = question.giverType == FeedbackParticipantType.TEAMS
                                              ? fsrBundle.getFullNameFromRoster(response.giver)
                                              : response.giver;
 
-                possibleRecipientsForGiver = fsrBundle.getPossibleRecipients(question, giverIdentifier);
+                missingResponses.startGiver(fsrBundle.getPossibleRecipients(question, giverIdentifier));
             }
 
-            removeParticipantIdentifierFromList(question.recipientType, possibleRecipientsForGiver,
-                                                response.recipient, fsrBundle);
+            missingResponses.removeRecipient(
+                    getParticipantIdentifier(question.recipientType, response.recipient, fsrBundle));
             prevGiver = response.giver;
 
             // Append row(s)
@@ -970,8 +1028,7 @@ public final class FeedbackSessionsLogic {
         if (isMissingResponsesShown) {
             exportBuilder.append(
                     getRemainingRowsInCsvFormat(
-                            fsrBundle, entry, question, questionDetails,
-                            possibleGiversWithoutResponses, possibleRecipientsForGiver, prevGiver));
+                            fsrBundle, entry, question, questionDetails, missingResponses, prevGiver));
         }
 
         exportBuilder.append(Const.EOL + Const.EOL);
@@ -979,26 +1036,23 @@ public final class FeedbackSessionsLogic {
     }
 
     /**
-     * Given a participantIdentifier, remove it from participantIdentifierList.
+     * Returns the participantIdentifier in the canonical form used in the lists of possible givers and recipients.
      *
-     * <p>Before removal, {@link FeedbackSessionResultsBundle#getFullNameFromRoster} is used to
-     * convert the identifier into a canonical form if the participantIdentifierType is TEAMS.
+     * <p>{@link FeedbackSessionResultsBundle#getFullNameFromRoster} is used to
+     * convert the identifier if the participantIdentifierType is TEAMS.
      */
-    private void removeParticipantIdentifierFromList(
-            FeedbackParticipantType participantIdentifierType,
-            List<String> participantIdentifierList, String participantIdentifier,
+    private String getParticipantIdentifier(
+            FeedbackParticipantType participantIdentifierType, String participantIdentifier,
             FeedbackSessionResultsBundle bundle) {
-        if (participantIdentifierType == FeedbackParticipantType.TEAMS) {
-            participantIdentifierList.remove(bundle.getFullNameFromRoster(participantIdentifier));
-        } else {
-            participantIdentifierList.remove(participantIdentifier);
-        }
+        return participantIdentifierType == FeedbackParticipantType.TEAMS
+               ? bundle.getFullNameFromRoster(participantIdentifier)
+               : participantIdentifier;
     }
 
     /**
      * Generate rows of missing responses for the remaining possible givers and recipients.
      *
-     * <p>If for the prevGiver, possibleRecipientsForGiver is not empty,
+     * <p>If the prevGiver still has possible recipients without responses,
      * the remaining missing responses for the prevGiver will be generated first.
      * @return the remaining rows of missing responses in csv format
      */
@@ -1007,20 +1061,16 @@ public final class FeedbackSessionsLogic {
             Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry,
             FeedbackQuestionAttributes question,
             FeedbackQuestionDetails questionDetails,
-            List<String> remainingPossibleGivers,
-            List<String> possibleRecipientsForGiver, String prevGiver) {
+            MissingResponsesTracker missingResponses, String prevGiver) {
         StringBuilder exportBuilder = new StringBuilder();
 
-        if (possibleRecipientsForGiver != null) {
-            exportBuilder.append(getRowsOfPossibleRecipientsInCsvFormat(results,
-                    question, questionDetails, possibleRecipientsForGiver,
-                    prevGiver));
-
-        }
+        exportBuilder.append(getRowsOfPossibleRecipientsInCsvFormat(results,
+                question, questionDetails, missingResponses.getRecipientsWithoutResponsesFromGiver(),
+                prevGiver));
 
-        removeParticipantIdentifierFromList(question.giverType, remainingPossibleGivers, prevGiver, results);
+        missingResponses.removeGiver(getParticipantIdentifier(question.giverType, prevGiver, results));
 
-        for (String possibleGiverWithNoResponses : remainingPossibleGivers) {
+        for (String possibleGiverWithNoResponses : missingResponses.getGiversWithoutResponses()) {
             List<String> possibleRecipientsForRemainingGiver =
                     results.getPossibleRecipients(entry.getKey(), possibleGiverWithNoResponses);
 
@@ -1126,7 +1176,7 @@ public final class FeedbackSessionsLogic {
     }
 
     public boolean isFeedbackSessionCompletedByStudent(FeedbackSessionAttributes fsa, String userEmail) {
-        if (fsa.getRespondingStudentList().contains(userEmail)) {
+        if (fsDb.hasStudentRespondent(userEmail, fsa)) {
             return true;
         }
 
@@ -1140,7 +1190,7 @@ public final class FeedbackSessionsLogic {
 
     public boolean isFeedbackSessionCompletedByInstructor(FeedbackSessionAttributes fsa, String userEmail)
             throws EntityDoesNotExistException {
-        if (fsa.getRespondingInstructorList().contains(userEmail)) {
+        if (fsDb.hasInstructorRespondent(userEmail, fsa)) {
             return true;
         }
 
@@ -1213,13 +1263,32 @@ public final class FeedbackSessionsLogic {
         }
     }
 
+    /**
+     * Replaces the respondents of the session with the givers of its responses.
+     * Respondents recorded by submissions made while this runs may be lost, so this is for repairing
+     * sessions which are not open, e.g. in test data. Use {@link #addRespondentsForSession(String, String)}
+     * for open sessions.
+     */
     public void updateRespondentsForSession(String feedbackSessionName, String courseId)
             throws InvalidParametersException, EntityDoesNotExistException {
 
         clearInstructorRespondents(feedbackSessionName, courseId);
         clearStudentRespondents(feedbackSessionName, courseId);
 
+        addRespondentsForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Records the givers of the responses of the session as its respondents, in addition to the respondents
+     * recorded already, including those recorded by submissions made while this runs.
+     */
+    public void addRespondentsForSession(String feedbackSessionName, String courseId)
+            throws InvalidParametersException, EntityDoesNotExistException {
+
         FeedbackSessionAttributes fsa = getFeedbackSession(feedbackSessionName, courseId);
+        if (fsa == null) {
+            throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_UPDATE + courseId + "/" + feedbackSessionName);
+        }
         List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
         List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(courseId);
 
@@ -1529,6 +1598,7 @@ public final class FeedbackSessionsLogic {
     public FeedbackSessionDetailsBundle getFeedbackSessionDetails(
             FeedbackSessionAttributes fsa) throws EntityDoesNotExistException {
 
+        fsDb.mergeRespondents(fsa);
         FeedbackSessionDetailsBundle details =
                 new FeedbackSessionDetailsBundle(fsa);
 
@@ -1589,29 +1659,31 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail,
             UserRole role, String section)
             throws EntityDoesNotExistException {
-        // Load details of students and instructors once and pass it to callee
-        // methods
-        // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                studentsLogic.getStudentsForCourse(courseId),
-                instructorsLogic.getInstructorsForCourse(courseId));
-
+        // the roster is loaded together with the responses and comments
         return getFeedbackSessionResultsForUserInSectionByQuestions(
-                feedbackSessionName, courseId, userEmail, role, section, roster);
+                feedbackSessionName, courseId, userEmail, role, section, null);
     }
 
-    /* Get the feedback results for user in a section iterated by questions */
+    /*
+     * Get the feedback results for user in a section iterated by questions.
+     * The responses of every question, the response comments and the roster (if not given)
+     * are loaded concurrently.
+     */
     private FeedbackSessionResultsBundle getFeedbackSessionResultsForUserInSectionByQuestions(
-            String feedbackSessionName, String courseId, String userEmail,
-            UserRole role, String section, CourseRoster roster)
+            final String feedbackSessionName, final String courseId, final String userEmail,
+            final UserRole role, final String section, CourseRoster givenRoster)
             throws EntityDoesNotExistException {
 
-        FeedbackSessionAttributes session = fsDb.getFeedbackSession(
+        final FeedbackSessionAttributes session = fsDb.getFeedbackSession(
                 courseId, feedbackSessionName);
 
         if (session == null) {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_VIEW + courseId + "/" + feedbackSessionName);
         }
+        if (role == UserRole.INSTRUCTOR) {
+            // the respondents are shown in the response rate of the results of instructors
+            fsDb.mergeRespondents(session);
+        }
 
         // create empty data containers to store results
         List<FeedbackResponseAttributes> responses =
@@ -1636,6 +1708,7 @@ public final class FeedbackSessionsLogic {
         boolean isPrivateSessionNotCreatedByThisUser = session
                 .isPrivateSession() && !session.isCreator(userEmail);
         if (isPrivateSessionNotCreatedByThisUser) {
+            CourseRoster roster = givenRoster == null ? coursesLogic.getCourseRoster(courseId) : givenRoster;
             // return empty result set
             return new FeedbackSessionResultsBundle(
                     session, responses, relevantQuestions, emailNameTable,
@@ -1643,26 +1716,66 @@ public final class FeedbackSessionsLogic {
                     visibilityTable, responseStatus, roster, responseComments);
         }
 
-        List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(
-                                                                    feedbackSessionName, courseId);
-        Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
-        for (FeedbackQuestionAttributes question : allQuestions) {
-
-            List<FeedbackResponseAttributes> responsesForThisQn;
-
-            boolean isPrivateSessionCreatedByThisUser = session
-                    .isCreator(userEmail) && session.isPrivateSession();
-            if (isPrivateSessionCreatedByThisUser) {
-                responsesForThisQn = frLogic
-                        .getFeedbackResponsesForQuestion(question.getId());
-            } else {
-                responsesForThisQn = frLogic
-                        .getViewableFeedbackResponsesForQuestionInSection(
+        ConcurrentLoader loader = new ConcurrentLoader();
+        CourseRoster roster;
+        List<FeedbackQuestionAttributes> allQuestions;
+        List<List<FeedbackResponseAttributes>> responsesForQuestions =
+                new ArrayList<List<FeedbackResponseAttributes>>();
+        List<FeedbackResponseCommentAttributes> allResponseComments;
+        try {
+            Future<CourseRoster> rosterResult = givenRoster == null
+                    ? loader.submit(new Callable<CourseRoster>() {
+                        @Override
+                        public CourseRoster call() {
+                            return coursesLogic.getCourseRoster(courseId);
+                        }
+                    })
+                    : null;
+            Future<List<FeedbackResponseCommentAttributes>> responseCommentsResult =
+                    loader.submit(new Callable<List<FeedbackResponseCommentAttributes>>() {
+                        @Override
+                        public List<FeedbackResponseCommentAttributes> call() {
+                            return frcLogic.getFeedbackResponseCommentForSession(courseId, feedbackSessionName);
+                        }
+                    });
+
+            allQuestions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+
+            List<Future<List<FeedbackResponseAttributes>>> responsesResults =
+                    new ArrayList<Future<List<FeedbackResponseAttributes>>>();
+            for (final FeedbackQuestionAttributes question : allQuestions) {
+                responsesResults.add(loader.submit(new Callable<List<FeedbackResponseAttributes>>() {
+                    @Override
+                    public List<FeedbackResponseAttributes> call() {
+                        boolean isPrivateSessionCreatedByThisUser = session
+                                .isCreator(userEmail) && session.isPrivateSession();
+                        if (isPrivateSessionCreatedByThisUser) {
+                            return frLogic.getFeedbackResponsesForQuestion(question.getId());
+                        }
+                        return frLogic.getViewableFeedbackResponsesForQuestionInSection(
                                 question, userEmail, role, section);
+                    }
+                }));
             }
 
+            for (Future<List<FeedbackResponseAttributes>> responsesResult : responsesResults) {
+                responsesForQuestions.add(loader.getResult(responsesResult));
+            }
+            allResponseComments = loader.getResult(responseCommentsResult);
+            roster = rosterResult == null ? givenRoster : loader.getResult(rosterResult);
+        } finally {
+            loader.close();
+        }
+
+        Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
+        for (int i = 0; i < allQuestions.size(); i++) {
+            FeedbackQuestionAttributes question = allQuestions.get(i);
+            List<FeedbackResponseAttributes> responsesForThisQn = responsesForQuestions.get(i);
+
             boolean thisQuestionHasResponses = !responsesForThisQn.isEmpty();
             if (thisQuestionHasResponses) {
+                FeedbackQuestionVisibilityPlan visibilityPlan =
+                        new FeedbackQuestionVisibilityPlan(question, userEmail, role, roster, null, null, null);
                 relevantQuestions.put(question.getId(), question);
                 responses.addAll(responsesForThisQn);
                 for (FeedbackResponseAttributes response : responsesForThisQn) {
@@ -1673,8 +1786,7 @@ public final class FeedbackSessionsLogic {
                             question, roster);
                     addEmailTeamNamePairsToTable(emailTeamNameTable, response,
                             question, roster);
-                    addVisibilityToTable(visibilityTable, question, response,
-                            userEmail, role, roster);
+                    addVisibilityToTable(visibilityTable, visibilityPlan, response);
                 }
             }
         }
@@ -1682,17 +1794,13 @@ public final class FeedbackSessionsLogic {
         StudentAttributes student = null;
         Set<String> studentsEmailInTeam = new HashSet<String>();
         if (isStudent(role)) {
-            student = studentsLogic.getStudentForEmail(courseId, userEmail);
-            List<StudentAttributes> studentsInTeam = studentsLogic
-                    .getStudentsForTeam(student.team, courseId);
+            student = roster.getStudentForEmail(userEmail);
+            List<StudentAttributes> studentsInTeam = roster.getStudentsInTeam(student.team);
             for (StudentAttributes teammates : studentsInTeam) {
                 studentsEmailInTeam.add(teammates.email);
             }
         }
 
-        List<FeedbackResponseCommentAttributes> allResponseComments =
-                frcLogic.getFeedbackResponseCommentForSession(courseId,
-                        feedbackSessionName);
         for (FeedbackResponseCommentAttributes frc : allResponseComments) {
             FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
             FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
@@ -1734,6 +1842,10 @@ public final class FeedbackSessionsLogic {
         if (session == null) {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_VIEW + courseId + "/" + feedbackSessionName);
         }
+        if (role == UserRole.INSTRUCTOR) {
+            // the respondents are shown in the response rate of the results of instructors
+            fsDb.mergeRespondents(session);
+        }
 
         List<FeedbackQuestionAttributes> allQuestions =
                 fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
@@ -1760,7 +1872,10 @@ public final class FeedbackSessionsLogic {
         Map<String, FeedbackQuestionAttributes> allQuestionsMap = new HashMap<String, FeedbackQuestionAttributes>();
         putQuestionsIntoMap(allQuestions, allQuestionsMap);
 
-        List<FeedbackResponseAttributes> allResponses = getAllResponses(feedbackSessionName, courseId, params, section);
+        FeedbackSessionResultsIndex resultsIndex = getFeedbackSessionResultsIndex(feedbackSessionName, courseId);
+        List<FeedbackResponseAttributes> allResponses = resultsIndex == null
+                ? getAllResponses(feedbackSessionName, courseId, params, section)
+                : getAllResponses(resultsIndex, params, section);
 
         String rangeString = params.get(PARAM_RANGE);
         boolean isComplete = rangeString == null || allResponses.size() <= Long.parseLong(rangeString);
@@ -1786,19 +1901,25 @@ public final class FeedbackSessionsLogic {
         InstructorAttributes instructor = getInstructor(courseId, userEmail, role);
 
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
+        // the visibility rules of each question are evaluated once for all its responses
+        Map<String, FeedbackQuestionVisibilityPlan> visibilityPlans = new HashMap<>();
         for (FeedbackResponseAttributes response : allResponses) {
             FeedbackQuestionAttributes relatedQuestion = allQuestionsMap.get(response.feedbackQuestionId);
             if (relatedQuestion != null) {
-                boolean isVisibleResponse = isResponseVisibleForUser(
-                        userEmail, role, student, studentsEmailInTeam, response, relatedQuestion, instructor);
-                if (isVisibleResponse) {
+                FeedbackQuestionVisibilityPlan visibilityPlan = visibilityPlans.get(relatedQuestion.getId());
+                if (visibilityPlan == null) {
+                    visibilityPlan = new FeedbackQuestionVisibilityPlan(
+                            relatedQuestion, userEmail, role, roster, student, studentsEmailInTeam, instructor);
+                    visibilityPlans.put(relatedQuestion.getId(), visibilityPlan);
+                }
+                if (visibilityPlan.isResponseVisible(response)) {
                     responses.add(response);
                     relevantResponse.put(response.getId(), response);
                     relevantQuestions.put(relatedQuestion.getId(), relatedQuestion);
                     addEmailNamePairsToTable(emailNameTable, response, relatedQuestion, roster);
                     addEmailLastNamePairsToTable(emailLastNameTable, response, relatedQuestion, roster);
                     addEmailTeamNamePairsToTable(emailTeamNameTable, response, relatedQuestion, roster);
-                    addVisibilityToTable(visibilityTable, relatedQuestion, response, userEmail, role, roster);
+                    addVisibilityToTable(visibilityTable, visibilityPlan, response);
                 }
             }
         }
@@ -1808,7 +1929,7 @@ public final class FeedbackSessionsLogic {
         boolean isRgqSortType = Const.FeedbackSessionResults.RGQ_SORT_TYPE.equals(params.get(PARAM_VIEW_TYPE));
         Map<String, List<FeedbackResponseCommentAttributes>> responseComments = getResponseComments(
                 feedbackSessionName, courseId, userEmail, role, roster, relevantQuestions, section, student,
-                studentsEmailInTeam, relevantResponse, viewType, isGrqSortType, isRgqSortType);
+                studentsEmailInTeam, relevantResponse, viewType, isGrqSortType, isRgqSortType, resultsIndex);
 
         addSectionTeamNamesToTable(sectionTeamNameTable, roster, courseId, userEmail, role, feedbackSessionName, section);
 
@@ -1822,13 +1943,14 @@ public final class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, UserRole role, CourseRoster roster,
             Map<String, FeedbackQuestionAttributes> relevantQuestions, String section, StudentAttributes student,
             Set<String> studentsEmailInTeam, Map<String, FeedbackResponseAttributes> relevantResponse, String viewType,
-            boolean isGrqSortType, boolean isRgqSortType) {
+            boolean isGrqSortType, boolean isRgqSortType, FeedbackSessionResultsIndex resultsIndex) {
 
         Map<String, List<FeedbackResponseCommentAttributes>> responseComments = new HashMap<>();
 
         if (viewType == null || isGrqSortType || isRgqSortType) {
-            List<FeedbackResponseCommentAttributes> allResponseComments =
-                    frcLogic.getFeedbackResponseCommentForSessionInSection(courseId, feedbackSessionName, section);
+            List<FeedbackResponseCommentAttributes> allResponseComments = resultsIndex == null
+                    ? frcLogic.getFeedbackResponseCommentForSessionInSection(courseId, feedbackSessionName, section)
+                    : resultsIndex.getResponseCommentsInSection(section);
             for (FeedbackResponseCommentAttributes frc : allResponseComments) {
                 FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
                 FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
@@ -1928,16 +2050,16 @@ public final class FeedbackSessionsLogic {
 
                 boolean thisQuestionHasResponses = !responsesForThisQn.isEmpty();
                 if (thisQuestionHasResponses) {
+                    InstructorAttributes instructor = getInstructor(courseId, userEmail, role);
+                    FeedbackQuestionVisibilityPlan visibilityPlan = new FeedbackQuestionVisibilityPlan(
+                            question, userEmail, role, roster, null, null, instructor);
                     for (FeedbackResponseAttributes response : responsesForThisQn) {
-                        InstructorAttributes instructor = getInstructor(courseId, userEmail, role);
-                        boolean isVisibleResponse = isResponseVisibleForUser(userEmail, role, null, null, response,
-                                                                             question, instructor);
-                        if (isVisibleResponse) {
+                        if (visibilityPlan.isResponseVisible(response)) {
                             responses.add(response);
                             addEmailNamePairsToTable(emailNameTable, response, question, roster);
                             addEmailLastNamePairsToTable(emailLastNameTable, response, question, roster);
                             addEmailTeamNamePairsToTable(emailTeamNameTable, response, question, roster);
-                            addVisibilityToTable(visibilityTable, question, response, userEmail, role, roster);
+                            addVisibilityToTable(visibilityTable, visibilityPlan, response);
                         }
                     }
                 }
@@ -2005,6 +2127,57 @@ public final class FeedbackSessionsLogic {
         return new ArrayList<FeedbackResponseAttributes>();
     }
 
+    private List<FeedbackResponseAttributes> getAllResponses(FeedbackSessionResultsIndex resultsIndex,
+            Map<String, String> params, String section) {
+        boolean isInSection = Boolean.parseBoolean(params.get(PARAM_IN_SECTION));
+        boolean isToSection = Boolean.parseBoolean(params.get(PARAM_TO_SECTION));
+        boolean isFromSection = Boolean.parseBoolean(params.get(PARAM_FROM_SECTION));
+
+        if (isInSection) {
+            return resultsIndex.getResponsesInSection(section);
+        } else if (isFromSection) {
+            return resultsIndex.getResponsesFromSection(section);
+        } else if (isToSection) {
+            return resultsIndex.getResponsesToSection(section);
+        } else {
+            Assumption.fail(ASSUMPTION_FAIL_RESPONSE_ORIGIN);
+        }
+        return new ArrayList<FeedbackResponseAttributes>();
+    }
+
+    /**
+     * Gets the results index of a session from the cache, building and caching it if it is not cached.
+     * Sessions with more responses than {@link Const#INSTRUCTOR_VIEW_RESPONSE_LIMIT} are not indexed,
+     * as their results are only ever viewed one section or question at a time. Sessions whose index is
+     * too large to be cached are indexed only for the request that builds the index, and their results
+     * are read one section at a time afterwards.
+     *
+     * @return Null if the session is not indexed.
+     */
+    private FeedbackSessionResultsIndex getFeedbackSessionResultsIndex(String feedbackSessionName, String courseId) {
+        // the key has to be obtained before the responses are read, so that a write made
+        // in the meantime makes the index built here outdated
+        String indexKey = resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId);
+        FeedbackSessionResultsIndex resultsIndex =
+                indexKey == null ? null : resultsIndexDb.getFeedbackSessionResultsIndex(indexKey);
+
+        if (resultsIndex == null) {
+            List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForSessionWithinRange(
+                    feedbackSessionName, courseId, Const.INSTRUCTOR_VIEW_RESPONSE_LIMIT);
+            if (responses.size() > Const.INSTRUCTOR_VIEW_RESPONSE_LIMIT) {
+                resultsIndex = new FeedbackSessionResultsIndex(feedbackSessionName, courseId);
+            } else {
+                resultsIndex = new FeedbackSessionResultsIndex(feedbackSessionName, courseId, responses,
+                        frcLogic.getFeedbackResponseCommentForSession(courseId, feedbackSessionName));
+            }
+            if (indexKey != null) {
+                resultsIndexDb.putFeedbackSessionResultsIndex(indexKey, resultsIndex);
+            }
+        }
+
+        return resultsIndex.isComplete() ? resultsIndex : null;
+    }
+
     private void addSectionTeamNamesToTable(Map<String, Set<String>> sectionTeamNameTable,
                                     CourseRoster roster, String courseId, String userEmail, UserRole role,
                                     String feedbackSessionName, String sectionToView) {
@@ -2033,56 +2206,6 @@ public final class FeedbackSessionsLogic {
         }
     }
 
-    private boolean isResponseVisibleForUser(String userEmail,
-            UserRole role, StudentAttributes student,
-            Set<String> studentsEmailInTeam,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes relatedQuestion, InstructorAttributes instructor) {
-
-        boolean isVisibleResponse = false;
-        if (isInstructor(role) && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS)
-                || response.recipient.equals(userEmail)
-                        && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
-                || response.giver.equals(userEmail)
-                || isStudent(role) && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.STUDENTS)) {
-            isVisibleResponse = true;
-        } else if (studentsEmailInTeam != null && isStudent(role)) {
-            if (relatedQuestion.recipientType == FeedbackParticipantType.TEAMS
-                    && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
-                    && response.recipient.equals(student.team)) {
-                isVisibleResponse = true;
-            } else if (relatedQuestion.giverType == FeedbackParticipantType.TEAMS
-                       && studentsEmailInTeam.contains(response.giver)) {
-                isVisibleResponse = true;
-            } else if (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS)
-                       && studentsEmailInTeam.contains(response.giver)) {
-                isVisibleResponse = true;
-            } else if (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
-                       && studentsEmailInTeam.contains(response.recipient)) {
-                isVisibleResponse = true;
-            }
-        }
-        if (isVisibleResponse && instructor != null) {
-            boolean isGiverSectionRestricted =
-                    !instructor.isAllowedForPrivilege(response.giverSection,
-                                                      response.feedbackSessionName,
-                                                      Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
-            // If instructors are not restricted to view the giver's section,
-            // they are allowed to view responses to GENERAL, subject to visibility options
-            boolean isRecipientSectionRestricted =
-                    relatedQuestion.recipientType != FeedbackParticipantType.NONE
-                    && !instructor.isAllowedForPrivilege(response.recipientSection,
-                                                         response.feedbackSessionName,
-                                                         Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
-
-            boolean isNotAllowedForInstructor = isGiverSectionRestricted || isRecipientSectionRestricted;
-            if (isNotAllowedForInstructor) {
-                isVisibleResponse = false;
-            }
-        }
-        return isVisibleResponse;
-    }
-
     private void sortByCreatedDate(List<FeedbackResponseCommentAttributes> responseCommentList) {
         Collections.sort(responseCommentList, new Comparator<FeedbackResponseCommentAttributes>() {
             @Override
@@ -2093,18 +2216,12 @@ public final class FeedbackSessionsLogic {
         });
     }
 
-    @SuppressWarnings("PMD.UnusedPrivateMethod") // false positive by PMD
     private void addVisibilityToTable(Map<String, boolean[]> visibilityTable,
-            FeedbackQuestionAttributes question,
-            FeedbackResponseAttributes response,
-            String userEmail,
-            UserRole role,
-            CourseRoster roster) {
+            FeedbackQuestionVisibilityPlan visibilityPlan,
+            FeedbackResponseAttributes response) {
         boolean[] visibility = new boolean[2];
-        visibility[Const.VISIBILITY_TABLE_GIVER] = frLogic.isNameVisibleToUser(
-                question, response, userEmail, role, true, roster);
-        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = frLogic.isNameVisibleToUser(
-                question, response, userEmail, role, false, roster);
+        visibility[Const.VISIBILITY_TABLE_GIVER] = visibilityPlan.isNameVisible(response, true);
+        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = visibilityPlan.isNameVisible(response, false);
         visibilityTable.put(response.getId(), visibility);
     }
 
@@ -2207,6 +2324,10 @@ public final class FeedbackSessionsLogic {
         return fsInCourseWithoutPrivate;
     }
 
+    /**
+     * Preconditions: <br>
+     * * The respondents of {@code fsa} have been merged in with {@link FeedbackSessionsDb#mergeRespondents}.
+     */
     private FeedbackSessionResponseStatus getFeedbackSessionResponseStatus(
             FeedbackSessionAttributes fsa, CourseRoster roster,
             List<FeedbackQuestionAttributes> questions) {
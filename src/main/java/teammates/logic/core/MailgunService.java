@@ -1,7 +1,12 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import javax.ws.rs.core.MediaType;
 
+import org.json.JSONObject;
+import org.jsoup.Jsoup;
+
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
@@ -22,6 +27,12 @@ public class MailgunService extends EmailSenderService {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final int MAX_EMAILS_PER_BATCH = 1000;
+
+    private static final String CONTENT_VARIABLE = "content";
+
+    private static final String TEXT_CONTENT_VARIABLE = "textContent";
+
     /**
      * {@inheritDoc}
      */
@@ -43,13 +54,60 @@ public class MailgunService extends EmailSenderService {
         formData.field("h:Reply-To", wrapper.getReplyTo());
         formData.field("subject", wrapper.getSubject());
         formData.field("html", wrapper.getContent());
+        formData.field("text", Jsoup.parse(wrapper.getContent()).text());
 
         return formData;
     }
 
+    /**
+     * Parses the {@code batch} of email objects, which have the same sender, reply-to address and subject,
+     * to one Mailgun form which is delivered separately to each recipient,
+     * with the content of each recipient given as recipient variables.
+     * Precondition: the emails of the batch have different recipients.
+     */
+    public FormDataMultiPart parseToEmails(List<EmailWrapper> batch) {
+        FormDataMultiPart formData = new FormDataMultiPart();
+        EmailWrapper firstWrapper = batch.get(0);
+
+        String sender = firstWrapper.getSenderName() == null || firstWrapper.getSenderName().isEmpty()
+                        ? firstWrapper.getSenderEmail()
+                        : firstWrapper.getSenderName() + " <" + firstWrapper.getSenderEmail() + ">";
+        formData.field("from", sender);
+
+        JSONObject recipientVariables = new JSONObject();
+        for (EmailWrapper wrapper : batch) {
+            formData.field("to", wrapper.getRecipient());
+            recipientVariables.put(wrapper.getRecipient(),
+                                   new JSONObject().put(CONTENT_VARIABLE, wrapper.getContent())
+                                                   .put(TEXT_CONTENT_VARIABLE,
+                                                        Jsoup.parse(wrapper.getContent()).text()));
+        }
+        formData.field("recipient-variables", recipientVariables.toString());
+
+        formData.field("h:Reply-To", firstWrapper.getReplyTo());
+        formData.field("subject", firstWrapper.getSubject());
+        formData.field("html", "%recipient." + CONTENT_VARIABLE + "%");
+        formData.field("text", "%recipient." + TEXT_CONTENT_VARIABLE + "%");
+
+        return formData;
+    }
+
+    @Override
+    protected int getMaxEmailsPerBatch() {
+        return MAX_EMAILS_PER_BATCH;
+    }
+
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) {
-        FormDataMultiPart email = parseToEmail(wrapper);
+        send(parseToEmail(wrapper));
+    }
+
+    @Override
+    protected void sendEmailsWithService(List<EmailWrapper> batch) {
+        send(parseToEmails(batch));
+    }
+
+    private void send(FormDataMultiPart email) {
         Client client = Client.create();
         client.addFilter(new HTTPBasicAuthFilter("api", Config.MAILGUN_APIKEY));
         WebResource webResource =
@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
@@ -27,6 +29,8 @@ public class MailjetService extends EmailSenderService {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final int MAX_EMAILS_PER_BATCH = 50;
+
     /**
      * {@inheritDoc}
      */
@@ -50,9 +54,34 @@ public class MailjetService extends EmailSenderService {
         return request;
     }
 
+    /**
+     * Parses the {@code batch} of email objects to one Mailjet request which sends all of them as separate messages.
+     */
+    public MailjetRequest parseToEmails(List<EmailWrapper> batch) {
+        JSONArray messages = new JSONArray();
+        for (EmailWrapper wrapper : batch) {
+            messages.put(new JSONObject(parseToEmail(wrapper).getBody()));
+        }
+        return new MailjetRequest(Email.resource).property(Email.MESSAGES, messages);
+    }
+
+    @Override
+    protected int getMaxEmailsPerBatch() {
+        return MAX_EMAILS_PER_BATCH;
+    }
+
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) throws MailjetException, MailjetSocketTimeoutException {
-        MailjetRequest email = parseToEmail(wrapper);
+        send(parseToEmail(wrapper));
+    }
+
+    @Override
+    protected void sendEmailsWithService(List<EmailWrapper> batch)
+            throws MailjetException, MailjetSocketTimeoutException {
+        send(parseToEmails(batch));
+    }
+
+    private void send(MailjetRequest email) throws MailjetException, MailjetSocketTimeoutException {
         MailjetClient mailjet = new MailjetClient(Config.MAILJET_APIKEY, Config.MAILJET_SECRETKEY);
         MailjetResponse response = mailjet.post(email);
         if (response.getStatus() != SUCCESS_CODE) {
@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import org.jsoup.Jsoup;
 
 import com.sendgrid.SendGrid;
@@ -21,6 +23,11 @@ public class SendgridService extends EmailSenderService {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final int MAX_EMAILS_PER_BATCH = 1000;
+
+    private static final String HTML_SUBSTITUTION_TAG = "-htmlContent-";
+    private static final String TEXT_SUBSTITUTION_TAG = "-textContent-";
+
     /**
      * {@inheritDoc}
      */
@@ -42,9 +49,45 @@ public class SendgridService extends EmailSenderService {
         return email;
     }
 
+    /**
+     * Parses the {@code batch} of email objects, which have the same sender, reply-to address and subject,
+     * to one SendGrid email object which is delivered separately to each recipient,
+     * with the content of each recipient given as a substitution.
+     */
+    public Email parseToEmails(List<EmailWrapper> batch) {
+        Email email = parseToEmail(batch.get(0));
+
+        String[] htmlContents = new String[batch.size()];
+        String[] textContents = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            EmailWrapper wrapper = batch.get(i);
+            email.addSmtpApiTo(wrapper.getRecipient());
+            htmlContents[i] = wrapper.getContent();
+            textContents[i] = Jsoup.parse(wrapper.getContent()).text();
+        }
+        email.addSubstitution(HTML_SUBSTITUTION_TAG, htmlContents);
+        email.addSubstitution(TEXT_SUBSTITUTION_TAG, textContents);
+        email.setHtml(HTML_SUBSTITUTION_TAG);
+        email.setText(TEXT_SUBSTITUTION_TAG);
+        return email;
+    }
+
+    @Override
+    protected int getMaxEmailsPerBatch() {
+        return MAX_EMAILS_PER_BATCH;
+    }
+
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) throws SendGridException {
-        Email email = parseToEmail(wrapper);
+        send(parseToEmail(wrapper));
+    }
+
+    @Override
+    protected void sendEmailsWithService(List<EmailWrapper> batch) throws SendGridException {
+        send(parseToEmails(batch));
+    }
+
+    private void send(Email email) throws SendGridException {
         SendGrid sendgrid = new SendGrid(Config.SENDGRID_APIKEY);
         Response response = sendgrid.send(email);
         if (response.getCode() != SUCCESS_CODE) {
@@ -1,9 +1,14 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import teammates.common.datatransfer.CourseEnrollmentResult;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.StudentAttributesFactory;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentSearchResultBundle;
@@ -20,6 +25,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.Logger;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.StringHelper;
 import teammates.storage.api.StudentsDb;
@@ -34,6 +40,8 @@ public final class StudentsLogic {
 
     private static final int SECTION_SIZE_LIMIT = 100;
 
+    private static final Logger log = Logger.getLogger();
+
     private static StudentsLogic instance = new StudentsLogic();
 
     private static final StudentsDb studentsDb = new StudentsDb();
@@ -103,6 +111,10 @@ public final class StudentsLogic {
         return studentsDb.getStudentsForCourse(courseId);
     }
 
+    public ResultsPage<StudentAttributes> getStudentsForCoursePage(String courseId, String cursor, int pageSize) {
+        return studentsDb.getStudentsForCoursePage(courseId, cursor, pageSize);
+    }
+
     public List<StudentAttributes> getStudentsForTeam(String teamName, String courseId) {
         return studentsDb.getStudentsForTeam(teamName, courseId);
     }
@@ -291,7 +303,7 @@ public final class StudentsLogic {
     }
 
     private CourseEnrollmentResult enrollStudents(String enrollLines, String courseId, boolean hasDocument)
-            throws EntityDoesNotExistException, EnrollException, InvalidParametersException, EntityAlreadyExistsException {
+            throws EntityDoesNotExistException, EnrollException, InvalidParametersException {
 
         if (!coursesLogic.isCoursePresent(courseId)) {
             throw new EntityDoesNotExistException("Course does not exist :"
@@ -302,29 +314,70 @@ public final class StudentsLogic {
             throw new EnrollException(Const.StatusMessages.ENROLL_LINE_EMPTY);
         }
 
+        long startTime = System.currentTimeMillis();
+
         List<StudentAttributes> studentList = createStudents(enrollLines, courseId);
         ArrayList<StudentAttributes> returnList = new ArrayList<StudentAttributes>();
         ArrayList<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
 
         verifyIsWithinSizeLimitPerEnrollment(studentList);
-        validateSectionsAndTeams(studentList, courseId);
 
-        // TODO: can we use a batch persist operation here?
-        // enroll all students
+        // the students in the course are retrieved once, and compared with the enroll list in memory
+        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        validateSectionsAndTeams(studentList, studentsInCourse);
+
+        Map<String, StudentAttributes> studentsInCourseByEmail = new HashMap<String, StudentAttributes>();
+        for (StudentAttributes student : studentsInCourse) {
+            studentsInCourseByEmail.put(student.email, student);
+        }
+
+        List<StudentAttributes> studentsToCreate = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsToUpdate = new ArrayList<StudentAttributes>();
         for (StudentAttributes student : studentList) {
-            StudentEnrollDetails enrollmentDetails;
+            StudentAttributes originalStudent = studentsInCourseByEmail.get(student.email);
+            StudentEnrollDetails enrollmentDetails = getEnrollmentDetails(student, originalStudent);
 
-            enrollmentDetails = enrollStudent(student, hasDocument);
+            if (enrollmentDetails.updateStatus == StudentUpdateStatus.NEW) {
+                studentsToCreate.add(student);
+            } else if (enrollmentDetails.updateStatus == StudentUpdateStatus.MODIFIED) {
+                student.updateWithExistingRecord(originalStudent);
+                if (!student.isValid()) {
+                    throw new InvalidParametersException(student.getInvalidityInfo());
+                }
+                studentsToUpdate.add(student);
+            }
             student.updateStatus = enrollmentDetails.updateStatus;
 
             enrollmentList.add(enrollmentDetails);
             returnList.add(student);
         }
 
+        long diffEndTime = System.currentTimeMillis();
+
+        // all the new students are created, and all the modified students are updated, in batches
+        List<StudentAttributes> studentsToIndex = new ArrayList<StudentAttributes>();
+        studentsToIndex.addAll(studentsDb.createStudentsWithoutExistenceCheck(studentsToCreate));
+        long createEndTime = System.currentTimeMillis();
+
+        studentsToIndex.addAll(studentsDb.updateStudentsWithoutSearchability(courseId, studentsToUpdate));
+        long updateEndTime = System.currentTimeMillis();
+
+        if (hasDocument) {
+            putDocuments(studentsToIndex);
+        }
+        long indexEndTime = System.currentTimeMillis();
+
+        log.info(String.format("Enrolled %d students in course %s: %d ms to compare with the %d existing students, "
+                               + "%d ms to create %d students, %d ms to update %d students, %d ms to index them",
+                               studentList.size(), courseId, diffEndTime - startTime, studentsInCourse.size(),
+                               createEndTime - diffEndTime, studentsToCreate.size(),
+                               updateEndTime - createEndTime, studentsToUpdate.size(),
+                               indexEndTime - updateEndTime));
+
         // add to return list students not included in the enroll list.
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        Set<String> enrolledEmails = getEmailsInLowerCase(studentList);
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, returnList)) {
+            if (!enrolledEmails.contains(student.email.toLowerCase())) {
                 student.updateStatus = StudentUpdateStatus.NOT_IN_ENROLL_LIST;
                 returnList.add(student);
             }
@@ -343,8 +396,13 @@ public final class StudentsLogic {
      * Validates sections for any limit violations and teams for any team name violations.
      */
     public void validateSectionsAndTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
+        validateSectionsAndTeams(studentList, getStudentsForCourse(courseId));
+    }
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
+    private void validateSectionsAndTeams(List<StudentAttributes> studentList, List<StudentAttributes> studentsInCourse)
+            throws EnrollException {
+
+        List<StudentAttributes> mergedList = getMergedList(studentList, studentsInCourse);
 
         if (mergedList.size() < 2) { // no conflicts
             return;
@@ -363,7 +421,7 @@ public final class StudentsLogic {
      */
     public void validateTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
+        List<StudentAttributes> mergedList = getMergedList(studentList, getStudentsForCourse(courseId));
 
         if (mergedList.size() < 2) { // no conflicts
             return;
@@ -377,17 +435,18 @@ public final class StudentsLogic {
 
     }
 
-    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList, String courseId) {
+    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList,
+            List<StudentAttributes> studentsInCourse) {
 
         List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>();
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
+        Set<String> enrolledEmails = getEmailsInLowerCase(studentList);
 
         for (StudentAttributes student : studentList) {
             mergedList.add(student);
         }
 
         for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, mergedList)) {
+            if (!enrolledEmails.contains(student.email.toLowerCase())) {
                 mergedList.add(student);
             }
         }
@@ -541,11 +600,8 @@ public final class StudentsLogic {
         studentsDb.putDocuments(students);
     }
 
-    private StudentEnrollDetails enrollStudent(StudentAttributes validStudentAttributes, Boolean hasDocument)
-            throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
-        StudentAttributes originalStudentAttributes = getStudentForEmail(
-                validStudentAttributes.course, validStudentAttributes.email);
-
+    private StudentEnrollDetails getEnrollmentDetails(StudentAttributes validStudentAttributes,
+            StudentAttributes originalStudentAttributes) {
         StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
         enrollmentDetails.course = validStudentAttributes.course;
         enrollmentDetails.email = validStudentAttributes.email;
@@ -556,8 +612,6 @@ public final class StudentsLogic {
         if (validStudentAttributes.isEnrollInfoSameAs(originalStudentAttributes)) {
             enrollmentDetails.updateStatus = StudentUpdateStatus.UNMODIFIED;
         } else if (isModifyingExistingStudent) {
-            updateStudentCascadeWithSubmissionAdjustmentScheduled(originalStudentAttributes.email,
-                                                                  validStudentAttributes, true);
             enrollmentDetails.updateStatus = StudentUpdateStatus.MODIFIED;
 
             if (!originalStudentAttributes.team.equals(validStudentAttributes.team)) {
@@ -567,7 +621,6 @@ public final class StudentsLogic {
                 enrollmentDetails.oldSection = originalStudentAttributes.section;
             }
         } else {
-            createStudentCascade(validStudentAttributes, hasDocument);
             enrollmentDetails.updateStatus = StudentUpdateStatus.NEW;
         }
 
@@ -640,14 +693,12 @@ public final class StudentsLogic {
         return studentEmailList.contains(email);
     }
 
-    private boolean isInEnrollList(StudentAttributes student,
-            List<StudentAttributes> studentInfoList) {
-        for (StudentAttributes studentInfo : studentInfoList) {
-            if (studentInfo.email.equalsIgnoreCase(student.email)) {
-                return true;
-            }
+    private Set<String> getEmailsInLowerCase(List<StudentAttributes> students) {
+        Set<String> emails = new HashSet<String>();
+        for (StudentAttributes student : students) {
+            emails.add(student.email.toLowerCase());
         }
-        return false;
+        return emails;
     }
 
     private boolean isTeamChanged(String originalTeam, String newTeam) {
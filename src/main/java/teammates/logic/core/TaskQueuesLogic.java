@@ -1,11 +1,19 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskHandle;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
+import teammates.common.util.Logger;
 import teammates.common.util.TaskWrapper;
 
 /**
@@ -13,6 +21,8 @@ import teammates.common.util.TaskWrapper;
  */
 public class TaskQueuesLogic {
 
+    private static final Logger log = Logger.getLogger();
+
     /**
      * Adds the given task to the specified queue.
      *
@@ -30,6 +40,104 @@ public class TaskQueuesLogic {
      */
     public void addDeferredTask(TaskWrapper task, long countdownTime) {
         Queue requiredQueue = QueueFactory.getQueue(task.getQueueName());
+        requiredQueue.add(createTaskOptions(task, countdownTime));
+    }
+
+    /**
+     * Adds the given tasks to their specified queues, the i-th task (counting from 0)
+     * to be run after {@code i * countdownTimeInterval}.
+     *
+     * <p>The tasks of each queue are added in batches of the most tasks the queue accepts in one call,
+     * which are all sent before waiting for any of them to be added.
+     * A batch rejected as invalid before it is sent, e.g. for a task being too large, has none of its tasks
+     * added, so it is retried task by task for only the invalid tasks to be logged and left out.
+     * A batch which fails after it is sent may have been partly added, so it is logged and not retried,
+     * as its tasks added already would be run twice.
+     *
+     * @param tasks the task objects containing the details of tasks to be added
+     * @param countdownTimeInterval the time delay between the executions of consecutive tasks
+     */
+    public void addDeferredTasks(List<TaskWrapper> tasks, long countdownTimeInterval) {
+        addDeferredTasks(tasks, 0, countdownTimeInterval);
+    }
+
+    /**
+     * Adds the given tasks to their specified queues, the i-th task (counting from 0)
+     * to be run after {@code countdownTime + i * countdownTimeInterval}.
+     *
+     * @param tasks the task objects containing the details of tasks to be added
+     * @param countdownTime the time delay for the first task to be executed
+     * @param countdownTimeInterval the time delay between the executions of consecutive tasks
+     * @see #addDeferredTasks(List, long)
+     */
+    public void addDeferredTasks(List<TaskWrapper> tasks, long countdownTime, long countdownTimeInterval) {
+        Map<String, List<TaskOptions>> tasksToBeAddedByQueue = new HashMap<String, List<TaskOptions>>();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskWrapper task = tasks.get(i);
+            List<TaskOptions> tasksToBeAdded = tasksToBeAddedByQueue.get(task.getQueueName());
+            if (tasksToBeAdded == null) {
+                tasksToBeAdded = new ArrayList<TaskOptions>();
+                tasksToBeAddedByQueue.put(task.getQueueName(), tasksToBeAdded);
+            }
+            tasksToBeAdded.add(createTaskOptions(task, countdownTime + i * countdownTimeInterval));
+        }
+
+        List<Future<List<TaskHandle>>> additions = new ArrayList<Future<List<TaskHandle>>>();
+        List<Queue> queuesOfAdditions = new ArrayList<Queue>();
+        List<List<TaskOptions>> batchesOfAdditions = new ArrayList<List<TaskOptions>>();
+        for (Map.Entry<String, List<TaskOptions>> entry : tasksToBeAddedByQueue.entrySet()) {
+            Queue requiredQueue = QueueFactory.getQueue(entry.getKey());
+            List<TaskOptions> tasksToBeAdded = entry.getValue();
+            for (int i = 0; i < tasksToBeAdded.size(); i += QueueConstants.maxTasksPerAdd()) {
+                List<TaskOptions> batch =
+                        tasksToBeAdded.subList(i, Math.min(i + QueueConstants.maxTasksPerAdd(), tasksToBeAdded.size()));
+                try {
+                    additions.add(requiredQueue.addAsync(batch));
+                    queuesOfAdditions.add(requiredQueue);
+                    batchesOfAdditions.add(batch);
+                } catch (IllegalArgumentException e) {
+                    // a batch is rejected as a whole, e.g. when one of its tasks is too large,
+                    // so its tasks are added one by one for only the invalid ones to be left out
+                    addSingly(requiredQueue, batch);
+                }
+            }
+        }
+
+        // a failed batch is only logged, without failing the batches after it
+        for (int i = 0; i < additions.size(); i++) {
+            waitForAddition(additions.get(i), queuesOfAdditions.get(i), batchesOfAdditions.get(i));
+        }
+    }
+
+    private static void addSingly(Queue queue, List<TaskOptions> tasks) {
+        for (TaskOptions task : tasks) {
+            try {
+                queue.add(task);
+            } catch (RuntimeException e) {
+                log.severe("Error when adding task to " + queue.getQueueName() + " queue: " + e.getMessage() + "\n"
+                           + "Task URL: " + task.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Waits for the asynchronous {@code addition} of the {@code batch} of tasks to the {@code queue} to complete,
+     * logging the batch if it fails.
+     */
+    private static void waitForAddition(Future<List<TaskHandle>> addition, Queue queue, List<TaskOptions> batch) {
+        try {
+            addition.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            log.severe("Error when adding batch of " + batch.size() + " tasks to " + queue.getQueueName()
+                       + " queue, some of which may not have been added: " + e.getCause() + "\n"
+                       + "Task URL: " + batch.get(0).getUrl());
+        }
+    }
+
+    private static TaskOptions createTaskOptions(TaskWrapper task, long countdownTime) {
         TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(task.getWorkerUrl());
         if (countdownTime > 0) {
             taskToBeAdded.countdownMillis(countdownTime);
@@ -43,8 +151,7 @@ public class TaskQueuesLogic {
                 taskToBeAdded = taskToBeAdded.param(name, value);
             }
         }
-
-        requiredQueue.add(taskToBeAdded);
+        return taskToBeAdded;
     }
 
 }
@@ -0,0 +1,104 @@
+package teammates.storage.api;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.appengine.api.ThreadManager;
+import com.google.apphosting.api.ApiProxy;
+
+/**
+ * Runs tasks that read from the Datastore in threads of the current request, so that their queries are
+ * issued together and the time taken is that of the slowest task rather than the sum of all tasks.
+ *
+ * <p>Every thread reads through its own persistence manager, which is closed after each task.
+ * The reads of the tasks are not served from the {@link EntitiesCache} of the request thread.
+ *
+ * <p>Outside of a request, e.g. in tests and scripts, threads of the current request cannot be created,
+ * so each task is run in the current thread as soon as it is submitted.
+ *
+ * <p>Usage: submit all tasks, then get their results, then {@link #close()} the loader.
+ */
+public class ConcurrentLoader {
+
+    /**
+     * The maximum number of threads used by one loader, well below the number of threads
+     * a request is allowed to create.
+     */
+    private static final int MAX_THREADS = 10;
+
+    private final ExecutorService executor;
+
+    public ConcurrentLoader() {
+        ThreadFactory threadFactory = getCurrentRequestThreadFactory();
+        this.executor = threadFactory == null ? null : Executors.newFixedThreadPool(MAX_THREADS, threadFactory);
+    }
+
+    /**
+     * Starts running the {@code task}.
+     *
+     * @return the pending result of the task, to be obtained with {@link #getResult(Future)}
+     */
+    public <T> Future<T> submit(final Callable<T> task) {
+        if (executor == null) {
+            FutureTask<T> result = new FutureTask<T>(task);
+            result.run();
+            return result;
+        }
+
+        return executor.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                try {
+                    return task.call();
+                } finally {
+                    EntitiesDb.closePmOfCurrentThread();
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for the task to finish and returns its result.
+     * Exceptions and errors thrown by the task are thrown again, wrapped in a {@link RuntimeException}
+     * if they are checked exceptions.
+     */
+    public <T> T getResult(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Stops the threads of the loader once the tasks submitted have finished.
+     */
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ThreadFactory getCurrentRequestThreadFactory() {
+        if (ApiProxy.getCurrentEnvironment() == null) {
+            return null;
+        }
+        return ThreadManager.currentRequestThreadFactory();
+    }
+
+}
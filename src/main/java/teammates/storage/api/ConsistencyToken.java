@@ -0,0 +1,123 @@
+package teammates.storage.api;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.jdo.listener.DeleteLifecycleListener;
+import javax.jdo.listener.InstanceLifecycleEvent;
+import javax.jdo.listener.StoreLifecycleListener;
+
+import teammates.common.datatransfer.attributes.EntityAttributes;
+
+/**
+ * Records the entities created and deleted by the current thread while a request is being processed,
+ * so that later existence checks within the request see its own writes without waiting for them
+ * to become visible to Datastore queries.
+ *
+ * <p>Writes are only recorded between {@link #start()} and {@link #stop()}; outside of that every
+ * existence check queries the Datastore as before.
+ *
+ * <p>Writes that do not go through {@link EntitiesDb#createEntity}, {@link EntitiesDb#deleteEntity} or
+ * {@link EntitiesDb#deleteEntities} cannot be matched to the attributes of their entities, so any entity stored
+ * through the persistence manager of the thread discards all recorded deletions, and any entity deleted through it
+ * discards all recorded creations. Existence checks of the discarded entities query the Datastore again.
+ */
+public final class ConsistencyToken {
+
+    private static final ThreadLocal<ConsistencyToken> PER_THREAD_TOKEN = new ThreadLocal<ConsistencyToken>();
+
+    /**
+     * Whether each written entity exists after the write, by its entity type and identification string.
+     */
+    private final Map<String, Boolean> existenceByEntity = new HashMap<String, Boolean>();
+
+    private ConsistencyToken() {
+        // only created through start()
+    }
+
+    /**
+     * Starts recording the entities written by the current thread, discarding any write recorded before.
+     */
+    public static void start() {
+        PER_THREAD_TOKEN.set(new ConsistencyToken());
+    }
+
+    /**
+     * Stops recording the entities written by the current thread.
+     */
+    public static void stop() {
+        PER_THREAD_TOKEN.remove();
+    }
+
+    /**
+     * Records that the entity has been created or overwritten.
+     */
+    static void recordCreation(EntityAttributes attributes) {
+        record(attributes, true);
+    }
+
+    /**
+     * Records that the entity has been deleted.
+     */
+    static void recordDeletion(EntityAttributes attributes) {
+        record(attributes, false);
+    }
+
+    /**
+     * Returns whether the entity exists according to the writes recorded for the current thread.
+     *
+     * @return null if no write of the entity has been recorded
+     */
+    static Boolean getExistence(EntityAttributes attributes) {
+        ConsistencyToken token = PER_THREAD_TOKEN.get();
+        return token == null ? null : token.existenceByEntity.get(getKey(attributes));
+    }
+
+    private static void discard(boolean isExisting) {
+        ConsistencyToken token = PER_THREAD_TOKEN.get();
+        if (token != null) {
+            token.existenceByEntity.values().removeAll(Collections.singleton(isExisting));
+        }
+    }
+
+    private static void record(EntityAttributes attributes, boolean isExisting) {
+        ConsistencyToken token = PER_THREAD_TOKEN.get();
+        if (token != null) {
+            token.existenceByEntity.put(getKey(attributes), isExisting);
+        }
+    }
+
+    private static String getKey(EntityAttributes attributes) {
+        return attributes.getEntityTypeAsString() + "|" + attributes.getIdentificationString();
+    }
+
+    /**
+     * Discards the recorded writes that may have been superseded by every entity stored or deleted
+     * through the persistence manager it is added to.
+     */
+    static class InvalidationListener implements StoreLifecycleListener, DeleteLifecycleListener {
+
+        @Override
+        public void preStore(InstanceLifecycleEvent event) {
+            // the entity is only stored after this
+        }
+
+        @Override
+        public void postStore(InstanceLifecycleEvent event) {
+            discard(false);
+        }
+
+        @Override
+        public void preDelete(InstanceLifecycleEvent event) {
+            // the entity is only deleted after this
+        }
+
+        @Override
+        public void postDelete(InstanceLifecycleEvent event) {
+            discard(true);
+        }
+
+    }
+
+}
@@ -0,0 +1,207 @@
+package teammates.storage.api;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Logger;
+
+/**
+ * Handles the caching of {@link CourseRoster} in memcache.
+ *
+ * <p>Every roster is stored under a key that contains a version number of its course.
+ * {@link StudentsDb} and {@link InstructorsDb} bump the version whenever a student or an instructor
+ * of the course is written, so that later reads miss the outdated roster instead of having to remove it.
+ *
+ * <p>The version is the time of the last write to the course, as kept by {@link MemcacheHelper}, so that
+ * a roster read so soon after the last write that it may be missing the students or instructors just written
+ * is not cached.
+ */
+public class CourseRosterDb {
+
+    private static final String ROSTER_KEY_PREFIX = "CourseRoster:";
+    private static final String VERSION_KEY_PREFIX = "CourseRosterVersion:";
+
+    /**
+     * Rosters of courses that are no longer viewed are left to expire.
+     */
+    private static final Expiration ROSTER_EXPIRATION = Expiration.byDeltaSeconds(60 * 60);
+
+    private static final Logger log = Logger.getLogger();
+
+    private final MemcacheService memcache = MemcacheServiceFactory.getMemcacheService();
+
+    /**
+     * Returns the key under which the roster of the current version of the course is stored,
+     * to be used with {@link #getCourseRoster(String)} and {@link #putCourseRoster(String, CourseRoster)}.
+     * The key has to be obtained before reading the students and instructors the roster is built from.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return Null if the version of the course cannot be determined.
+     */
+    public String getCourseRosterKey(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        // an increment of 0 reads the version, creating it if it was never set or has been evicted;
+        // a new version starts from the current time so that it will not repeat an earlier version
+        Long version = memcache.increment(getVersionKey(courseId), 0L, System.currentTimeMillis());
+
+        if (version == null) {
+            return null;
+        }
+        return ROSTER_KEY_PREFIX + courseId + "/" + version;
+    }
+
+    /**
+     * Returns the keys of the rosters of the current versions of the courses, as in
+     * {@link #getCourseRosterKey(String)}, in one call to memcache.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return the keys by course ID, leaving out the courses whose version cannot be determined
+     */
+    public Map<String, String> getCourseRosterKeys(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        Map<String, String> versionKeys = new HashMap<String, String>();
+        for (String courseId : courseIds) {
+            versionKeys.put(getVersionKey(courseId), courseId);
+        }
+
+        Map<String, Long> versions = memcache.incrementAll(versionKeys.keySet(), 0L, System.currentTimeMillis());
+
+        Map<String, String> rosterKeys = new HashMap<String, String>();
+        for (Map.Entry<String, Long> version : versions.entrySet()) {
+            if (version.getValue() != null) {
+                String courseId = versionKeys.get(version.getKey());
+                rosterKeys.put(courseId, ROSTER_KEY_PREFIX + courseId + "/" + version.getValue());
+            }
+        }
+        return rosterKeys;
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return Null if the roster is not cached.
+     */
+    public CourseRoster getCourseRoster(String rosterKey) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rosterKey);
+
+        return (CourseRoster) memcache.get(rosterKey);
+    }
+
+    /**
+     * Gets the roster of the course from the cache, or loads it with {@code loader} and caches it
+     * if no student or instructor of the course has been written since it was cached.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public CourseRoster getOrLoadCourseRoster(String courseId, CourseRosterLoader loader) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, loader);
+
+        // the key has to be obtained before the students and instructors are read, so that
+        // a write made in the meantime makes the roster loaded here outdated
+        String rosterKey = getCourseRosterKey(courseId);
+        CourseRoster roster = rosterKey == null ? null : getCourseRoster(rosterKey);
+
+        if (roster == null) {
+            roster = loader.load(courseId);
+            if (rosterKey != null) {
+                putCourseRoster(rosterKey, roster);
+            }
+        }
+
+        return roster;
+    }
+
+    /**
+     * Caches the roster, unless it was read so soon after the last write to the course that it may not
+     * reflect the write, or it is too large to be cached.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void putCourseRoster(String rosterKey, CourseRoster roster) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rosterKey);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, roster);
+
+        if (isRecentlyWritten(rosterKey)) {
+            return;
+        }
+
+        int size = MemcacheHelper.getSerializedSize(roster);
+        if (size < 0 || size > MemcacheHelper.MAX_VALUE_SIZE_BYTES) {
+            log.warning("Course roster " + rosterKey + " of " + size + " bytes is too large to be cached");
+            return;
+        }
+
+        memcache.put(rosterKey, roster, ROSTER_EXPIRATION);
+    }
+
+    /**
+     * Returns true if the course of the roster key was written so recently that queries may not reflect
+     * the write yet, so that data read from them must not be stored as up to date for the key.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public boolean isRecentlyWritten(String rosterKey) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rosterKey);
+
+        long version = Long.parseLong(rosterKey.substring(rosterKey.lastIndexOf('/') + 1));
+        return MemcacheHelper.isWithinConsistencyWindow(version);
+    }
+
+    /**
+     * Invalidates the cached roster of the course.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void invalidateCourseRoster(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        MemcacheHelper.updateVersion(memcache, getVersionKey(courseId));
+    }
+
+    /**
+     * Invalidates the cached rosters of the courses.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void invalidateCourseRosters(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        for (String courseId : courseIds) {
+            invalidateCourseRoster(courseId);
+        }
+    }
+
+    private String getVersionKey(String courseId) {
+        return VERSION_KEY_PREFIX + courseId;
+    }
+
+    /**
+     * Builds the roster of a course from the students and instructors in the Datastore.
+     */
+    public interface CourseRosterLoader {
+
+        CourseRoster load(String courseId);
+    }
+
+}
@@ -1,12 +1,16 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.CourseStats;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -15,12 +19,14 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.storage.entity.Course;
+import teammates.storage.entity.CourseStatistics;
 
 /**
  * Handles CRUD operations for courses.
  *
  * @see Course
  * @see CourseAttributes
+ * @see CourseStatistics
  */
 public class CoursesDb extends EntitiesDb {
 
@@ -53,11 +59,16 @@ public class CoursesDb extends EntitiesDb {
      * * All parameters are non-null.
      * @return Null if not found.
      */
-    public CourseAttributes getCourse(String courseId) {
+    public CourseAttributes getCourse(final String courseId) {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
-        Course c = getCourseEntity(courseId);
+        Course c = EntitiesCache.get(Course.class, courseId, new EntitiesCache.EntityLookup<Course>() {
+            @Override
+            public Course find() {
+                return getCourseEntity(courseId);
+            }
+        });
 
         if (c == null) {
             return null;
@@ -134,7 +145,7 @@ public class CoursesDb extends EntitiesDb {
     }
 
     /**
-     * Note: This is a non-cascade delete.<br>
+     * Note: This is a non-cascade delete, except for the statistics of the course.<br>
      *   <br> Fails silently if there is no such object.
      * <br> Preconditions:
      * <br> * {@code courseId} is not null.
@@ -147,6 +158,71 @@ public class CoursesDb extends EntitiesDb {
         CourseAttributes entityToDelete = new CourseAttributes(courseId, "Non-existent course", "UTC");
 
         deleteEntity(entityToDelete);
+
+        Query q = getPm().newQuery(CourseStatistics.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        q.deletePersistentAll(courseId);
+    }
+
+    /**
+     * Gets the statistics of the courses in one batch.
+     * Statistics which were counted from another roster than the one with the given key are left out,
+     * as they are outdated.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @param rosterKeys the key of the current roster of each course, by course ID
+     * @return the statistics that are up to date, by course ID
+     */
+    public Map<String, CourseStats> getCourseStats(Map<String, String> rosterKeys) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rosterKeys);
+
+        Map<String, CourseStats> courseStats = new HashMap<String, CourseStats>();
+        for (CourseStatistics statistics : getCourseStatisticsEntities(rosterKeys.keySet())) {
+            if (JDOHelper.isDeleted(statistics)
+                    || !statistics.getRosterKey().equals(rosterKeys.get(statistics.getCourseId()))) {
+                continue;
+            }
+            CourseStats stats = new CourseStats();
+            stats.sectionsTotal = statistics.getSectionsTotal();
+            stats.teamsTotal = statistics.getTeamsTotal();
+            stats.studentsTotal = statistics.getStudentsTotal();
+            stats.unregisteredTotal = statistics.getUnregisteredTotal();
+            courseStats.put(statistics.getCourseId(), stats);
+        }
+        return courseStats;
+    }
+
+    /**
+     * Saves the statistics of the course, replacing any statistics saved before.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @param rosterKey the key of the roster the statistics were counted from
+     */
+    public void putCourseStats(String courseId, String rosterKey, CourseStats stats) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, rosterKey);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, stats);
+
+        List<CourseStatistics> existingStatistics = getCourseStatisticsEntities(Arrays.asList(courseId));
+        if (existingStatistics.isEmpty() || JDOHelper.isDeleted(existingStatistics.get(0))) {
+            getPm().makePersistent(new CourseStatistics(courseId, rosterKey, stats.sectionsTotal, stats.teamsTotal,
+                                                        stats.studentsTotal, stats.unregisteredTotal));
+            getPm().flush();
+            return;
+        }
+
+        CourseStatistics statistics = existingStatistics.get(0);
+        statistics.setRosterKey(rosterKey);
+        statistics.setSectionsTotal(stats.sectionsTotal);
+        statistics.setTeamsTotal(stats.teamsTotal);
+        statistics.setStudentsTotal(stats.studentsTotal);
+        statistics.setUnregisteredTotal(stats.unregisteredTotal);
+        getPm().close();
     }
 
     @Override
@@ -196,4 +272,18 @@ public class CoursesDb extends EntitiesDb {
 
         return courses;
     }
+
+    private List<CourseStatistics> getCourseStatisticsEntities(Collection<String> courseIds) {
+        if (courseIds.isEmpty()) {
+            return new ArrayList<CourseStatistics>();
+        }
+
+        Query q = getPm().newQuery(CourseStatistics.class);
+        q.setFilter(":p.contains(courseId)");
+
+        @SuppressWarnings("unchecked")
+        List<CourseStatistics> statistics = (List<CourseStatistics>) q.execute(courseIds);
+
+        return statistics;
+    }
 }
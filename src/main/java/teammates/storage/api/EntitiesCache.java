@@ -0,0 +1,171 @@
+package teammates.storage.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.PersistenceManager;
+import javax.jdo.listener.DeleteLifecycleListener;
+import javax.jdo.listener.InstanceLifecycleEvent;
+import javax.jdo.listener.StoreLifecycleListener;
+
+import teammates.common.util.Logger;
+
+/**
+ * Caches the entities looked up by the current thread while a request is being processed,
+ * so that reading the same entity again within the request does not query the Datastore again.
+ *
+ * <p>Caching is only done between {@link #start()} and {@link #stop()}; outside of that every lookup
+ * goes to the Datastore as before. Detached copies of the entities are cached, so that they keep their
+ * values after the persistence manager they were read with is closed, and are not changed by writes made
+ * through it. Entities are cached rather than their attributes, so that every lookup still gets a new
+ * attributes object that can be modified without affecting other callers.
+ *
+ * <p>Any entity stored or deleted through a persistence manager of {@link EntitiesDb} evicts all cached
+ * entities of the same kind. Lookups that found nothing are cached as well.
+ */
+public final class EntitiesCache {
+
+    private static final Logger log = Logger.getLogger();
+
+    private static final ThreadLocal<EntitiesCache> PER_THREAD_CACHE = new ThreadLocal<EntitiesCache>();
+
+    /**
+     * Marks a lookup that did not find any entity.
+     */
+    private static final Object NON_EXISTENT_ENTITY = new Object();
+
+    private final Map<Class<?>, Map<String, Object>> entitiesByKind = new HashMap<Class<?>, Map<String, Object>>();
+    private int hitCount;
+    private int missCount;
+
+    private EntitiesCache() {
+        // only created through start()
+    }
+
+    /**
+     * Starts caching the entities looked up by the current thread, discarding any entity cached before.
+     */
+    public static void start() {
+        PER_THREAD_CACHE.set(new EntitiesCache());
+    }
+
+    /**
+     * Stops caching the entities looked up by the current thread and logs the number of lookups
+     * that were served from the cache.
+     */
+    public static void stop() {
+        EntitiesCache cache = PER_THREAD_CACHE.get();
+        if (cache == null) {
+            return;
+        }
+        PER_THREAD_CACHE.remove();
+        if (cache.hitCount + cache.missCount > 0) {
+            log.info("Entities cache: " + cache.hitCount + " hits, " + cache.missCount + " misses");
+        }
+    }
+
+    /**
+     * Returns the number of lookups served from the cache since {@link #start()},
+     * or 0 if caching is not started.
+     */
+    public static int getHitCount() {
+        EntitiesCache cache = PER_THREAD_CACHE.get();
+        return cache == null ? 0 : cache.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to query the Datastore since {@link #start()},
+     * or 0 if caching is not started.
+     */
+    public static int getMissCount() {
+        EntitiesCache cache = PER_THREAD_CACHE.get();
+        return cache == null ? 0 : cache.missCount;
+    }
+
+    /**
+     * Returns the entity of {@code kind} cached under {@code key}, or looks it up with {@code lookup}
+     * and caches it if it is not cached yet.
+     *
+     * @param key identifies the lookup among the other lookups of the same kind
+     * @return null if the entity does not exist
+     */
+    static <E> E get(Class<E> kind, String key, EntityLookup<E> lookup) {
+        EntitiesCache cache = PER_THREAD_CACHE.get();
+        if (cache == null) {
+            return lookup.find();
+        }
+
+        Map<String, Object> entities = cache.entitiesByKind.get(kind);
+        if (entities == null) {
+            entities = new HashMap<String, Object>();
+            cache.entitiesByKind.put(kind, entities);
+        }
+
+        Object entity = entities.get(key);
+        if (entity != null) {
+            cache.hitCount++;
+            return entity == NON_EXISTENT_ENTITY ? null : kind.cast(entity);
+        }
+
+        cache.missCount++;
+        E foundEntity = lookup.find();
+        entities.put(key, foundEntity == null ? NON_EXISTENT_ENTITY : getDetachedCopy(foundEntity));
+        return foundEntity;
+    }
+
+    private static <E> E getDetachedCopy(E entity) {
+        PersistenceManager pm = JDOHelper.getPersistenceManager(entity);
+        return pm == null ? entity : pm.detachCopy(entity);
+    }
+
+    /**
+     * Removes all cached entities of {@code kind} for the current thread.
+     */
+    static void invalidate(Class<?> kind) {
+        EntitiesCache cache = PER_THREAD_CACHE.get();
+        if (cache != null) {
+            cache.entitiesByKind.remove(kind);
+        }
+    }
+
+    /**
+     * Looks up an entity in the Datastore.
+     */
+    interface EntityLookup<E> {
+
+        /**
+         * Returns null if the entity does not exist.
+         */
+        E find();
+    }
+
+    /**
+     * Invalidates the cached entities of the kind of every entity stored or deleted
+     * through the persistence manager it is added to.
+     */
+    static class InvalidationListener implements StoreLifecycleListener, DeleteLifecycleListener {
+
+        @Override
+        public void preStore(InstanceLifecycleEvent event) {
+            invalidate(event.getSource().getClass());
+        }
+
+        @Override
+        public void postStore(InstanceLifecycleEvent event) {
+            invalidate(event.getSource().getClass());
+        }
+
+        @Override
+        public void preDelete(InstanceLifecycleEvent event) {
+            invalidate(event.getSource().getClass());
+        }
+
+        @Override
+        public void postDelete(InstanceLifecycleEvent event) {
+            invalidate(event.getSource().getClass());
+        }
+
+    }
+
+}
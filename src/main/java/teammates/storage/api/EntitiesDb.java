@@ -1,14 +1,19 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.Query;
+
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
 
 import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.datastore.Cursor;
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
@@ -18,12 +23,11 @@ import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.Logger;
-import teammates.common.util.ThreadHelper;
 import teammates.storage.search.SearchDocument;
+import teammates.storage.search.SearchDocumentsBuffer;
 import teammates.storage.search.SearchManager;
 import teammates.storage.search.SearchQuery;
 
@@ -47,8 +51,17 @@ public abstract class EntitiesDb {
     public static final String ERROR_TRYING_TO_MAKE_NON_EXISTENT_ACCOUNT_AN_INSTRUCTOR =
             "Trying to make an non-existent account an Instructor :";
 
+    /**
+     * The maximum number of entities the Datastore accepts in a single batch write.
+     */
+    private static final int MAX_ENTITIES_PER_BATCH_WRITE = 500;
+
     private static final PersistenceManagerFactory PMF = JDOHelper.getPersistenceManagerFactory("transactions-optional");
     private static final ThreadLocal<PersistenceManager> PER_THREAD_PM = new ThreadLocal<PersistenceManager>();
+    private static final EntitiesCache.InvalidationListener CACHE_INVALIDATION_LISTENER =
+            new EntitiesCache.InvalidationListener();
+    private static final ConsistencyToken.InvalidationListener TOKEN_INVALIDATION_LISTENER =
+            new ConsistencyToken.InvalidationListener();
     private static final Logger log = Logger.getLogger();
 
     /**
@@ -80,26 +93,12 @@ public abstract class EntitiesDb {
         getPm().makePersistent(entity);
         getPm().flush();
 
-        // Wait for the operation to persist
-        int elapsedTime = 0;
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            while (!hasEntity(entityToAdd)
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                //check before incrementing to avoid boundary case problem
-                if (!hasEntity(entityToAdd)) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: create"
-                        + entityToAdd.getEntityTypeAsString() + "->"
-                        + entityToAdd.getIdentificationString());
-            }
-        }
+        ConsistencyToken.recordCreation(entityToAdd);
 
         log.info(entityToAdd.getBackupIdentifier());
 
+        onEntitiesWritten(Arrays.asList(entityToAdd));
+
         return entity;
     }
 
@@ -110,6 +109,7 @@ public abstract class EntitiesDb {
                 Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
 
         List<EntityAttributes> entitiesToUpdate = new ArrayList<EntityAttributes>();
+        List<EntityAttributes> entitiesToCreate = new ArrayList<EntityAttributes>();
         List<Object> entities = new ArrayList<Object>();
 
         for (EntityAttributes entityToAdd : entitiesToAdd) {
@@ -123,6 +123,7 @@ public abstract class EntitiesDb {
                 entitiesToUpdate.add(entityToAdd);
             } else {
                 entities.add(entityToAdd.toEntity());
+                entitiesToCreate.add(entityToAdd);
             }
 
             log.info(entityToAdd.getBackupIdentifier());
@@ -131,10 +132,60 @@ public abstract class EntitiesDb {
         getPm().makePersistentAll(entities);
         getPm().flush();
 
+        for (EntityAttributes entityToCreate : entitiesToCreate) {
+            ConsistencyToken.recordCreation(entityToCreate);
+        }
+
+        onEntitiesWritten(entitiesToAdd);
+
         return entitiesToUpdate;
 
     }
 
+    /**
+     * Creates the entities with batch writes, without checking whether they already exist.
+     * No entity is written if any of them is invalid.
+     *
+     * <p>Warning: Existing entities with the same keys are overwritten. Use this method only
+     * for entities already known not to exist, e.g. after comparing against the existing entities
+     * retrieved in bulk.
+     *
+     * <p>Preconditions:
+     * <br> * {@code entitiesToAdd} is not null.
+     *
+     * @return the created entities, in the same order as {@code entitiesToAdd}
+     */
+    public List<Object> createEntitiesWithoutExistenceCheck(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+
+        List<Object> entities = new ArrayList<Object>();
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            entityToAdd.sanitizeForSaving();
+
+            if (!entityToAdd.isValid()) {
+                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
+            }
+
+            entities.add(entityToAdd.toEntity());
+        }
+
+        for (int i = 0; i < entities.size(); i += MAX_ENTITIES_PER_BATCH_WRITE) {
+            getPm().makePersistentAll(entities.subList(i, Math.min(i + MAX_ENTITIES_PER_BATCH_WRITE, entities.size())));
+        }
+        getPm().flush();
+
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            ConsistencyToken.recordCreation(entityToAdd);
+            log.info(entityToAdd.getBackupIdentifier());
+        }
+
+        onEntitiesWritten(entitiesToAdd);
+
+        return entities;
+    }
+
     /**
      * Warning: Do not use this method unless a previous update might cause
      * adding of the new entity to fail due to EntityAlreadyExists exception
@@ -156,25 +207,12 @@ public abstract class EntitiesDb {
         getPm().makePersistent(entity);
         getPm().flush();
 
-        // Wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            while (!hasEntity(entityToAdd)
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                //check before incrementing to avoid boundary case problem
-                if (!hasEntity(entityToAdd)) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: create"
-                         + entityToAdd.getEntityTypeAsString() + "->"
-                         + entityToAdd.getIdentificationString());
-            }
-        }
+        ConsistencyToken.recordCreation(entityToAdd);
+
         log.info(entityToAdd.getBackupIdentifier());
 
+        onEntitiesWritten(Arrays.asList(entityToAdd));
+
         return entity;
     }
 
@@ -191,27 +229,11 @@ public abstract class EntitiesDb {
         getEntityKeyOnlyQuery(entityToDelete)
             .deletePersistentAll();
 
-        // wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            boolean isEntityDeleted = !hasEntity(entityToDelete);
-            while (!isEntityDeleted
-                    && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-
-                isEntityDeleted = !hasEntity(entityToDelete);
-                //check before incrementing to avoid boundary case problem
-                if (!isEntityDeleted) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: delete"
-                        + entityToDelete.getEntityTypeAsString() + "->"
-                        + entityToDelete.getIdentificationString());
-            }
-        }
+        ConsistencyToken.recordDeletion(entityToDelete);
+
         log.info(entityToDelete.getBackupIdentifier());
+
+        onEntitiesWritten(Arrays.asList(entityToDelete));
     }
 
     public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
@@ -221,7 +243,20 @@ public abstract class EntitiesDb {
             log.info(entityToDelete.getBackupIdentifier());
             getEntityKeyOnlyQuery(entityToDelete)
                 .deletePersistentAll();
+
+            ConsistencyToken.recordDeletion(entityToDelete);
         }
+
+        onEntitiesWritten(entitiesToDelete);
+    }
+
+    /**
+     * Called after entities have been created, updated or deleted, with the attributes of the entities written.
+     * Subclasses override this to invalidate data derived from their entities, such as cached rosters or indexes,
+     * and call it from their own write methods. Does nothing by default.
+     */
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> writtenEntities) {
+        // no data is derived from the entities by default
     }
 
     public void commitOutstandingChanges() {
@@ -250,11 +285,54 @@ public abstract class EntitiesDb {
     protected abstract QueryWithParams getEntityKeyOnlyQuery(EntityAttributes attributes);
 
     public boolean hasEntity(EntityAttributes attributes) {
+        Boolean isExisting = ConsistencyToken.getExistence(attributes);
+        if (isExisting != null) {
+            return isExisting;
+        }
+
         QueryWithParams q = getEntityKeyOnlyQuery(attributes);
         List<?> results = q.execute();
         return !results.isEmpty();
     }
 
+    /**
+     * Restricts the query {@code q} to the page of at most {@code pageSize} results which starts at
+     * {@code cursor}, or at the first result if {@code cursor} is null.
+     *
+     * @see #getNextCursor(List, int)
+     */
+    protected void setPage(Query q, String cursor, int pageSize) {
+        Assumption.assertTrue("Page size must be positive", pageSize > 0);
+        if (cursor != null) {
+            q.addExtension(JDOCursorHelper.CURSOR_EXTENSION, Cursor.fromWebSafeString(cursor));
+        }
+        q.setRange(0, pageSize);
+    }
+
+    /**
+     * Returns the cursor which the page after {@code page} starts at, or null if {@code page} is the last page.
+     * {@code page} must be the unmodified result of a query restricted by {@link #setPage(Query, String, int)}.
+     */
+    protected String getNextCursor(List<?> page, int pageSize) {
+        if (page.size() < pageSize) {
+            return null;
+        }
+        Cursor cursor = JDOCursorHelper.getCursor(page);
+        return cursor == null ? null : cursor.toWebSafeString();
+    }
+
+    /**
+     * Closes the persistence manager of the current thread, if it has one.
+     * Threads other than request threads must call this before they finish.
+     */
+    static void closePmOfCurrentThread() {
+        PersistenceManager pm = PER_THREAD_PM.get();
+        if (pm != null && !pm.isClosed()) {
+            pm.close();
+        }
+        PER_THREAD_PM.remove();
+    }
+
     protected PersistenceManager getPm() {
         PersistenceManager pm = PER_THREAD_PM.get();
         if (pm != null && !pm.isClosed()) {
@@ -264,13 +342,28 @@ public abstract class EntitiesDb {
         if (pm != null && pm.isClosed()) {
             PER_THREAD_PM.remove();
         }
-        pm = PMF.getPersistenceManager();
+        pm = getNewPm();
         PER_THREAD_PM.set(pm);
         return pm;
     }
 
+    /**
+     * Returns a new persistence manager, separate from that of the current thread, so that a transaction
+     * can be run on it without the writes pending on the persistence manager of the thread.
+     * The caller has to close it.
+     */
+    protected PersistenceManager getNewPm() {
+        PersistenceManager pm = PMF.getPersistenceManager();
+        pm.addInstanceLifecycleListener(CACHE_INVALIDATION_LISTENER, (Class[]) null);
+        pm.addInstanceLifecycleListener(TOKEN_INVALIDATION_LISTENER, (Class[]) null);
+        return pm;
+    }
+
     //the followings APIs are used by Teammates' search engine
     protected void putDocument(String indexName, SearchDocument document) {
+        if (SearchDocumentsBuffer.add(indexName, document.getId())) {
+            return;
+        }
         try {
             SearchManager.putDocument(indexName, document.build());
         } catch (Exception e) {
@@ -279,15 +372,26 @@ public abstract class EntitiesDb {
     }
 
     protected void putDocuments(String indexName, List<SearchDocument> documents) {
+        long startTime = System.currentTimeMillis();
         List<Document> searchDocuments = new ArrayList<Document>();
         for (SearchDocument document : documents) {
-            searchDocuments.add(document.build());
+            if (!SearchDocumentsBuffer.add(indexName, document.getId())) {
+                searchDocuments.add(document.build());
+            }
+        }
+        if (searchDocuments.isEmpty()) {
+            return;
         }
         try {
             SearchManager.putDocuments(indexName, searchDocuments);
         } catch (Exception e) {
             log.severe("Failed to batch put searchable documents in " + indexName + " for " + documents.toString());
+            return;
         }
+        // the rate of building and putting documents, to measure the throughput of indexing
+        long timeTaken = Math.max(System.currentTimeMillis() - startTime, 1);
+        log.info("Put " + searchDocuments.size() + " searchable documents in " + indexName + " in " + timeTaken
+                 + " ms (" + searchDocuments.size() * 1000 / timeTaken + " documents/second)");
     }
 
     protected Results<ScoredDocument> searchDocuments(String indexName, SearchQuery query) {
@@ -5,8 +5,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -16,6 +18,7 @@ import com.google.appengine.api.search.ScoredDocument;
 
 import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.FeedbackResponseCommentSearchResultBundle;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
@@ -28,7 +31,6 @@ import teammates.common.util.Logger;
 import teammates.storage.entity.FeedbackResponseComment;
 import teammates.storage.search.FeedbackResponseCommentSearchDocument;
 import teammates.storage.search.FeedbackResponseCommentSearchQuery;
-import teammates.storage.search.SearchDocument;
 
 /**
  * Handles CRUD operations for feedback response comments.
@@ -40,6 +42,8 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final FeedbackSessionResultsIndexDb resultsIndexDb = new FeedbackSessionResultsIndexDb();
+
     public void createFeedbackResponseComments(Collection<FeedbackResponseCommentAttributes> commentsToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> commentsToUpdate = createEntities(commentsToAdd);
@@ -194,8 +198,12 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseId);
 
+        List<FeedbackResponseCommentAttributes> commentsToDelete = getFeedbackResponseCommentsForResponse(responseId);
+
         getFeedbackResponseCommentsForResponseQuery(responseId)
             .deletePersistentAll();
+
+        onEntitiesWritten(commentsToDelete);
     }
 
     /*
@@ -206,6 +214,8 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
 
         getFeedbackResponseCommentsForCoursesQuery(courseIds)
             .deletePersistentAll();
+
+        resultsIndexDb.invalidateFeedbackSessionResultsIndexesForCourses(courseIds);
     }
 
     public void deleteFeedbackResponseCommentsForCourse(String courseId) {
@@ -266,6 +276,37 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return resultList;
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} comments of the session which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForSessionPage(
+            String courseId, String feedbackSessionName, String cursor, int pageSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.declareParameters("String courseIdParam, String feedbackSessionNameParam");
+        q.setFilter("courseId == courseIdParam && "
+                + "feedbackSessionName == feedbackSessionNameParam");
+        setPage(q, cursor, pageSize);
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponseComment> page =
+                (List<FeedbackResponseComment>) q.execute(courseId, feedbackSessionName);
+
+        List<FeedbackResponseCommentAttributes> resultList = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseComment frc : page) {
+            if (!JDOHelper.isDeleted(frc)) {
+                resultList.add(new FeedbackResponseCommentAttributes(frc));
+            }
+        }
+
+        return new ResultsPage<FeedbackResponseCommentAttributes>(resultList, getNextCursor(page, pageSize));
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -326,6 +367,8 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
 
+        onEntitiesWritten(Arrays.asList(newAttributes));
+
         return new FeedbackResponseCommentAttributes(frc);
     }
 
@@ -350,6 +393,8 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
 
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+
+        resultsIndexDb.invalidateFeedbackSessionResultsIndexesForCourses(Arrays.asList(courseId));
     }
 
     /*
@@ -374,6 +419,8 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         log.info("updating last editor email from: " + oldEmail + " to: " + updatedEmail
                  + " for feedback response comments in the course: " + courseId);
         getPm().close();
+
+        resultsIndexDb.invalidateFeedbackSessionResultsIndexesForCourses(Arrays.asList(courseId));
     }
 
     /*
@@ -413,6 +460,12 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
 
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+
+        if (feedbackSessionName == null) {
+            resultsIndexDb.invalidateFeedbackSessionResultsIndexesForCourses(Arrays.asList(courseId));
+        } else {
+            resultsIndexDb.invalidateFeedbackSessionResultsIndex(feedbackSessionName, courseId);
+        }
     }
 
     /*
@@ -423,14 +476,12 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
     }
 
     /*
-     * Batch creates or updates search documents for the given comments
+     * Batch creates or updates search documents for the given comments,
+     * reading the data related to the comments once for each course
      */
     public void putDocuments(List<FeedbackResponseCommentAttributes> comments) {
-        List<SearchDocument> frcSearchDocuments = new ArrayList<SearchDocument>();
-        for (FeedbackResponseCommentAttributes comment : comments) {
-            frcSearchDocuments.add(new FeedbackResponseCommentSearchDocument(comment));
-        }
-        putDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, frcSearchDocuments);
+        putDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT,
+                     FeedbackResponseCommentSearchDocument.createDocuments(comments));
     }
 
     /**
@@ -711,4 +762,17 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
 
         return feedbackResponseCommentList.values();
     }
+
+    @Override
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> writtenEntities) {
+        Set<String> invalidatedSessions = new HashSet<String>();
+        for (EntityAttributes comment : writtenEntities) {
+            FeedbackResponseCommentAttributes frca = (FeedbackResponseCommentAttributes) comment;
+            if (frca.feedbackSessionName != null && frca.courseId != null
+                    && invalidatedSessions.add(frca.courseId + "/" + frca.feedbackSessionName)) {
+                resultsIndexDb.invalidateFeedbackSessionResultsIndex(frca.feedbackSessionName, frca.courseId);
+            }
+        }
+    }
+
 }
@@ -4,12 +4,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -29,6 +32,8 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final FeedbackSessionResultsIndexDb resultsIndexDb = new FeedbackSessionResultsIndexDb();
+
     public void createFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> responsesToUpdate = createEntities(responsesToAdd);
@@ -57,6 +62,24 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return new FeedbackResponseAttributes(feedbackResponse);
     }
 
+    /**
+     * Gets the responses with the given IDs in one read, leaving out the IDs of responses which do not exist.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse response : getFeedbackResponseEntities(feedbackResponseIds)) {
+            if (!JDOHelper.isDeleted(response)) {
+                responses.add(new FeedbackResponseAttributes(response));
+            }
+        }
+        return responses;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -395,6 +418,71 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} responses of the session which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+
+        return getFeedbackResponsesPage(q, cursor, pageSize, feedbackSessionName, courseId);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} responses of the session given by students of the
+     *         {@code section} which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
+                    + "&& courseId == courseIdParam "
+                    + "&& giverSection == sectionParam");
+
+        return getFeedbackResponsesPage(q, cursor, pageSize, feedbackSessionName, courseId, section);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} responses of the session given to students of the
+     *         {@code section} which starts at {@code cursor}
+     */
+    public ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
+                    + "&& courseId == courseIdParam "
+                    + "&& receiverSection == sectionParam");
+
+        return getFeedbackResponsesPage(q, cursor, pageSize, feedbackSessionName, courseId, section);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -647,6 +735,8 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+
+        onEntitiesWritten(Arrays.asList(newAttributes));
     }
 
     public void updateFeedbackResponseOptimized(FeedbackResponseAttributes newAttributes, FeedbackResponse fr)
@@ -654,6 +744,66 @@ public class FeedbackResponsesDb extends EntitiesDb {
         updateFeedbackResponseOptimized(newAttributes, fr, false);
     }
 
+    /**
+     * Updates the given feedback response entities to the values of the attributes at the same positions,
+     * writing all of them when the persistence manager is closed once.
+     * No response is updated if any of the attributes is invalid.
+     * Preconditions: <br>
+     * * {@code responseEntities} are the entities of {@code newAttributes}, retrieved from the database.
+     */
+    public void updateFeedbackResponseEntities(List<FeedbackResponseAttributes> newAttributes,
+            List<FeedbackResponse> responseEntities) throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newAttributes);
+        Assumption.assertEquals(newAttributes.size(), responseEntities.size());
+
+        for (FeedbackResponseAttributes response : newAttributes) {
+            if (!response.isValid()) {
+                throw new InvalidParametersException(response.getInvalidityInfo());
+            }
+        }
+
+        for (int i = 0; i < newAttributes.size(); i++) {
+            FeedbackResponseAttributes response = newAttributes.get(i);
+            FeedbackResponse fr = responseEntities.get(i);
+            Assumption.assertFalse(JDOHelper.isDeleted(fr));
+
+            fr.keepUpdateTimestamp = false;
+            fr.setAnswer(response.responseMetaData);
+            fr.setRecipientEmail(response.recipient);
+            fr.setGiverSection(response.giverSection);
+            fr.setRecipientSection(response.recipientSection);
+
+            log.info(response.getBackupIdentifier());
+        }
+        getPm().close();
+
+        onEntitiesWritten(newAttributes);
+    }
+
+    /**
+     * Deletes the given feedback response entities in one batch.
+     * Note: This is a non-cascade delete.
+     */
+    public void deleteFeedbackResponseEntities(Collection<FeedbackResponse> responseEntities) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseEntities);
+
+        // the attributes cannot be read from the entities once they are deleted
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : responseEntities) {
+            responsesToDelete.add(new FeedbackResponseAttributes(fr));
+        }
+
+        getPm().deletePersistentAll(responseEntities);
+        getPm().flush();
+
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            ConsistencyToken.recordDeletion(response);
+            log.info(response.getBackupIdentifier());
+        }
+
+        onEntitiesWritten(responsesToDelete);
+    }
+
     public void deleteFeedbackResponsesForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
@@ -665,6 +815,8 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
         getFeedbackResponsesForCoursesQuery(courseIds)
             .deletePersistentAll();
+
+        resultsIndexDb.invalidateFeedbackSessionResultsIndexesForCourses(courseIds);
     }
 
     private QueryWithParams getFeedbackResponsesForCoursesQuery(List<String> courseIds) {
@@ -718,6 +870,20 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return (List<FeedbackResponse>) q.execute(courseId);
     }
 
+    private List<FeedbackResponse> getFeedbackResponseEntities(Collection<String> feedbackResponseIds) {
+        if (feedbackResponseIds.isEmpty()) {
+            return new ArrayList<FeedbackResponse>();
+        }
+
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.setFilter(":p.contains(feedbackResponseId)");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses = (List<FeedbackResponse>) q.execute(feedbackResponseIds);
+
+        return feedbackResponses;
+    }
+
     private FeedbackResponse getFeedbackResponseEntity(String feedbackResponseId) {
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackResponseIdParam");
@@ -977,6 +1143,23 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return queryResponses;
     }
 
+    private ResultsPage<FeedbackResponseAttributes> getFeedbackResponsesPage(
+            Query q, String cursor, int pageSize, Object... parameters) {
+        setPage(q, cursor, pageSize);
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> page = (List<FeedbackResponse>) q.executeWithArray(parameters);
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+
+        for (FeedbackResponse fr : page) {
+            if (!JDOHelper.isDeleted(fr)) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+
+        return new ResultsPage<FeedbackResponseAttributes>(fraList, getNextCursor(page, pageSize));
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestion(
             String feedbackQuestionId, String receiver) {
 
@@ -1088,6 +1271,32 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    /**
+     * Returns the feedback response entities given by any of {@code giverEmails} in the session,
+     * retrieved with a single query.
+     */
+    public List<FeedbackResponse> getFeedbackResponseEntitiesFromGiversForSession(
+            Collection<String> giverEmails, String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmails);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        if (giverEmails.isEmpty()) {
+            return new ArrayList<FeedbackResponse>();
+        }
+
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.setFilter(":p.contains(giverEmail) "
+                    + "&& feedbackSessionName == :feedbackSessionNameParam "
+                    + "&& courseId == :courseIdParam");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses = (List<FeedbackResponse>) q.execute(
+                new ArrayList<String>(giverEmails), feedbackSessionName, courseId);
+
+        return feedbackResponses;
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForCourse(
             String courseId, String receiver) {
 
@@ -1153,4 +1362,17 @@ public class FeedbackResponsesDb extends EntitiesDb {
 
         return new QueryWithParams(q, params, primaryKeyName);
     }
+
+    @Override
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> writtenEntities) {
+        Set<String> invalidatedSessions = new HashSet<String>();
+        for (EntityAttributes response : writtenEntities) {
+            FeedbackResponseAttributes fra = (FeedbackResponseAttributes) response;
+            if (fra.feedbackSessionName != null && fra.courseId != null
+                    && invalidatedSessions.add(fra.courseId + "/" + fra.feedbackSessionName)) {
+                resultsIndexDb.invalidateFeedbackSessionResultsIndex(fra.feedbackSessionName, fra.courseId);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,163 @@
+package teammates.storage.api;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+import teammates.common.datatransfer.FeedbackSessionResultsIndex;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Logger;
+
+/**
+ * Handles the caching of {@link FeedbackSessionResultsIndex} in memcache.
+ *
+ * <p>Every index is stored under a key that contains a version number of its session and of its course.
+ * Any write to the responses or response comments of a session bumps the version, so that later reads
+ * miss the outdated index instead of having to remove it. An index built from data read before the
+ * write is stored under the outdated key and is never read.
+ *
+ * <p>The versions are the times of the last writes, as kept by {@link MemcacheHelper}, so that an index read
+ * so soon after the last write that it may be missing the responses or comments just written is not cached.
+ */
+public class FeedbackSessionResultsIndexDb {
+
+    private static final String INDEX_KEY_PREFIX = "FeedbackSessionResultsIndex:";
+    private static final String SESSION_VERSION_KEY_PREFIX = "FeedbackSessionResultsIndexVersion:";
+    private static final String COURSE_VERSION_KEY_PREFIX = "FeedbackSessionResultsIndexCourseVersion:";
+
+    /**
+     * Indexes of sessions that are no longer viewed are left to expire.
+     */
+    private static final Expiration INDEX_EXPIRATION = Expiration.byDeltaSeconds(60 * 60);
+
+    private static final Logger log = Logger.getLogger();
+
+    private final MemcacheService memcache = MemcacheServiceFactory.getMemcacheService();
+
+    /**
+     * Returns the key under which the index of the current version of the session is stored,
+     * to be used with {@link #getFeedbackSessionResultsIndex(String)} and
+     * {@link #putFeedbackSessionResultsIndex(String, FeedbackSessionResultsIndex)}.
+     * The key has to be obtained before reading the data the index is built from.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return Null if the version of the session cannot be determined.
+     */
+    public String getFeedbackSessionResultsIndexKey(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        String courseVersionKey = getCourseVersionKey(courseId);
+        String sessionVersionKey = getSessionVersionKey(feedbackSessionName, courseId);
+
+        // an increment of 0 reads the version, creating it if it was never set or has been evicted;
+        // a new version starts from the current time so that it will not repeat an earlier version
+        Map<String, Long> versions = memcache.incrementAll(
+                Arrays.asList(courseVersionKey, sessionVersionKey), 0L, System.currentTimeMillis());
+        Long courseVersion = versions.get(courseVersionKey);
+        Long sessionVersion = versions.get(sessionVersionKey);
+
+        if (courseVersion == null || sessionVersion == null) {
+            return null;
+        }
+        return INDEX_KEY_PREFIX + courseId + "/" + feedbackSessionName + "/" + courseVersion + "." + sessionVersion;
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     *
+     * @return Null if the index is not cached.
+     */
+    public FeedbackSessionResultsIndex getFeedbackSessionResultsIndex(String indexKey) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, indexKey);
+
+        return (FeedbackSessionResultsIndex) memcache.get(indexKey);
+    }
+
+    /**
+     * Caches the index, unless it was read so soon after the last write to the session or its course
+     * that it may not reflect the write. An index too large to be cached is cached without its results
+     * instead, so that the results of the session are read one section at a time until the session is written.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void putFeedbackSessionResultsIndex(String indexKey, FeedbackSessionResultsIndex index) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, indexKey);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, index);
+
+        if (isRecentlyWritten(indexKey)) {
+            return;
+        }
+
+        FeedbackSessionResultsIndex indexToCache = index;
+        if (index.isComplete()) {
+            int size = MemcacheHelper.getSerializedSize(index);
+            if (size < 0 || size > MemcacheHelper.MAX_VALUE_SIZE_BYTES) {
+                log.warning("Results index " + indexKey + " of " + size + " bytes is too large to be cached");
+                indexToCache = new FeedbackSessionResultsIndex(index.getFeedbackSessionName(), index.getCourseId());
+            }
+        }
+
+        memcache.put(indexKey, indexToCache, INDEX_EXPIRATION);
+    }
+
+    /**
+     * Returns true if the session or the course of the index key was written so recently that queries
+     * may not reflect the write yet, so that data read from them must not be stored as up to date for the key.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public boolean isRecentlyWritten(String indexKey) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, indexKey);
+
+        String[] versions = indexKey.substring(indexKey.lastIndexOf('/') + 1).split("\\.");
+        return MemcacheHelper.isWithinConsistencyWindow(Long.parseLong(versions[0]))
+                || MemcacheHelper.isWithinConsistencyWindow(Long.parseLong(versions[1]));
+    }
+
+    /**
+     * Invalidates the cached index of the session.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void invalidateFeedbackSessionResultsIndex(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        MemcacheHelper.updateVersion(memcache, getSessionVersionKey(feedbackSessionName, courseId));
+    }
+
+    /**
+     * Invalidates the cached indexes of all sessions in the courses.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void invalidateFeedbackSessionResultsIndexesForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        for (String courseId : courseIds) {
+            MemcacheHelper.updateVersion(memcache, getCourseVersionKey(courseId));
+        }
+    }
+
+    private String getSessionVersionKey(String feedbackSessionName, String courseId) {
+        return SESSION_VERSION_KEY_PREFIX + courseId + "/" + feedbackSessionName;
+    }
+
+    private String getCourseVersionKey(String courseId) {
+        return COURSE_VERSION_KEY_PREFIX + courseId;
+    }
+
+}
@@ -5,11 +5,14 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.FeedbackSessionType;
@@ -22,6 +25,7 @@ import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.common.util.TimeHelper;
 import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.FeedbackSessionRespondent;
 
 /**
  * Handles CRUD operations for feedback sessions.
@@ -125,12 +129,18 @@ public class FeedbackSessionsDb extends EntitiesDb {
      * * All parameters are non-null.
      * @return Null if not found.
      */
-    public FeedbackSessionAttributes getFeedbackSession(String courseId, String feedbackSessionName) {
+    public FeedbackSessionAttributes getFeedbackSession(final String courseId, final String feedbackSessionName) {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
-        FeedbackSession fs = getFeedbackSessionEntity(feedbackSessionName, courseId);
+        FeedbackSession fs = EntitiesCache.get(FeedbackSession.class, courseId + "/" + feedbackSessionName,
+                new EntitiesCache.EntityLookup<FeedbackSession>() {
+                    @Override
+                    public FeedbackSession find() {
+                        return getFeedbackSessionEntity(feedbackSessionName, courseId);
+                    }
+                });
 
         if (fs == null) {
             log.info("Trying to get non-existent Session: " + feedbackSessionName + "/" + courseId);
@@ -289,201 +299,216 @@ public class FeedbackSessionsDb extends EntitiesDb {
         getPm().close();
     }
 
-    public void addInstructorRespondent(String email, FeedbackSessionAttributes feedbackSession)
-            throws InvalidParametersException, EntityDoesNotExistException {
-
-        List<String> emails = new ArrayList<String>();
-        emails.add(email);
-        addInstructorRespondents(emails, feedbackSession);
+    /**
+     * Records the given email as a respondent of the session who responded as an instructor.
+     * Only the respondent is written, not the session.
+     */
+    public void addInstructorRespondent(String email, FeedbackSessionAttributes feedbackSession) {
+        addInstructorRespondents(Arrays.asList(email), feedbackSession);
     }
 
-    public void addInstructorRespondents(List<String> emails, FeedbackSessionAttributes feedbackSession)
-            throws InvalidParametersException, EntityDoesNotExistException {
-
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
+    /**
+     * Records the given emails as respondents of the session who responded as instructors.
+     * Only the respondents not recorded before are written, not the session.
+     */
+    public void addInstructorRespondents(List<String> emails, FeedbackSessionAttributes feedbackSession) {
+        addRespondents(emails, feedbackSession, true);
+    }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
+    /**
+     * Records the given email as a respondent of the session who responded as a student.
+     * Only the respondent is written, not the session.
+     */
+    public void addStudentRespondent(String email, FeedbackSessionAttributes feedbackSession) {
+        addStudentRespondents(Arrays.asList(email), feedbackSession);
+    }
 
-        fs.getRespondingInstructorList().addAll(emails);
+    /**
+     * Records the given emails as respondents of the session who responded as students.
+     * Only the respondents not recorded before are written, not the session.
+     */
+    public void addStudentRespondents(List<String> emails, FeedbackSessionAttributes feedbackSession) {
+        addRespondents(emails, feedbackSession, false);
+    }
 
-        log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
+    public boolean hasInstructorRespondent(String email, FeedbackSessionAttributes feedbackSession) {
+        return feedbackSession.getRespondingInstructorList().contains(email)
+                || getRespondentEntity(email, feedbackSession, true) != null;
     }
 
-    public void updateInstructorRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
-            throws InvalidParametersException, EntityDoesNotExistException {
+    public boolean hasStudentRespondent(String email, FeedbackSessionAttributes feedbackSession) {
+        return feedbackSession.getRespondingStudentList().contains(email)
+                || getRespondentEntity(email, feedbackSession, false) != null;
+    }
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
+    /**
+     * Adds the respondents recorded separately from the session to the respondent lists of the session,
+     * which contain only the respondents stored in the session itself when the session is retrieved.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void mergeRespondents(FeedbackSessionAttributes feedbackSession) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
-        feedbackSession.sanitizeForSaving();
+        // the lists are copied as they may be the lists of a session entity that is still managed
+        Set<String> respondingInstructors = new HashSet<String>(feedbackSession.getRespondingInstructorList());
+        Set<String> respondingStudents = new HashSet<String>(feedbackSession.getRespondingStudentList());
 
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        for (FeedbackSessionRespondent respondent : getRespondentEntitiesForSession(
+                feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId())) {
+            if (respondent.isInstructor()) {
+                respondingInstructors.add(respondent.getEmail());
+            } else {
+                respondingStudents.add(respondent.getEmail());
+            }
         }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
+        feedbackSession.setRespondingInstructorList(respondingInstructors);
+        feedbackSession.setRespondingStudentList(respondingStudents);
+    }
 
-        if (fs.getRespondingInstructorList().contains(oldEmail)) {
-            fs.getRespondingInstructorList().remove(oldEmail);
-            fs.getRespondingInstructorList().add(newEmail);
-        }
+    public void updateInstructorRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        updateRespondent(oldEmail, newEmail, feedbackSession, true);
+    }
 
-        log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
+    public void updateStudentRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        updateRespondent(oldEmail, newEmail, feedbackSession, false);
     }
 
     public void clearInstructorRespondents(FeedbackSessionAttributes feedbackSession)
             throws InvalidParametersException, EntityDoesNotExistException {
-
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
-
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
-
-        fs.getRespondingInstructorList().clear();
-
-        log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
+        clearRespondents(feedbackSession, true);
     }
 
-    public void addStudentRespondent(String email, FeedbackSessionAttributes feedbackSession)
-            throws EntityDoesNotExistException, InvalidParametersException {
-
-        List<String> emails = new ArrayList<String>();
-        emails.add(email);
-        addStudentRespondents(emails, feedbackSession);
+    public void clearStudentRespondents(FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        clearRespondents(feedbackSession, false);
     }
 
     public void deleteInstructorRespondent(String email, FeedbackSessionAttributes feedbackSession)
             throws InvalidParametersException, EntityDoesNotExistException {
+        deleteRespondent(email, feedbackSession, true);
+    }
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+    public void deleteStudentRespondent(String email, FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        deleteRespondent(email, feedbackSession, false);
+    }
 
-        feedbackSession.sanitizeForSaving();
+    private void addRespondents(List<String> emails, FeedbackSessionAttributes feedbackSession,
+            boolean isInstructor) {
 
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+
+        List<FeedbackSessionRespondent> respondentsToAdd = new ArrayList<FeedbackSessionRespondent>();
+        for (String email : new HashSet<String>(emails)) {
+            // a giver who has responded before is usually recorded already, which only needs a read
+            if (getRespondentEntity(email, feedbackSession, isInstructor) == null) {
+                respondentsToAdd.add(new FeedbackSessionRespondent(feedbackSession.getFeedbackSessionName(),
+                                                                   feedbackSession.getCourseId(),
+                                                                   email, isInstructor));
+            }
         }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+        if (respondentsToAdd.isEmpty()) {
+            return;
         }
 
-        fs.getRespondingInstructorList().remove(email);
+        getPm().makePersistentAll(respondentsToAdd);
+        getPm().flush();
 
         log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
     }
 
-    public void addStudentRespondents(List<String> emails, FeedbackSessionAttributes feedbackSession)
-            throws InvalidParametersException, EntityDoesNotExistException {
+    private void updateRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession,
+            boolean isInstructor) throws InvalidParametersException, EntityDoesNotExistException {
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        FeedbackSessionRespondent oldRespondent = getRespondentEntity(oldEmail, feedbackSession, isInstructor);
+        if (oldRespondent != null) {
+            getPm().deletePersistent(oldRespondent);
+            getPm().flush();
+            addRespondents(Arrays.asList(newEmail), feedbackSession, isInstructor);
         }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+        Set<String> storedRespondents = isInstructor ? feedbackSession.getRespondingInstructorList()
+                                                     : feedbackSession.getRespondingStudentList();
+        if (!storedRespondents.contains(oldEmail)) {
+            return;
         }
 
-        fs.getRespondingStudentList().addAll(emails);
+        FeedbackSession fs = getFeedbackSessionEntityForUpdate(feedbackSession);
+        Set<String> respondents = isInstructor ? fs.getRespondingInstructorList() : fs.getRespondingStudentList();
+        if (respondents.remove(oldEmail)) {
+            respondents.add(newEmail);
+        }
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
     }
 
-    public void updateStudentRespondent(String oldEmail, String newEmail, FeedbackSessionAttributes feedbackSession)
+    private void clearRespondents(FeedbackSessionAttributes feedbackSession, boolean isInstructor)
             throws InvalidParametersException, EntityDoesNotExistException {
 
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldEmail);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newEmail);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
-        }
-
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
-        }
-
-        if (fs.getRespondingStudentList().contains(oldEmail)) {
-            fs.getRespondingStudentList().remove(oldEmail);
-            fs.getRespondingStudentList().add(newEmail);
+        Query q = getPm().newQuery(FeedbackSessionRespondent.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, boolean isInstructorParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam "
+                    + "&& isInstructor == isInstructorParam");
+        q.deletePersistentAll(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(), isInstructor);
+
+        Set<String> storedRespondents = isInstructor ? feedbackSession.getRespondingInstructorList()
+                                                     : feedbackSession.getRespondingStudentList();
+        if (!storedRespondents.isEmpty()) {
+            FeedbackSession fs = getFeedbackSessionEntityForUpdate(feedbackSession);
+            if (isInstructor) {
+                fs.getRespondingInstructorList().clear();
+            } else {
+                fs.getRespondingStudentList().clear();
+            }
         }
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
     }
 
-    public void clearStudentRespondents(FeedbackSessionAttributes feedbackSession)
+    private void deleteRespondent(String email, FeedbackSessionAttributes feedbackSession, boolean isInstructor)
             throws InvalidParametersException, EntityDoesNotExistException {
 
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
 
-        feedbackSession.sanitizeForSaving();
-
-        if (!feedbackSession.isValid()) {
-            throw new InvalidParametersException(feedbackSession.getInvalidityInfo());
+        FeedbackSessionRespondent respondent = getRespondentEntity(email, feedbackSession, isInstructor);
+        if (respondent != null) {
+            getPm().deletePersistent(respondent);
+            getPm().flush();
         }
 
-        FeedbackSession fs = (FeedbackSession) getEntity(feedbackSession);
-        if (fs == null) {
-            throw new EntityDoesNotExistException(
-                    ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
+        // only respondents recorded before respondents were stored separately need the session to be written
+        Set<String> storedRespondents = isInstructor ? feedbackSession.getRespondingInstructorList()
+                                                     : feedbackSession.getRespondingStudentList();
+        if (storedRespondents.contains(email)) {
+            FeedbackSession fs = getFeedbackSessionEntityForUpdate(feedbackSession);
+            if (isInstructor) {
+                fs.getRespondingInstructorList().remove(email);
+            } else {
+                fs.getRespondingStudentList().remove(email);
+            }
+            getPm().close();
         }
 
-        fs.getRespondingStudentList().clear();
-
         log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
     }
 
-    public void deleteStudentRespondent(String email, FeedbackSessionAttributes feedbackSession)
-            throws EntityDoesNotExistException, InvalidParametersException {
-
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
-        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSession);
+    private FeedbackSession getFeedbackSessionEntityForUpdate(FeedbackSessionAttributes feedbackSession)
+            throws InvalidParametersException, EntityDoesNotExistException {
 
         feedbackSession.sanitizeForSaving();
 
@@ -496,11 +521,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
             throw new EntityDoesNotExistException(
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
-
-        fs.getRespondingStudentList().remove(email);
-
-        log.info(feedbackSession.getBackupIdentifier());
-        getPm().close();
+        return fs;
     }
 
     public void deleteFeedbackSessionsForCourse(String courseId) {
@@ -514,6 +535,24 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         getFeedbackSessionsForCoursesQuery(courseIds)
             .deletePersistentAll();
+
+        Query q = getPm().newQuery(FeedbackSessionRespondent.class);
+        q.setFilter(":p.contains(courseId)");
+        q.deletePersistentAll(courseIds);
+    }
+
+    /**
+     * Note: This is a non-cascade delete, except for the respondents of the session.
+     */
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        super.deleteEntity(entityToDelete);
+
+        FeedbackSessionAttributes fsa = (FeedbackSessionAttributes) entityToDelete;
+        Query q = getPm().newQuery(FeedbackSessionRespondent.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        q.deletePersistentAll(fsa.getFeedbackSessionName(), fsa.getCourseId());
     }
 
     private QueryWithParams getFeedbackSessionsForCoursesQuery(List<String> courseIds) {
@@ -601,6 +640,29 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return feedbackSessionList.get(0);
     }
 
+    private FeedbackSessionRespondent getRespondentEntity(String email, FeedbackSessionAttributes feedbackSession,
+            boolean isInstructor) {
+        String respondentId = FeedbackSessionRespondent.generateId(
+                feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(), email, isInstructor);
+        try {
+            FeedbackSessionRespondent respondent =
+                    getPm().getObjectById(FeedbackSessionRespondent.class, respondentId);
+            return JDOHelper.isDeleted(respondent) ? null : respondent;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSessionRespondent> getRespondentEntitiesForSession(
+            String feedbackSessionName, String courseId) {
+        Query q = getPm().newQuery(FeedbackSessionRespondent.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+
+        return (List<FeedbackSessionRespondent>) q.execute(feedbackSessionName, courseId);
+    }
+
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         FeedbackSessionAttributes feedbackSessionToGet = (FeedbackSessionAttributes) attributes;
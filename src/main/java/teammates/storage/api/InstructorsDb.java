@@ -2,9 +2,11 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -19,7 +21,6 @@ import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.common.util.StringHelper;
@@ -39,6 +40,8 @@ public class InstructorsDb extends EntitiesDb {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final CourseRosterDb courseRosterDb = new CourseRosterDb();
+
     /* =========================================================================
      * Methods related to Google Search API
      * =========================================================================
@@ -161,12 +164,18 @@ public class InstructorsDb extends EntitiesDb {
     /**
      * Returns null if no matching objects.
      */
-    public InstructorAttributes getInstructorForEmail(String courseId, String email) {
+    public InstructorAttributes getInstructorForEmail(final String courseId, final String email) {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
-        Instructor i = getInstructorEntityForEmail(courseId, email);
+        Instructor i = EntitiesCache.get(Instructor.class, "email/" + courseId + "/" + email,
+                new EntitiesCache.EntityLookup<Instructor>() {
+                    @Override
+                    public Instructor find() {
+                        return getInstructorEntityForEmail(courseId, email);
+                    }
+                });
 
         if (i == null) {
             log.info("Trying to get non-existent Instructor: " + courseId + "/" + email);
@@ -179,12 +188,18 @@ public class InstructorsDb extends EntitiesDb {
     /**
      * Returns null if no matching objects.
      */
-    public InstructorAttributes getInstructorForGoogleId(String courseId, String googleId) {
+    public InstructorAttributes getInstructorForGoogleId(final String courseId, final String googleId) {
 
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
-        Instructor i = getInstructorEntityForGoogleId(courseId, googleId);
+        Instructor i = EntitiesCache.get(Instructor.class, "googleId/" + courseId + "/" + googleId,
+                new EntitiesCache.EntityLookup<Instructor>() {
+                    @Override
+                    public Instructor find() {
+                        return getInstructorEntityForGoogleId(courseId, googleId);
+                    }
+                });
 
         if (i == null || JDOHelper.isDeleted(i)) {
             log.info("Trying to get non-existent Instructor: " + googleId);
@@ -334,6 +349,8 @@ public class InstructorsDb extends EntitiesDb {
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
+
+        courseRosterDb.invalidateCourseRoster(instructorAttributesToUpdate.courseId);
     }
 
     /**
@@ -369,6 +386,8 @@ public class InstructorsDb extends EntitiesDb {
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
+
+        courseRosterDb.invalidateCourseRoster(instructorAttributesToUpdate.courseId);
     }
 
     /**
@@ -385,32 +404,15 @@ public class InstructorsDb extends EntitiesDb {
             return;
         }
 
-        deleteDocument(new InstructorAttributes(instructorToDelete));
+        InstructorAttributes instructorAttributesToDelete = new InstructorAttributes(instructorToDelete);
+        deleteDocument(instructorAttributesToDelete);
 
         getPm().deletePersistent(instructorToDelete);
         getPm().flush();
 
-        // Check delete operation persisted
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Instructor instructorCheck = getInstructorEntityForEmail(courseId, email);
-            while (instructorCheck != null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                instructorCheck = getInstructorEntityForEmail(courseId, email);
-                elapsedTime += ThreadHelper.WAIT_DURATION;
-            }
-            if (elapsedTime == Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: deleteInstructor->"
-                        + email);
-
-            }
-        }
+        courseRosterDb.invalidateCourseRoster(courseId);
 
-        Instructor instructorCheck = getInstructorEntityForEmail(courseId, email);
-        if (instructorCheck != null) {
-            putDocument(new InstructorAttributes(instructorCheck));
-        }
+        ConsistencyToken.recordDeletion(instructorAttributesToDelete);
 
         //TODO: reuse the method in the parent class instead
     }
@@ -427,6 +429,8 @@ public class InstructorsDb extends EntitiesDb {
 
         getPm().deletePersistentAll(instructorsToDelete);
         getPm().flush();
+
+        courseRosterDb.invalidateCourseRosters(courseIds);
     }
 
     /**
@@ -437,14 +441,17 @@ public class InstructorsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
 
         List<Instructor> instructorList = getInstructorEntitiesForGoogleId(googleId);
+        Set<String> courseIds = new HashSet<String>();
 
         for (Instructor instructor : instructorList) {
             deleteDocument(new InstructorAttributes(instructor));
+            courseIds.add(instructor.getCourseId());
         }
 
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
 
+        courseRosterDb.invalidateCourseRosters(courseIds);
     }
 
     /**
@@ -462,6 +469,7 @@ public class InstructorsDb extends EntitiesDb {
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
 
+        courseRosterDb.invalidateCourseRoster(courseId);
     }
 
     private Instructor getInstructorEntityForGoogleId(String courseId, String googleId) {
@@ -611,4 +619,16 @@ public class InstructorsDb extends EntitiesDb {
         return new QueryWithParams(q, new Object[] {ia.courseId, ia.email}, primaryKeyName);
     }
 
+    @Override
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> writtenEntities) {
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes instructor : writtenEntities) {
+            String courseId = ((InstructorAttributes) instructor).courseId;
+            if (courseId != null) {
+                courseIds.add(courseId);
+            }
+        }
+        courseRosterDb.invalidateCourseRosters(courseIds);
+    }
+
 }
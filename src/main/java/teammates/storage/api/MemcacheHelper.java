@@ -0,0 +1,74 @@
+package teammates.storage.api;
+
+import java.io.IOException;
+
+import com.google.appengine.api.memcache.MemcacheSerialization;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.IdentifiableValue;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+
+/**
+ * Checks values against the limits of memcache before they are cached,
+ * and keeps the versions under which cached values are stored.
+ *
+ * <p>A version is the time of the last write to the data it covers, in milliseconds. Queries may not reflect
+ * a write until some time after it, so a value read within {@link #CONSISTENCY_WINDOW_MILLIS} of the last write
+ * must not be cached, as it may be missing the write.
+ */
+final class MemcacheHelper {
+
+    /**
+     * The largest serialized value memcache stores, leaving room for the key within its limit of 1 MB per item.
+     */
+    static final int MAX_VALUE_SIZE_BYTES = 1000 * 1000;
+
+    /**
+     * The time after a write within which queries may not reflect the write.
+     */
+    private static final long CONSISTENCY_WINDOW_MILLIS = 10 * 1000;
+
+    private static final int MAX_VERSION_UPDATE_ATTEMPTS = 5;
+
+    private MemcacheHelper() {
+        // utility class
+    }
+
+    /**
+     * Returns the size of the value as serialized by memcache, or -1 if the value cannot be serialized.
+     */
+    static int getSerializedSize(Object value) {
+        try {
+            return MemcacheSerialization.serialize(value).value.length;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Sets the version under the key to the current time, or to the next version if writes are more frequent
+     * than that, so that values cached under the previous version are no longer read.
+     */
+    static void updateVersion(MemcacheService memcache, String versionKey) {
+        for (int i = 0; i < MAX_VERSION_UPDATE_ATTEMPTS; i++) {
+            long now = System.currentTimeMillis();
+            IdentifiableValue version = memcache.getIdentifiable(versionKey);
+            boolean isUpdated = version == null
+                    ? memcache.put(versionKey, now, null, SetPolicy.ADD_ONLY_IF_NOT_PRESENT)
+                    : memcache.putIfUntouched(versionKey, version, Math.max(now, (Long) version.getValue() + 1));
+            if (isUpdated) {
+                return;
+            }
+        }
+
+        // the version is still changed under contention, only without recording the time of the write
+        memcache.increment(versionKey, 1L, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns true if the version was set so recently that queries may not reflect the write it was set for.
+     */
+    static boolean isWithinConsistencyWindow(long version) {
+        return System.currentTimeMillis() - version < CONSISTENCY_WINDOW_MILLIS;
+    }
+
+}
@@ -0,0 +1,51 @@
+package teammates.storage.api;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+
+/**
+ * Records in memcache the batches of emails which have been sent, so that a batch is not sent again
+ * when the task sending it is retried or run more than once.
+ *
+ * <p>Records can be evicted from memcache, so this only reduces, rather than rules out, repeated sending.
+ */
+public class SentEmailBatchesDb {
+
+    private static final String BATCH_KEY_PREFIX = "SentEmailBatch:";
+
+    /**
+     * Tasks sending emails are not run after a day.
+     */
+    private static final Expiration BATCH_EXPIRATION = Expiration.byDeltaSeconds(24 * 60 * 60);
+
+    private final MemcacheService memcache = MemcacheServiceFactory.getMemcacheService();
+
+    /**
+     * Returns true if the batch of emails identified by {@code batchId} is recorded as sent.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public boolean isEmailBatchSent(String batchId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, batchId);
+
+        return memcache.contains(BATCH_KEY_PREFIX + batchId);
+    }
+
+    /**
+     * Records the batch of emails identified by {@code batchId} as sent.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void putEmailBatchSent(String batchId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, batchId);
+
+        memcache.put(BATCH_KEY_PREFIX + batchId, Boolean.TRUE, BATCH_EXPIRATION);
+    }
+
+}
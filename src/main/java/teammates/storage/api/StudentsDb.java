@@ -2,10 +2,13 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -13,6 +16,7 @@ import javax.jdo.Query;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.attributes.EntityAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
@@ -22,11 +26,9 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.common.util.StringHelper;
-import teammates.common.util.ThreadHelper;
 import teammates.storage.entity.CourseStudent;
 import teammates.storage.search.SearchDocument;
 import teammates.storage.search.StudentSearchDocument;
@@ -44,6 +46,8 @@ public class StudentsDb extends EntitiesDb {
 
     private static final Logger log = Logger.getLogger();
 
+    private static final CourseRosterDb courseRosterDb = new CourseRosterDb();
+
     public void putDocument(StudentAttributes student) {
         putDocument(Const.SearchIndex.STUDENT, new StudentSearchDocument(student));
     }
@@ -123,6 +127,22 @@ public class StudentsDb extends EntitiesDb {
         }
     }
 
+    /**
+     * Creates the students with batch writes, without checking whether they already exist
+     * and without searchability.
+     *
+     * @return the created students
+     * @see EntitiesDb#createEntitiesWithoutExistenceCheck(Collection)
+     */
+    public List<StudentAttributes> createStudentsWithoutExistenceCheck(Collection<StudentAttributes> studentsToAdd)
+            throws InvalidParametersException {
+        List<StudentAttributes> createdStudents = new ArrayList<StudentAttributes>();
+        for (Object entity : createEntitiesWithoutExistenceCheck(studentsToAdd)) {
+            createdStudents.add(new StudentAttributes((CourseStudent) entity));
+        }
+        return createdStudents;
+    }
+
     public void createStudent(StudentAttributes student)
             throws InvalidParametersException, EntityAlreadyExistsException {
 
@@ -149,11 +169,17 @@ public class StudentsDb extends EntitiesDb {
      * @return The data for Student with the courseId and email. Returns null if
      *         there is no such student.
      */
-    public StudentAttributes getStudentForEmail(String courseId, String email) {
+    public StudentAttributes getStudentForEmail(final String courseId, final String email) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
 
-        CourseStudent cs = getCourseStudentEntityForEmail(courseId, email);
+        CourseStudent cs = EntitiesCache.get(CourseStudent.class, "email/" + courseId + "/" + email,
+                new EntitiesCache.EntityLookup<CourseStudent>() {
+                    @Override
+                    public CourseStudent find() {
+                        return getCourseStudentEntityForEmail(courseId, email);
+                    }
+                });
         if (cs == null) {
             return null;
         }
@@ -165,22 +191,21 @@ public class StudentsDb extends EntitiesDb {
      * <br> * All parameters are non-null.
      * @return null if no such student is found.
      */
-    public StudentAttributes getStudentForGoogleId(String courseId, String googleId) {
+    public StudentAttributes getStudentForGoogleId(final String courseId, final String googleId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
-        Query q = getPm().newQuery(CourseStudent.class);
-        q.declareParameters("String googleIdParam, String courseIdParam");
-        q.setFilter("googleId == googleIdParam && courseId == courseIdParam");
-
-        @SuppressWarnings("unchecked")
-        List<CourseStudent> courseStudentList = (List<CourseStudent>) q.execute(googleId, courseId);
-
-        if (courseStudentList.isEmpty() || JDOHelper.isDeleted(courseStudentList.get(0))) {
+        CourseStudent cs = EntitiesCache.get(CourseStudent.class, "googleId/" + courseId + "/" + googleId,
+                new EntitiesCache.EntityLookup<CourseStudent>() {
+                    @Override
+                    public CourseStudent find() {
+                        return getCourseStudentEntityForGoogleId(courseId, googleId);
+                    }
+                });
+        if (cs == null) {
             return null;
         }
-
-        return new StudentAttributes(courseStudentList.get(0));
+        return new StudentAttributes(cs);
     }
 
     /**
@@ -251,6 +276,33 @@ public class StudentsDb extends EntitiesDb {
         return studentDataList;
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the cursor which the page starts at, or null for the first page
+     * @return the page of at most {@code pageSize} students of the course which starts at {@code cursor}
+     */
+    public ResultsPage<StudentAttributes> getStudentsForCoursePage(String courseId, String cursor, int pageSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Query q = getPm().newQuery(CourseStudent.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        setPage(q, cursor, pageSize);
+
+        @SuppressWarnings("unchecked")
+        List<CourseStudent> page = (List<CourseStudent>) q.execute(courseId);
+
+        List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
+        for (CourseStudent student : page) {
+            if (!JDOHelper.isDeleted(student)) {
+                studentDataList.add(new StudentAttributes(student));
+            }
+        }
+
+        return new ResultsPage<StudentAttributes>(studentDataList, getNextCursor(page, pageSize));
+    }
+
     /**
      * Preconditions: <br>
      *  * All parameters are non-null.
@@ -427,6 +479,50 @@ public class StudentsDb extends EntitiesDb {
 
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+
+        courseRosterDb.invalidateCourseRoster(courseId);
+    }
+
+    /**
+     * Updates the name, team, section, Google ID and comments of existing students of a course in one write,
+     * without searchability. The emails of the students cannot be updated this way.
+     *
+     * <p>Preconditions: <br>
+     * * All parameters are non-null and all students are valid students of the course.
+     *
+     * @return the updated students
+     */
+    public List<StudentAttributes> updateStudentsWithoutSearchability(String courseId,
+            Collection<StudentAttributes> students) throws EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, students);
+
+        if (students.isEmpty()) {
+            return new ArrayList<StudentAttributes>();
+        }
+
+        Map<String, CourseStudent> courseStudents = new HashMap<String, CourseStudent>();
+        for (CourseStudent courseStudent : getCourseStudentEntitiesForCourse(courseId)) {
+            courseStudents.put(courseStudent.getEmail(), courseStudent);
+        }
+
+        List<StudentAttributes> updatedStudents = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : students) {
+            CourseStudent courseStudent = courseStudents.get(student.email);
+            if (courseStudent == null) {
+                throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT_STUDENT + courseId + "/" + student.email);
+            }
+            updateStudentDetails(student.name, student.team, student.section, student.googleId, student.comments,
+                                 false, false, courseStudent, StringHelper.splitName(student.name)[1]);
+            updatedStudents.add(new StudentAttributes(courseStudent));
+        }
+
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        getPm().close();
+
+        courseRosterDb.invalidateCourseRoster(courseId);
+
+        return updatedStudents;
     }
 
     @SuppressWarnings("PMD.PreserveStackTrace")
@@ -503,22 +599,13 @@ public class StudentsDb extends EntitiesDb {
                 .deletePersistentAll();
         }
 
-        // Check delete operation persisted
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            while (hasCourseStudentForEmail(courseId, email)
-                    && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                //check before incrementing to avoid boundary case problem
-                if (hasCourseStudentForEmail(courseId, email)) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: deleteStudent->"
-                        + courseId + "/" + email);
-            }
-        }
+        courseRosterDb.invalidateCourseRoster(courseId);
+
+        StudentAttributes deletedStudent = new StudentAttributes();
+        deletedStudent.course = courseId;
+        deletedStudent.email = email;
+        ConsistencyToken.recordDeletion(deletedStudent);
+
         //TODO: use the method in the parent class instead.
     }
 
@@ -540,8 +627,13 @@ public class StudentsDb extends EntitiesDb {
     public void deleteStudentsForGoogleId(String googleId, boolean hasDocument) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
 
+        List<CourseStudent> courseStudents = getCourseStudentEntitiesForGoogleId(googleId);
+        Set<String> courseIds = new HashSet<String>();
+        for (CourseStudent student : courseStudents) {
+            courseIds.add(student.getCourseId());
+        }
+
         if (hasDocument) {
-            List<CourseStudent> courseStudents = getCourseStudentEntitiesForGoogleId(googleId);
             for (CourseStudent student : courseStudents) {
                 deleteDocument(new StudentAttributes(student));
             }
@@ -551,6 +643,8 @@ public class StudentsDb extends EntitiesDb {
             getCourseStudentsForGoogleIdQuery(googleId)
                 .deletePersistentAll();
         }
+
+        courseRosterDb.invalidateCourseRosters(courseIds);
     }
 
     /**
@@ -582,6 +676,8 @@ public class StudentsDb extends EntitiesDb {
             getCourseStudentsForCourseQuery(courseId)
                 .deletePersistentAll();
         }
+
+        courseRosterDb.invalidateCourseRoster(courseId);
     }
 
     public void deleteStudentsForCourses(List<String> courseIds) {
@@ -590,6 +686,8 @@ public class StudentsDb extends EntitiesDb {
 
         getCourseStudentsForCoursesQuery(courseIds)
             .deletePersistentAll();
+
+        courseRosterDb.invalidateCourseRosters(courseIds);
     }
 
     /**
@@ -620,12 +718,6 @@ public class StudentsDb extends EntitiesDb {
         return query;
     }
 
-    private boolean hasCourseStudentForEmail(String courseId, String email) {
-        QueryWithParams q = getCourseStudentForEmailKeyOnlyQuery(courseId, email);
-        List<?> results = q.execute();
-        return !results.isEmpty();
-    }
-
     private CourseStudent getCourseStudentEntityForEmail(String courseId, String email) {
         @SuppressWarnings("unchecked")
         List<CourseStudent> studentList = (List<CourseStudent>) getCourseStudentForEmailQuery(courseId, email).execute();
@@ -637,6 +729,21 @@ public class StudentsDb extends EntitiesDb {
         return studentList.get(0);
     }
 
+    private CourseStudent getCourseStudentEntityForGoogleId(String courseId, String googleId) {
+        Query q = getPm().newQuery(CourseStudent.class);
+        q.declareParameters("String googleIdParam, String courseIdParam");
+        q.setFilter("googleId == googleIdParam && courseId == courseIdParam");
+
+        @SuppressWarnings("unchecked")
+        List<CourseStudent> courseStudentList = (List<CourseStudent>) q.execute(googleId, courseId);
+
+        if (courseStudentList.isEmpty() || JDOHelper.isDeleted(courseStudentList.get(0))) {
+            return null;
+        }
+
+        return courseStudentList.get(0);
+    }
+
     @SuppressWarnings("unchecked")
     private CourseStudent getCourseStudentEntityForRegistrationKey(String registrationKey) {
 
@@ -740,4 +847,16 @@ public class StudentsDb extends EntitiesDb {
         return getCourseStudentForEmailKeyOnlyQuery(sa.course, sa.email);
     }
 
+    @Override
+    protected void onEntitiesWritten(Collection<? extends EntityAttributes> writtenEntities) {
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes student : writtenEntities) {
+            String courseId = ((StudentAttributes) student).course;
+            if (courseId != null) {
+                courseIds.add(courseId);
+            }
+        }
+        courseRosterDb.invalidateCourseRosters(courseIds);
+    }
+
 }
@@ -14,7 +14,7 @@ import teammates.common.util.Const;
 /**
  * Represents a course entity.
  */
-@PersistenceCapable
+@PersistenceCapable(detachable = "true")
 public class Course extends Entity {
 
     /**
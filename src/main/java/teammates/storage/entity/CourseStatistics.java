@@ -0,0 +1,97 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.NotPersistent;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents the number of sections, teams, students and unregistered students of a {@link Course},
+ * so that they need not be counted from all the students of the course every time they are shown.
+ *
+ * <p>The statistics are only up to date as long as no student of the course has been written since they
+ * were counted, which is checked against the key of the course roster they were counted from.
+ */
+@PersistenceCapable
+public class CourseStatistics extends Entity {
+
+    /**
+     * The name of the primary key of this entity type.
+     */
+    @NotPersistent
+    public static final String PRIMARY_KEY_NAME = getFieldWithPrimaryKeyAnnotation(CourseStatistics.class);
+
+    @PrimaryKey
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    private String rosterKey;
+
+    @Persistent
+    private int sectionsTotal;
+
+    @Persistent
+    private int teamsTotal;
+
+    @Persistent
+    private int studentsTotal;
+
+    @Persistent
+    private int unregisteredTotal;
+
+    public CourseStatistics(String courseId, String rosterKey, int sectionsTotal, int teamsTotal,
+                            int studentsTotal, int unregisteredTotal) {
+        this.courseId = courseId;
+        this.rosterKey = rosterKey;
+        this.sectionsTotal = sectionsTotal;
+        this.teamsTotal = teamsTotal;
+        this.studentsTotal = studentsTotal;
+        this.unregisteredTotal = unregisteredTotal;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getRosterKey() {
+        return rosterKey;
+    }
+
+    public void setRosterKey(String rosterKey) {
+        this.rosterKey = rosterKey;
+    }
+
+    public int getSectionsTotal() {
+        return sectionsTotal;
+    }
+
+    public void setSectionsTotal(int sectionsTotal) {
+        this.sectionsTotal = sectionsTotal;
+    }
+
+    public int getTeamsTotal() {
+        return teamsTotal;
+    }
+
+    public void setTeamsTotal(int teamsTotal) {
+        this.teamsTotal = teamsTotal;
+    }
+
+    public int getStudentsTotal() {
+        return studentsTotal;
+    }
+
+    public void setStudentsTotal(int studentsTotal) {
+        this.studentsTotal = studentsTotal;
+    }
+
+    public int getUnregisteredTotal() {
+        return unregisteredTotal;
+    }
+
+    public void setUnregisteredTotal(int unregisteredTotal) {
+        this.unregisteredTotal = unregisteredTotal;
+    }
+
+}
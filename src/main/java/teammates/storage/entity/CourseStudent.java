@@ -19,7 +19,7 @@ import teammates.common.util.StringHelper;
  * An association class that represents the association Account -->
  * [enrolled in] --> Course.
  */
-@PersistenceCapable
+@PersistenceCapable(detachable = "true")
 public class CourseStudent extends Entity implements StoreCallback {
 
     /**
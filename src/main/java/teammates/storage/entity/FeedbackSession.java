@@ -18,7 +18,7 @@ import teammates.common.util.Const;
 /**
  * Represents an instructor-created Feedback Session.
  */
-@PersistenceCapable
+@PersistenceCapable(detachable = "true")
 public class FeedbackSession extends Entity {
 
     /**
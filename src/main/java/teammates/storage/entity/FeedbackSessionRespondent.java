@@ -0,0 +1,76 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.NotPersistent;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents a giver who has responded to a feedback session, either as a student or as an instructor.
+ *
+ * <p>Every respondent is stored separately from the {@link FeedbackSession}, so that givers submitting
+ * to the same session at the same time do not write to the same entity.
+ */
+@PersistenceCapable
+public class FeedbackSessionRespondent extends Entity {
+
+    /**
+     * The name of the primary key of this entity type.
+     */
+    @NotPersistent
+    public static final String PRIMARY_KEY_NAME = getFieldWithPrimaryKeyAnnotation(FeedbackSessionRespondent.class);
+
+    // Format is feedbackSessionName%courseId%email%isInstructor
+    // PMD.UnusedPrivateField and SingularField are suppressed
+    // as respondentId is persisted to the database
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
+    @PrimaryKey
+    @Persistent
+    private String respondentId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    private String email;
+
+    @Persistent
+    private boolean isInstructor;
+
+    public FeedbackSessionRespondent(String feedbackSessionName, String courseId, String email,
+                                     boolean isInstructor) {
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.email = email;
+        this.isInstructor = isInstructor;
+        this.respondentId = generateId(feedbackSessionName, courseId, email, isInstructor);
+    }
+
+    /**
+     * Returns the ID of the respondent with the given details.
+     */
+    public static String generateId(String feedbackSessionName, String courseId, String email,
+                                    boolean isInstructor) {
+        return feedbackSessionName + "%" + courseId + "%" + email + "%" + isInstructor;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public boolean isInstructor() {
+        return isInstructor;
+    }
+
+}
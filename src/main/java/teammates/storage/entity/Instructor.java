@@ -14,7 +14,7 @@ import com.google.appengine.api.datastore.Text;
  * An association class that represents the association Account
  * --> [is an instructor for] --> Course.
  */
-@PersistenceCapable
+@PersistenceCapable(detachable = "true")
 public class Instructor extends Entity {
 
     /**
@@ -34,6 +34,11 @@ public class CommentSearchDocument extends SearchDocument {
         this.comment = comment;
     }
 
+    @Override
+    public String getId() {
+        return comment.getCommentId().toString();
+    }
+
     @Override
     protected void prepareData() {
         if (comment == null) {
@@ -142,7 +147,7 @@ public class CommentSearchDocument extends SearchDocument {
                                             .setText(JsonUtils.toJson(displayedName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.COMMENT_RECIPIENT_NAME)
                                             .setText(JsonUtils.toJson(commentRecipientName)))
-                .setId(comment.getCommentId().toString())
+                .setId(getId())
                 .build();
     }
 
@@ -2,6 +2,7 @@ package teammates.storage.search;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,7 @@ import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 
 import teammates.common.datatransfer.CommentSendingState;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackResponseCommentSearchResultBundle;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
@@ -25,12 +27,16 @@ import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.JsonUtils;
+import teammates.storage.api.CourseRosterDb;
+import teammates.storage.api.CourseRosterDb.CourseRosterLoader;
 
 /**
  * The {@link SearchDocument} object that defines how we store {@link Document} for response comments.
  */
 public class FeedbackResponseCommentSearchDocument extends SearchDocument {
 
+    private static final CourseRosterDb courseRosterDb = new CourseRosterDb();
+
     private FeedbackResponseCommentAttributes comment;
     private FeedbackResponseAttributes relatedResponse;
     private String responseGiverName;
@@ -42,8 +48,37 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
     private List<InstructorAttributes> relatedInstructors;
     private List<StudentAttributes> relatedStudents;
 
+    private final RelatedDataReader relatedDataReader;
+
     public FeedbackResponseCommentSearchDocument(FeedbackResponseCommentAttributes comment) {
+        this(comment, new RelatedDataReader());
+    }
+
+    private FeedbackResponseCommentSearchDocument(FeedbackResponseCommentAttributes comment,
+                                                  RelatedDataReader relatedDataReader) {
         this.comment = comment;
+        this.relatedDataReader = relatedDataReader;
+    }
+
+    /**
+     * Creates the search documents of the {@code comments}. The data related to the comments is read together
+     * when the first of the documents is built: the courses and responses of all the comments at once, and the
+     * sessions, questions and roster of a course once for all its comments if it has several of them.
+     * The data related to a course with a single comment is read for the comment only, as in
+     * {@link #FeedbackResponseCommentSearchDocument(FeedbackResponseCommentAttributes)}.
+     */
+    public static List<SearchDocument> createDocuments(List<FeedbackResponseCommentAttributes> comments) {
+        RelatedDataReader relatedDataReader = new PrefetchingRelatedDataReader(comments);
+        List<SearchDocument> documents = new ArrayList<SearchDocument>();
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            documents.add(new FeedbackResponseCommentSearchDocument(comment, relatedDataReader));
+        }
+        return documents;
+    }
+
+    @Override
+    public String getId() {
+        return comment.getId().toString();
     }
 
     @Override
@@ -52,11 +87,11 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
             return;
         }
 
-        relatedSession = fsDb.getFeedbackSession(comment.courseId, comment.feedbackSessionName);
-        relatedQuestion = fqDb.getFeedbackQuestion(comment.feedbackQuestionId);
-        relatedResponse = frDb.getFeedbackResponse(comment.feedbackResponseId);
-        course = coursesDb.getCourse(comment.courseId);
-        giverAsInstructor = instructorsDb.getInstructorForEmail(comment.courseId, comment.giverEmail);
+        relatedSession = relatedDataReader.getFeedbackSession(comment.courseId, comment.feedbackSessionName);
+        relatedQuestion = relatedDataReader.getFeedbackQuestion(comment.courseId, comment.feedbackQuestionId);
+        relatedResponse = relatedDataReader.getFeedbackResponse(comment.feedbackResponseId);
+        course = relatedDataReader.getCourse(comment.courseId);
+        giverAsInstructor = relatedDataReader.getInstructorForEmail(comment.courseId, comment.giverEmail);
         relatedInstructors = new ArrayList<InstructorAttributes>();
         relatedStudents = new ArrayList<StudentAttributes>();
 
@@ -64,7 +99,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         Set<String> addedEmailSet = new HashSet<String>();
         if (relatedQuestion.giverType == FeedbackParticipantType.INSTRUCTORS
                 || relatedQuestion.giverType == FeedbackParticipantType.SELF) {
-            InstructorAttributes ins = instructorsDb.getInstructorForEmail(comment.courseId, relatedResponse.giver);
+            InstructorAttributes ins = relatedDataReader.getInstructorForEmail(comment.courseId, relatedResponse.giver);
             if (ins == null || addedEmailSet.contains(ins.email)) {
                 responseGiverName = Const.USER_UNKNOWN_TEXT;
             } else {
@@ -73,7 +108,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
                 responseGiverName = ins.name + " (" + ins.displayedName + ")";
             }
         } else {
-            StudentAttributes stu = studentsDb.getStudentForEmail(comment.courseId, relatedResponse.giver);
+            StudentAttributes stu = relatedDataReader.getStudentForEmail(comment.courseId, relatedResponse.giver);
             if (stu == null || addedEmailSet.contains(stu.email)) {
                 responseGiverName = Const.USER_UNKNOWN_TEXT;
             } else {
@@ -84,7 +119,8 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         }
 
         if (relatedQuestion.recipientType == FeedbackParticipantType.INSTRUCTORS) {
-            InstructorAttributes ins = instructorsDb.getInstructorForEmail(comment.courseId, relatedResponse.recipient);
+            InstructorAttributes ins =
+                    relatedDataReader.getInstructorForEmail(comment.courseId, relatedResponse.recipient);
             if (ins != null && !addedEmailSet.contains(ins.email)) {
                 relatedInstructors.add(ins);
                 addedEmailSet.add(ins.email);
@@ -95,13 +131,14 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         } else if (relatedQuestion.recipientType == FeedbackParticipantType.NONE) {
             responseRecipientName = Const.USER_NOBODY_TEXT;
         } else {
-            StudentAttributes stu = studentsDb.getStudentForEmail(comment.courseId, relatedResponse.recipient);
+            StudentAttributes stu = relatedDataReader.getStudentForEmail(comment.courseId, relatedResponse.recipient);
             if (stu != null && !addedEmailSet.contains(stu.email)) {
                 relatedStudents.add(stu);
                 addedEmailSet.add(stu.email);
                 responseRecipientName = stu.name + " (" + stu.team + ")";
             }
-            List<StudentAttributes> team = studentsDb.getStudentsForTeam(relatedResponse.recipient, comment.courseId);
+            List<StudentAttributes> team =
+                    relatedDataReader.getStudentsForTeam(comment.courseId, relatedResponse.recipient);
             if (team != null) {
                 responseRecipientName = relatedResponse.recipient; // it's actually a team name here
                 for (StudentAttributes studentInTeam : team) {
@@ -215,7 +252,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
                                             .setText(JsonUtils.toJson(relatedSession)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_GIVER_NAME)
                                             .setText(JsonUtils.toJson(displayedName)))
-                .setId(comment.getId().toString())
+                .setId(getId())
                 .build();
     }
 
@@ -432,4 +469,189 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         return false;
     }
 
+    /**
+     * Reads the data related to a comment from the Datastore as it is needed.
+     */
+    private static class RelatedDataReader {
+
+        FeedbackSessionAttributes getFeedbackSession(String courseId, String feedbackSessionName) {
+            return fsDb.getFeedbackSession(courseId, feedbackSessionName);
+        }
+
+        FeedbackQuestionAttributes getFeedbackQuestion(String courseId, String feedbackQuestionId) {
+            return fqDb.getFeedbackQuestion(feedbackQuestionId);
+        }
+
+        FeedbackResponseAttributes getFeedbackResponse(String feedbackResponseId) {
+            return frDb.getFeedbackResponse(feedbackResponseId);
+        }
+
+        CourseAttributes getCourse(String courseId) {
+            return coursesDb.getCourse(courseId);
+        }
+
+        InstructorAttributes getInstructorForEmail(String courseId, String email) {
+            return instructorsDb.getInstructorForEmail(courseId, email);
+        }
+
+        StudentAttributes getStudentForEmail(String courseId, String email) {
+            return studentsDb.getStudentForEmail(courseId, email);
+        }
+
+        List<StudentAttributes> getStudentsForTeam(String courseId, String teamName) {
+            return studentsDb.getStudentsForTeam(teamName, courseId);
+        }
+
+    }
+
+    /**
+     * Reads the data related to a batch of comments when it is first needed: the courses and responses of all
+     * the comments together, and the sessions, questions, students and instructors of each course with
+     * several comments at once.
+     */
+    private static final class PrefetchingRelatedDataReader extends RelatedDataReader {
+
+        /**
+         * The number of comments of a course from which the data of the whole course is read, rather than
+         * the data related to each comment. Reading a course takes fewer reads than reading for two comments,
+         * but the reads are larger, so a course is not read for a single comment.
+         */
+        private static final int MIN_COMMENTS_TO_READ_COURSE = 2;
+
+        private final List<FeedbackResponseCommentAttributes> comments;
+        private final Map<String, Integer> numberOfCommentsByCourseId = new HashMap<String, Integer>();
+
+        private Map<String, CourseAttributes> coursesById;
+        private Map<String, FeedbackResponseAttributes> responsesById;
+        private final Map<String, CourseData> courseDataById = new HashMap<String, CourseData>();
+
+        PrefetchingRelatedDataReader(List<FeedbackResponseCommentAttributes> comments) {
+            this.comments = comments;
+            for (FeedbackResponseCommentAttributes comment : comments) {
+                Integer numberOfComments = numberOfCommentsByCourseId.get(comment.courseId);
+                numberOfCommentsByCourseId.put(comment.courseId, numberOfComments == null ? 1 : numberOfComments + 1);
+            }
+        }
+
+        @Override
+        FeedbackSessionAttributes getFeedbackSession(String courseId, String feedbackSessionName) {
+            CourseData courseData = getCourseData(courseId);
+            return courseData == null ? super.getFeedbackSession(courseId, feedbackSessionName)
+                                      : courseData.sessionsByName.get(feedbackSessionName);
+        }
+
+        @Override
+        FeedbackQuestionAttributes getFeedbackQuestion(String courseId, String feedbackQuestionId) {
+            CourseData courseData = getCourseData(courseId);
+            return courseData == null ? super.getFeedbackQuestion(courseId, feedbackQuestionId)
+                                      : courseData.questionsById.get(feedbackQuestionId);
+        }
+
+        @Override
+        FeedbackResponseAttributes getFeedbackResponse(String feedbackResponseId) {
+            loadCoursesAndResponses();
+            return responsesById.get(feedbackResponseId);
+        }
+
+        @Override
+        CourseAttributes getCourse(String courseId) {
+            loadCoursesAndResponses();
+            return coursesById.get(courseId);
+        }
+
+        @Override
+        InstructorAttributes getInstructorForEmail(String courseId, String email) {
+            CourseData courseData = getCourseData(courseId);
+            return courseData == null ? super.getInstructorForEmail(courseId, email)
+                                      : courseData.roster.getInstructorForEmail(email);
+        }
+
+        @Override
+        StudentAttributes getStudentForEmail(String courseId, String email) {
+            CourseData courseData = getCourseData(courseId);
+            return courseData == null ? super.getStudentForEmail(courseId, email)
+                                      : courseData.roster.getStudentForEmail(email);
+        }
+
+        @Override
+        List<StudentAttributes> getStudentsForTeam(String courseId, String teamName) {
+            CourseData courseData = getCourseData(courseId);
+            return courseData == null ? super.getStudentsForTeam(courseId, teamName)
+                                      : courseData.roster.getStudentsInTeam(teamName);
+        }
+
+        private void loadCoursesAndResponses() {
+            if (responsesById != null) {
+                return;
+            }
+
+            Set<String> courseIds = new HashSet<String>();
+            Set<String> responseIds = new HashSet<String>();
+            for (FeedbackResponseCommentAttributes comment : comments) {
+                courseIds.add(comment.courseId);
+                responseIds.add(comment.feedbackResponseId);
+            }
+
+            coursesById = new HashMap<String, CourseAttributes>();
+            for (CourseAttributes course : coursesDb.getCourses(new ArrayList<String>(courseIds))) {
+                coursesById.put(course.getId(), course);
+            }
+            responsesById = new HashMap<String, FeedbackResponseAttributes>();
+            for (FeedbackResponseAttributes response : frDb.getFeedbackResponses(new ArrayList<String>(responseIds))) {
+                responsesById.put(response.getId(), response);
+            }
+        }
+
+        /**
+         * Returns the data of the course, read when first needed, or null if the course has too few comments
+         * for its data to be read.
+         */
+        private CourseData getCourseData(String courseId) {
+            Integer numberOfComments = numberOfCommentsByCourseId.get(courseId);
+            if (numberOfComments == null || numberOfComments < MIN_COMMENTS_TO_READ_COURSE) {
+                return null;
+            }
+
+            CourseData courseData = courseDataById.get(courseId);
+            if (courseData == null) {
+                courseData = new CourseData(courseId);
+                courseDataById.put(courseId, courseData);
+            }
+            return courseData;
+        }
+
+    }
+
+    /**
+     * The sessions, questions, students and instructors of a course.
+     * The roster is taken from the cache of {@link CourseRosterDb} if it is there, and cached otherwise.
+     */
+    private static final class CourseData {
+
+        final Map<String, FeedbackSessionAttributes> sessionsByName = new HashMap<String, FeedbackSessionAttributes>();
+        final Map<String, FeedbackQuestionAttributes> questionsById = new HashMap<String, FeedbackQuestionAttributes>();
+        final CourseRoster roster;
+
+        CourseData(String courseId) {
+            for (FeedbackSessionAttributes session : fsDb.getFeedbackSessionsForCourse(courseId)) {
+                sessionsByName.put(session.getFeedbackSessionName(), session);
+            }
+            for (FeedbackQuestionAttributes question : fqDb.getFeedbackQuestionsForCourse(courseId)) {
+                questionsById.put(question.getId(), question);
+            }
+            roster = getCourseRoster(courseId);
+        }
+
+        private static CourseRoster getCourseRoster(String courseId) {
+            return courseRosterDb.getOrLoadCourseRoster(courseId, new CourseRosterLoader() {
+                @Override
+                public CourseRoster load(String courseId) {
+                    return new CourseRoster(studentsDb.getStudentsForCourse(courseId),
+                                            instructorsDb.getInstructorsForCourse(courseId));
+                }
+            });
+        }
+
+    }
+
 }
@@ -28,6 +28,11 @@ public class InstructorSearchDocument extends SearchDocument {
         this.instructor = instructor;
     }
 
+    @Override
+    public String getId() {
+        return StringHelper.encrypt(instructor.key);
+    }
+
     @Override
     protected void prepareData() {
         if (instructor == null) {
@@ -59,7 +64,7 @@ public class InstructorSearchDocument extends SearchDocument {
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE)
                                             .setText(JsonUtils.toJson(instructor)))
-                .setId(StringHelper.encrypt(instructor.key))
+                .setId(getId())
                 .build();
     }
 
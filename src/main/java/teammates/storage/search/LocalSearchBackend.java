@@ -0,0 +1,776 @@
+package teammates.storage.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Field;
+import com.google.appengine.api.search.OperationResult;
+import com.google.appengine.api.search.Query;
+import com.google.appengine.api.search.QueryOptions;
+import com.google.appengine.api.search.Results;
+import com.google.appengine.api.search.ScoredDocument;
+import com.google.appengine.api.search.SearchQueryException;
+import com.google.appengine.api.search.StatusCode;
+
+/**
+ * The {@link SearchBackend} which keeps an inverted index of the documents in memory, so that search can be
+ * used and measured without the GAE Search API, e.g. in dev server runs and tests.
+ *
+ * <p>Like the Search API, the text of the fields is split into lower-case words at whitespace and most punctuation.
+ * The part of the query language used by {@link SearchQuery} is supported:
+ * <ul>
+ * <li>words and quoted phrases, which match consecutive words of a field</li>
+ * <li>words ending with {@code *}, which match the words with the prefix</li>
+ * <li>restrictions to a field, e.g. {@code courseId:(a OR b)}; terms without a field match any field</li>
+ * <li>{@code AND} (also implied between terms), {@code OR}, {@code NOT} and parentheses</li>
+ * </ul>
+ * The matching documents are returned in descending order of rank, then of the time they were put in,
+ * subject to the offset and limit of the query.
+ */
+public class LocalSearchBackend implements SearchBackend {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * The characters text is split into words at, which are the same as those of the Search API in the dev server.
+     */
+    private static final String WORD_SEPARATORS = " \t\n\f\r!\"#$%&()*,./:;=>?@[\\]^`{|}~";
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    private static final Map<String, LocalIndex> INDEXES = new HashMap<String, LocalIndex>();
+
+    @Override
+    public List<Document> putDocuments(String indexName, List<Document> documents) {
+        LocalIndex index = getIndex(indexName);
+        for (Document document : documents) {
+            index.put(document);
+        }
+        return new ArrayList<Document>();
+    }
+
+    @Override
+    public Results<ScoredDocument> searchDocuments(String indexName, Query query) {
+        Clause clause = new QueryParser(query.getQueryString()).parse();
+        return getIndex(indexName).search(clause, query.getOptions());
+    }
+
+    @Override
+    public void deleteDocument(String indexName, String documentId) {
+        getIndex(indexName).delete(documentId);
+    }
+
+    /**
+     * Deletes all documents of all indexes.
+     */
+    public static void clear() {
+        synchronized (INDEXES) {
+            INDEXES.clear();
+        }
+    }
+
+    private static LocalIndex getIndex(String indexName) {
+        synchronized (INDEXES) {
+            LocalIndex index = INDEXES.get(indexName);
+            if (index == null) {
+                index = new LocalIndex();
+                INDEXES.put(indexName, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Splits {@code text} into words at the separators, in lower case and without diacritical marks.
+     */
+    private static List<String> splitIntoWords(String text) {
+        String normalizedText = DIACRITICAL_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                                                 .replaceAll("").toLowerCase();
+        List<String> words = new ArrayList<String>();
+        int start = -1;
+        for (int i = 0; i <= normalizedText.length(); i++) {
+            boolean isSeparator = i == normalizedText.length() || WORD_SEPARATORS.indexOf(normalizedText.charAt(i)) != -1;
+            if (!isSeparator && start == -1) {
+                start = i;
+            } else if (isSeparator && start != -1) {
+                words.add(normalizedText.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * The documents of an index and the IDs of the documents containing each word and pair of consecutive words,
+     * by field.
+     */
+    private static final class LocalIndex {
+
+        private final Map<String, IndexedDocument> documentsById = new HashMap<String, IndexedDocument>();
+        private final Map<String, TreeMap<String, Set<String>>> documentIdsByWordByField =
+                new HashMap<String, TreeMap<String, Set<String>>>();
+        // for phrases, which would otherwise need the documents of each word to be checked for the whole phrase
+        private final Map<String, Map<String, Set<String>>> documentIdsByWordPairByField =
+                new HashMap<String, Map<String, Set<String>>>();
+        private long putCount;
+
+        synchronized void put(Document document) {
+            delete(document.getId());
+
+            IndexedDocument indexedDocument = new IndexedDocument(document, putCount++);
+            documentsById.put(document.getId(), indexedDocument);
+            for (Map.Entry<String, List<List<String>>> field : indexedDocument.wordsByField.entrySet()) {
+                TreeMap<String, Set<String>> documentIdsByWord = documentIdsByWordByField.get(field.getKey());
+                Map<String, Set<String>> documentIdsByWordPair = documentIdsByWordPairByField.get(field.getKey());
+                if (documentIdsByWord == null) {
+                    documentIdsByWord = new TreeMap<String, Set<String>>();
+                    documentIdsByWordByField.put(field.getKey(), documentIdsByWord);
+                    documentIdsByWordPair = new HashMap<String, Set<String>>();
+                    documentIdsByWordPairByField.put(field.getKey(), documentIdsByWordPair);
+                }
+                for (List<String> words : field.getValue()) {
+                    for (int i = 0; i < words.size(); i++) {
+                        addDocumentId(documentIdsByWord, words.get(i), document.getId());
+                        if (i > 0) {
+                            addDocumentId(documentIdsByWordPair, getWordPair(words, i - 1), document.getId());
+                        }
+                    }
+                }
+            }
+        }
+
+        synchronized void delete(String documentId) {
+            IndexedDocument indexedDocument = documentsById.remove(documentId);
+            if (indexedDocument == null) {
+                return;
+            }
+            for (Map.Entry<String, List<List<String>>> field : indexedDocument.wordsByField.entrySet()) {
+                TreeMap<String, Set<String>> documentIdsByWord = documentIdsByWordByField.get(field.getKey());
+                Map<String, Set<String>> documentIdsByWordPair = documentIdsByWordPairByField.get(field.getKey());
+                for (List<String> words : field.getValue()) {
+                    for (int i = 0; i < words.size(); i++) {
+                        removeDocumentId(documentIdsByWord, words.get(i), documentId);
+                        if (i > 0) {
+                            removeDocumentId(documentIdsByWordPair, getWordPair(words, i - 1), documentId);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void addDocumentId(Map<String, Set<String>> documentIdsByKey, String key, String documentId) {
+            Set<String> documentIds = documentIdsByKey.get(key);
+            if (documentIds == null) {
+                documentIds = new HashSet<String>();
+                documentIdsByKey.put(key, documentIds);
+            }
+            documentIds.add(documentId);
+        }
+
+        private static void removeDocumentId(Map<String, Set<String>> documentIdsByKey, String key, String documentId) {
+            Set<String> documentIds = documentIdsByKey.get(key);
+            if (documentIds != null) {
+                documentIds.remove(documentId);
+                if (documentIds.isEmpty()) {
+                    documentIdsByKey.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Returns the word at {@code index} and the word after it, separated by a space, which cannot be in a word.
+         */
+        private static String getWordPair(List<String> words, int index) {
+            return words.get(index) + " " + words.get(index + 1);
+        }
+
+        synchronized Results<ScoredDocument> search(Clause clause, QueryOptions options) {
+            Set<String> matchedDocumentIds = clause.match(this, null);
+
+            int offset = options == null ? 0 : options.getOffset();
+            int limit = options == null ? DEFAULT_LIMIT : options.getLimit();
+
+            // keeps only the documents up to the last one returned, the lowest ranked of them at the head
+            int numberToKeep = offset + limit;
+            PriorityQueue<IndexedDocument> topDocuments = new PriorityQueue<IndexedDocument>(
+                    Math.max(1, Math.min(numberToKeep, matchedDocumentIds.size())),
+                    Collections.reverseOrder(IndexedDocument.BY_RANK_DESCENDING));
+            for (String documentId : matchedDocumentIds) {
+                topDocuments.add(documentsById.get(documentId));
+                if (topDocuments.size() > numberToKeep) {
+                    topDocuments.poll();
+                }
+            }
+            List<IndexedDocument> sortedDocuments = new ArrayList<IndexedDocument>(topDocuments);
+            Collections.sort(sortedDocuments, IndexedDocument.BY_RANK_DESCENDING);
+
+            List<ScoredDocument> results = new ArrayList<ScoredDocument>();
+            for (int i = offset; i < sortedDocuments.size(); i++) {
+                results.add(sortedDocuments.get(i).toScoredDocument());
+            }
+            return new LocalResults(results, matchedDocumentIds.size());
+        }
+
+        int getNumberOfDocuments() {
+            return documentsById.size();
+        }
+
+        /**
+         * Returns the IDs of all documents, or a copy of {@code candidateIds} if it is not null.
+         */
+        Set<String> getDocumentIds(Set<String> candidateIds) {
+            return new HashSet<String>(candidateIds == null ? documentsById.keySet() : candidateIds);
+        }
+
+        /**
+         * Returns the IDs of the documents, among {@code candidateIds} if it is not null, in which a field
+         * ({@code fieldName}, or any field if it is null) contains the {@code words} consecutively.
+         * The last word matches any word with it as prefix if {@code isPrefix}.
+         */
+        Set<String> getDocumentIdsWithWords(String fieldName, List<String> words, boolean isPrefix,
+                                            Set<String> candidateIds) {
+            Set<String> documentIds = new HashSet<String>();
+            if (words.isEmpty()) {
+                return documentIds;
+            }
+
+            if (candidateIds != null && candidateIds.size() < estimateDocumentsWithWords(fieldName, words, isPrefix)) {
+                // checking the few candidates is faster than looking up the words
+                for (String candidateId : candidateIds) {
+                    if (documentsById.get(candidateId).hasConsecutiveWords(fieldName, words, isPrefix)) {
+                        documentIds.add(candidateId);
+                    }
+                }
+                return documentIds;
+            }
+
+            Collection<String> fieldNames =
+                    fieldName == null ? documentIdsByWordByField.keySet() : Collections.singletonList(fieldName);
+            for (String field : fieldNames) {
+                for (String documentId : getDocumentIdsWithAllWords(field, words, isPrefix)) {
+                    if ((candidateIds == null || candidateIds.contains(documentId))
+                            && (!needsPhraseCheck(words, isPrefix)
+                                || documentsById.get(documentId).hasConsecutiveWords(field, words, isPrefix))) {
+                        documentIds.add(documentId);
+                    }
+                }
+            }
+            return documentIds;
+        }
+
+        /**
+         * Returns at least the number of documents in which a field ({@code fieldName}, or any field if it is null)
+         * contains the {@code words}, for deciding the order in which parts of a query are matched.
+         */
+        int estimateDocumentsWithWords(String fieldName, List<String> words, boolean isPrefix) {
+            Collection<String> fieldNames =
+                    fieldName == null ? documentIdsByWordByField.keySet() : Collections.singletonList(fieldName);
+            int estimate = 0;
+            if (words.isEmpty()) {
+                return estimate;
+            }
+            for (String field : fieldNames) {
+                int estimateInField = Integer.MAX_VALUE;
+                for (Set<String> documentIds : getDocumentIdsOfWords(field, words, isPrefix)) {
+                    estimateInField = Math.min(estimateInField, documentIds.size());
+                }
+                estimate += estimateInField;
+            }
+            return estimate;
+        }
+
+        /**
+         * Returns the IDs of the documents in which the field contains all the {@code words} and pairs of them,
+         * though not necessarily as a whole phrase.
+         */
+        private Collection<String> getDocumentIdsWithAllWords(String fieldName, List<String> words, boolean isPrefix) {
+            List<Set<String>> documentIdsOfWords = getDocumentIdsOfWords(fieldName, words, isPrefix);
+            Collections.sort(documentIdsOfWords, new Comparator<Set<String>>() {
+                @Override
+                public int compare(Set<String> documentIds1, Set<String> documentIds2) {
+                    return Integer.compare(documentIds1.size(), documentIds2.size());
+                }
+            });
+
+            // starts from the rarest word, so that the fewest documents are checked
+            Collection<String> documentIds = documentIdsOfWords.get(0);
+            for (int i = 1; i < documentIdsOfWords.size() && !documentIds.isEmpty(); i++) {
+                List<String> documentIdsWithWord = new ArrayList<String>();
+                for (String documentId : documentIds) {
+                    if (documentIdsOfWords.get(i).contains(documentId)) {
+                        documentIdsWithWord.add(documentId);
+                    }
+                }
+                documentIds = documentIdsWithWord;
+            }
+            return documentIds;
+        }
+
+        /**
+         * Returns true if the documents containing all the pairs of consecutive {@code words} may still not contain
+         * the {@code words} consecutively.
+         */
+        private static boolean needsPhraseCheck(List<String> words, boolean isPrefix) {
+            return isPrefix ? words.size() > 1 : words.size() > 2;
+        }
+
+        /**
+         * Returns the IDs of the documents in which the field contains each pair of consecutive {@code words},
+         * or each of the {@code words} if there are not enough words to pair.
+         * The last word is not paired but matched as a prefix if {@code isPrefix}.
+         */
+        private List<Set<String>> getDocumentIdsOfWords(String fieldName, List<String> words, boolean isPrefix) {
+            List<Set<String>> documentIdsOfWords = new ArrayList<Set<String>>();
+            TreeMap<String, Set<String>> documentIdsByWord = documentIdsByWordByField.get(fieldName);
+            if (documentIdsByWord == null) {
+                documentIdsOfWords.add(Collections.<String>emptySet());
+                return documentIdsOfWords;
+            }
+
+            List<String> wordsToPair = isPrefix ? words.subList(0, words.size() - 1) : words;
+            if (wordsToPair.size() == 1) {
+                documentIdsOfWords.add(getDocumentIds(documentIdsByWord, wordsToPair.get(0)));
+            }
+            for (int i = 0; i + 1 < wordsToPair.size(); i++) {
+                documentIdsOfWords.add(getDocumentIds(documentIdsByWordPairByField.get(fieldName),
+                                                      getWordPair(wordsToPair, i)));
+            }
+            if (isPrefix) {
+                Set<String> documentIdsWithPrefix = new HashSet<String>();
+                for (Set<String> documentIds : getWordsWithPrefix(documentIdsByWord, words.get(words.size() - 1)).values()) {
+                    documentIdsWithPrefix.addAll(documentIds);
+                }
+                documentIdsOfWords.add(documentIdsWithPrefix);
+            }
+            return documentIdsOfWords;
+        }
+
+        private static Set<String> getDocumentIds(Map<String, Set<String>> documentIdsByKey, String key) {
+            Set<String> documentIds = documentIdsByKey.get(key);
+            return documentIds == null ? Collections.<String>emptySet() : documentIds;
+        }
+
+        private static SortedMap<String, Set<String>> getWordsWithPrefix(
+                TreeMap<String, Set<String>> documentIdsByWord, String prefix) {
+            return documentIdsByWord.subMap(prefix, prefix + Character.MAX_VALUE);
+        }
+
+    }
+
+    /**
+     * A document put in a {@link LocalIndex}, with the words of each of its text fields.
+     */
+    private static final class IndexedDocument {
+
+        static final Comparator<IndexedDocument> BY_RANK_DESCENDING = new Comparator<IndexedDocument>() {
+            @Override
+            public int compare(IndexedDocument document1, IndexedDocument document2) {
+                int rankComparison = Integer.compare(document2.document.getRank(), document1.document.getRank());
+                return rankComparison == 0
+                       ? Long.compare(document2.putOrder, document1.putOrder)
+                       : rankComparison;
+            }
+        };
+
+        final Document document;
+        final long putOrder;
+
+        /**
+         * The words of every value of each field which has text, in order.
+         */
+        final Map<String, List<List<String>>> wordsByField = new HashMap<String, List<List<String>>>();
+
+        IndexedDocument(Document document, long putOrder) {
+            this.document = document;
+            this.putOrder = putOrder;
+            for (Field field : document.getFields()) {
+                String text = getText(field);
+                if (text == null) {
+                    continue;
+                }
+                List<List<String>> wordsOfField = wordsByField.get(field.getName());
+                if (wordsOfField == null) {
+                    wordsOfField = new ArrayList<List<String>>();
+                    wordsByField.put(field.getName(), wordsOfField);
+                }
+                wordsOfField.add(splitIntoWords(text));
+            }
+        }
+
+        /**
+         * Returns true if a field ({@code fieldName}, or any field if it is null) contains the {@code words}
+         * consecutively.
+         */
+        boolean hasConsecutiveWords(String fieldName, List<String> words, boolean isPrefix) {
+            Collection<List<List<String>>> wordsOfFields =
+                    fieldName == null ? wordsByField.values() : Collections.singletonList(wordsByField.get(fieldName));
+            for (List<List<String>> wordsOfField : wordsOfFields) {
+                if (wordsOfField == null) {
+                    continue;
+                }
+                for (List<String> wordsOfValue : wordsOfField) {
+                    for (int start = 0; start + words.size() <= wordsOfValue.size(); start++) {
+                        if (isMatchAt(wordsOfValue, start, words, isPrefix)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        ScoredDocument toScoredDocument() {
+            ScoredDocument.Builder builder = ScoredDocument.newBuilder();
+            builder.setId(document.getId());
+            builder.setRank(document.getRank());
+            if (document.getLocale() != null) {
+                builder.setLocale(document.getLocale());
+            }
+            for (Field field : document.getFields()) {
+                builder.addField(field);
+            }
+            return builder.build();
+        }
+
+        private static boolean isMatchAt(List<String> wordsOfValue, int start, List<String> words, boolean isPrefix) {
+            for (int i = 0; i < words.size(); i++) {
+                String word = wordsOfValue.get(start + i);
+                boolean isMatch = isPrefix && i == words.size() - 1
+                                  ? word.startsWith(words.get(i))
+                                  : word.equals(words.get(i));
+                if (!isMatch) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String getText(Field field) {
+            if (field.getType() == null) {
+                return null;
+            }
+            switch (field.getType()) {
+            case TEXT:
+                return field.getText();
+            case HTML:
+                return field.getHTML();
+            case ATOM:
+                return field.getAtom();
+            default:
+                return null;
+            }
+        }
+
+    }
+
+    /**
+     * The results of a search in a {@link LocalIndex}.
+     */
+    private static final class LocalResults extends Results<ScoredDocument> {
+
+        private static final long serialVersionUID = 1L;
+
+        LocalResults(List<ScoredDocument> results, long numberFound) {
+            super(new OperationResult(StatusCode.OK, null), results, numberFound, results.size(), null);
+        }
+
+    }
+
+    /**
+     * A part of a query, which matches a set of documents of an index.
+     */
+    private abstract static class Clause {
+
+        /**
+         * Returns the IDs of the matching documents, among {@code candidateIds} if it is not null.
+         * The set returned can be modified by the caller.
+         */
+        abstract Set<String> match(LocalIndex index, Set<String> candidateIds);
+
+        /**
+         * Returns at least the number of matching documents, for deciding the order in which clauses are matched.
+         */
+        abstract int estimateMatches(LocalIndex index);
+
+    }
+
+    /**
+     * A word or phrase, optionally restricted to a field.
+     */
+    private static final class TermClause extends Clause {
+
+        private final String fieldName;
+        private final List<String> words;
+        private final boolean isPrefix;
+
+        TermClause(String fieldName, String term, boolean isPrefix) {
+            this.fieldName = fieldName;
+            this.words = splitIntoWords(term);
+            this.isPrefix = isPrefix;
+        }
+
+        @Override
+        Set<String> match(LocalIndex index, Set<String> candidateIds) {
+            return index.getDocumentIdsWithWords(fieldName, words, isPrefix, candidateIds);
+        }
+
+        @Override
+        int estimateMatches(LocalIndex index) {
+            return index.estimateDocumentsWithWords(fieldName, words, isPrefix);
+        }
+
+    }
+
+    /**
+     * Clauses which all (for {@code AND}) or any (for {@code OR}) have to match.
+     */
+    private static final class BooleanClause extends Clause {
+
+        private final boolean isConjunction;
+        private final List<Clause> clauses;
+
+        BooleanClause(boolean isConjunction, List<Clause> clauses) {
+            this.isConjunction = isConjunction;
+            this.clauses = clauses;
+        }
+
+        @Override
+        Set<String> match(final LocalIndex index, Set<String> candidateIds) {
+            if (!isConjunction) {
+                Set<String> documentIds = new HashSet<String>();
+                for (Clause clause : clauses) {
+                    documentIds.addAll(clause.match(index, candidateIds));
+                }
+                return documentIds;
+            }
+
+            // matches the clause with the fewest matches first, so that the others only check those matches
+            List<Clause> clausesByMatches = new ArrayList<Clause>(clauses);
+            final Map<Clause, Integer> estimates = new HashMap<Clause, Integer>();
+            for (Clause clause : clauses) {
+                estimates.put(clause, clause.estimateMatches(index));
+            }
+            Collections.sort(clausesByMatches, new Comparator<Clause>() {
+                @Override
+                public int compare(Clause clause1, Clause clause2) {
+                    return estimates.get(clause1).compareTo(estimates.get(clause2));
+                }
+            });
+            Set<String> documentIds = candidateIds;
+            for (Clause clause : clausesByMatches) {
+                documentIds = clause.match(index, documentIds);
+                if (documentIds.isEmpty()) {
+                    break;
+                }
+            }
+            return documentIds;
+        }
+
+        @Override
+        int estimateMatches(LocalIndex index) {
+            int estimate = isConjunction ? Integer.MAX_VALUE : 0;
+            for (Clause clause : clauses) {
+                estimate = isConjunction
+                           ? Math.min(estimate, clause.estimateMatches(index))
+                           : estimate + clause.estimateMatches(index);
+            }
+            return estimate;
+        }
+
+    }
+
+    /**
+     * A clause which must not match.
+     */
+    private static final class NotClause extends Clause {
+
+        private final Clause clause;
+
+        NotClause(Clause clause) {
+            this.clause = clause;
+        }
+
+        @Override
+        Set<String> match(LocalIndex index, Set<String> candidateIds) {
+            Set<String> documentIds = index.getDocumentIds(candidateIds);
+            documentIds.removeAll(clause.match(index, candidateIds));
+            return documentIds;
+        }
+
+        @Override
+        int estimateMatches(LocalIndex index) {
+            return index.getNumberOfDocuments();
+        }
+
+    }
+
+    /**
+     * A clause which matches every document, for an empty query.
+     */
+    private static final class AllClause extends Clause {
+
+        @Override
+        Set<String> match(LocalIndex index, Set<String> candidateIds) {
+            return index.getDocumentIds(candidateIds);
+        }
+
+        @Override
+        int estimateMatches(LocalIndex index) {
+            return index.getNumberOfDocuments();
+        }
+
+    }
+
+    /**
+     * Parses a query string into a {@link Clause}.
+     */
+    private static final class QueryParser {
+
+        private static final String AND = "AND";
+        private static final String OR = "OR";
+        private static final String NOT = "NOT";
+
+        private final String queryString;
+        private int position;
+
+        QueryParser(String queryString) {
+            this.queryString = queryString;
+        }
+
+        Clause parse() {
+            skipWhitespace();
+            if (position == queryString.length()) {
+                return new AllClause();
+            }
+            Clause clause = parseDisjunction(null);
+            if (position < queryString.length()) {
+                throw new SearchQueryException("Unexpected '" + queryString.charAt(position) + "' in query: "
+                                               + queryString);
+            }
+            return clause;
+        }
+
+        private Clause parseDisjunction(String fieldName) {
+            List<Clause> clauses = new ArrayList<Clause>();
+            clauses.add(parseConjunction(fieldName));
+            while (consumeKeyword(OR)) {
+                clauses.add(parseConjunction(fieldName));
+            }
+            return clauses.size() == 1 ? clauses.get(0) : new BooleanClause(false, clauses);
+        }
+
+        private Clause parseConjunction(String fieldName) {
+            List<Clause> clauses = new ArrayList<Clause>();
+            clauses.add(parseNegation(fieldName));
+            while (true) {
+                if (consumeKeyword(AND)) {
+                    clauses.add(parseNegation(fieldName));
+                } else if (isAtEndOfClause() || isAtKeyword(OR)) {
+                    break;
+                } else {
+                    clauses.add(parseNegation(fieldName)); // terms next to each other are implicitly in AND
+                }
+            }
+            return clauses.size() == 1 ? clauses.get(0) : new BooleanClause(true, clauses);
+        }
+
+        private Clause parseNegation(String fieldName) {
+            if (consumeKeyword(NOT)) {
+                return new NotClause(parseNegation(fieldName));
+            }
+            return parseTerm(fieldName);
+        }
+
+        private Clause parseTerm(String fieldName) {
+            skipWhitespace();
+            if (isAtEndOfClause()) {
+                throw new SearchQueryException("Missing term in query: " + queryString);
+            }
+
+            char c = queryString.charAt(position);
+            if (c == '(') {
+                position++;
+                Clause clause = parseDisjunction(fieldName);
+                skipWhitespace();
+                if (position == queryString.length() || queryString.charAt(position) != ')') {
+                    throw new SearchQueryException("Missing ')' in query: " + queryString);
+                }
+                position++;
+                return clause;
+            }
+            if (c == '"') {
+                int end = queryString.indexOf('"', position + 1);
+                if (end == -1) {
+                    throw new SearchQueryException("Missing '\"' in query: " + queryString);
+                }
+                String phrase = queryString.substring(position + 1, end);
+                position = end + 1;
+                return new TermClause(fieldName, phrase, false);
+            }
+
+            String word = readWord();
+            if (word.isEmpty()) {
+                throw new SearchQueryException("Unexpected '" + c + "' in query: " + queryString);
+            }
+            if (fieldName == null && position < queryString.length() && queryString.charAt(position) == ':') {
+                position++;
+                return parseTerm(word);
+            }
+            boolean isPrefix = word.endsWith("*");
+            return new TermClause(fieldName, isPrefix ? word.substring(0, word.length() - 1) : word, isPrefix);
+        }
+
+        private String readWord() {
+            int start = position;
+            while (position < queryString.length() && !isDelimiter(queryString.charAt(position))) {
+                position++;
+            }
+            return queryString.substring(start, position);
+        }
+
+        private boolean consumeKeyword(String keyword) {
+            if (!isAtKeyword(keyword)) {
+                return false;
+            }
+            position += keyword.length();
+            return true;
+        }
+
+        private boolean isAtKeyword(String keyword) {
+            skipWhitespace();
+            int end = position + keyword.length();
+            return queryString.startsWith(keyword, position)
+                   && (end == queryString.length() || Character.isWhitespace(queryString.charAt(end))
+                       || queryString.charAt(end) == '(' || queryString.charAt(end) == '"');
+        }
+
+        private boolean isAtEndOfClause() {
+            skipWhitespace();
+            return position == queryString.length() || queryString.charAt(position) == ')';
+        }
+
+        private void skipWhitespace() {
+            while (position < queryString.length() && Character.isWhitespace(queryString.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isDelimiter(char c) {
+            return Character.isWhitespace(c) || c == '(' || c == ')' || c == '"' || c == ':';
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package teammates.storage.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Index;
+import com.google.appengine.api.search.IndexSpec;
+import com.google.appengine.api.search.PutResponse;
+import com.google.appengine.api.search.Query;
+import com.google.appengine.api.search.Results;
+import com.google.appengine.api.search.ScoredDocument;
+import com.google.appengine.api.search.SearchServiceFactory;
+import com.google.appengine.api.search.StatusCode;
+
+/**
+ * The {@link SearchBackend} which stores documents with the GAE Search API.
+ *
+ * @see <a href="https://cloud.google.com/appengine/docs/java/search/">https://cloud.google.com/appengine/docs/java/search/</a>
+ */
+public class SearchApiBackend implements SearchBackend {
+
+    private static final ThreadLocal<Map<String, Index>> PER_THREAD_INDICES_TABLE = new ThreadLocal<Map<String, Index>>();
+
+    @Override
+    public List<Document> putDocuments(String indexName, List<Document> documents) {
+        PutResponse result = getIndex(indexName).put(documents);
+        List<Document> failedDocuments = new ArrayList<Document>();
+        for (int i = 0; i < documents.size(); i++) {
+            boolean isSuccessful = result.getResults().get(i).getCode() == StatusCode.OK;
+            if (!isSuccessful) {
+                failedDocuments.add(documents.get(i));
+            }
+        }
+        return failedDocuments;
+    }
+
+    @Override
+    public Results<ScoredDocument> searchDocuments(String indexName, Query query) {
+        return getIndex(indexName).search(query);
+    }
+
+    @Override
+    public void deleteDocument(String indexName, String documentId) {
+        getIndex(indexName).deleteAsync(documentId);
+    }
+
+    private static Index getIndex(String indexName) {
+        Map<String, Index> indicesTable = getIndicesTable();
+        Index index = indicesTable.get(indexName);
+        if (index == null) {
+            IndexSpec indexSpec = IndexSpec.newBuilder().setName(indexName).build();
+            index = SearchServiceFactory.getSearchService().getIndex(indexSpec);
+            indicesTable.put(indexName, index);
+        }
+        return index;
+    }
+
+    private static Map<String, Index> getIndicesTable() {
+        Map<String, Index> indicesTable = PER_THREAD_INDICES_TABLE.get();
+        if (indicesTable == null) {
+            indicesTable = new HashMap<String, Index>();
+            PER_THREAD_INDICES_TABLE.set(indicesTable);
+        }
+        return indicesTable;
+    }
+
+}
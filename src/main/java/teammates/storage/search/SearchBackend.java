@@ -0,0 +1,35 @@
+package teammates.storage.search;
+
+import java.util.List;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Query;
+import com.google.appengine.api.search.Results;
+import com.google.appengine.api.search.ScoredDocument;
+
+/**
+ * A service which stores {@link Document} in indexes and searches them, used by {@link SearchManager}.
+ */
+public interface SearchBackend {
+
+    /**
+     * Creates or updates the {@code documents} in the index in one call to the service.
+     *
+     * <p>A {@link com.google.appengine.api.search.PutException} is thrown if the service fails to put
+     * any of the documents.
+     *
+     * @return the documents which have not been put successfully
+     */
+    List<Document> putDocuments(String indexName, List<Document> documents);
+
+    /**
+     * Searches the index for the documents matching the {@code query}.
+     */
+    Results<ScoredDocument> searchDocuments(String indexName, Query query);
+
+    /**
+     * Deletes the document from the index, without waiting for the deletion to complete if the service allows.
+     */
+    void deleteDocument(String indexName, String documentId);
+
+}
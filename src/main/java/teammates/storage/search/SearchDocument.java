@@ -42,6 +42,11 @@ public abstract class SearchDocument {
         return toDocument();
     }
 
+    /**
+     * Returns the ID of the search document, which is known without building the document.
+     */
+    public abstract String getId();
+
     protected abstract void prepareData();
 
     protected abstract Document toDocument();
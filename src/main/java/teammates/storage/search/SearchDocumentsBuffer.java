@@ -0,0 +1,74 @@
+package teammates.storage.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the IDs of the search documents put by the current thread while a request is being processed,
+ * so that the documents can be built and put after the request instead of one by one within it.
+ *
+ * <p>Documents are only collected between {@link #start()} and {@link #stop()}; outside of that every
+ * document is put right away as before. A document put repeatedly within the request is collected once.
+ */
+public final class SearchDocumentsBuffer {
+
+    private static final ThreadLocal<SearchDocumentsBuffer> PER_THREAD_BUFFER = new ThreadLocal<SearchDocumentsBuffer>();
+
+    private final Map<String, Set<String>> documentIdsByIndex = new LinkedHashMap<String, Set<String>>();
+
+    private SearchDocumentsBuffer() {
+        // only created through start()
+    }
+
+    /**
+     * Starts collecting the search documents put by the current thread, discarding any document collected before.
+     */
+    public static void start() {
+        PER_THREAD_BUFFER.set(new SearchDocumentsBuffer());
+    }
+
+    /**
+     * Stops collecting the search documents put by the current thread.
+     *
+     * @return the IDs of the collected documents, by the name of their search index,
+     *         or an empty map if collecting was not started
+     */
+    public static Map<String, List<String>> stop() {
+        Map<String, List<String>> documentIds = new LinkedHashMap<String, List<String>>();
+        SearchDocumentsBuffer buffer = PER_THREAD_BUFFER.get();
+        if (buffer == null) {
+            return documentIds;
+        }
+        PER_THREAD_BUFFER.remove();
+
+        for (Map.Entry<String, Set<String>> entry : buffer.documentIdsByIndex.entrySet()) {
+            documentIds.put(entry.getKey(), new ArrayList<String>(entry.getValue()));
+        }
+        return documentIds;
+    }
+
+    /**
+     * Collects the document to be put later if collecting is started.
+     *
+     * @return true if the document has been collected, false if it has to be put right away
+     */
+    public static boolean add(String indexName, String documentId) {
+        SearchDocumentsBuffer buffer = PER_THREAD_BUFFER.get();
+        if (buffer == null || documentId == null) {
+            return false;
+        }
+
+        Set<String> documentIds = buffer.documentIdsByIndex.get(indexName);
+        if (documentIds == null) {
+            documentIds = new LinkedHashSet<String>();
+            buffer.documentIdsByIndex.put(indexName, documentIds);
+        }
+        documentIds.add(documentId);
+        return true;
+    }
+
+}
@@ -29,6 +29,11 @@ public class StudentSearchDocument extends SearchDocument {
         this.student = student;
     }
 
+    @Override
+    public String getId() {
+        return student.key;
+    }
+
     @Override
     protected void prepareData() {
         if (student == null) {
@@ -62,7 +67,7 @@ public class StudentSearchDocument extends SearchDocument {
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_ATTRIBUTE)
                                             .setText(JsonUtils.toJson(student)))
-                .setId(student.key)
+                .setId(getId())
                 .build();
     }
 
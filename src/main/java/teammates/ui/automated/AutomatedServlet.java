@@ -10,6 +10,7 @@ import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Logger;
 import teammates.logic.api.GateKeeper;
+import teammates.logic.api.Logic;
 
 /**
  * Receives automated requests from the App Engine server and executes the matching automated action.
@@ -26,6 +27,10 @@ public class AutomatedServlet extends HttpServlet {
 
     @Override
     public void doPost(HttpServletRequest req, HttpServletResponse resp) {
+        Logic logic = new Logic();
+        logic.startCachingEntities();
+        logic.startRecordingWrites();
+
         try {
             AutomatedAction action = new AutomatedActionFactory().getAction(req, resp);
             UserType userType = new GateKeeper().getCurrentUser();
@@ -44,6 +49,9 @@ public class AutomatedServlet extends HttpServlet {
             String requestParams = HttpRequestHelper.printRequestParameters(req);
             log.severe("Exception occured while performing " + requestUrl + "|||"
                        + requestParams + "|||" + TeammatesException.toStringWithStackTrace(e));
+        } finally {
+            logic.stopCachingEntities();
+            logic.stopRecordingWrites();
         }
     }
 
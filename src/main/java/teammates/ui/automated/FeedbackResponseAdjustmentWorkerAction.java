@@ -16,8 +16,8 @@ import teammates.common.util.Logger;
 import teammates.logic.api.GateKeeper;
 
 /**
- * Task queue worker action: adjusts feedback responses in the database due to
- * change in student enrollment details of a course.
+ * Task queue worker action: adjusts feedback responses of all feedback sessions of a course in the database
+ * due to change in student enrollment details of the course.
  */
 public class FeedbackResponseAdjustmentWorkerAction extends AutomatedAction {
 
@@ -38,38 +38,31 @@ public class FeedbackResponseAdjustmentWorkerAction extends AutomatedAction {
         String courseId = getRequestParamValue(ParamsNames.COURSE_ID);
         Assumption.assertNotNull(courseId);
 
-        String sessionName = getRequestParamValue(ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
-
         String enrollmentDetails = getRequestParamValue(ParamsNames.ENROLLMENT_DETAILS);
         Assumption.assertNotNull(enrollmentDetails);
 
-        log.info("Adjusting submissions for feedback session :" + sessionName + "in course : " + courseId);
-
-        FeedbackSessionAttributes feedbackSession = logic.getFeedbackSession(sessionName, courseId);
+        List<StudentEnrollDetails> enrollmentList =
+                JsonUtils.fromJson(enrollmentDetails, new TypeToken<List<StudentEnrollDetails>>(){}.getType());
 
         String errorString = "Error encountered while adjusting feedback session responses of %s in course %s: %s%n%s";
 
-        if (feedbackSession == null) {
-            log.severe(String.format(errorString, sessionName, courseId, "feedback session is null", ""));
-            setForRetry();
-            return;
-        }
-
-        List<FeedbackResponseAttributes> allResponses =
-                logic.getFeedbackResponsesForSession(feedbackSession.getFeedbackSessionName(),
-                                                     feedbackSession.getCourseId());
-        List<StudentEnrollDetails> enrollmentList =
-                JsonUtils.fromJson(enrollmentDetails, new TypeToken<List<StudentEnrollDetails>>(){}.getType());
-        for (FeedbackResponseAttributes response : allResponses) {
-            try {
-                logic.adjustFeedbackResponseForEnrollments(enrollmentList, response);
-            } catch (Exception e) {
-                UserType userType = new GateKeeper().getCurrentUser();
-                log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
-                                         ActivityLogEntry.generateServletActionFailureLogMessage(request, e, userType)));
-                setForRetry();
-                return;
+        List<FeedbackSessionAttributes> feedbackSessions = logic.getFeedbackSessionsForCourse(courseId);
+        for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+            String sessionName = feedbackSession.getFeedbackSessionName();
+            log.info("Adjusting submissions for feedback session :" + sessionName + "in course : " + courseId);
+
+            List<FeedbackResponseAttributes> allResponses =
+                    logic.getFeedbackResponsesForSession(sessionName, courseId);
+            for (FeedbackResponseAttributes response : allResponses) {
+                try {
+                    logic.adjustFeedbackResponseForEnrollments(enrollmentList, response);
+                } catch (Exception e) {
+                    UserType userType = new GateKeeper().getCurrentUser();
+                    log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
+                                             ActivityLogEntry.generateServletActionFailureLogMessage(request, e, userType)));
+                    setForRetry();
+                    return;
+                }
             }
         }
     }
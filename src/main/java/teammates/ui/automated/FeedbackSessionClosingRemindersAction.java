@@ -4,9 +4,8 @@ import java.util.List;
 
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.exception.TeammatesException;
-import teammates.common.util.EmailWrapper;
+import teammates.common.util.EmailType;
 import teammates.common.util.Logger;
-import teammates.logic.api.EmailGenerator;
 
 /**
  * Cron job: schedules feedback session closing emails to be sent.
@@ -30,9 +29,9 @@ public class FeedbackSessionClosingRemindersAction extends AutomatedAction {
         List<FeedbackSessionAttributes> sessions = logic.getFeedbackSessionsClosingWithinTimeLimit();
 
         for (FeedbackSessionAttributes session : sessions) {
-            List<EmailWrapper> emailsToBeSent = new EmailGenerator().generateFeedbackSessionClosingEmails(session);
             try {
-                taskQueuer.scheduleEmailsForSending(emailsToBeSent);
+                taskQueuer.scheduleFeedbackSessionEmailsPreparation(session.getCourseId(),
+                        session.getFeedbackSessionName(), EmailType.FEEDBACK_CLOSING);
                 session.setSentClosingEmail(true);
                 logic.updateFeedbackSession(session);
             } catch (Exception e) {
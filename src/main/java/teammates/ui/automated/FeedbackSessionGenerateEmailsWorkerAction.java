@@ -0,0 +1,84 @@
+package teammates.ui.automated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailType;
+import teammates.common.util.EmailWrapper;
+import teammates.common.util.Logger;
+import teammates.logic.api.EmailGenerator;
+
+/**
+ * Task queue worker action: generates the opening, closing or published emails of a particular session
+ * for a batch of students and instructors of its course, and schedules them to be sent in batches,
+ * each of which is sent by one task of the send-email-queue in one call to the email sending service.
+ *
+ * @see FeedbackSessionPrepareEmailsWorkerAction
+ */
+public class FeedbackSessionGenerateEmailsWorkerAction extends AutomatedAction {
+
+    private static final Logger log = Logger.getLogger();
+
+    @Override
+    protected String getActionDescription() {
+        return null;
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return null;
+    }
+
+    @Override
+    public void execute() {
+        String feedbackSessionName = getNonNullRequestParamValue(ParamsNames.EMAIL_FEEDBACK);
+        String courseId = getNonNullRequestParamValue(ParamsNames.EMAIL_COURSE);
+        EmailType emailType = EmailType.valueOf(getNonNullRequestParamValue(ParamsNames.EMAIL_TYPE));
+        String[] studentEmails = getRequestParamValues(ParamsNames.EMAIL_STUDENT_RECEIVERS);
+        String[] instructorEmails = getRequestParamValues(ParamsNames.EMAIL_INSTRUCTOR_RECEIVERS);
+
+        FeedbackSessionAttributes session = logic.getFeedbackSession(feedbackSessionName, courseId);
+        if (session == null) {
+            log.severe("Feedback session object for feedback session name: " + feedbackSessionName
+                       + " for course: " + courseId + " could not be fetched.");
+            return;
+        }
+
+        CourseRoster roster = logic.getCourseRoster(courseId);
+
+        // recipients who have left the course since the batches were prepared are skipped
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        if (studentEmails != null) {
+            for (String studentEmail : studentEmails) {
+                StudentAttributes student = roster.getStudentForEmail(studentEmail);
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+        }
+        List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+        if (instructorEmails != null) {
+            for (String instructorEmail : instructorEmails) {
+                InstructorAttributes instructor = roster.getInstructorForEmail(instructorEmail);
+                if (instructor != null) {
+                    instructors.add(instructor);
+                }
+            }
+        }
+
+        List<EmailWrapper> emailsToBeSent =
+                new EmailGenerator().generateFeedbackSessionEmails(session, emailType, students, instructors);
+        try {
+            taskQueuer.scheduleEmailBatchesForSending(emailSender.groupIntoBatches(emailsToBeSent));
+        } catch (Exception e) {
+            log.severe("Unexpected error: " + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+
+}
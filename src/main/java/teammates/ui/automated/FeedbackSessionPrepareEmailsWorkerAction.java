@@ -0,0 +1,85 @@
+package teammates.ui.automated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailType;
+import teammates.common.util.Logger;
+import teammates.logic.api.EmailGenerator;
+
+/**
+ * Task queue worker action: prepares the opening, closing or published emails of a particular session
+ * by splitting the students and instructors of its course into batches, each of which is scheduled
+ * for its emails to be generated and sent separately.
+ */
+public class FeedbackSessionPrepareEmailsWorkerAction extends AutomatedAction {
+
+    /**
+     * The maximum number of recipients whose emails are generated by one task.
+     */
+    public static final int RECIPIENTS_PER_BATCH = 100;
+
+    private static final Logger log = Logger.getLogger();
+
+    @Override
+    protected String getActionDescription() {
+        return null;
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return null;
+    }
+
+    @Override
+    public void execute() {
+        String feedbackSessionName = getNonNullRequestParamValue(ParamsNames.EMAIL_FEEDBACK);
+        String courseId = getNonNullRequestParamValue(ParamsNames.EMAIL_COURSE);
+        EmailType emailType = EmailType.valueOf(getNonNullRequestParamValue(ParamsNames.EMAIL_TYPE));
+
+        FeedbackSessionAttributes session = logic.getFeedbackSession(feedbackSessionName, courseId);
+        if (session == null) {
+            log.severe("Feedback session object for feedback session name: " + feedbackSessionName
+                       + " for course: " + courseId + " could not be fetched.");
+            return;
+        }
+        if (!new EmailGenerator().isFeedbackSessionEmailNeeded(session, emailType)) {
+            return;
+        }
+
+        CourseRoster roster = logic.getCourseRoster(courseId);
+
+        List<String> studentEmails = new ArrayList<String>();
+        for (StudentAttributes student : roster.getStudents()) {
+            studentEmails.add(student.email);
+        }
+        List<String> instructorEmails = new ArrayList<String>();
+        for (InstructorAttributes instructor : roster.getInstructors()) {
+            instructorEmails.add(instructor.email);
+        }
+
+        List<String> noEmails = new ArrayList<String>();
+        for (List<String> batch : splitIntoBatches(studentEmails)) {
+            taskQueuer.scheduleFeedbackSessionEmailsGeneration(courseId, feedbackSessionName, emailType,
+                                                               batch, noEmails);
+        }
+        for (List<String> batch : splitIntoBatches(instructorEmails)) {
+            taskQueuer.scheduleFeedbackSessionEmailsGeneration(courseId, feedbackSessionName, emailType,
+                                                               noEmails, batch);
+        }
+    }
+
+    private static List<List<String>> splitIntoBatches(List<String> emails) {
+        List<List<String>> batches = new ArrayList<List<String>>();
+        for (int i = 0; i < emails.size(); i += RECIPIENTS_PER_BATCH) {
+            batches.add(emails.subList(i, Math.min(i + RECIPIENTS_PER_BATCH, emails.size())));
+        }
+        return batches;
+    }
+
+}
@@ -0,0 +1,126 @@
+package teammates.ui.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import teammates.common.datatransfer.attributes.CommentAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Logger;
+import teammates.common.util.StringHelper;
+
+/**
+ * Task queue worker action: puts the search documents with the given IDs in a search index.
+ *
+ * <p>Every document is built from the current state of the entity it belongs to, so a document
+ * scheduled more than once is put once, and documents of entities deleted in the meantime are skipped.
+ * The documents are put in as few batches as the Search API allows.
+ *
+ * <p>Students and instructors are found by queries on their registration keys, which may not yet see
+ * entities created just before. The task is retried if any of them is not found, so that its document
+ * is put once the entity is visible, up to the retry limit of the queue.
+ */
+public class PutSearchDocumentsWorkerAction extends AutomatedAction {
+
+    private static final Logger log = Logger.getLogger();
+
+    @Override
+    protected String getActionDescription() {
+        return null;
+    }
+
+    @Override
+    protected String getActionMessage() {
+        return null;
+    }
+
+    @Override
+    public void execute() {
+        String indexName = getNonNullRequestParamValue(ParamsNames.SEARCH_INDEX);
+        String[] documentIds = getNonNullRequestParamValues(ParamsNames.SEARCH_DOCUMENT_ID);
+
+        Set<String> uniqueDocumentIds = new LinkedHashSet<String>(Arrays.asList(documentIds));
+
+        switch (indexName) {
+        case Const.SearchIndex.STUDENT:
+            putStudentDocuments(uniqueDocumentIds);
+            break;
+        case Const.SearchIndex.INSTRUCTOR:
+            putInstructorDocuments(uniqueDocumentIds);
+            break;
+        case Const.SearchIndex.COMMENT:
+            putCommentDocuments(uniqueDocumentIds);
+            break;
+        case Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT:
+            putFeedbackResponseCommentDocuments(uniqueDocumentIds);
+            break;
+        default:
+            Assumption.fail("Unknown search index: " + indexName);
+            break;
+        }
+    }
+
+    private void putStudentDocuments(Set<String> documentIds) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (String documentId : documentIds) {
+            // the document ID of a student is its unencrypted registration key
+            StudentAttributes student = logic.getStudentForRegistrationKey(StringHelper.encrypt(documentId));
+            if (student == null) {
+                log.info("Student for search document " + documentId + " was not found, the task will be retried");
+                setForRetry();
+                continue;
+            }
+            students.add(student);
+        }
+        logic.putStudentDocuments(students);
+    }
+
+    private void putInstructorDocuments(Set<String> documentIds) {
+        List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+        for (String documentId : documentIds) {
+            // the document ID of an instructor is its encrypted registration key
+            InstructorAttributes instructor = logic.getInstructorForRegistrationKey(documentId);
+            if (instructor == null) {
+                log.info("Instructor for search document " + documentId + " was not found, the task will be retried");
+                setForRetry();
+                continue;
+            }
+            instructors.add(instructor);
+        }
+        logic.putInstructorDocuments(instructors);
+    }
+
+    private void putCommentDocuments(Set<String> documentIds) {
+        List<CommentAttributes> comments = new ArrayList<CommentAttributes>();
+        for (String documentId : documentIds) {
+            CommentAttributes comment = logic.getComment(Long.valueOf(documentId));
+            if (comment == null) {
+                log.info("Comment for search document " + documentId + " was not found");
+                continue;
+            }
+            comments.add(comment);
+        }
+        logic.putCommentDocuments(comments);
+    }
+
+    private void putFeedbackResponseCommentDocuments(Set<String> documentIds) {
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (String documentId : documentIds) {
+            FeedbackResponseCommentAttributes comment = logic.getFeedbackResponseComment(Long.valueOf(documentId));
+            if (comment == null) {
+                log.info("Feedback response comment for search document " + documentId + " was not found");
+                continue;
+            }
+            comments.add(comment);
+        }
+        logic.putFeedbackResponseCommentDocuments(comments);
+    }
+
+}
@@ -1,5 +1,8 @@
 package teammates.ui.automated;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const.ParamsNames;
@@ -28,30 +31,47 @@ public class SendEmailWorkerAction extends AutomatedAction {
         String emailSubject = getRequestParamValue(ParamsNames.EMAIL_SUBJECT);
         Assumption.assertNotNull(emailSubject);
 
-        String emailContent = getRequestParamValue(ParamsNames.EMAIL_CONTENT);
-        Assumption.assertNotNull(emailContent);
+        String[] emailContents = getRequestParamValues(ParamsNames.EMAIL_CONTENT);
+        Assumption.assertNotNull(emailContents);
 
         String emailSenderEmail = getRequestParamValue(ParamsNames.EMAIL_SENDER);
         Assumption.assertNotNull(emailSenderEmail);
 
         String emailSenderName = getRequestParamValue(ParamsNames.EMAIL_SENDERNAME);
 
-        String emailReceiver = getRequestParamValue(ParamsNames.EMAIL_RECEIVER);
-        Assumption.assertNotNull(emailReceiver);
+        String[] emailReceivers = getRequestParamValues(ParamsNames.EMAIL_RECEIVER);
+        Assumption.assertNotNull(emailReceivers);
+        Assumption.assertEquals(emailReceivers.length, emailContents.length);
 
         String emailReply = getRequestParamValue(ParamsNames.EMAIL_REPLY_TO_ADDRESS);
         Assumption.assertNotNull(emailReply);
 
-        EmailWrapper message = new EmailWrapper();
-        message.setRecipient(emailReceiver);
-        message.setSenderEmail(emailSenderEmail);
-        if (emailSenderName != null) {
-            message.setSenderName(emailSenderName);
+        // a batch of emails is sent in one call to the email sending service, under an ID which keeps it from
+        // being sent again if the task is retried after sending it
+        String emailBatchId = getRequestParamValue(ParamsNames.EMAIL_BATCH_ID);
+
+        List<EmailWrapper> messages = new ArrayList<EmailWrapper>();
+        for (int i = 0; i < emailReceivers.length; i++) {
+            EmailWrapper message = new EmailWrapper();
+            message.setRecipient(emailReceivers[i]);
+            message.setSenderEmail(emailSenderEmail);
+            if (emailSenderName != null) {
+                message.setSenderName(emailSenderName);
+            }
+            message.setContent(emailContents[i]);
+            message.setSubject(emailSubject);
+            message.setReplyTo(emailReply);
+            messages.add(message);
         }
-        message.setContent(emailContent);
-        message.setSubject(emailSubject);
-        message.setReplyTo(emailReply);
 
+        if (emailBatchId == null) {
+            sendEmail(messages.get(0));
+        } else {
+            sendEmailBatch(emailBatchId, messages);
+        }
+    }
+
+    private void sendEmail(EmailWrapper message) {
         try {
             emailSender.sendEmail(message);
         } catch (Exception e) {
@@ -60,4 +80,14 @@ public class SendEmailWorkerAction extends AutomatedAction {
         }
     }
 
+    private void sendEmailBatch(String emailBatchId, List<EmailWrapper> messages) {
+        // the emails of a batch share their headers and are sent in the same call, so either all or none are sent
+        List<EmailWrapper> unsentMessages = emailSender.sendEmailBatch(emailBatchId, messages);
+        if (!unsentMessages.isEmpty()) {
+            log.severe("Error while sending " + unsentMessages.size() + " emails of batch " + emailBatchId
+                       + " via servlet");
+            setForRetry();
+        }
+    }
+
 }
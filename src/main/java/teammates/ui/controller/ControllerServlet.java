@@ -3,6 +3,7 @@ package teammates.ui.controller;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -25,6 +26,8 @@ import teammates.common.util.Logger;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.StatusMessageColor;
 import teammates.logic.api.GateKeeper;
+import teammates.logic.api.Logic;
+import teammates.logic.api.TaskQueuer;
 
 /**
  * Receives requests from the Browser, executes the matching action and sends
@@ -45,6 +48,11 @@ public class ControllerServlet extends HttpServlet {
     @SuppressWarnings("PMD.AvoidCatchingThrowable") // used as fallback
     public final void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
 
+        Logic logic = new Logic();
+        logic.startCachingEntities();
+        logic.startRecordingWrites();
+        logic.startBufferingSearchDocuments();
+
         UserType userType = new GateKeeper().getCurrentUser();
 
         try {
@@ -130,10 +138,25 @@ public class ControllerServlet extends HttpServlet {
                         + TeammatesException.toStringWithStackTrace(t));
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.ERROR_PAGE);
+        } finally {
+            logic.stopCachingEntities();
+            logic.stopRecordingWrites();
+            scheduleSearchDocumentsProduction(logic.stopBufferingSearchDocuments());
         }
 
     }
 
+    /**
+     * Schedules the search documents put while processing the request to be put after it,
+     * so that updating the search index does not add to the time taken by the request.
+     */
+    private void scheduleSearchDocumentsProduction(Map<String, List<String>> documentIdsByIndex) {
+        TaskQueuer taskQueuer = new TaskQueuer();
+        for (Map.Entry<String, List<String>> entry : documentIdsByIndex.entrySet()) {
+            taskQueuer.scheduleSearchDocumentsProduction(entry.getKey(), entry.getValue());
+        }
+    }
+
     private void cleanUpStatusMessageInSession(HttpServletRequest req) {
         req.getSession().removeAttribute(Const.ParamsNames.STATUS_MESSAGES_LIST);
     }
@@ -9,6 +9,7 @@ import java.util.TimeZone;
 
 import com.google.appengine.api.datastore.Text;
 
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
@@ -45,7 +46,8 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
     protected boolean isSendSubmissionEmail;
     protected List<FeedbackResponseAttributes> responsesToSave = new ArrayList<FeedbackResponseAttributes>();
     protected List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
-    protected List<FeedbackResponseAttributes> responsesToUpdate = new ArrayList<FeedbackResponseAttributes>();
+
+    private CourseRoster roster;
 
     @Override
     protected ActionResult execute() throws EntityDoesNotExistException {
@@ -136,13 +138,14 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
                     errors.add(String.format(Const.StatusMessages.FEEDBACK_RESPONSES_MISSING_RECIPIENT, questionIndx));
                 }
 
+                response.giver = questionAttributes.giverType.isTeam() ? userTeamForCourse
+                                                                            : userEmailForCourse;
+                response.giverSection = userSectionForCourse;
+
                 if (response.responseMetaData.getValue().isEmpty()) {
                     // deletes the response since answer is empty
                     addToPendingResponses(response);
                 } else {
-                    response.giver = questionAttributes.giverType.isTeam() ? userTeamForCourse
-                                                                                : userEmailForCourse;
-                    response.giverSection = userSectionForCourse;
                     responsesForQuestion.add(response);
                 }
             }
@@ -172,9 +175,7 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             }
         }
 
-        saveNewReponses(responsesToSave);
-        deleteResponses(responsesToDelete);
-        updateResponses(responsesToUpdate);
+        saveResponses();
 
         if (!isError) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESPONSES_SAVED, StatusMessageColor.SUCCESS));
@@ -258,41 +259,22 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
                 responsesToDelete.add(response);
                 return;
             }
-            responsesToUpdate.add(response);
+            responsesToSave.add(response);
         } else if (!response.responseMetaData.getValue().isEmpty()
                    && !response.recipient.isEmpty()) {
             responsesToSave.add(response);
         }
     }
 
-    private void saveNewReponses(List<FeedbackResponseAttributes> responsesToSave)
-            throws EntityDoesNotExistException {
+    private void saveResponses() throws EntityDoesNotExistException {
         try {
-            logic.createFeedbackResponses(responsesToSave);
+            logic.saveFeedbackResponses(feedbackSessionName, courseId, responsesToSave, responsesToDelete);
             hasValidResponse = true;
-        } catch (InvalidParametersException e) {
+        } catch (EntityAlreadyExistsException | InvalidParametersException e) {
             setStatusForException(e);
         }
     }
 
-    private void deleteResponses(List<FeedbackResponseAttributes> responsesToDelete) {
-        for (FeedbackResponseAttributes response : responsesToDelete) {
-            logic.deleteFeedbackResponse(response);
-        }
-    }
-
-    private void updateResponses(List<FeedbackResponseAttributes> responsesToUpdate)
-            throws EntityDoesNotExistException {
-        for (FeedbackResponseAttributes response : responsesToUpdate) {
-            try {
-                logic.updateFeedbackResponse(response);
-                hasValidResponse = true;
-            } catch (EntityAlreadyExistsException | InvalidParametersException e) {
-                setStatusForException(e);
-            }
-        }
-    }
-
     private FeedbackResponseAttributes extractFeedbackResponseData(
             Map<String, String[]> requestParameters, int questionIndx, int responseIndx,
             FeedbackQuestionAttributes feedbackQuestionAttributes) {
@@ -329,9 +311,9 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         if (recipientType == FeedbackParticipantType.INSTRUCTORS || recipientType == FeedbackParticipantType.NONE) {
             response.recipientSection = Const.DEFAULT_SECTION;
         } else if (recipientType == FeedbackParticipantType.TEAMS) {
-            response.recipientSection = logic.getSectionForTeam(courseId, response.recipient);
+            response.recipientSection = getCourseRoster().getSectionForTeam(response.recipient);
         } else if (recipientType == FeedbackParticipantType.STUDENTS) {
-            StudentAttributes student = logic.getStudentForEmail(courseId, response.recipient);
+            StudentAttributes student = getCourseRoster().getStudentForEmail(response.recipient);
             response.recipientSection = student == null ? Const.DEFAULT_SECTION : student.section;
         } else {
             response.recipientSection = getUserSectionForCourse();
@@ -354,6 +336,16 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         return response;
     }
 
+    /**
+     * Returns the roster of the course, which is retrieved once for all the responses of the submission.
+     */
+    private CourseRoster getCourseRoster() {
+        if (roster == null) {
+            roster = logic.getCourseRoster(courseId);
+        }
+        return roster;
+    }
+
     /**
      * To be used to set any extra parameters or attributes that
      * a class inheriting FeedbackSubmissionEditSaveAction requires.
@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
@@ -43,6 +44,13 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", getContentDispositionHeader());
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
+        writeFileContent(writer);
+    }
+
+    /**
+     * Writes the content of the file to {@code writer}.
+     */
+    protected void writeFileContent(Writer writer) throws IOException {
         writer.append(fileContent);
     }
 
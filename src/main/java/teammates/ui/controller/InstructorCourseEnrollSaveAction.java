@@ -6,8 +6,8 @@ import java.util.Comparator;
 import java.util.List;
 
 import teammates.common.datatransfer.CourseEnrollmentResult;
+import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentUpdateStatus;
-import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.exception.EnrollException;
@@ -96,12 +96,16 @@ public class InstructorCourseEnrollSaveAction extends Action {
         CourseEnrollmentResult enrollResult = logic.enrollStudents(studentsInfo, courseId);
         List<StudentAttributes> students = enrollResult.studentList;
 
-        // Adjust submissions for all feedback responses within the course
-        List<FeedbackSessionAttributes> feedbackSessions = logic.getFeedbackSessionsForCourse(courseId);
-        for (FeedbackSessionAttributes session : feedbackSessions) {
-            // Schedule adjustment of submissions for feedback session in course
-            taskQueuer.scheduleFeedbackResponseAdjustmentForCourse(
-                    courseId, session.getFeedbackSessionName(), enrollResult.enrollmentList);
+        // Schedule adjustment of submissions for all feedback sessions within the course.
+        // Only the responses of modified students need adjustment.
+        List<StudentEnrollDetails> modifiedEnrollmentList = new ArrayList<StudentEnrollDetails>();
+        for (StudentEnrollDetails enrollmentDetails : enrollResult.enrollmentList) {
+            if (enrollmentDetails.updateStatus == StudentUpdateStatus.MODIFIED) {
+                modifiedEnrollmentList.add(enrollmentDetails);
+            }
+        }
+        if (!modifiedEnrollmentList.isEmpty()) {
+            taskQueuer.scheduleFeedbackResponseAdjustmentForCourse(courseId, modifiedEnrollmentList);
         }
 
         Collections.sort(students, new Comparator<StudentAttributes>() {
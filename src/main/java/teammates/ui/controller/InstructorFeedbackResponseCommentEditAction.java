@@ -82,7 +82,6 @@ public class InstructorFeedbackResponseCommentEditAction extends Action {
         try {
             FeedbackResponseCommentAttributes updatedComment =
                     logic.updateFeedbackResponseComment(feedbackResponseComment);
-            //TODO: move putDocument to task queue
             logic.putDocument(updatedComment);
         } catch (InvalidParametersException e) {
             setStatusForException(e);
@@ -1,6 +1,7 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -63,8 +64,8 @@ public class InstructorStudentCommentAddAction extends Action {
         try {
             CommentAttributes createdComment = logic.createComment(comment);
             //in case document production requires many retries
-            taskQueuer.scheduleSearchableDocumentsProductionForComments(
-                    Long.toString(createdComment.getCommentId()));
+            taskQueuer.scheduleSearchDocumentsProduction(Const.SearchIndex.COMMENT,
+                    Arrays.asList(Long.toString(createdComment.getCommentId())));
             String commentPlainText = Jsoup.clean(createdComment.getCommentText(), Whitelist.none());
             statusToUser.add(new StatusMessage(String.format(Const.StatusMessages.COMMENT_ADDED, commentPlainText),
                                                StatusMessageColor.SUCCESS));
@@ -2,13 +2,12 @@ package teammates.ui.controller;
 
 import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Logger;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.StatusMessageColor;
-import teammates.common.util.ThreadHelper;
 import teammates.ui.pagedata.PageData;
 
 /**
@@ -32,25 +31,16 @@ public class InstructorStudentCommentClearPendingAction extends Action {
         logic.updateFeedbackResponseCommentsSendingState(
                       courseId, CommentSendingState.PENDING, CommentSendingState.SENDING);
 
-        // Wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            int pendingCommentsSize = getPendingCommentsSize(courseId);
-            while (pendingCommentsSize != 0 && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                pendingCommentsSize = getPendingCommentsSize(courseId);
-                //check before incrementing to avoid boundary case problem
-                if (pendingCommentsSize != 0) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                isError = true;
-                log.info("Operation did not persist in time: update comments from state PENDING to SENDING");
-            } else {
-                //Set up emails notification
-                taskQueuer.scheduleCommentsNotificationsForCourse(courseId);
-            }
+        // the task is delayed until the updated sending states are visible to the queries of the worker
+        try {
+            taskQueuer.scheduleCommentsNotificationsForCourse(courseId);
+        } catch (Exception e) {
+            // the comments are left pending, so that their notifications can be sent by clearing them again
+            logic.updateFeedbackResponseCommentsSendingState(
+                    courseId, CommentSendingState.SENDING, CommentSendingState.PENDING);
+            logic.updateCommentsSendingState(courseId, CommentSendingState.SENDING, CommentSendingState.PENDING);
+            log.severe("Unexpected error: " + TeammatesException.toStringWithStackTrace(e));
+            isError = true;
         }
 
         if (isError) {
@@ -66,8 +56,4 @@ public class InstructorStudentCommentClearPendingAction extends Action {
                                     + Const.ParamsNames.COURSE_ID + "=" + courseId);
     }
 
-    private int getPendingCommentsSize(String courseId) throws EntityDoesNotExistException {
-        return logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
-                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
-    }
 }
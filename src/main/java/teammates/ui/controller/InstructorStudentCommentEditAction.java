@@ -1,6 +1,7 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -49,8 +50,8 @@ public class InstructorStudentCommentEditAction extends Action {
         try {
             if ("edit".equals(editType)) {
                 CommentAttributes updatedComment = logic.updateComment(comment);
-                taskQueuer.scheduleSearchableDocumentsProductionForComments(
-                        Long.toString(updatedComment.getCommentId()));
+                taskQueuer.scheduleSearchDocumentsProduction(Const.SearchIndex.COMMENT,
+                        Arrays.asList(Long.toString(updatedComment.getCommentId())));
                 statusToUser.add(new StatusMessage(Const.StatusMessages.COMMENT_EDITED, StatusMessageColor.SUCCESS));
                 statusToAdmin = "Edited Comment for Student:<span class=\"bold\">("
                         + comment.recipients + ")</span> for Course <span class=\"bold\">["
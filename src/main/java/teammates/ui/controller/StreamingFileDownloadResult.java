@@ -0,0 +1,44 @@
+package teammates.ui.controller;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+import teammates.common.datatransfer.attributes.AccountAttributes;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.StatusMessage;
+
+/**
+ * A {@link FileDownloadResult} whose content is generated only when the result is sent,
+ * and is written directly to the response instead of being kept in memory as a single string.
+ */
+public abstract class StreamingFileDownloadResult extends FileDownloadResult {
+
+    public StreamingFileDownloadResult(
+            String destination, AccountAttributes account,
+            List<StatusMessage> status,
+            String fileName) {
+        super(destination, account, status, fileName, "");
+    }
+
+    @Override
+    protected abstract void writeFileContent(Writer writer) throws IOException;
+
+    /**
+     * Generates the whole content of the file in memory.
+     * This is meant for inspecting the result, e.g. in tests; use {@link #send} to serve large files.
+     */
+    @Override
+    public String getFileContent() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeFileContent(writer);
+        } catch (IOException e) {
+            Assumption.fail("Writing to a StringWriter should not fail: " + TeammatesException.toStringWithStackTrace(e));
+        }
+        return writer.toString();
+    }
+
+}
@@ -15,6 +15,7 @@ import java.util.regex.Pattern;
 
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.MissingResponsesTracker;
 import teammates.common.datatransfer.attributes.AccountAttributes;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
@@ -1039,36 +1040,34 @@ public class InstructorFeedbackResultsPageData extends PageData {
             FeedbackQuestionAttributes question, List<FeedbackResponseAttributes> responses) {
         List<InstructorFeedbackResultsResponseRow> responseRows = new ArrayList<InstructorFeedbackResultsResponseRow>();
 
-        List<String> possibleGiversWithoutResponses = bundle.getPossibleGivers(question);
-        List<String> possibleReceiversWithoutResponsesForGiver = new ArrayList<String>();
+        MissingResponsesTracker missingResponses = new MissingResponsesTracker(bundle.getPossibleGivers(question));
 
         String prevGiver = "";
 
         for (FeedbackResponseAttributes response : responses) {
             if (!bundle.isGiverVisible(response) || !bundle.isRecipientVisible(response)) {
-                possibleGiversWithoutResponses.clear();
-                possibleReceiversWithoutResponsesForGiver.clear();
+                missingResponses.clear();
             }
 
             // keep track of possible givers who did not give a response
-            removeParticipantIdentifierFromList(possibleGiversWithoutResponses, response.giver);
+            missingResponses.removeGiver(response.giver);
 
             boolean isNewGiver = !prevGiver.equals(response.giver);
             if (isNewGiver) {
                 if (isMissingResponsesShown) {
                     responseRows.addAll(
                             buildMissingResponseRowsBetweenGiverAndPossibleRecipients(
-                                        question, possibleReceiversWithoutResponsesForGiver, prevGiver,
+                                        question, missingResponses.getRecipientsWithoutResponsesFromGiver(), prevGiver,
                                         bundle.getNameForEmail(prevGiver),
                                         bundle.getTeamNameForEmail(prevGiver)));
                 }
                 String giverIdentifier = response.giver;
 
-                possibleReceiversWithoutResponsesForGiver = bundle.getPossibleRecipients(question, giverIdentifier);
+                missingResponses.startGiver(bundle.getPossibleRecipients(question, giverIdentifier));
             }
 
             // keep track of possible recipients without a response from the current giver
-            removeParticipantIdentifierFromList(possibleReceiversWithoutResponsesForGiver, response.recipient);
+            missingResponses.removeRecipient(response.recipient);
             prevGiver = response.giver;
 
             InstructorFeedbackResultsModerationButton moderationButton = buildModerationButtonForExistingResponse(
@@ -1085,9 +1084,7 @@ public class InstructorFeedbackResultsPageData extends PageData {
         }
 
         if (!responses.isEmpty()) {
-            responseRows.addAll(getRemainingMissingResponseRows(question, possibleGiversWithoutResponses,
-                                                                possibleReceiversWithoutResponsesForGiver,
-                                                                prevGiver));
+            responseRows.addAll(getRemainingMissingResponseRows(question, missingResponses, prevGiver));
         }
 
         return responseRows;
@@ -1113,19 +1110,25 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                     String participantIdentifier, boolean isFirstGroupedByGiver) {
         List<InstructorFeedbackResultsResponseRow> responseRows = new ArrayList<InstructorFeedbackResultsResponseRow>();
 
-        List<String> possibleParticipantsWithoutResponses = isFirstGroupedByGiver
-                                                          ? bundle.getPossibleRecipients(question, participantIdentifier)
-                                                          : bundle.getPossibleGivers(question, participantIdentifier);
+        MissingResponsesTracker missingResponses;
+        if (isFirstGroupedByGiver) {
+            missingResponses = new MissingResponsesTracker(new ArrayList<String>());
+            missingResponses.startGiver(bundle.getPossibleRecipients(question, participantIdentifier));
+        } else {
+            missingResponses = new MissingResponsesTracker(bundle.getPossibleGivers(question, participantIdentifier));
+        }
 
         for (FeedbackResponseAttributes response : responses) {
             if (!bundle.isGiverVisible(response) || !bundle.isRecipientVisible(response)) {
-                possibleParticipantsWithoutResponses.clear();
+                missingResponses.clear();
             }
 
             // keep track of possible participant who did not give/receive a response to/from the participantIdentifier
-            String participantWithResponse = isFirstGroupedByGiver ? response.recipient : response.giver;
-            removeParticipantIdentifierFromList(possibleParticipantsWithoutResponses,
-                                                participantWithResponse);
+            if (isFirstGroupedByGiver) {
+                missingResponses.removeRecipient(response.recipient);
+            } else {
+                missingResponses.removeGiver(response.giver);
+            }
 
             InstructorFeedbackResultsModerationButton moderationButton =
                     buildModerationButtonForExistingResponse(question, response);
@@ -1147,14 +1150,14 @@ public class InstructorFeedbackResultsPageData extends PageData {
             if (isFirstGroupedByGiver) {
                 responseRows.addAll(
                         buildMissingResponseRowsBetweenGiverAndPossibleRecipients(
-                                                question, possibleParticipantsWithoutResponses,
+                                                question, missingResponses.getRecipientsWithoutResponsesFromGiver(),
                                                 participantIdentifier,
                                                 bundle.getNameForEmail(participantIdentifier),
                                                 bundle.getTeamNameForEmail(participantIdentifier)));
             } else {
                 responseRows.addAll(
                         buildMissingResponseRowsBetweenRecipientAndPossibleGivers(
-                                                question, possibleParticipantsWithoutResponses,
+                                                question, missingResponses.getGiversWithoutResponses(),
                                                 participantIdentifier,
                                                 bundle.getNameForEmail(participantIdentifier),
                                                 bundle.getTeamNameForEmail(participantIdentifier)));
@@ -1276,29 +1279,20 @@ public class InstructorFeedbackResultsPageData extends PageData {
         return missingResponses;
     }
 
-    /**
-     * Given a participantIdentifier, remove it from participantIdentifierList.
-     */
-    private void removeParticipantIdentifierFromList(
-                    List<String> participantIdentifierList, String participantIdentifier) {
-        participantIdentifierList.remove(participantIdentifier);
-    }
-
     private List<InstructorFeedbackResultsResponseRow> getRemainingMissingResponseRows(
-            FeedbackQuestionAttributes question, List<String> remainingPossibleGivers,
-            List<String> possibleRecipientsForGiver, String prevGiver) {
+            FeedbackQuestionAttributes question, MissingResponsesTracker missingResponses, String prevGiver) {
         List<InstructorFeedbackResultsResponseRow> responseRows = new ArrayList<InstructorFeedbackResultsResponseRow>();
 
-        if (possibleRecipientsForGiver != null && isMissingResponsesShown) {
+        if (isMissingResponsesShown) {
             responseRows.addAll(buildMissingResponseRowsBetweenGiverAndPossibleRecipients(
-                                            question, possibleRecipientsForGiver,
+                                            question, missingResponses.getRecipientsWithoutResponsesFromGiver(),
                                             prevGiver, bundle.getNameForEmail(prevGiver),
                                             bundle.getTeamNameForEmail(prevGiver)));
         }
 
-        removeParticipantIdentifierFromList(remainingPossibleGivers, prevGiver);
+        missingResponses.removeGiver(prevGiver);
 
-        for (String possibleGiverWithNoResponses : remainingPossibleGivers) {
+        for (String possibleGiverWithNoResponses : missingResponses.getGiversWithoutResponses()) {
             if (!isAllSectionsSelected()
                     && !bundle.getSectionFromRoster(possibleGiverWithNoResponses).equals(selectedSection)) {
                 continue;
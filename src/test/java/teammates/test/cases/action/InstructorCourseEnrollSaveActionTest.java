@@ -5,13 +5,17 @@ import java.util.Map;
 
 import org.testng.annotations.Test;
 
+import com.google.gson.reflect.TypeToken;
+
 import teammates.common.datatransfer.StudentAttributesFactory;
+import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentUpdateStatus;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.JsonUtils;
 import teammates.common.util.SanitizationHelper;
 import teammates.common.util.TaskWrapper;
 import teammates.logic.core.CoursesLogic;
@@ -73,13 +77,18 @@ public class InstructorCourseEnrollSaveActionTest extends BaseActionTest {
         assertFalse(pageResult.isError);
         assertEquals("", pageResult.getStatusMessage());
 
-        // there are 6 sessions in this course
-        verifySpecifiedTasksAdded(enrollAction, Const.TaskQueue.FEEDBACK_RESPONSE_ADJUSTMENT_QUEUE_NAME, 6);
+        // one task adjusts all the sessions in this course for the only modified student
+        verifySpecifiedTasksAdded(enrollAction, Const.TaskQueue.FEEDBACK_RESPONSE_ADJUSTMENT_QUEUE_NAME, 1);
 
         List<TaskWrapper> tasksAdded = enrollAction.getTaskQueuer().getTasksAdded();
         for (TaskWrapper task : tasksAdded) {
             Map<String, String[]> paramMap = task.getParamMap();
             assertEquals(courseId, paramMap.get(ParamsNames.COURSE_ID)[0]);
+            List<StudentEnrollDetails> enrollmentList = JsonUtils.fromJson(paramMap.get(ParamsNames.ENROLLMENT_DETAILS)[0],
+                    new TypeToken<List<StudentEnrollDetails>>(){}.getType());
+            assertEquals(1, enrollmentList.size());
+            assertEquals("student1InCourse1@gmail.tmt", enrollmentList.get(0).email);
+            assertEquals(StudentUpdateStatus.MODIFIED, enrollmentList.get(0).updateStatus);
         }
 
         InstructorCourseEnrollResultPageData pageData = (InstructorCourseEnrollResultPageData) pageResult.data;
@@ -0,0 +1,85 @@
+package teammates.test.cases.action;
+
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CommentSendingState;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.TaskWrapper;
+import teammates.logic.core.CommentsLogic;
+import teammates.logic.core.FeedbackResponseCommentsLogic;
+import teammates.ui.controller.InstructorStudentCommentClearPendingAction;
+import teammates.ui.controller.RedirectResult;
+
+/**
+ * SUT: {@link InstructorStudentCommentClearPendingAction}.
+ */
+public class InstructorStudentCommentClearPendingActionTest extends BaseActionTest {
+
+    private static final CommentsLogic commentsLogic = CommentsLogic.inst();
+    private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.ActionURIs.INSTRUCTOR_STUDENT_COMMENT_CLEAR_PENDING;
+    }
+
+    @Override
+    @Test
+    public void testExecuteAndPostProcess() throws Exception {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        String courseId = instructor.courseId;
+
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+
+        ______TS("Invalid parameters");
+
+        verifyAssumptionFailure();
+
+        ______TS("Typical case: pending comments are cleared for sending");
+
+        commentsLogic.updateCommentsSendingState(courseId, CommentSendingState.SENT, CommentSendingState.PENDING);
+        frcLogic.updateFeedbackResponseCommentsSendingState(
+                courseId, CommentSendingState.SENT, CommentSendingState.PENDING);
+        int numOfPendingComments = commentsLogic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        int numOfPendingResponseComments =
+                frcLogic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        assertTrue(numOfPendingComments > 0);
+
+        String[] submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, courseId
+        };
+
+        InstructorStudentCommentClearPendingAction action = getAction(submissionParams);
+        RedirectResult result = getRedirectResult(action);
+
+        assertEquals(Const.ActionURIs.INSTRUCTOR_COMMENTS_PAGE
+                     + "?user=" + instructor.googleId + "&courseid=" + courseId + "&error=false",
+                     result.getDestinationWithParams());
+        assertFalse(result.isError);
+        assertEquals(Const.StatusMessages.COMMENT_CLEARED, result.getStatusMessage());
+
+        assertTrue(commentsLogic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).isEmpty());
+        assertTrue(frcLogic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING)
+                           .isEmpty());
+        assertEquals(numOfPendingComments,
+                     commentsLogic.getCommentsForSendingState(courseId, CommentSendingState.SENDING).size());
+        assertEquals(numOfPendingResponseComments,
+                     frcLogic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.SENDING).size());
+
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.PENDING_COMMENT_CLEARED_EMAIL_QUEUE_NAME, 1);
+
+        TaskWrapper taskAdded = action.getTaskQueuer().getTasksAdded().get(0);
+        Map<String, String[]> paramMap = taskAdded.getParamMap();
+        assertEquals(courseId, paramMap.get(ParamsNames.EMAIL_COURSE)[0]);
+    }
+
+    @Override
+    protected InstructorStudentCommentClearPendingAction getAction(String... params) {
+        return (InstructorStudentCommentClearPendingAction) gaeSimulation.getActionObject(getActionUri(), params);
+    }
+
+}
@@ -134,7 +134,7 @@ public class InstructorStudentCommentEditActionTest extends BaseActionTest {
         a = getAction(submissionParams);
         r = getRedirectResult(a);
 
-        verifySpecifiedTasksAdded(a, TaskQueue.PRODUCE_SEARCH_DOCUMENTS_COMMENTS_QUEUE_NAME, 1);
+        verifySpecifiedTasksAdded(a, TaskQueue.PUT_SEARCH_DOCUMENTS_QUEUE_NAME, 1);
 
         assertEquals(Const.ActionURIs.INSTRUCTOR_COMMENTS_PAGE
                 + "?user=idOfInstructor3&"
@@ -46,6 +46,11 @@ public abstract class BaseAutomatedActionTest extends BaseComponentTestCase {
         assertEquals(taskCount, tasksAdded.get(taskName).intValue());
     }
 
+    protected void verifySpecifiedBatchesAdded(AutomatedAction action, String taskName, int batchCount) {
+        Map<String, Integer> batchesAdded = action.getTaskQueuer().getNumberOfBatchesAdded();
+        assertEquals(batchCount, batchesAdded.get(taskName).intValue());
+    }
+
     protected void verifyNoEmailsSent(AutomatedAction action) {
         assertTrue(getEmailsSent(action).isEmpty());
     }
@@ -65,7 +65,6 @@ public class FeedbackResponseAdjustmentWorkerActionTest extends BaseAutomatedAct
 
         String[] submissionParams = new String[] {
                 ParamsNames.COURSE_ID, student.course,
-                ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName(),
                 ParamsNames.ENROLLMENT_DETAILS, JsonUtils.toJson(enrollList)
         };
 
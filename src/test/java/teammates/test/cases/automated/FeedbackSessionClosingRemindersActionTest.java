@@ -1,6 +1,5 @@
 package teammates.test.cases.automated;
 
-import java.util.List;
 import java.util.Map;
 
 import org.testng.annotations.Test;
@@ -11,7 +10,6 @@ import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.EmailType;
 import teammates.common.util.TaskWrapper;
 import teammates.common.util.TimeHelper;
-import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.test.driver.TimeHelperExtension;
 import teammates.ui.automated.FeedbackSessionClosingRemindersAction;
@@ -21,7 +19,6 @@ import teammates.ui.automated.FeedbackSessionClosingRemindersAction;
  */
 public class FeedbackSessionClosingRemindersActionTest extends BaseAutomatedActionTest {
 
-    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
 
     @Override
@@ -73,17 +70,13 @@ public class FeedbackSessionClosingRemindersActionTest extends BaseAutomatedActi
         action = getAction();
         action.execute();
 
-        // 5 students and 5 instructors in course1, 2 students have completed the feedback session
-        verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 8);
-
-        String courseName = coursesLogic.getCourse(session1.getCourseId()).getName();
-        List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
-        for (TaskWrapper task : tasksAdded) {
-            Map<String, String[]> paramMap = task.getParamMap();
-            assertEquals(String.format(EmailType.FEEDBACK_CLOSING.getSubject(), courseName,
-                                       session1.getSessionName()),
-                         paramMap.get(ParamsNames.EMAIL_SUBJECT)[0]);
-        }
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.FEEDBACK_SESSION_PREPARE_EMAILS_QUEUE_NAME, 1);
+
+        TaskWrapper taskAdded = action.getTaskQueuer().getTasksAdded().get(0);
+        Map<String, String[]> paramMap = taskAdded.getParamMap();
+        assertEquals(session1.getCourseId(), paramMap.get(ParamsNames.EMAIL_COURSE)[0]);
+        assertEquals(session1.getSessionName(), paramMap.get(ParamsNames.EMAIL_FEEDBACK)[0]);
+        assertEquals(EmailType.FEEDBACK_CLOSING.name(), paramMap.get(ParamsNames.EMAIL_TYPE)[0]);
 
         ______TS("1 session closing soon with emails sent");
 
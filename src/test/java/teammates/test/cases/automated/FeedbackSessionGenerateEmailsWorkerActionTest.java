@@ -0,0 +1,106 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailType;
+import teammates.logic.core.CoursesLogic;
+import teammates.ui.automated.FeedbackSessionGenerateEmailsWorkerAction;
+
+/**
+ * SUT: {@link FeedbackSessionGenerateEmailsWorkerAction}.
+ */
+public class FeedbackSessionGenerateEmailsWorkerActionTest extends BaseAutomatedActionTest {
+
+    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.FEEDBACK_SESSION_GENERATE_EMAILS_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() {
+        FeedbackSessionAttributes session1 = dataBundle.feedbackSessions.get("session1InCourse1");
+        String courseName = coursesLogic.getCourse(session1.getCourseId()).getName();
+        StudentAttributes student1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student2 = dataBundle.students.get("student2InCourse1");
+        InstructorAttributes instructor1 = dataBundle.instructors.get("instructor1OfCourse1");
+
+        ______TS("opening emails: only the recipients of the batch still in the course are emailed");
+
+        FeedbackSessionGenerateEmailsWorkerAction action = getAction(
+                ParamsNames.EMAIL_COURSE, session1.getCourseId(),
+                ParamsNames.EMAIL_FEEDBACK, session1.getFeedbackSessionName(),
+                ParamsNames.EMAIL_TYPE, EmailType.FEEDBACK_OPENING.name(),
+                ParamsNames.EMAIL_STUDENT_RECEIVERS, student1.email,
+                ParamsNames.EMAIL_STUDENT_RECEIVERS, "non-existent-student@email.tmt",
+                ParamsNames.EMAIL_STUDENT_RECEIVERS, student2.email,
+                ParamsNames.EMAIL_INSTRUCTOR_RECEIVERS, instructor1.email);
+        action.execute();
+
+        // the emails share their headers, so they are sent as one batch by one task
+        verifyNoEmailsSent(action);
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
+        verifySpecifiedBatchesAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
+
+        Map<String, String[]> paramMap = action.getTaskQueuer().getTasksAdded().get(0).getParamMap();
+        assertEquals(String.format(EmailType.FEEDBACK_OPENING.getSubject(), courseName, session1.getSessionName()),
+                     paramMap.get(ParamsNames.EMAIL_SUBJECT)[0]);
+        assertEquals(3, paramMap.get(ParamsNames.EMAIL_CONTENT).length);
+        assertNotNull(paramMap.get(ParamsNames.EMAIL_BATCH_ID)[0]);
+        Set<String> receivers = new HashSet<String>(Arrays.asList(paramMap.get(ParamsNames.EMAIL_RECEIVER)));
+        Set<String> expectedReceivers = new HashSet<String>();
+        expectedReceivers.add(student1.email);
+        expectedReceivers.add(student2.email);
+        expectedReceivers.add(instructor1.email);
+        assertEquals(expectedReceivers, receivers);
+
+        ______TS("closing emails: students who have completed the session are left out");
+
+        List<String> params = new ArrayList<String>();
+        params.add(ParamsNames.EMAIL_COURSE);
+        params.add(session1.getCourseId());
+        params.add(ParamsNames.EMAIL_FEEDBACK);
+        params.add(session1.getFeedbackSessionName());
+        params.add(ParamsNames.EMAIL_TYPE);
+        params.add(EmailType.FEEDBACK_CLOSING.name());
+        for (StudentAttributes student : dataBundle.students.values()) {
+            if (student.course.equals(session1.getCourseId())) {
+                params.add(ParamsNames.EMAIL_STUDENT_RECEIVERS);
+                params.add(student.email);
+            }
+        }
+
+        action = getAction(params.toArray(new String[params.size()]));
+        action.execute();
+
+        // 5 students in course1, 2 of whom have completed the feedback session
+        verifyNoEmailsSent(action);
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
+        verifySpecifiedBatchesAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
+
+        paramMap = action.getTaskQueuer().getTasksAdded().get(0).getParamMap();
+        assertEquals(String.format(EmailType.FEEDBACK_CLOSING.getSubject(), courseName, session1.getSessionName()),
+                     paramMap.get(ParamsNames.EMAIL_SUBJECT)[0]);
+        assertEquals(3, paramMap.get(ParamsNames.EMAIL_RECEIVER).length);
+    }
+
+    @Override
+    protected FeedbackSessionGenerateEmailsWorkerAction getAction(String... params) {
+        return (FeedbackSessionGenerateEmailsWorkerAction)
+                gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
@@ -11,7 +11,6 @@ import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.EmailType;
 import teammates.common.util.TaskWrapper;
 import teammates.common.util.TimeHelper;
-import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.test.driver.TimeHelperExtension;
 import teammates.ui.automated.FeedbackSessionOpeningRemindersAction;
@@ -21,7 +20,6 @@ import teammates.ui.automated.FeedbackSessionOpeningRemindersAction;
  */
 public class FeedbackSessionOpeningRemindersActionTest extends BaseAutomatedActionTest {
 
-    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
 
     @Override
@@ -63,21 +61,18 @@ public class FeedbackSessionOpeningRemindersActionTest extends BaseAutomatedActi
         action = getAction();
         action.execute();
 
-        // 5 students and 5 instructors in course1
-        verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 20);
+        // the emails of each session are prepared separately
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.FEEDBACK_SESSION_PREPARE_EMAILS_QUEUE_NAME, 2);
 
-        String courseName = coursesLogic.getCourse(session1.getCourseId()).getName();
         List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
         for (TaskWrapper task : tasksAdded) {
             Map<String, String[]> paramMap = task.getParamMap();
+            assertEquals(session1.getCourseId(), paramMap.get(ParamsNames.EMAIL_COURSE)[0]);
+            assertEquals(EmailType.FEEDBACK_OPENING.name(), paramMap.get(ParamsNames.EMAIL_TYPE)[0]);
             try {
-                assertEquals(String.format(EmailType.FEEDBACK_OPENING.getSubject(), courseName,
-                                           session1.getSessionName()),
-                             paramMap.get(ParamsNames.EMAIL_SUBJECT)[0]);
+                assertEquals(session1.getSessionName(), paramMap.get(ParamsNames.EMAIL_FEEDBACK)[0]);
             } catch (AssertionError ae) {
-                assertEquals(String.format(EmailType.FEEDBACK_OPENING.getSubject(), courseName,
-                                           session2.getSessionName()),
-                             paramMap.get(ParamsNames.EMAIL_SUBJECT)[0]);
+                assertEquals(session2.getSessionName(), paramMap.get(ParamsNames.EMAIL_FEEDBACK)[0]);
             }
         }
 
@@ -0,0 +1,102 @@
+package teammates.test.cases.automated;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailType;
+import teammates.common.util.TaskWrapper;
+import teammates.ui.automated.FeedbackSessionPrepareEmailsWorkerAction;
+
+/**
+ * SUT: {@link FeedbackSessionPrepareEmailsWorkerAction}.
+ */
+public class FeedbackSessionPrepareEmailsWorkerActionTest extends BaseAutomatedActionTest {
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.FEEDBACK_SESSION_PREPARE_EMAILS_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() {
+
+        ______TS("students and instructors are split into separate batches");
+
+        FeedbackSessionAttributes session1 = dataBundle.feedbackSessions.get("session1InCourse1");
+
+        FeedbackSessionPrepareEmailsWorkerAction action = getAction(
+                ParamsNames.EMAIL_COURSE, session1.getCourseId(),
+                ParamsNames.EMAIL_FEEDBACK, session1.getFeedbackSessionName(),
+                ParamsNames.EMAIL_TYPE, EmailType.FEEDBACK_OPENING.name());
+        action.execute();
+
+        // 5 students and 5 instructors in course1, each group fitting in one batch
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.FEEDBACK_SESSION_GENERATE_EMAILS_QUEUE_NAME, 2);
+
+        Set<String> studentEmails = new HashSet<String>();
+        Set<String> instructorEmails = new HashSet<String>();
+        List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
+        for (TaskWrapper task : tasksAdded) {
+            Map<String, String[]> paramMap = task.getParamMap();
+            assertEquals(session1.getCourseId(), paramMap.get(ParamsNames.EMAIL_COURSE)[0]);
+            assertEquals(session1.getFeedbackSessionName(), paramMap.get(ParamsNames.EMAIL_FEEDBACK)[0]);
+            assertEquals(EmailType.FEEDBACK_OPENING.name(), paramMap.get(ParamsNames.EMAIL_TYPE)[0]);
+            studentEmails.addAll(Arrays.asList(paramMap.get(ParamsNames.EMAIL_STUDENT_RECEIVERS)));
+            instructorEmails.addAll(Arrays.asList(paramMap.get(ParamsNames.EMAIL_INSTRUCTOR_RECEIVERS)));
+        }
+
+        Set<String> expectedStudentEmails = new HashSet<String>();
+        for (StudentAttributes student : dataBundle.students.values()) {
+            if (student.course.equals(session1.getCourseId())) {
+                expectedStudentEmails.add(student.email);
+            }
+        }
+        Set<String> expectedInstructorEmails = new HashSet<String>();
+        for (InstructorAttributes instructor : dataBundle.instructors.values()) {
+            if (instructor.courseId.equals(session1.getCourseId())) {
+                expectedInstructorEmails.add(instructor.email);
+            }
+        }
+        assertEquals(expectedStudentEmails, studentEmails);
+        assertEquals(expectedInstructorEmails, instructorEmails);
+
+        ______TS("no batches for sessions not answerable/viewable for students");
+
+        FeedbackSessionAttributes privateSession = dataBundle.feedbackSessions.get("session1InCourse2");
+
+        action = getAction(
+                ParamsNames.EMAIL_COURSE, privateSession.getCourseId(),
+                ParamsNames.EMAIL_FEEDBACK, privateSession.getFeedbackSessionName(),
+                ParamsNames.EMAIL_TYPE, EmailType.FEEDBACK_PUBLISHED.name());
+        action.execute();
+
+        verifyNoTasksAdded(action);
+
+        ______TS("non-existent session: no batches");
+
+        action = getAction(
+                ParamsNames.EMAIL_COURSE, session1.getCourseId(),
+                ParamsNames.EMAIL_FEEDBACK, "non-existent session",
+                ParamsNames.EMAIL_TYPE, EmailType.FEEDBACK_CLOSING.name());
+        action.execute();
+
+        verifyNoTasksAdded(action);
+    }
+
+    @Override
+    protected FeedbackSessionPrepareEmailsWorkerAction getAction(String... params) {
+        return (FeedbackSessionPrepareEmailsWorkerAction)
+                gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
@@ -1,6 +1,5 @@
 package teammates.test.cases.automated;
 
-import java.util.List;
 import java.util.Map;
 
 import org.testng.annotations.Test;
@@ -10,7 +9,6 @@ import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.EmailType;
 import teammates.common.util.TaskWrapper;
-import teammates.logic.core.CoursesLogic;
 import teammates.ui.automated.FeedbackSessionPublishedEmailWorkerAction;
 
 /**
@@ -18,8 +16,6 @@ import teammates.ui.automated.FeedbackSessionPublishedEmailWorkerAction;
  */
 public class FeedbackSessionPublishedEmailWorkerActionTest extends BaseAutomatedActionTest {
 
-    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
-
     @Override
     protected String getActionUri() {
         return Const.TaskQueue.FEEDBACK_SESSION_PUBLISHED_EMAIL_WORKER_URL;
@@ -37,17 +33,13 @@ public class FeedbackSessionPublishedEmailWorkerActionTest extends BaseAutomated
         FeedbackSessionPublishedEmailWorkerAction action = getAction(submissionParams);
         action.execute();
 
-        // 5 students and 5 instructors in course1
-        verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 10);
-
-        String courseName = coursesLogic.getCourse(session1.getCourseId()).getName();
-        List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
-        for (TaskWrapper task : tasksAdded) {
-            Map<String, String[]> paramMap = task.getParamMap();
-            assertEquals(String.format(EmailType.FEEDBACK_PUBLISHED.getSubject(), courseName,
-                                       session1.getSessionName()),
-                         paramMap.get(ParamsNames.EMAIL_SUBJECT)[0]);
-        }
+        verifySpecifiedTasksAdded(action, Const.TaskQueue.FEEDBACK_SESSION_PREPARE_EMAILS_QUEUE_NAME, 1);
+
+        TaskWrapper taskAdded = action.getTaskQueuer().getTasksAdded().get(0);
+        Map<String, String[]> paramMap = taskAdded.getParamMap();
+        assertEquals(session1.getCourseId(), paramMap.get(ParamsNames.EMAIL_COURSE)[0]);
+        assertEquals(session1.getSessionName(), paramMap.get(ParamsNames.EMAIL_FEEDBACK)[0]);
+        assertEquals(EmailType.FEEDBACK_PUBLISHED.name(), paramMap.get(ParamsNames.EMAIL_TYPE)[0]);
     }
 
     @Override
@@ -54,6 +54,8 @@ public class FeedbackSessionRemindEmailWorkerActionTest extends BaseAutomatedAct
 
         // 2 students and 4 instructors sent reminder, 5 instructors notified
         verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 11);
+        // all the emails are added in one call
+        verifySpecifiedBatchesAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
 
         List<String> studentRecipientList = new ArrayList<String>();
         for (StudentAttributes student : studentsLogic.getStudentsForCourse(session1.getCourseId())) {
@@ -49,6 +49,7 @@ public class FeedbackSessionRemindParticularUsersEmailWorkerActionTest extends B
 
         // send 2 emails as specified in the submission parameters
         verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 2);
+        verifySpecifiedBatchesAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
 
         String courseName = coursesLogic.getCourse(session1.getCourseId()).getName();
         List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
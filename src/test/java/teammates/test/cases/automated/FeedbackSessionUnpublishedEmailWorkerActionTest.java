@@ -39,6 +39,7 @@ public class FeedbackSessionUnpublishedEmailWorkerActionTest extends BaseAutomat
 
         // 5 students and 5 instructors in course1
         verifySpecifiedTasksAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 10);
+        verifySpecifiedBatchesAdded(action, Const.TaskQueue.SEND_EMAIL_QUEUE_NAME, 1);
 
         String courseName = coursesLogic.getCourse(session1.getCourseId()).getName();
         List<TaskWrapper> tasksAdded = action.getTaskQueuer().getTasksAdded();
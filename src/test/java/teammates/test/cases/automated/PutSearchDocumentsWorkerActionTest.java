@@ -0,0 +1,96 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.StringHelper;
+import teammates.common.util.TaskWrapper;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.test.driver.MockTaskQueuer;
+import teammates.ui.automated.PutSearchDocumentsWorkerAction;
+
+/**
+ * SUT: {@link PutSearchDocumentsWorkerAction}.
+ */
+public class PutSearchDocumentsWorkerActionTest extends BaseAutomatedActionTest {
+
+    private static final InstructorsDb instructorsDb = new InstructorsDb();
+    private static final StudentsDb studentsDb = new StudentsDb();
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.PUT_SEARCH_DOCUMENTS_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() {
+
+        ______TS("students: repeated documents are put once, documents of non-existent students are skipped");
+
+        StudentAttributes student = dataBundle.students.get("student1InCourse1");
+        student = studentsDb.getStudentForEmail(student.course, student.email);
+        studentsDb.deleteDocument(student);
+        assertEquals(0, studentsDb.searchStudentsInWholeSystem(student.email).numberOfResults);
+
+        PutSearchDocumentsWorkerAction action = getAction(
+                ParamsNames.SEARCH_INDEX, Const.SearchIndex.STUDENT,
+                ParamsNames.SEARCH_DOCUMENT_ID, student.key,
+                ParamsNames.SEARCH_DOCUMENT_ID, "non-existent-key",
+                ParamsNames.SEARCH_DOCUMENT_ID, student.key);
+        action.execute();
+
+        assertEquals(1, studentsDb.searchStudentsInWholeSystem(student.email).numberOfResults);
+        verifyNoTasksAdded(action);
+
+        ______TS("instructors: documents are rebuilt from the current state of the instructors");
+
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor2OfCourse1");
+        instructor = instructorsDb.getInstructorForEmail(instructor.courseId, instructor.email);
+        instructorsDb.deleteDocument(instructor);
+        assertEquals(0, instructorsDb.searchInstructorsInWholeSystem(instructor.email).numberOfResults);
+
+        action = getAction(
+                ParamsNames.SEARCH_INDEX, Const.SearchIndex.INSTRUCTOR,
+                ParamsNames.SEARCH_DOCUMENT_ID, StringHelper.encrypt(instructor.key));
+        action.execute();
+
+        assertEquals(1, instructorsDb.searchInstructorsInWholeSystem(instructor.email).numberOfResults);
+        verifyNoTasksAdded(action);
+
+        ______TS("documents too many for one task are scheduled across several tasks");
+
+        List<String> documentIds = new ArrayList<String>();
+        for (int i = 0; i < 450; i++) {
+            documentIds.add("documentId" + i);
+        }
+
+        MockTaskQueuer taskQueuer = new MockTaskQueuer();
+        taskQueuer.scheduleSearchDocumentsProduction(Const.SearchIndex.STUDENT, documentIds);
+
+        List<TaskWrapper> tasksAdded = taskQueuer.getTasksAdded();
+        assertEquals(3, tasksAdded.size());
+        List<String> documentIdsScheduled = new ArrayList<String>();
+        for (TaskWrapper task : tasksAdded) {
+            assertEquals(Const.TaskQueue.PUT_SEARCH_DOCUMENTS_QUEUE_NAME, task.getQueueName());
+            assertEquals(Const.SearchIndex.STUDENT, task.getParamMap().get(ParamsNames.SEARCH_INDEX)[0]);
+            String[] documentIdsOfTask = task.getParamMap().get(ParamsNames.SEARCH_DOCUMENT_ID);
+            assertTrue(documentIdsOfTask.length <= 200);
+            documentIdsScheduled.addAll(Arrays.asList(documentIdsOfTask));
+        }
+        assertEquals(documentIds, documentIdsScheduled);
+    }
+
+    @Override
+    protected PutSearchDocumentsWorkerAction getAction(String... params) {
+        return (PutSearchDocumentsWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
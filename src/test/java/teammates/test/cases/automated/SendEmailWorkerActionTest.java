@@ -0,0 +1,130 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailWrapper;
+import teammates.common.util.TaskWrapper;
+import teammates.test.driver.MockTaskQueuer;
+import teammates.ui.automated.SendEmailWorkerAction;
+
+/**
+ * SUT: {@link SendEmailWorkerAction}.
+ */
+public class SendEmailWorkerActionTest extends BaseAutomatedActionTest {
+
+    @Override
+    protected String getActionUri() {
+        return Const.TaskQueue.SEND_EMAIL_WORKER_URL;
+    }
+
+    @Test
+    public void allTests() {
+
+        ______TS("single email");
+
+        SendEmailWorkerAction action = getAction(
+                ParamsNames.EMAIL_SUBJECT, "Test subject",
+                ParamsNames.EMAIL_CONTENT, "<p>Test content</p>",
+                ParamsNames.EMAIL_SENDER, "sender@email.tmt",
+                ParamsNames.EMAIL_SENDERNAME, "Sender",
+                ParamsNames.EMAIL_RECEIVER, "receiver@email.tmt",
+                ParamsNames.EMAIL_REPLY_TO_ADDRESS, "reply@email.tmt");
+        action.execute();
+
+        verifyNumberOfEmailsSent(action, 1);
+        EmailWrapper email = getEmailsSent(action).get(0);
+        assertEquals("Test subject", email.getSubject());
+        assertEquals("<p>Test content</p>", email.getContent());
+        assertEquals("sender@email.tmt", email.getSenderEmail());
+        assertEquals("Sender", email.getSenderName());
+        assertEquals("receiver@email.tmt", email.getRecipient());
+        assertEquals("reply@email.tmt", email.getReplyTo());
+
+        ______TS("batch of emails");
+
+        String[] batchParams = new String[] {
+                ParamsNames.EMAIL_SUBJECT, "Test subject",
+                ParamsNames.EMAIL_SENDER, "sender@email.tmt",
+                ParamsNames.EMAIL_REPLY_TO_ADDRESS, "reply@email.tmt",
+                ParamsNames.EMAIL_RECEIVER, "receiver1@email.tmt",
+                ParamsNames.EMAIL_CONTENT, "<p>Test content 1</p>",
+                ParamsNames.EMAIL_RECEIVER, "receiver2@email.tmt",
+                ParamsNames.EMAIL_CONTENT, "<p>Test content 2</p>",
+                ParamsNames.EMAIL_BATCH_ID, "testBatchId"
+        };
+        action = getAction(batchParams);
+        action.execute();
+
+        verifyNumberOfEmailsSent(action, 2);
+        assertEquals("receiver1@email.tmt", getEmailsSent(action).get(0).getRecipient());
+        assertEquals("<p>Test content 1</p>", getEmailsSent(action).get(0).getContent());
+        assertEquals("receiver2@email.tmt", getEmailsSent(action).get(1).getRecipient());
+        assertEquals("<p>Test content 2</p>", getEmailsSent(action).get(1).getContent());
+
+        ______TS("batch of emails already sent, e.g. when the task is retried after sending it, is not sent again");
+
+        action = getAction(batchParams);
+        action.execute();
+
+        verifyNoEmailsSent(action);
+
+        ______TS("batch of emails too large for one task is sent by several tasks");
+
+        List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+        StringBuilder largeContent = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            largeContent.append("<p>Test content</p>");
+        }
+        for (int i = 0; i < 10; i++) {
+            EmailWrapper wrapper = new EmailWrapper();
+            wrapper.setSubject("Test subject");
+            wrapper.setSenderEmail("sender@email.tmt");
+            wrapper.setReplyTo("reply@email.tmt");
+            wrapper.setRecipient("receiver" + i + "@email.tmt");
+            wrapper.setContent(largeContent.toString() + i);
+            batch.add(wrapper);
+        }
+
+        MockTaskQueuer taskQueuer = new MockTaskQueuer();
+        taskQueuer.scheduleEmailBatchesForSending(Arrays.asList(batch));
+
+        List<TaskWrapper> tasksAdded = taskQueuer.getTasksAdded();
+        assertTrue(tasksAdded.size() > 1);
+
+        List<EmailWrapper> emailsSent = new ArrayList<EmailWrapper>();
+        for (TaskWrapper task : tasksAdded) {
+            action = getAction(toParams(task.getParamMap()));
+            action.execute();
+            emailsSent.addAll(getEmailsSent(action));
+        }
+        assertEquals(batch.size(), emailsSent.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.get(i).getRecipient(), emailsSent.get(i).getRecipient());
+            assertEquals(batch.get(i).getContent(), emailsSent.get(i).getContent());
+        }
+    }
+
+    private static String[] toParams(Map<String, String[]> paramMap) {
+        List<String> params = new ArrayList<String>();
+        for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
+            for (String value : entry.getValue()) {
+                params.add(entry.getKey());
+                params.add(value);
+            }
+        }
+        return params.toArray(new String[params.size()]);
+    }
+
+    @Override
+    protected SendEmailWorkerAction getAction(String... params) {
+        return (SendEmailWorkerAction) gaeSimulation.getAutomatedActionObject(getActionUri(), params);
+    }
+
+}
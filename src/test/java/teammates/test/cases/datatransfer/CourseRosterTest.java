@@ -1,6 +1,7 @@
 package teammates.test.cases.datatransfer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.Test;
@@ -8,6 +9,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
 import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 
 /**
@@ -75,6 +77,23 @@ public class CourseRosterTest extends BaseTestCase {
         assertEquals(roster.getInstructorForEmail("ins2@email.com").email, "ins2@email.com");
         assertEquals(roster.getInstructorForEmail("ins2@email.com").name, "Jean");
 
+        ______TS("teams and their students and sections");
+
+        roster = new CourseRoster(createStudentList("team 2", "s1@gmail.com",
+                                                        "team 1", "s2@gmail.com",
+                                                        "team 2", "s3@gmail.com"),
+                                   null);
+        roster.getStudentForEmail("s2@gmail.com").section = "section 1";
+
+        assertEquals(Arrays.asList("team 1", "team 2"), roster.getTeams());
+        assertEquals(1, roster.getStudentsInTeam("team 1").size());
+        assertEquals("s2@gmail.com", roster.getStudentsInTeam("team 1").get(0).email);
+        assertEquals(2, roster.getStudentsInTeam("team 2").size());
+        assertTrue(roster.getStudentsInTeam("non-existent team").isEmpty());
+
+        assertEquals("section 1", roster.getSectionForTeam("team 1"));
+        assertEquals(Const.DEFAULT_SECTION, roster.getSectionForTeam("non-existent team"));
+
     }
 
     private List<StudentAttributes> createStudentList(String... studentData) {
@@ -1,10 +1,19 @@
 package teammates.test.cases.datatransfer;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.Test;
 
+import com.google.appengine.api.datastore.Text;
+
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.questions.FeedbackQuestionType;
+import teammates.common.datatransfer.questions.FeedbackResponseDetails;
+import teammates.common.datatransfer.questions.FeedbackTextResponseDetails;
 import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 
@@ -44,4 +53,59 @@ public class FeedbackResponseAttributesTest extends BaseTestCase {
         assertEquals(defaultTimeStamp, fra.getUpdatedAt());
     }
 
+    @Test
+    public void testGetResponseDetails() {
+        FeedbackResponseAttributes fra = new FeedbackResponseAttributes("session", "course", "question",
+                FeedbackQuestionType.TEXT, "giver@example.tmt", "Section 1", "recipient@example.tmt", "Section 1",
+                new Text("first answer"));
+
+        ______TS("details are parsed once and reused");
+
+        FeedbackResponseDetails details = fra.getResponseDetails();
+        assertEquals("first answer", details.getAnswerString());
+        assertTrue(details == fra.getResponseDetails());
+
+        ______TS("details are parsed again when the response is changed");
+
+        fra.setResponseDetails(new FeedbackTextResponseDetails("second answer"));
+        assertEquals("second answer", fra.getResponseDetails().getAnswerString());
+
+        fra.responseMetaData = new Text("third answer");
+        assertEquals("third answer", fra.getResponseDetails().getAnswerString());
+
+        ______TS("copies parse their own details");
+
+        FeedbackResponseAttributes copy = new FeedbackResponseAttributes(fra);
+        assertEquals("third answer", copy.getResponseDetails().getAnswerString());
+        assertFalse(copy.getResponseDetails() == fra.getResponseDetails());
+
+        ______TS("missing response has no details");
+
+        fra.responseMetaData = null;
+        assertNull(fra.getResponseDetails());
+    }
+
+    @Test
+    public void testGetResponseDetailsForEveryQuestionType() {
+        // the responses to text questions are in the typical data bundle, those to the other questions are not
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        responses.addAll(getTypicalDataBundle().feedbackResponses.values());
+        responses.addAll(loadDataBundle("/FeedbackSessionQuestionTypeTest.json").feedbackResponses.values());
+
+        Map<FeedbackQuestionType, FeedbackResponseAttributes> responseForType =
+                new EnumMap<FeedbackQuestionType, FeedbackResponseAttributes>(FeedbackQuestionType.class);
+        for (FeedbackResponseAttributes response : responses) {
+            responseForType.put(response.feedbackQuestionType, response);
+        }
+        assertEquals(FeedbackQuestionType.values().length, responseForType.size());
+
+        for (FeedbackResponseAttributes response : responseForType.values()) {
+            FeedbackResponseDetails details = response.getResponseDetails();
+            assertEquals(response.feedbackQuestionType, details.questionType);
+
+            // the details are parsed once and reused by every later read
+            assertTrue(details == response.getResponseDetails());
+        }
+    }
+
 }
@@ -0,0 +1,96 @@
+package teammates.test.cases.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.datatransfer.questions.FeedbackResponseStatistics;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link FeedbackResponseStatistics}.
+ */
+public class FeedbackResponseStatisticsTest extends BaseTestCase {
+
+    @Test
+    public void testAdd() {
+        FeedbackResponseStatistics statistics =
+                new FeedbackResponseStatistics(new ArrayList<FeedbackResponseAttributes>(), true);
+
+        ______TS("no values");
+
+        assertTrue(statistics.getKeys().isEmpty());
+        assertFalse(statistics.hasKey("alice@example.com"));
+        assertEquals(0, statistics.getNumValues("alice@example.com"));
+        assertFalse(statistics.hasValuesExcludingSelf());
+
+        ______TS("values of a key with only a self value");
+
+        statistics.add("alice@example.com", 3, true);
+
+        assertEquals(Arrays.asList("alice@example.com"), statistics.getKeys());
+        assertEquals(1, statistics.getNumValues("alice@example.com"));
+        assertEquals(3.0, statistics.getMin("alice@example.com"));
+        assertEquals(3.0, statistics.getMax("alice@example.com"));
+        assertEquals(3.0, statistics.getAverage("alice@example.com"));
+        assertNull(statistics.getAverageExcludingSelf("alice@example.com"));
+        assertFalse(statistics.hasValuesExcludingSelf());
+
+        ______TS("values of many keys, beyond the initial capacity");
+
+        for (int i = 0; i < 100; i++) {
+            statistics.add("student" + i + "@example.com", i, false);
+            statistics.add("student" + i + "@example.com", -i, false);
+        }
+        statistics.add("alice@example.com", 5, false);
+        statistics.add("alice@example.com", -2, false);
+
+        assertEquals(101, statistics.getKeys().size());
+        assertEquals(3, statistics.getNumValues("alice@example.com"));
+        assertEquals(-2.0, statistics.getMin("alice@example.com"));
+        assertEquals(5.0, statistics.getMax("alice@example.com"));
+        assertEquals(2.0, statistics.getAverage("alice@example.com"));
+        assertEquals(1.5, statistics.getAverageExcludingSelf("alice@example.com"));
+        assertTrue(Arrays.equals(new double[] { -2, 3, 5 }, statistics.getSortedValues("alice@example.com")));
+        assertEquals(-99.0, statistics.getMin("student99@example.com"));
+        assertEquals(0.0, statistics.getAverage("student99@example.com"));
+        assertTrue(statistics.hasValuesExcludingSelf());
+    }
+
+    @Test
+    public void testGetCachedStatistics() {
+        FeedbackSessionResultsBundle bundle = new FeedbackSessionResultsBundle(
+                null, new HashMap<String, FeedbackQuestionAttributes>(),
+                new CourseRoster(new ArrayList<StudentAttributes>(), new ArrayList<InstructorAttributes>()));
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId("questionId");
+        List<FeedbackResponseAttributes> responses = Arrays.asList(new FeedbackResponseAttributes());
+
+        ______TS("no statistics cached");
+
+        assertNull(FeedbackResponseStatistics.getCachedStatistics(bundle, question, responses));
+
+        ______TS("statistics cached for the same responses");
+
+        FeedbackResponseStatistics statistics = new FeedbackResponseStatistics(responses, false);
+        statistics.cacheIn(bundle, question);
+
+        assertTrue(statistics == FeedbackResponseStatistics.getCachedStatistics(
+                bundle, question, new ArrayList<FeedbackResponseAttributes>(responses)));
+
+        ______TS("statistics cached for other responses");
+
+        assertNull(FeedbackResponseStatistics.getCachedStatistics(
+                bundle, question, Arrays.asList(new FeedbackResponseAttributes())));
+    }
+
+}
@@ -61,6 +61,14 @@ public class InstructorAttributesTest extends BaseTestCase {
         assertEquals(instructor2.displayedName, instructor3.displayedName);
         assertEquals(instructor2.privileges, instructor3.privileges);
 
+        // instructors with the same privileges text have privileges which can be changed independently
+        InstructorAttributes instructor3Copy = new InstructorAttributes(entity);
+        assertEquals(instructor3.privileges, instructor3Copy.privileges);
+        instructor3Copy.privileges.updatePrivilege(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE, false);
+        assertTrue(instructor3.privileges.isAllowedForPrivilege(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE));
+        assertTrue(new InstructorAttributes(entity).privileges
+                .isAllowedForPrivilege(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE));
+
         entity.setRole(null);
         entity.setDisplayedName(null);
         entity.setInstructorPrivilegeAsText(null);
@@ -437,6 +437,54 @@ public class InstructorPrivilegesTest extends BaseTestCase {
                 sectionId, sessionId, Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
     }
 
+    @Test
+    public void testIsAllowedForPrivilegeAnySection() {
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_CUSTOM);
+        String viewSession = Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS;
+
+        ______TS("no section-level or session-level privileges");
+
+        assertFalse(privileges.isAllowedForPrivilegeAnySection("session", viewSession));
+
+        ______TS("privilege allowed in one section only");
+
+        privileges.updatePrivilege("section1", viewSession, false);
+        privileges.updatePrivilege("section2", viewSession, true);
+        assertTrue(privileges.isAllowedForPrivilegeAnySection("session", viewSession));
+
+        ______TS("privilege overridden for a session in the only section allowing it");
+
+        privileges.updatePrivilege("section2", "session", viewSession, false);
+        assertFalse(privileges.isAllowedForPrivilegeAnySection("session", viewSession));
+        assertTrue(privileges.isAllowedForPrivilegeAnySection("otherSession", viewSession));
+
+        privileges.updatePrivilege("section1", "session", viewSession, true);
+        assertTrue(privileges.isAllowedForPrivilegeAnySection("session", viewSession));
+    }
+
+    @Test
+    public void testGetCopy() {
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR);
+        String viewSession = Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS;
+        assertTrue(privileges.isAllowedForPrivilege("section", "session", viewSession));
+
+        InstructorPrivileges copy = privileges.getCopy();
+        assertEquals(privileges, copy);
+        assertTrue(copy.isAllowedForPrivilege("section", "session", viewSession));
+
+        ______TS("changes to the copy are not made to the original and vice versa");
+
+        copy.updatePrivilege("section", "session", viewSession, false);
+        assertFalse(copy.isAllowedForPrivilege("section", "session", viewSession));
+        assertTrue(privileges.isAllowedForPrivilege("section", "session", viewSession));
+
+        privileges.updatePrivilege(viewSession, false);
+        assertFalse(privileges.isAllowedForPrivilege("section", "session", viewSession));
+        assertTrue(copy.isAllowedForPrivilege(viewSession));
+    }
+
     @Test
     public void testValidatePrivileges() {
         InstructorPrivileges privileges =
@@ -0,0 +1,99 @@
+package teammates.test.cases.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.MissingResponsesTracker;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link MissingResponsesTracker}.
+ */
+public class MissingResponsesTrackerTest extends BaseTestCase {
+
+    @Test
+    public void testTracking() {
+
+        ______TS("givers and recipients without responses keep their original order");
+
+        MissingResponsesTracker tracker = new MissingResponsesTracker(Arrays.asList("s3", "s1", "s2"));
+        tracker.removeGiver("s1");
+        tracker.startGiver(Arrays.asList("s3", "s2"));
+        tracker.removeRecipient("s2");
+        assertEquals(Arrays.asList("s3", "s2"), tracker.getGiversWithoutResponses());
+        assertEquals(Arrays.asList("s3"), tracker.getRecipientsWithoutResponsesFromGiver());
+
+        ______TS("removing participants that are not tracked has no effect");
+
+        tracker.removeGiver("s1");
+        tracker.removeRecipient("non-existent");
+        assertEquals(Arrays.asList("s3", "s2"), tracker.getGiversWithoutResponses());
+        assertEquals(Arrays.asList("s3"), tracker.getRecipientsWithoutResponsesFromGiver());
+
+        ______TS("starting a new giver discards the recipients of the previous giver");
+
+        tracker.startGiver(Arrays.asList("s1", "s3"));
+        tracker.removeGiver("s2");
+        assertEquals(Arrays.asList("s3"), tracker.getGiversWithoutResponses());
+        assertEquals(Arrays.asList("s1", "s3"), tracker.getRecipientsWithoutResponsesFromGiver());
+
+        ______TS("returned lists are copies");
+
+        tracker.getGiversWithoutResponses().clear();
+        tracker.getRecipientsWithoutResponsesFromGiver().clear();
+        assertEquals(Arrays.asList("s3"), tracker.getGiversWithoutResponses());
+        assertEquals(Arrays.asList("s1", "s3"), tracker.getRecipientsWithoutResponsesFromGiver());
+
+        ______TS("clearing stops tracking until the next giver is started");
+
+        tracker.clear();
+        assertTrue(tracker.getGiversWithoutResponses().isEmpty());
+        assertTrue(tracker.getRecipientsWithoutResponsesFromGiver().isEmpty());
+
+        tracker.startGiver(Arrays.asList("s2"));
+        assertTrue(tracker.getGiversWithoutResponses().isEmpty());
+        assertEquals(Arrays.asList("s2"), tracker.getRecipientsWithoutResponsesFromGiver());
+    }
+
+    @Test
+    public void testTypicalSession() {
+        // every student gives feedback to every member of the own team (including self) for every question,
+        // with a response from every other student only, as in a session that is half-way through
+        int numberOfQuestions = 20;
+        int numberOfStudents = 500;
+        int teamSize = 5;
+
+        List<String> students = new ArrayList<String>();
+        for (int i = 0; i < numberOfStudents; i++) {
+            students.add("student" + i + "@course.tmt");
+        }
+
+        int numberOfMissingResponses = 0;
+        for (int question = 0; question < numberOfQuestions; question++) {
+            MissingResponsesTracker tracker = new MissingResponsesTracker(students);
+            for (int giver = 0; giver < numberOfStudents; giver += 2) {
+                tracker.removeGiver(students.get(giver));
+                numberOfMissingResponses += tracker.getRecipientsWithoutResponsesFromGiver().size();
+
+                int teamStart = giver - giver % teamSize;
+                List<String> teamMembers = students.subList(teamStart, teamStart + teamSize);
+                tracker.startGiver(teamMembers);
+                for (String recipient : teamMembers) {
+                    if (!recipient.equals(students.get(giver))) {
+                        tracker.removeRecipient(recipient);
+                    }
+                }
+            }
+            numberOfMissingResponses += tracker.getRecipientsWithoutResponsesFromGiver().size();
+            numberOfMissingResponses += tracker.getGiversWithoutResponses().size() * teamSize;
+        }
+
+        // the missing responses are the self-feedback of every giver plus all the feedback of the others
+        int expectedMissingResponsesPerQuestion = numberOfStudents / 2 + numberOfStudents / 2 * teamSize;
+        assertEquals(expectedMissingResponsesPerQuestion * numberOfQuestions, numberOfMissingResponses);
+    }
+
+}
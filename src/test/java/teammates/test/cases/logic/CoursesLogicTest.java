@@ -2,13 +2,17 @@ package teammates.test.cases.logic;
 
 import static teammates.common.util.Const.EOL;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.CourseDetailsBundle;
+import teammates.common.datatransfer.CourseStats;
 import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.datatransfer.attributes.AccountAttributes;
@@ -24,6 +28,7 @@ import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.storage.api.AccountsDb;
+import teammates.storage.api.CourseRosterDb;
 import teammates.storage.api.CoursesDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.test.driver.AssertHelper;
@@ -35,6 +40,7 @@ public class CoursesLogicTest extends BaseLogicTest {
 
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final CoursesDb coursesDb = new CoursesDb();
+    private static final CourseRosterDb courseRosterDb = new CourseRosterDb();
     private static final AccountsDb accountsDb = new AccountsDb();
     private static final InstructorsDb instructorsDb = new InstructorsDb();
 
@@ -52,6 +58,7 @@ public class CoursesLogicTest extends BaseLogicTest {
         testGetCoursesForStudentAccount();
         testGetCourseDetailsListForStudent();
         testGetCourseSummariesForInstructor();
+        testGetCourseStats();
         testGetCoursesSummaryWithoutStatsForInstructor();
         testGetCourseStudentListAsCsv();
         testHasIndicatedSections();
@@ -519,6 +526,65 @@ public class CoursesLogicTest extends BaseLogicTest {
         }
     }
 
+    private void testGetCourseStats() throws Exception {
+
+        ______TS("typical case: statistics are the same as those counted for the course summary");
+
+        String courseId1 = dataBundle.courses.get("typicalCourse1").getId();
+        String courseId2 = dataBundle.courses.get("typicalCourse2").getId();
+        Map<String, CourseStats> courseStats = coursesLogic.getCourseStats(Arrays.asList(courseId1, courseId2));
+
+        assertEquals(2, courseStats.size());
+        verifyCourseStats(coursesLogic.getCourseSummary(courseId1).stats, courseStats.get(courseId1));
+        verifyCourseStats(coursesLogic.getCourseSummary(courseId2).stats, courseStats.get(courseId2));
+
+        ______TS("statistics counted right after a write to the students of the course are not saved");
+
+        courseRosterDb.invalidateCourseRoster(courseId1);
+        coursesLogic.getCourseStats(Arrays.asList(courseId1));
+        Map<String, String> rosterKeys = courseRosterDb.getCourseRosterKeys(Arrays.asList(courseId1));
+        assertTrue(coursesDb.getCourseStats(rosterKeys).isEmpty());
+
+        ______TS("statistics are saved until a student of the course is written");
+
+        coursesDb.putCourseStats(courseId1, rosterKeys.get(courseId1), courseStats.get(courseId1));
+        verifyCourseStats(courseStats.get(courseId1),
+                          coursesLogic.getCourseStats(Arrays.asList(courseId1)).get(courseId1));
+
+        StudentAttributes newStudent = new StudentAttributes(null, "newStudent@course1.tmt", "New Student", "",
+                                                             courseId1, "New Team", "New Section");
+        StudentsLogic.inst().createStudentCascadeWithoutDocument(newStudent);
+        assertTrue(coursesDb.getCourseStats(courseRosterDb.getCourseRosterKeys(Arrays.asList(courseId1))).isEmpty());
+
+        CourseStats stats = coursesLogic.getCourseStats(Arrays.asList(courseId1)).get(courseId1);
+        assertEquals(courseStats.get(courseId1).sectionsTotal + 1, stats.sectionsTotal);
+        assertEquals(courseStats.get(courseId1).teamsTotal + 1, stats.teamsTotal);
+        assertEquals(courseStats.get(courseId1).studentsTotal + 1, stats.studentsTotal);
+        assertEquals(courseStats.get(courseId1).unregisteredTotal + 1, stats.unregisteredTotal);
+
+        StudentsLogic.inst().deleteStudentCascadeWithoutDocument(courseId1, newStudent.email);
+        verifyCourseStats(courseStats.get(courseId1),
+                          coursesLogic.getCourseStats(Arrays.asList(courseId1)).get(courseId1));
+
+        ______TS("course summary with statistics only");
+
+        CourseDetailsBundle courseSummary = coursesLogic.getCourseSummaryWithStatsOnly(courseId1);
+        assertEquals(courseId1, courseSummary.course.getId());
+        verifyCourseStats(courseStats.get(courseId1), courseSummary.stats);
+        assertTrue(courseSummary.sections.isEmpty());
+
+        ______TS("no courses");
+
+        assertTrue(coursesLogic.getCourseStats(new ArrayList<String>()).isEmpty());
+    }
+
+    private void verifyCourseStats(CourseStats expected, CourseStats actual) {
+        assertEquals(expected.sectionsTotal, actual.sectionsTotal);
+        assertEquals(expected.teamsTotal, actual.teamsTotal);
+        assertEquals(expected.studentsTotal, actual.studentsTotal);
+        assertEquals(expected.unregisteredTotal, actual.unregisteredTotal);
+    }
+
     private void testGetCourseSummariesForInstructor() throws Exception {
 
         ______TS("Instructor with 2 courses");
@@ -1,16 +1,22 @@
 package teammates.test.cases.logic;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.mail.Message;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.jsoup.Jsoup;
 import org.testng.annotations.Test;
 
 import com.mailjet.client.MailjetRequest;
 import com.mailjet.client.resource.Email;
 import com.sendgrid.SendGrid;
+import com.sun.jersey.multipart.FormDataBodyPart;
 import com.sun.jersey.multipart.FormDataMultiPart;
 
 import teammates.common.util.EmailWrapper;
@@ -18,12 +24,14 @@ import teammates.logic.core.JavamailService;
 import teammates.logic.core.MailgunService;
 import teammates.logic.core.MailjetService;
 import teammates.logic.core.SendgridService;
+import teammates.test.driver.MockEmailSenderService;
 
 /**
  * SUT: {@link JavamailService},
  *      {@link SendgridService},
  *      {@link MailgunService},
- *      {@link MailjetService}.
+ *      {@link MailjetService},
+ *      {@link teammates.logic.core.EmailSenderService}.
  */
 public class EmailSenderTest extends BaseLogicTest {
 
@@ -91,6 +99,7 @@ public class EmailSenderTest extends BaseLogicTest {
         assertEquals(wrapper.getReplyTo(), formData.getField("h:Reply-To").getValue());
         assertEquals(wrapper.getSubject(), formData.getField("subject").getValue());
         assertEquals(wrapper.getContent(), formData.getField("html").getValue());
+        assertEquals(Jsoup.parse(wrapper.getContent()).text(), formData.getField("text").getValue());
     }
 
     @Test
@@ -111,4 +120,136 @@ public class EmailSenderTest extends BaseLogicTest {
         assertEquals(wrapper.getContent(), email.get(Email.HTMLPART));
     }
 
+    private List<EmailWrapper> getTypicalEmailWrapperBatch() {
+        List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+        for (int i = 1; i <= 3; i++) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setBcc(null);
+            wrapper.setRecipient("recipient" + i + "@email.com");
+            wrapper.setContent("<p>This is test content " + i + "</p>");
+            batch.add(wrapper);
+        }
+        return batch;
+    }
+
+    @Test
+    public void testConvertBatchToSendgrid() {
+        List<EmailWrapper> batch = getTypicalEmailWrapperBatch();
+        SendGrid.Email email = new SendgridService().parseToEmails(batch);
+        JSONObject smtpApi = new JSONObject(email.getSMTPAPI().jsonString());
+        JSONArray recipients = smtpApi.getJSONArray("to");
+        JSONArray htmlContents = email.getSubstitutions().getJSONArray(email.getHtml());
+
+        assertEquals(batch.get(0).getSenderEmail(), email.getFrom());
+        assertEquals(batch.get(0).getSenderName(), email.getFromName());
+        assertEquals(batch.get(0).getReplyTo(), email.getReplyTo());
+        assertEquals(batch.get(0).getSubject(), email.getSubject());
+        assertEquals(batch.size(), recipients.length());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.get(i).getRecipient(), recipients.getString(i));
+            assertEquals(batch.get(i).getContent(), htmlContents.getString(i));
+        }
+    }
+
+    @Test
+    public void testConvertBatchToMailgun() {
+        List<EmailWrapper> batch = getTypicalEmailWrapperBatch();
+        FormDataMultiPart formData = new MailgunService().parseToEmails(batch);
+        List<FormDataBodyPart> recipients = formData.getFields("to");
+        JSONObject recipientVariables = new JSONObject(formData.getField("recipient-variables").getValue());
+        String contentVariable = formData.getField("html").getValue().replace("%recipient.", "").replace("%", "");
+        String textContentVariable =
+                formData.getField("text").getValue().replace("%recipient.", "").replace("%", "");
+
+        assertEquals(batch.get(0).getSenderName() + " <" + batch.get(0).getSenderEmail() + ">",
+                     formData.getField("from").getValue());
+        assertEquals(batch.get(0).getReplyTo(), formData.getField("h:Reply-To").getValue());
+        assertEquals(batch.get(0).getSubject(), formData.getField("subject").getValue());
+        assertEquals(batch.size(), recipients.size());
+        for (int i = 0; i < batch.size(); i++) {
+            EmailWrapper wrapper = batch.get(i);
+            assertEquals(wrapper.getRecipient(), recipients.get(i).getValue());
+            JSONObject variablesOfRecipient = recipientVariables.getJSONObject(wrapper.getRecipient());
+            assertEquals(wrapper.getContent(), variablesOfRecipient.getString(contentVariable));
+            assertEquals(Jsoup.parse(wrapper.getContent()).text(), variablesOfRecipient.getString(textContentVariable));
+        }
+    }
+
+    @Test
+    public void testConvertBatchToMailjet() {
+        List<EmailWrapper> batch = getTypicalEmailWrapperBatch();
+        MailjetRequest request = new MailjetService().parseToEmails(batch);
+        JSONArray messages = new JSONObject(request.getBody()).getJSONArray(Email.MESSAGES);
+
+        assertEquals(batch.size(), messages.length());
+        for (int i = 0; i < batch.size(); i++) {
+            EmailWrapper wrapper = batch.get(i);
+            JSONObject email = messages.getJSONObject(i);
+            assertEquals(wrapper.getSenderEmail(), email.get(Email.FROMEMAIL));
+            assertEquals(wrapper.getRecipient(),
+                         ((JSONArray) email.get(Email.RECIPIENTS)).getJSONObject(0).get("Email"));
+            assertEquals(wrapper.getSubject(), email.get(Email.SUBJECT));
+            assertEquals(wrapper.getContent(), email.get(Email.HTMLPART));
+        }
+    }
+
+    @Test
+    public void testSendEmailsInBatches() {
+        MockEmailSenderService service = new MockEmailSenderService();
+
+        ______TS("emails differing only in recipient and content are sent together");
+
+        List<EmailWrapper> emails = getTypicalEmailWrapperBatch();
+        assertTrue(service.sendEmails(emails).isEmpty());
+
+        assertEquals(1, service.getBatchesSent().size());
+        assertEquals(emails, service.getBatchesSent().get(0));
+
+        ______TS("emails with different subjects or BCC recipients are sent separately");
+
+        service = new MockEmailSenderService();
+        emails = getTypicalEmailWrapperBatch();
+        emails.get(1).setSubject("Another subject");
+        EmailWrapper emailWithBcc = getTypicalEmailWrapper();
+        emails.add(emailWithBcc);
+        assertTrue(service.sendEmails(emails).isEmpty());
+
+        assertEquals(3, service.getBatchesSent().size());
+        assertEquals(Arrays.asList(emailWithBcc), service.getBatchesSent().get(0));
+        assertEquals(Arrays.asList(emails.get(0), emails.get(2)), service.getBatchesSent().get(1));
+        assertEquals(Arrays.asList(emails.get(1)), service.getBatchesSent().get(2));
+
+        ______TS("large groups of emails are split into batches the service can send in one call");
+
+        service = new MockEmailSenderService();
+        emails = new ArrayList<EmailWrapper>();
+        for (int i = 0; i < 25; i++) {
+            EmailWrapper wrapper = getTypicalEmailWrapper();
+            wrapper.setBcc(null);
+            wrapper.setRecipient("recipient" + i + "@email.com");
+            emails.add(wrapper);
+        }
+        assertTrue(service.sendEmails(emails).isEmpty());
+
+        // the mock service sends at most 10 emails in one call
+        assertEquals(3, service.getBatchesSent().size());
+        assertEquals(10, service.getBatchesSent().get(0).size());
+        assertEquals(10, service.getBatchesSent().get(1).size());
+        assertEquals(5, service.getBatchesSent().get(2).size());
+
+        ______TS("emails to the same recipient are sent in different batches");
+
+        service = new MockEmailSenderService();
+        emails = getTypicalEmailWrapperBatch();
+        EmailWrapper emailToSameRecipient = getTypicalEmailWrapper();
+        emailToSameRecipient.setBcc(null);
+        emailToSameRecipient.setRecipient(emails.get(0).getRecipient().toUpperCase());
+        emails.add(1, emailToSameRecipient);
+        assertTrue(service.sendEmails(emails).isEmpty());
+
+        assertEquals(2, service.getBatchesSent().size());
+        assertEquals(Arrays.asList(emails.get(0), emails.get(2), emails.get(3)), service.getBatchesSent().get(0));
+        assertEquals(Arrays.asList(emailToSameRecipient), service.getBatchesSent().get(1));
+    }
+
 }
@@ -0,0 +1,417 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.UserRole;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackQuestionVisibilityPlan;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link FeedbackQuestionVisibilityPlan}.
+ *
+ * <p>The visibility decided by the plan is compared with the checks it replaced, which are kept below
+ * as they were, for every combination of giver type, recipient type and participant types shown to.
+ */
+public class FeedbackQuestionVisibilityPlanTest extends BaseTestCase {
+
+    private static final String COURSE_ID = "idOfTypicalCourse1";
+
+    private static final FeedbackParticipantType[] GIVER_TYPES = {
+            FeedbackParticipantType.SELF, FeedbackParticipantType.STUDENTS,
+            FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.TEAMS
+    };
+
+    private static final FeedbackParticipantType[] RECIPIENT_TYPES = {
+            FeedbackParticipantType.SELF, FeedbackParticipantType.STUDENTS, FeedbackParticipantType.INSTRUCTORS,
+            FeedbackParticipantType.TEAMS, FeedbackParticipantType.OWN_TEAM, FeedbackParticipantType.OWN_TEAM_MEMBERS,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF, FeedbackParticipantType.NONE
+    };
+
+    private static final FeedbackParticipantType[] SHOWN_TO_TYPES = {
+            FeedbackParticipantType.RECEIVER, FeedbackParticipantType.OWN_TEAM_MEMBERS,
+            FeedbackParticipantType.RECEIVER_TEAM_MEMBERS, FeedbackParticipantType.STUDENTS,
+            FeedbackParticipantType.INSTRUCTORS
+    };
+
+    private final List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    private final List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+    private CourseRoster roster;
+
+    @Test
+    public void testVisibilityAgainstReplacedChecks() {
+        DataBundle dataBundle = getTypicalDataBundle();
+        for (StudentAttributes student : dataBundle.students.values()) {
+            if (student.course.equals(COURSE_ID)) {
+                students.add(student);
+            }
+        }
+        for (InstructorAttributes instructor : dataBundle.instructors.values()) {
+            if (instructor.courseId.equals(COURSE_ID)) {
+                instructors.add(instructor);
+            }
+        }
+        roster = new CourseRoster(students, instructors);
+
+        ______TS("response, giver name and recipient name visibility for every participant type");
+
+        int numberOfChecks = 0;
+        for (FeedbackParticipantType giverType : GIVER_TYPES) {
+            for (FeedbackParticipantType recipientType : RECIPIENT_TYPES) {
+                // every subset of the participant types the responses and names can be shown to
+                for (int shownTo = 0; shownTo < 1 << SHOWN_TO_TYPES.length; shownTo++) {
+                    FeedbackQuestionAttributes question = createQuestion(giverType, recipientType, shownTo);
+                    for (FeedbackResponseAttributes response : createResponses(question)) {
+                        numberOfChecks += verifyVisibilityForEveryUser(question, response);
+                    }
+                }
+            }
+        }
+        assertTrue(numberOfChecks > 0);
+
+        ______TS("typical cases");
+
+        StudentAttributes recipient = getStudentWithTeammates();
+        StudentAttributes otherStudent = getTeammate(recipient);
+        StudentAttributes giver = getStudentInOtherTeam(recipient);
+        FeedbackQuestionAttributes question =
+                createQuestion(FeedbackParticipantType.STUDENTS, FeedbackParticipantType.STUDENTS,
+                               Arrays.asList(FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS),
+                               Arrays.asList(FeedbackParticipantType.INSTRUCTORS));
+        question.showRecipientNameTo =
+                Arrays.asList(FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS);
+        FeedbackResponseAttributes response = createResponse(giver.email, giver.section,
+                                                             recipient.email, recipient.section);
+
+        FeedbackQuestionVisibilityPlan recipientPlan = createPlan(question, recipient.email, UserRole.STUDENT);
+        assertTrue(recipientPlan.isResponseVisible(response));
+        assertFalse(recipientPlan.isNameVisible(response, true));
+        assertTrue(recipientPlan.isNameVisible(response, false));
+
+        InstructorAttributes instructor = instructors.get(0);
+        FeedbackQuestionVisibilityPlan instructorPlan = createPlan(question, instructor.email, UserRole.INSTRUCTOR);
+        assertTrue(instructorPlan.isResponseVisible(response));
+        assertTrue(instructorPlan.isNameVisible(response, true));
+        assertTrue(instructorPlan.isNameVisible(response, false));
+
+        FeedbackQuestionVisibilityPlan otherStudentPlan = createPlan(question, otherStudent.email, UserRole.STUDENT);
+        assertFalse(otherStudentPlan.isResponseVisible(response));
+
+        ______TS("invalid participant type fails only when reached, as before");
+
+        question = createQuestion(FeedbackParticipantType.STUDENTS, FeedbackParticipantType.STUDENTS,
+                                  Arrays.asList(FeedbackParticipantType.STUDENTS),
+                                  Arrays.asList(FeedbackParticipantType.STUDENTS, FeedbackParticipantType.GIVER));
+
+        // the plan is created, and names visible before the invalid type are decided, without failing
+        assertTrue(createPlan(question, otherStudent.email, UserRole.STUDENT).isNameVisible(response, true));
+        assertTrue(createPlan(question, giver.email, UserRole.STUDENT).isNameVisible(response, true));
+
+        instructorPlan = createPlan(question, instructor.email, UserRole.INSTRUCTOR);
+        try {
+            instructorPlan.isNameVisible(response, true);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            ignoreExpectedException();
+        }
+    }
+
+    private int verifyVisibilityForEveryUser(FeedbackQuestionAttributes question,
+                                             FeedbackResponseAttributes response) {
+        int numberOfChecks = 0;
+        for (StudentAttributes student : students) {
+            Set<String> studentsEmailInTeam = new HashSet<String>();
+            for (StudentAttributes teammate : students) {
+                if (teammate.team.equals(student.team)) {
+                    studentsEmailInTeam.add(teammate.email);
+                }
+            }
+            numberOfChecks += verifyVisibility(question, response, student.email, UserRole.STUDENT,
+                                               student, studentsEmailInTeam, null);
+            numberOfChecks += verifyVisibility(question, response, student.email, UserRole.STUDENT,
+                                               null, null, null);
+        }
+        for (InstructorAttributes instructor : instructors) {
+            numberOfChecks += verifyVisibility(question, response, instructor.email, UserRole.INSTRUCTOR,
+                                               null, null, instructor);
+            numberOfChecks += verifyVisibility(question, response, instructor.email, UserRole.INSTRUCTOR,
+                                               null, null, null);
+        }
+        return numberOfChecks;
+    }
+
+    private int verifyVisibility(FeedbackQuestionAttributes question, FeedbackResponseAttributes response,
+                                 String userEmail, UserRole role, StudentAttributes student,
+                                 Set<String> studentsEmailInTeam, InstructorAttributes instructor) {
+        FeedbackQuestionVisibilityPlan plan = new FeedbackQuestionVisibilityPlan(
+                question, userEmail, role, roster, student, studentsEmailInTeam, instructor);
+        String description = "giver type " + question.giverType + ", recipient type " + question.recipientType
+                             + ", shown to " + question.showResponsesTo + ", response from " + response.giver
+                             + " to " + response.recipient + ", viewed by " + userEmail + " as " + role;
+
+        assertEquals(description, isResponseVisibleForUser(userEmail, role, student, studentsEmailInTeam,
+                                                           response, question, instructor),
+                     plan.isResponseVisible(response));
+        assertEquals(description, isNameVisibleToUser(question, response, userEmail, role, true),
+                     plan.isNameVisible(response, true));
+        assertEquals(description, isNameVisibleToUser(question, response, userEmail, role, false),
+                     plan.isNameVisible(response, false));
+        return 3;
+    }
+
+    private FeedbackQuestionVisibilityPlan createPlan(FeedbackQuestionAttributes question, String userEmail,
+                                                      UserRole role) {
+        return new FeedbackQuestionVisibilityPlan(question, userEmail, role, roster, null, null, null);
+    }
+
+    private StudentAttributes getStudentInOtherTeam(StudentAttributes student) {
+        for (StudentAttributes otherStudent : students) {
+            if (!otherStudent.team.equals(student.team)) {
+                return otherStudent;
+            }
+        }
+        throw new AssertionError("Every student of " + COURSE_ID + " is in the same team");
+    }
+
+    private StudentAttributes getStudentWithTeammates() {
+        for (StudentAttributes student : students) {
+            for (StudentAttributes otherStudent : students) {
+                if (otherStudent.team.equals(student.team) && !otherStudent.email.equals(student.email)) {
+                    return student;
+                }
+            }
+        }
+        throw new AssertionError("No student of " + COURSE_ID + " has teammates");
+    }
+
+    private StudentAttributes getTeammate(StudentAttributes student) {
+        for (StudentAttributes otherStudent : students) {
+            if (otherStudent.team.equals(student.team) && !otherStudent.email.equals(student.email)) {
+                return otherStudent;
+            }
+        }
+        throw new AssertionError(student.email + " has no teammates");
+    }
+
+    private static FeedbackQuestionAttributes createQuestion(FeedbackParticipantType giverType,
+                                                             FeedbackParticipantType recipientType, int shownTo) {
+        List<FeedbackParticipantType> shownToTypes = new ArrayList<FeedbackParticipantType>();
+        for (int i = 0; i < SHOWN_TO_TYPES.length; i++) {
+            if ((shownTo & 1 << i) != 0) {
+                shownToTypes.add(SHOWN_TO_TYPES[i]);
+            }
+        }
+        return createQuestion(giverType, recipientType, shownToTypes, shownToTypes);
+    }
+
+    private static FeedbackQuestionAttributes createQuestion(FeedbackParticipantType giverType,
+                                                             FeedbackParticipantType recipientType,
+                                                             List<FeedbackParticipantType> showResponsesTo,
+                                                             List<FeedbackParticipantType> showNameTo) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = "Test session";
+        question.courseId = COURSE_ID;
+        question.giverType = giverType;
+        question.recipientType = recipientType;
+        question.showResponsesTo = showResponsesTo;
+        question.showGiverNameTo = showNameTo;
+        question.showRecipientNameTo = showNameTo;
+        return question;
+    }
+
+    /**
+     * Returns responses from every possible giver of the {@code question} to every possible recipient.
+     */
+    private List<FeedbackResponseAttributes> createResponses(FeedbackQuestionAttributes question) {
+        List<String[]> givers = new ArrayList<String[]>();
+        if (question.giverType == FeedbackParticipantType.INSTRUCTORS
+                || question.giverType == FeedbackParticipantType.SELF) {
+            for (InstructorAttributes instructor : instructors) {
+                givers.add(new String[] { instructor.email, Const.DEFAULT_SECTION, null });
+            }
+        } else {
+            // students give the responses of their team, if the giver type is teams
+            for (StudentAttributes student : students) {
+                givers.add(new String[] { student.email, student.section, student.team });
+            }
+        }
+
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (String[] giver : givers) {
+            for (String[] recipient : getRecipients(question.recipientType, giver)) {
+                responses.add(createResponse(giver[0], giver[1], recipient[0], recipient[1]));
+            }
+        }
+        return responses;
+    }
+
+    private List<String[]> getRecipients(FeedbackParticipantType recipientType, String[] giver) {
+        List<String[]> recipients = new ArrayList<String[]>();
+        switch (recipientType) {
+        case SELF:
+            recipients.add(giver);
+            break;
+        case STUDENTS:
+        case OWN_TEAM_MEMBERS:
+        case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+            for (StudentAttributes student : students) {
+                recipients.add(new String[] { student.email, student.section });
+            }
+            break;
+        case INSTRUCTORS:
+            for (InstructorAttributes instructor : instructors) {
+                recipients.add(new String[] { instructor.email, Const.DEFAULT_SECTION });
+            }
+            break;
+        case TEAMS:
+        case OWN_TEAM:
+            for (StudentAttributes student : students) {
+                recipients.add(new String[] { student.team, student.section });
+            }
+            break;
+        case NONE:
+            recipients.add(new String[] { Const.GENERAL_QUESTION, Const.DEFAULT_SECTION });
+            break;
+        default:
+            throw new AssertionError("Unexpected recipient type " + recipientType);
+        }
+        return recipients;
+    }
+
+    private static FeedbackResponseAttributes createResponse(String giver, String giverSection,
+                                                             String recipient, String recipientSection) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.feedbackSessionName = "Test session";
+        response.courseId = COURSE_ID;
+        response.giver = giver;
+        response.giverSection = giverSection;
+        response.recipient = recipient;
+        response.recipientSection = recipientSection;
+        return response;
+    }
+
+    // The checks replaced by the plan, as they were in FeedbackSessionsLogic and FeedbackResponsesLogic
+
+    private static boolean isResponseVisibleForUser(String userEmail,
+            UserRole role, StudentAttributes student,
+            Set<String> studentsEmailInTeam,
+            FeedbackResponseAttributes response,
+            FeedbackQuestionAttributes relatedQuestion, InstructorAttributes instructor) {
+
+        boolean isVisibleResponse = false;
+        if (role == UserRole.INSTRUCTOR && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS)
+                || response.recipient.equals(userEmail)
+                        && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
+                || response.giver.equals(userEmail)
+                || role == UserRole.STUDENT && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.STUDENTS)) {
+            isVisibleResponse = true;
+        } else if (studentsEmailInTeam != null && role == UserRole.STUDENT) {
+            if (relatedQuestion.recipientType == FeedbackParticipantType.TEAMS
+                    && relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER)
+                    && response.recipient.equals(student.team)) {
+                isVisibleResponse = true;
+            } else if (relatedQuestion.giverType == FeedbackParticipantType.TEAMS
+                       && studentsEmailInTeam.contains(response.giver)) {
+                isVisibleResponse = true;
+            } else if (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.OWN_TEAM_MEMBERS)
+                       && studentsEmailInTeam.contains(response.giver)) {
+                isVisibleResponse = true;
+            } else if (relatedQuestion.isResponseVisibleTo(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
+                       && studentsEmailInTeam.contains(response.recipient)) {
+                isVisibleResponse = true;
+            }
+        }
+        if (isVisibleResponse && instructor != null) {
+            boolean isGiverSectionRestricted =
+                    !instructor.isAllowedForPrivilege(response.giverSection,
+                                                      response.feedbackSessionName,
+                                                      Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
+            boolean isRecipientSectionRestricted =
+                    relatedQuestion.recipientType != FeedbackParticipantType.NONE
+                    && !instructor.isAllowedForPrivilege(response.recipientSection,
+                                                         response.feedbackSessionName,
+                                                         Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS);
+
+            boolean isNotAllowedForInstructor = isGiverSectionRestricted || isRecipientSectionRestricted;
+            if (isNotAllowedForInstructor) {
+                isVisibleResponse = false;
+            }
+        }
+        return isVisibleResponse;
+    }
+
+    private boolean isNameVisibleToUser(FeedbackQuestionAttributes question, FeedbackResponseAttributes response,
+                                        String userEmail, UserRole role, boolean isGiverName) {
+        if (question.giverType == FeedbackParticipantType.TEAMS) {
+            if (roster.isStudentsInSameTeam(response.giver, userEmail)) {
+                return true;
+            }
+        } else {
+            if (response.giver.equals(userEmail)) {
+                return true;
+            }
+        }
+
+        List<FeedbackParticipantType> showNameTo = isGiverName
+                                                 ? question.showGiverNameTo
+                                                 : question.showRecipientNameTo;
+        for (FeedbackParticipantType type : showNameTo) {
+            switch (type) {
+            case INSTRUCTORS:
+                if (roster.getInstructorForEmail(userEmail) != null && role == UserRole.INSTRUCTOR) {
+                    return true;
+                }
+                break;
+            case OWN_TEAM_MEMBERS:
+            case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+                if (roster.isStudentsInSameTeam(response.giver, userEmail)) {
+                    return true;
+                }
+                break;
+            case RECEIVER:
+                if (question.recipientType.isTeam()) {
+                    if (roster.isStudentInTeam(userEmail, response.recipient)) {
+                        return true;
+                    }
+                    break;
+                } else if (response.recipient.equals(userEmail)) {
+                    return true;
+                } else {
+                    break;
+                }
+            case RECEIVER_TEAM_MEMBERS:
+                if (question.recipientType.isTeam()) {
+                    if (roster.isStudentInTeam(userEmail, response.recipient)) {
+                        return true;
+                    }
+                    break;
+                } else if (roster.isStudentsInSameTeam(response.recipient, userEmail)) {
+                    return true;
+                }
+                break;
+            case STUDENTS:
+                if (roster.isStudentInCourse(userEmail)) {
+                    return true;
+                }
+                break;
+            default:
+                throw new AssertionError("Invalid FeedbackParticipantType for showNameTo");
+            }
+        }
+        return false;
+    }
+
+}
@@ -8,6 +8,7 @@ import org.testng.annotations.Test;
 
 import com.google.appengine.api.datastore.Text;
 
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
@@ -184,6 +185,43 @@ public class FeedbackResponseCommentsLogicTest extends BaseLogicTest {
 
     }
 
+    @Test
+    public void testGetFeedbackResponseCommentsForSessionPage() {
+        FeedbackResponseCommentAttributes frComment = new FeedbackResponseCommentAttributes();
+        restoreFrCommentFromDataBundle(frComment, "comment1FromT1C1ToR1Q1S1C1");
+
+        ______TS("Typical successful case: pages cover all comments of the session");
+
+        List<FeedbackResponseCommentAttributes> expectedFrComments =
+                frcLogic.getFeedbackResponseCommentForSession(frComment.courseId, frComment.feedbackSessionName);
+        List<Long> expectedIds = new ArrayList<Long>();
+        for (FeedbackResponseCommentAttributes expectedFrComment : expectedFrComments) {
+            expectedIds.add(expectedFrComment.getId());
+        }
+
+        List<Long> actualIds = new ArrayList<Long>();
+        String cursor = null;
+        do {
+            ResultsPage<FeedbackResponseCommentAttributes> page = frcLogic.getFeedbackResponseCommentsForSessionPage(
+                    frComment.courseId, frComment.feedbackSessionName, cursor, 2);
+            for (FeedbackResponseCommentAttributes actualFrComment : page.getResults()) {
+                actualIds.add(actualFrComment.getId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertTrue(expectedIds.size() > 2);
+        assertEquals(expectedIds.size(), actualIds.size());
+        assertTrue(actualIds.containsAll(expectedIds));
+
+        ______TS("Session without comments");
+
+        ResultsPage<FeedbackResponseCommentAttributes> page = frcLogic.getFeedbackResponseCommentsForSessionPage(
+                frComment.courseId, "non-existent session", null, 2);
+        assertTrue(page.getResults().isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+
     @Test
     public void testUpdateFeedbackResponseComment() throws Exception {
         FeedbackResponseCommentAttributes frComment = new FeedbackResponseCommentAttributes();
@@ -29,6 +29,7 @@ import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
 import teammates.test.driver.AssertHelper;
@@ -63,6 +64,7 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         testUpdateFeedbackResponsesForChangingEmail();
         testDeleteFeedbackResponsesForStudent();
         testSpecialCharactersInTeamName();
+        testSaveFeedbackResponses();
         testDeleteFeedbackResponsesForCourse();
     }
 
@@ -356,6 +358,7 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
 
     private int getResponseRate(String sessionName, String courseId) {
         FeedbackSessionAttributes sessionFromDataStore = fsLogic.getFeedbackSession(sessionName, courseId);
+        new FeedbackSessionsDb().mergeRespondents(sessionFromDataStore);
         return sessionFromDataStore.getRespondingInstructorList().size()
                 + sessionFromDataStore.getRespondingStudentList().size();
     }
@@ -637,6 +640,67 @@ public class FeedbackResponsesLogicTest extends BaseLogicTest {
         assertEquals(remainingResponses.size(), 0);
     }
 
+    private void testSaveFeedbackResponses() throws Exception {
+        // the responses used are modified by the tests before
+        removeAndRestoreTypicalDataBundle();
+
+        ______TS("success: responses are created, updated and deleted against the stored responses");
+
+        FeedbackResponseAttributes responseToUpdate = getResponseFromDatastore("response2ForQ1S1C1");
+        FeedbackResponseAttributes responseToDelete = getResponseFromDatastore("response1ForQ2S1C1");
+        String sessionName = responseToUpdate.feedbackSessionName;
+        String courseId = responseToUpdate.courseId;
+
+        FeedbackResponseAttributes responseToCreate = new FeedbackResponseAttributes(responseToDelete);
+        responseToCreate.setId(null);
+        responseToCreate.recipient = "student4InCourse1@gmail.tmt";
+        responseToCreate.responseMetaData = new Text("New Response");
+
+        responseToUpdate.responseMetaData = new Text("Saved Response");
+        responseToUpdate.feedbackSessionName = "copy over";
+
+        List<FeedbackResponseAttributes> responsesToSave = new ArrayList<FeedbackResponseAttributes>();
+        responsesToSave.add(responseToUpdate);
+        responsesToSave.add(responseToCreate);
+        List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
+        responsesToDelete.add(responseToDelete);
+
+        frLogic.saveFeedbackResponses(sessionName, courseId, responsesToSave, responsesToDelete);
+
+        FeedbackResponseAttributes savedResponse = frLogic.getFeedbackResponse(responseToUpdate.getId());
+        assertEquals("Saved Response", savedResponse.responseMetaData.getValue());
+        assertEquals(sessionName, savedResponse.feedbackSessionName);
+        FeedbackResponseAttributes createdResponse = frLogic.getFeedbackResponse(
+                responseToCreate.feedbackQuestionId, responseToCreate.giver, responseToCreate.recipient);
+        assertEquals("New Response", createdResponse.responseMetaData.getValue());
+        assertNull(frLogic.getFeedbackResponse(responseToDelete.getId()));
+
+        ______TS("failure: no response is saved if any of them is invalid");
+
+        responseToUpdate = frLogic.getFeedbackResponse(responseToUpdate.getId());
+        responseToUpdate.responseMetaData = new Text("Unsaved Response");
+
+        FeedbackResponseAttributes invalidResponse = new FeedbackResponseAttributes(createdResponse);
+        invalidResponse.setId(null);
+        invalidResponse.recipient = "student5InCourse1@gmail.tmt";
+        invalidResponse.courseId = "invalid course id";
+
+        responsesToSave = new ArrayList<FeedbackResponseAttributes>();
+        responsesToSave.add(responseToUpdate);
+        responsesToSave.add(invalidResponse);
+
+        try {
+            frLogic.saveFeedbackResponses(sessionName, courseId, responsesToSave,
+                                          new ArrayList<FeedbackResponseAttributes>());
+            signalFailureToDetectException("Should have detected that a response is invalid");
+        } catch (InvalidParametersException e) {
+            AssertHelper.assertContains("invalid course id", e.getMessage());
+        }
+
+        assertEquals("Saved Response",
+                     frLogic.getFeedbackResponse(responseToUpdate.getId()).responseMetaData.getValue());
+    }
+
     private void testDeleteFeedbackResponsesForCourse() {
         ______TS("standard delete");
 
@@ -15,6 +15,7 @@ import teammates.common.util.TimeHelper;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.storage.api.FeedbackSessionsDb;
 import teammates.test.driver.AssertHelper;
 import teammates.test.driver.TimeHelperExtension;
 
@@ -27,6 +28,7 @@ public class FeedbackSessionsLogicTest extends BaseLogicTest {
     private static FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
 
     @Override
     protected void prepareTestData() {
@@ -57,6 +59,8 @@ public class FeedbackSessionsLogicTest extends BaseLogicTest {
         testIsFeedbackSessionCompletedByInstructor();
         testIsFeedbackSessionFullyCompletedByStudent();
 
+        testAddRespondentsForSession();
+
         testDeleteFeedbackSessionsForCourse();
     }
 
@@ -942,6 +946,62 @@ public class FeedbackSessionsLogicTest extends BaseLogicTest {
         }
     }
 
+    private void testAddRespondentsForSession() throws Exception {
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        String sessionName = session.getFeedbackSessionName();
+        String courseId = session.getCourseId();
+
+        ______TS("respondents recorded while the respondents are added from responses are kept");
+
+        fsLogic.updateRespondentsForSession(sessionName, courseId);
+        Set<String> expectedStudentRespondents = getRespondingStudents(sessionName, courseId);
+        Set<String> expectedInstructorRespondents = getRespondingInstructors(sessionName, courseId);
+        assertFalse(expectedStudentRespondents.isEmpty());
+
+        fsLogic.addStudentRespondent("concurrent.student@email.tmt", sessionName, courseId);
+        fsLogic.addInstructorRespondent("concurrent.instructor@email.tmt", sessionName, courseId);
+        expectedStudentRespondents.add("concurrent.student@email.tmt");
+        expectedInstructorRespondents.add("concurrent.instructor@email.tmt");
+
+        fsLogic.addRespondentsForSession(sessionName, courseId);
+
+        assertEquals(expectedStudentRespondents, getRespondingStudents(sessionName, courseId));
+        assertEquals(expectedInstructorRespondents, getRespondingInstructors(sessionName, courseId));
+
+        ______TS("respondents missing from the records are added from responses");
+
+        fsLogic.clearStudentRespondents(sessionName, courseId);
+        fsLogic.clearInstructorRespondents(sessionName, courseId);
+        expectedStudentRespondents.remove("concurrent.student@email.tmt");
+        expectedInstructorRespondents.remove("concurrent.instructor@email.tmt");
+
+        fsLogic.addRespondentsForSession(sessionName, courseId);
+
+        assertEquals(expectedStudentRespondents, getRespondingStudents(sessionName, courseId));
+        assertEquals(expectedInstructorRespondents, getRespondingInstructors(sessionName, courseId));
+
+        ______TS("non-existent session");
+
+        try {
+            fsLogic.addRespondentsForSession("non-existent session", courseId);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains("non-existent session", e.getMessage());
+        }
+    }
+
+    private Set<String> getRespondingStudents(String feedbackSessionName, String courseId) {
+        FeedbackSessionAttributes session = fsLogic.getFeedbackSession(feedbackSessionName, courseId);
+        fsDb.mergeRespondents(session);
+        return new HashSet<String>(session.getRespondingStudentList());
+    }
+
+    private Set<String> getRespondingInstructors(String feedbackSessionName, String courseId) {
+        FeedbackSessionAttributes session = fsLogic.getFeedbackSession(feedbackSessionName, courseId);
+        fsDb.mergeRespondents(session);
+        return new HashSet<String>(session.getRespondingInstructorList());
+    }
+
     private void testDeleteFeedbackSessionsForCourse() {
 
         assertFalse(fsLogic.getFeedbackSessionsForCourse("idOfTypicalCourse1").isEmpty());
@@ -1,13 +1,22 @@
 package teammates.test.cases.logic;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.TeamEvalResult;
+import teammates.common.datatransfer.attributes.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
 import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.questions.FeedbackQuestionDetails;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.ExceedingRangeException;
 import teammates.common.util.Const;
@@ -35,6 +44,98 @@ public class FeedbackSessionsResultsSummaryTest extends BaseLogicTest {
 
     }
 
+    @Test
+    public void testWriteFeedbackSessionResultsSummaryAsCsv() throws Exception {
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        InstructorAttributes instructor = dataBundle.instructors.get(INSTRUCTOR_IN_COURSE1);
+
+        ______TS("typical case: streamed results are the same as the results generated in memory");
+
+        StringWriter writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email,
+                null, null, null, true, true, writer);
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, null, null, true, true),
+                writer.toString());
+
+        ______TS("typical case: streamed results within a section");
+
+        writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email,
+                "Section 1", null, null, true, true, writer);
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email,
+                "Section 1", null, null, true, true),
+                writer.toString());
+
+        ______TS("typical case: streamed results with filter text");
+
+        writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email,
+                null, null, "My comments", false, true, writer);
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email,
+                null, "My comments", false, true),
+                writer.toString());
+
+        ______TS("Non-existent Course/Session");
+
+        try {
+            fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv("non.existent", "no course",
+                    instructor.email, null, null, null, true, true, new StringWriter());
+            signalFailureToDetectException("Failed to detect non-existent feedback session.");
+        } catch (EntityDoesNotExistException e) {
+            assertEquals("Trying to view a non-existent feedback session: "
+                         + "no course" + "/" + "non.existent",
+                         e.getMessage());
+        }
+    }
+
+    @Test
+    public void testContributionQuestionResultsAreComputedOnce() throws Exception {
+        DataBundle questionTypeBundle = loadDataBundle("/FeedbackSessionQuestionTypeTest.json");
+        removeAndRestoreDataBundle(questionTypeBundle);
+        FeedbackSessionAttributes session = questionTypeBundle.feedbackSessions.get("contribSession");
+        InstructorAttributes instructor = questionTypeBundle.instructors.get(INSTRUCTOR_IN_COURSE1);
+        String teamWithResponses = questionTypeBundle.students.get("student1InCourse1").team;
+        String teamWithoutResponses = questionTypeBundle.students.get("student5InCourse1").team;
+
+        FeedbackSessionResultsBundle results = fsLogic.getFeedbackSessionResultsForInstructor(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email);
+        FeedbackQuestionAttributes question = results.questions.values().iterator().next();
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : results.responses) {
+            if (response.feedbackQuestionId.equals(question.getId())) {
+                responses.add(response);
+            }
+        }
+
+        ______TS("statistics compute the results of every team once");
+
+        String statistics = questionDetails.getQuestionResultStatisticsCsv(responses, question, results);
+        Map<String, TeamEvalResult> computedTeamResults =
+                results.contributionQuestionComputedTeamEvalResults.get(question.getId());
+        assertEquals(2, computedTeamResults.size());
+        TeamEvalResult teamResult = computedTeamResults.get(teamWithResponses);
+
+        assertEquals(statistics, questionDetails.getQuestionResultStatisticsCsv(responses, question, results));
+        assertTrue(teamResult == computedTeamResults.get(teamWithResponses));
+
+        ______TS("response rows reuse the results computed for the statistics");
+
+        FeedbackResponseAttributes response = responses.get(0);
+        response.getResponseDetails().getAnswerCsv(response, question, results);
+        Map<String, TeamEvalResult> teamResultsForRows =
+                results.contributionQuestionTeamEvalResults.get(question.getId());
+        assertTrue(teamResult == teamResultsForRows.get(teamWithResponses));
+        assertFalse(teamResultsForRows.containsKey(teamWithoutResponses));
+        assertEquals(2, computedTeamResults.size());
+    }
+
         private void testGetFeedbackSessionResultsSummaryAsCsv() throws ExceedingRangeException, EntityDoesNotExistException {
 
         ______TS("typical case: get all results");
@@ -14,6 +14,7 @@ import com.google.appengine.api.datastore.Text;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.CourseEnrollmentResult;
 import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.StudentAttributesFactory;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentUpdateStatus;
@@ -63,6 +64,7 @@ public class StudentsLogicTest extends BaseLogicTest {
         testGetStudentsForGoogleId();
         testGetStudentForCourseIdAndGoogleId();
         testGetStudentsForCourse();
+        testGetStudentsForCoursePage();
         testGetEncryptedKeyForStudent();
         testIsStudentInAnyCourse();
         testIsStudentInCourse();
@@ -960,6 +962,34 @@ public class StudentsLogicTest extends BaseLogicTest {
 
     }
 
+    private void testGetStudentsForCoursePage() {
+
+        ______TS("course with multiple students: pages cover all students");
+
+        CourseAttributes course1OfInstructor1 = dataBundle.courses.get("typicalCourse1");
+        List<StudentAttributes> studentList = new ArrayList<StudentAttributes>();
+        String cursor = null;
+        do {
+            ResultsPage<StudentAttributes> page =
+                    studentsLogic.getStudentsForCoursePage(course1OfInstructor1.getId(), cursor, 2);
+            studentList.addAll(page.getResults());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(5, studentList.size());
+        for (StudentAttributes s : studentList) {
+            assertEquals(course1OfInstructor1.getId(), s.course);
+        }
+
+        ______TS("course with 0 students");
+
+        CourseAttributes course2OfInstructor1 = dataBundle.courses.get("courseNoEvals");
+        ResultsPage<StudentAttributes> page =
+                studentsLogic.getStudentsForCoursePage(course2OfInstructor1.getId(), null, 2);
+        assertTrue(page.getResults().isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+
     private void testGetEncryptedKeyForStudent() throws Exception {
 
         ______TS("null parameters");
@@ -1100,9 +1130,10 @@ public class StudentsLogicTest extends BaseLogicTest {
     }
 
     private static StudentEnrollDetails enrollStudent(StudentAttributes student) throws Exception {
-        return (StudentEnrollDetails) invokeMethod(StudentsLogic.class, "enrollStudent",
-                                                   new Class<?>[] { StudentAttributes.class, Boolean.class },
-                                                   StudentsLogic.inst(), new Object[] { student, false });
+        String lines = "section | team | name | email | comment" + Const.EOL
+                + student.section + "|" + student.team + "|" + student.name + "|" + student.email + "|"
+                + student.comments;
+        return studentsLogic.enrollStudentsWithoutDocument(lines, student.course).enrollmentList.get(0);
     }
 
     @AfterClass
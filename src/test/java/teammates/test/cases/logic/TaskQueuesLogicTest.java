@@ -0,0 +1,116 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.taskqueue.QueueConstants;
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.api.taskqueue.dev.QueueStateInfo;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+import teammates.common.util.Const.TaskQueue;
+import teammates.common.util.TaskWrapper;
+import teammates.logic.core.TaskQueuesLogic;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link TaskQueuesLogic}.
+ */
+public class TaskQueuesLogicTest extends BaseComponentTestCase {
+
+    private static final TaskQueuesLogic taskQueuesLogic = new TaskQueuesLogic();
+
+    @AfterMethod
+    public void purgeQueues() {
+        LocalTaskQueue localTaskQueue = LocalTaskQueueTestConfig.getLocalTaskQueue();
+        localTaskQueue.flushQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME);
+        localTaskQueue.flushQueue(TaskQueue.STUDENT_COURSE_JOIN_EMAIL_QUEUE_NAME);
+    }
+
+    @Test
+    public void testAddDeferredTasks() {
+
+        ______TS("tasks of several queues, more than can be added in one call");
+
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        int numOfTasks = QueueConstants.maxTasksPerAdd() * 2 + 5;
+        for (int i = 0; i < numOfTasks; i++) {
+            tasks.add(createTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL, "value" + i));
+        }
+        tasks.add(createTask(TaskQueue.STUDENT_COURSE_JOIN_EMAIL_QUEUE_NAME,
+                             TaskQueue.STUDENT_COURSE_JOIN_EMAIL_WORKER_URL, "value"));
+
+        taskQueuesLogic.addDeferredTasks(tasks, 1000);
+
+        assertEquals(numOfTasks, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+        assertEquals(1, getNumberOfTasksInQueue(TaskQueue.STUDENT_COURSE_JOIN_EMAIL_QUEUE_NAME));
+
+        purgeQueues();
+
+        ______TS("task too large to be added is left out without failing the other tasks of its batch");
+
+        StringBuilder largeValue = new StringBuilder();
+        while (largeValue.length() <= QueueConstants.maxPushTaskSizeBytes()) {
+            largeValue.append("large value ");
+        }
+        tasks = new ArrayList<TaskWrapper>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(createTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL, "value" + i));
+        }
+        tasks.add(5, createTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL,
+                                largeValue.toString()));
+
+        taskQueuesLogic.addDeferredTasks(tasks, 0);
+
+        assertEquals(10, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        purgeQueues();
+
+        ______TS("batch failing to be added does not fail the batches after it");
+
+        tasks = new ArrayList<TaskWrapper>();
+        tasks.add(createTask("non-existent-queue", TaskQueue.SEND_EMAIL_WORKER_URL, "value"));
+        for (int i = 0; i < 10; i++) {
+            tasks.add(createTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL, "value" + i));
+        }
+
+        taskQueuesLogic.addDeferredTasks(tasks, 0);
+
+        assertEquals(10, getNumberOfTasksInQueue(TaskQueue.SEND_EMAIL_QUEUE_NAME));
+
+        purgeQueues();
+
+        ______TS("all tasks delayed by the given countdown");
+
+        tasks = new ArrayList<TaskWrapper>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(createTask(TaskQueue.SEND_EMAIL_QUEUE_NAME, TaskQueue.SEND_EMAIL_WORKER_URL, "value" + i));
+        }
+        long addedTime = System.currentTimeMillis();
+
+        taskQueuesLogic.addDeferredTasks(tasks, 60 * 1000, 0);
+
+        List<QueueStateInfo.TaskStateInfo> tasksAdded = LocalTaskQueueTestConfig.getLocalTaskQueue()
+                .getQueueStateInfo().get(TaskQueue.SEND_EMAIL_QUEUE_NAME).getTaskInfo();
+        assertEquals(3, tasksAdded.size());
+        for (QueueStateInfo.TaskStateInfo taskAdded : tasksAdded) {
+            assertTrue(taskAdded.getEtaMillis() >= addedTime + 60 * 1000);
+        }
+    }
+
+    private static TaskWrapper createTask(String queueName, String workerUrl, String paramValue) {
+        Map<String, String[]> paramMap = new HashMap<String, String[]>();
+        paramMap.put("param", new String[] { paramValue });
+        return new TaskWrapper(queueName, workerUrl, paramMap);
+    }
+
+    private static int getNumberOfTasksInQueue(String queueName) {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue().getQueueStateInfo().get(queueName).getCountTasks();
+    }
+
+}
@@ -0,0 +1,92 @@
+package teammates.test.cases.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Field;
+
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.storage.api.FeedbackResponseCommentsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.search.FeedbackResponseCommentSearchDocument;
+import teammates.storage.search.SearchDocument;
+
+/**
+ * SUT: {@link FeedbackResponseCommentSearchDocument}.
+ */
+public class FeedbackResponseCommentSearchDocumentTest extends BaseSearchTest {
+
+    private static final FeedbackResponseCommentsDb frcDb = new FeedbackResponseCommentsDb();
+    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+
+    @Test
+    public void testCreateDocuments() {
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackSessionAttributes session : dataBundle.feedbackSessions.values()) {
+            for (FeedbackResponseCommentAttributes comment : frcDb.getFeedbackResponseCommentsForSession(
+                    session.getCourseId(), session.getFeedbackSessionName())) {
+                // documents cannot be built for comments whose responses do not exist
+                if (frDb.getFeedbackResponse(comment.feedbackResponseId) != null) {
+                    comments.add(comment);
+                }
+            }
+        }
+
+        ______TS("no comments");
+
+        assertTrue(FeedbackResponseCommentSearchDocument.createDocuments(
+                new ArrayList<FeedbackResponseCommentAttributes>()).isEmpty());
+
+        ______TS("documents of comments are the same as those built one by one");
+
+        verifyDocumentsBuiltOneByOne(comments);
+
+        ______TS("document of the only comment of a course, whose data is read for the comment alone");
+
+        List<FeedbackResponseCommentAttributes> singleComment = new ArrayList<FeedbackResponseCommentAttributes>();
+        singleComment.add(comments.get(0));
+        verifyDocumentsBuiltOneByOne(singleComment);
+
+        ______TS("documents of several comments of a course and a single comment of another course");
+
+        List<FeedbackResponseCommentAttributes> mixedComments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            if (comment.courseId.equals(comments.get(0).courseId)) {
+                mixedComments.add(comment);
+            }
+        }
+        assertTrue(mixedComments.size() > 1);
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            if (!comment.courseId.equals(comments.get(0).courseId)) {
+                mixedComments.add(comment);
+                break;
+            }
+        }
+        verifyDocumentsBuiltOneByOne(mixedComments);
+    }
+
+    private void verifyDocumentsBuiltOneByOne(List<FeedbackResponseCommentAttributes> comments) {
+        List<SearchDocument> documents = FeedbackResponseCommentSearchDocument.createDocuments(comments);
+
+        assertEquals(comments.size(), documents.size());
+        for (int i = 0; i < comments.size(); i++) {
+            Document expected = new FeedbackResponseCommentSearchDocument(comments.get(i)).build();
+            Document actual = documents.get(i).build();
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(getFieldValues(expected), getFieldValues(actual));
+        }
+    }
+
+    private static List<String> getFieldValues(Document document) {
+        List<String> fieldValues = new ArrayList<String>();
+        for (Field field : document.getFields()) {
+            fieldValues.add(field.getName() + "=" + field.getText());
+        }
+        return fieldValues;
+    }
+
+}
@@ -0,0 +1,126 @@
+package teammates.test.cases.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Field;
+import com.google.appengine.api.search.Query;
+import com.google.appengine.api.search.QueryOptions;
+import com.google.appengine.api.search.Results;
+import com.google.appengine.api.search.ScoredDocument;
+import com.google.appengine.api.search.SearchQueryException;
+
+import teammates.common.util.Const;
+import teammates.storage.search.LocalSearchBackend;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.AssertHelper;
+
+/**
+ * SUT: {@link LocalSearchBackend}.
+ */
+public class LocalSearchBackendTest extends BaseTestCase {
+
+    private static final String INDEX_NAME = "localSearchBackendTest";
+
+    private final LocalSearchBackend backend = new LocalSearchBackend();
+
+    @AfterClass
+    public void classTearDown() {
+        LocalSearchBackend.clear();
+    }
+
+    @Test
+    public void testSearchDocuments() {
+        backend.putDocuments(INDEX_NAME, Arrays.asList(
+                createDocument("1", "course-A", "Alice Tan, alice@example.com, Team 1.1", 3),
+                createDocument("2", "course-A", "Bob Lim, bob@example.com, Team 1.2", 2),
+                createDocument("3", "course-B", "Alice Wong, wong@example.com, Team 2.1", 1)));
+
+        ______TS("words match regardless of case; documents are in descending order of rank");
+
+        assertEquals(Arrays.asList("1", "3"), search("ALICE"));
+
+        ______TS("quoted phrases match consecutive words split at punctuation");
+
+        assertEquals(Arrays.asList("1"), search("searchableText:(\"alice@example.com\")"));
+        assertEquals(Arrays.asList("1"), search("searchableText:(\"team 1 1\" OR \"nobody\")"));
+        assertEquals(new ArrayList<String>(), search("\"lim alice\""));
+
+        ______TS("words ending with * match the words with the prefix");
+
+        assertEquals(Arrays.asList("1", "3"), search("ali*"));
+        assertEquals(Arrays.asList("3"), search("searchableText:wo*"));
+
+        ______TS("field restrictions, AND, OR, NOT and parentheses");
+
+        assertEquals(Arrays.asList("1", "2"), search("courseId:(course-A)"));
+        assertEquals(Arrays.asList("1", "3"), search("courseId:(course-A OR course-B) AND searchableText:(\"alice\")"));
+        assertEquals(Arrays.asList("3"), search("courseId:(course-B) alice"));
+        assertEquals(Arrays.asList("2", "3"), search("NOT (alice AND tan)"));
+        assertEquals(new ArrayList<String>(), search("courseId:(alice)"));
+        assertEquals(new ArrayList<String>(), search("unknownField:alice"));
+
+        ______TS("empty query matches all documents; the offset and limit of the query are applied");
+
+        assertEquals(Arrays.asList("1", "2", "3"), search(""));
+        Query query = Query.newBuilder()
+                .setOptions(QueryOptions.newBuilder().setOffset(1).setLimit(1).build())
+                .build("example");
+        Results<ScoredDocument> results = backend.searchDocuments(INDEX_NAME, query);
+        assertEquals(3, results.getNumberFound());
+        assertEquals(1, results.getNumberReturned());
+        assertEquals("2", results.getResults().iterator().next().getId());
+        assertEquals("course-A", results.getResults().iterator().next()
+                                        .getOnlyField(Const.SearchDocumentField.COURSE_ID).getText());
+
+        ______TS("documents put again replace the earlier documents; deleted documents no longer match");
+
+        backend.putDocuments(INDEX_NAME, Arrays.asList(
+                createDocument("1", "course-A", "Carol Tan, carol@example.com, Team 1.1", 3)));
+        assertEquals(Arrays.asList("3"), search("alice"));
+        assertEquals(Arrays.asList("1"), search("carol"));
+
+        backend.deleteDocument(INDEX_NAME, "1");
+        assertEquals(new ArrayList<String>(), search("carol"));
+        assertEquals(Arrays.asList("2", "3"), search(""));
+
+        ______TS("invalid queries");
+
+        verifyInvalidQuery("courseId:(course-A");
+        verifyInvalidQuery("\"alice");
+        verifyInvalidQuery("alice AND");
+        verifyInvalidQuery(":alice");
+    }
+
+    private void verifyInvalidQuery(String queryString) {
+        try {
+            search(queryString);
+            signalFailureToDetectException();
+        } catch (SearchQueryException e) {
+            AssertHelper.assertContains(queryString, e.getMessage());
+        }
+    }
+
+    private List<String> search(String queryString) {
+        List<String> documentIds = new ArrayList<String>();
+        for (ScoredDocument document : backend.searchDocuments(INDEX_NAME, Query.newBuilder().build(queryString))) {
+            documentIds.add(document.getId());
+        }
+        return documentIds;
+    }
+
+    private static Document createDocument(String id, String courseId, String searchableText, int rank) {
+        return Document.newBuilder()
+                .setId(id)
+                .setRank(rank)
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.COURSE_ID).setText(courseId))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.SEARCHABLE_TEXT).setText(searchableText))
+                .build();
+    }
+
+}
@@ -0,0 +1,56 @@
+package teammates.test.cases.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.search.SearchDocumentsBuffer;
+
+/**
+ * SUT: {@link SearchDocumentsBuffer}.
+ */
+public class SearchDocumentsBufferTest extends BaseSearchTest {
+
+    private static final StudentsDb studentsDb = new StudentsDb();
+
+    @Test
+    public void testBuffering() {
+        StudentAttributes student = dataBundle.students.get("student1InCourse1");
+        student = studentsDb.getStudentForEmail(student.course, student.email);
+        studentsDb.deleteDocument(student);
+
+        ______TS("not started: documents are put right away");
+
+        assertTrue(SearchDocumentsBuffer.stop().isEmpty());
+        assertFalse(SearchDocumentsBuffer.add(Const.SearchIndex.STUDENT, student.key));
+
+        ______TS("started: documents put repeatedly are collected once and not put");
+
+        SearchDocumentsBuffer.start();
+        studentsDb.putDocument(student);
+        studentsDb.putDocuments(Arrays.asList(student));
+        assertEquals(0, studentsDb.searchStudentsInWholeSystem(student.email).numberOfResults);
+
+        Map<String, List<String>> documentIds = SearchDocumentsBuffer.stop();
+        assertEquals(1, documentIds.size());
+        assertEquals(Arrays.asList(student.key), documentIds.get(Const.SearchIndex.STUDENT));
+
+        ______TS("stopped: documents are put right away again");
+
+        assertTrue(SearchDocumentsBuffer.stop().isEmpty());
+        studentsDb.putDocument(student);
+        assertEquals(1, studentsDb.searchStudentsInWholeSystem(student.email).numberOfResults);
+    }
+
+    @AfterMethod
+    public void methodTearDown() {
+        SearchDocumentsBuffer.stop();
+    }
+
+}
@@ -0,0 +1,181 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import javax.jdo.PersistenceManager;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.apphosting.api.ApiProxy;
+
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.storage.api.ConcurrentLoader;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link ConcurrentLoader}.
+ */
+public class ConcurrentLoaderTest extends BaseComponentTestCase {
+
+    private static final StudentsDb studentsDb = new StudentsDb();
+
+    private StudentAttributes student;
+
+    @BeforeClass
+    public void classSetup() throws Exception {
+        student = new StudentAttributes();
+        student.name = "concurrent loader student";
+        student.course = "ConcurrentLoaderTest.course";
+        student.email = "student@concurrentloadertest.tmt";
+        student.team = "validTeamName";
+        student.section = "validSectionName";
+        student.comments = "";
+        student.googleId = "ConcurrentLoaderTest.student";
+        studentsDb.createEntity(student);
+    }
+
+    @AfterClass
+    public void classTearDown() {
+        studentsDb.deleteStudentsForCourseWithoutDocument(student.course);
+    }
+
+    @Test
+    public void testSubmitAndGetResult_inRequest() {
+        ConcurrentLoader loader = new ConcurrentLoader();
+        try {
+            verifyResultsAndExceptions(loader);
+
+            ______TS("tasks are run in threads other than the current thread");
+
+            final Thread currentThread = Thread.currentThread();
+            List<Future<Thread>> threads = new ArrayList<Future<Thread>>();
+            for (int i = 0; i < 5; i++) {
+                threads.add(loader.submit(new Callable<Thread>() {
+                    @Override
+                    public Thread call() {
+                        return Thread.currentThread();
+                    }
+                }));
+            }
+            for (Future<Thread> thread : threads) {
+                assertFalse(loader.getResult(thread) == currentThread);
+            }
+
+            ______TS("tasks read from the datastore, and the persistence manager of their thread is closed after");
+
+            final List<PersistenceManager> pmsUsed = new ArrayList<PersistenceManager>();
+            Future<StudentAttributes> studentRead = loader.submit(new Callable<StudentAttributes>() {
+                @Override
+                public StudentAttributes call() {
+                    PmRecordingStudentsDb pmRecordingStudentsDb = new PmRecordingStudentsDb();
+                    StudentAttributes studentRead =
+                            pmRecordingStudentsDb.getStudentForEmail(student.course, student.email);
+                    synchronized (pmsUsed) {
+                        pmsUsed.add(pmRecordingStudentsDb.getPmOfCurrentThread());
+                    }
+                    return studentRead;
+                }
+            });
+
+            assertEquals(student.googleId, loader.getResult(studentRead).googleId);
+            assertEquals(1, pmsUsed.size());
+            assertTrue(pmsUsed.get(0).isClosed());
+        } finally {
+            loader.close();
+        }
+    }
+
+    @Test
+    public void testSubmitAndGetResult_outsideRequest() {
+        ApiProxy.Environment environment = ApiProxy.getCurrentEnvironment();
+        ApiProxy.clearEnvironmentForCurrentThread();
+        try {
+            ConcurrentLoader loader = new ConcurrentLoader();
+            try {
+                verifyResultsAndExceptions(loader);
+
+                ______TS("tasks are run in the current thread");
+
+                Future<Thread> thread = loader.submit(new Callable<Thread>() {
+                    @Override
+                    public Thread call() {
+                        return Thread.currentThread();
+                    }
+                });
+                assertTrue(loader.getResult(thread) == Thread.currentThread());
+            } finally {
+                loader.close();
+            }
+        } finally {
+            ApiProxy.setEnvironmentForCurrentThread(environment);
+        }
+    }
+
+    private void verifyResultsAndExceptions(ConcurrentLoader loader) {
+
+        ______TS("results are obtained in the order the tasks were submitted");
+
+        List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            results.add(loader.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return value;
+                }
+            }));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, loader.getResult(results.get(i)).intValue());
+        }
+
+        ______TS("unchecked exceptions of a task are thrown as they are");
+
+        Future<String> failedResult = loader.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                throw new IllegalStateException("unchecked");
+            }
+        });
+        try {
+            loader.getResult(failedResult);
+            signalFailureToDetectException();
+        } catch (IllegalStateException e) {
+            assertEquals("unchecked", e.getMessage());
+        }
+
+        ______TS("checked exceptions of a task are wrapped");
+
+        final Exception checkedException = new Exception("checked");
+        failedResult = loader.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw checkedException;
+            }
+        });
+        try {
+            loader.getResult(failedResult);
+            signalFailureToDetectException();
+        } catch (RuntimeException e) {
+            assertEquals(checkedException, e.getCause());
+        }
+    }
+
+    /**
+     * Exposes the persistence manager of the thread it is used in.
+     */
+    private static class PmRecordingStudentsDb extends StudentsDb {
+
+        PersistenceManager getPmOfCurrentThread() {
+            return getPm();
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.KeyFactory;
+
+import teammates.common.datatransfer.attributes.CourseAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.storage.api.ConsistencyToken;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link ConsistencyToken}.
+ */
+public class ConsistencyTokenTest extends BaseComponentTestCase {
+
+    private static final String COURSE_ID = "CTT.idOfCourse";
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private StudentsDb studentsDb = new StudentsDb();
+
+    @Test
+    public void testRecordedWrites() throws Exception {
+        // writes made directly to the Datastore are not seen by the token, which shows
+        // whether existence checks are answered by the token or by querying the Datastore
+        CourseAttributes course = new CourseAttributes(COURSE_ID, "Consistency Token Course", "UTC");
+
+        ______TS("writes are not recorded before the token is started");
+
+        coursesDb.createEntity(course);
+        deleteCourseInDatastore();
+        assertFalse(coursesDb.hasEntity(course));
+
+        ______TS("created entities exist without querying the Datastore");
+
+        ConsistencyToken.start();
+        coursesDb.createEntity(course);
+        deleteCourseInDatastore();
+        assertTrue(coursesDb.hasEntity(course));
+
+        ______TS("deleted entities do not exist without querying the Datastore");
+
+        coursesDb.deleteCourse(COURSE_ID);
+        putCourseInDatastore();
+        assertFalse(coursesDb.hasEntity(course));
+
+        ______TS("entities deleted in bulk do not exist without querying the Datastore");
+
+        coursesDb.createEntity(course);
+        coursesDb.deleteEntities(Arrays.asList(course));
+        putCourseInDatastore();
+        assertFalse(coursesDb.hasEntity(course));
+
+        ______TS("deletions that do not go through deleteEntity discard recorded creations");
+
+        coursesDb.createEntity(course);
+        studentsDb.createEntity(new StudentAttributes("CTT.student", "student@ctt.tmt", "Student", "",
+                COURSE_ID, "Team 1", "Section 1"));
+        studentsDb.deleteStudentsForCourseWithoutDocument(COURSE_ID);
+        deleteCourseInDatastore();
+        assertFalse(coursesDb.hasEntity(course));
+
+        ______TS("writes are no longer recorded after the token is stopped");
+
+        coursesDb.createEntity(course);
+        ConsistencyToken.stop();
+        deleteCourseInDatastore();
+        assertFalse(coursesDb.hasEntity(course));
+    }
+
+    private void deleteCourseInDatastore() {
+        DatastoreServiceFactory.getDatastoreService().delete(KeyFactory.createKey("Course", COURSE_ID));
+    }
+
+    private void putCourseInDatastore() {
+        DatastoreServiceFactory.getDatastoreService().put(new Entity("Course", COURSE_ID));
+    }
+
+    @AfterMethod
+    public void stopToken() {
+        ConsistencyToken.stop();
+    }
+
+    @AfterClass
+    public void classTearDown() {
+        coursesDb.deleteCourse(COURSE_ID);
+        studentsDb.deleteStudentsForCourseWithoutDocument(COURSE_ID);
+    }
+
+}
@@ -0,0 +1,200 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.StudentUpdateStatus;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.StringHelper;
+import teammates.storage.api.CourseRosterDb;
+import teammates.storage.api.CourseRosterDb.CourseRosterLoader;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link CourseRosterDb}.
+ */
+public class CourseRosterDbTest extends BaseComponentTestCase {
+
+    private static final CourseRosterDb courseRosterDb = new CourseRosterDb();
+    private static final StudentsDb studentsDb = new StudentsDb();
+    private static final InstructorsDb instructorsDb = new InstructorsDb();
+
+    private static final String COURSE_ID = "CRDbT.idOfCourse";
+    private static final String OTHER_COURSE_ID = "CRDbT.idOfOtherCourse";
+    private static final String LOADED_COURSE_ID = "CRDbT.idOfLoadedCourse";
+
+    @Test
+    public void testCachingAndInvalidation() throws Exception {
+        StudentAttributes student = new StudentAttributes("CRDbT.student", "student@crdbt.tmt", "Student", "",
+                COURSE_ID, "Team 1", "Section 1");
+        InstructorAttributes instructor = new InstructorAttributes("CRDbT.instr", COURSE_ID, "Instructor",
+                "instr@crdbt.tmt", Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR,
+                true, "Tutor", null);
+
+        ______TS("roster key does not change without writes");
+
+        String rosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        String otherRosterKey = courseRosterDb.getCourseRosterKey(OTHER_COURSE_ID);
+        assertEquals(rosterKey, courseRosterDb.getCourseRosterKey(COURSE_ID));
+        assertFalse(rosterKey.equals(otherRosterKey));
+        assertNull(courseRosterDb.getCourseRoster(rosterKey));
+
+        ______TS("creating a student invalidates the roster of its course only");
+
+        studentsDb.createEntity(student);
+        String newRosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        assertFalse(rosterKey.equals(newRosterKey));
+        assertEquals(otherRosterKey, courseRosterDb.getCourseRosterKey(OTHER_COURSE_ID));
+        rosterKey = newRosterKey;
+
+        ______TS("creating an instructor invalidates the roster of its course");
+
+        instructorsDb.createEntity(instructor);
+        newRosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        assertFalse(rosterKey.equals(newRosterKey));
+        rosterKey = newRosterKey;
+
+        ______TS("roster read right after a write is not cached");
+
+        student = studentsDb.getStudentForEmail(COURSE_ID, student.email);
+        student.updateStatus = StudentUpdateStatus.NEW;
+        instructor = instructorsDb.getInstructorForEmail(COURSE_ID, instructor.email);
+        CourseRoster roster = new CourseRoster(Arrays.asList(student), Arrays.asList(instructor));
+
+        assertTrue(courseRosterDb.isRecentlyWritten(rosterKey));
+        courseRosterDb.putCourseRoster(rosterKey, roster);
+        assertNull(courseRosterDb.getCourseRoster(rosterKey));
+
+        ______TS("cached roster keeps all the details of students and instructors");
+
+        String settledRosterKey = getSettledRosterKey(rosterKey);
+        assertFalse(courseRosterDb.isRecentlyWritten(settledRosterKey));
+        courseRosterDb.putCourseRoster(settledRosterKey, roster);
+
+        CourseRoster cachedRoster = courseRosterDb.getCourseRoster(settledRosterKey);
+        assertTrue(cachedRoster.isStudentInCourse(student.email));
+        assertTrue(cachedRoster.isInstructorOfCourse(instructor.email));
+
+        StudentAttributes cachedStudent = cachedRoster.getStudentForEmail(student.email);
+        assertEquals(student.toString(), cachedStudent.toString());
+        assertEquals(student.key, cachedStudent.key);
+        assertEquals(student.updateStatus, cachedStudent.updateStatus);
+        assertEquals(student.getCreatedAt(), cachedStudent.getCreatedAt());
+        assertEquals(student.getUpdatedAt(), cachedStudent.getUpdatedAt());
+
+        InstructorAttributes cachedInstructor = cachedRoster.getInstructorForEmail(instructor.email);
+        assertEquals(instructor.toString(), cachedInstructor.toString());
+        assertEquals(instructor.key, cachedInstructor.key);
+        assertEquals(instructor.getTextFromInstructorPrivileges(), cachedInstructor.getTextFromInstructorPrivileges());
+
+        ______TS("roster too large for memcache is not cached");
+
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        String comments = StringHelper.generateStringOfLength(1000, 'x');
+        for (int i = 0; i < 2000; i++) {
+            students.add(new StudentAttributes(null, "student" + i + "@crdbt.tmt", "Student " + i, comments + i,
+                                               COURSE_ID, "Team 1", "Section 1"));
+        }
+        String otherSettledRosterKey = getSettledRosterKey(otherRosterKey);
+        courseRosterDb.putCourseRoster(otherSettledRosterKey,
+                                       new CourseRoster(students, new ArrayList<InstructorAttributes>()));
+        assertNull(courseRosterDb.getCourseRoster(otherSettledRosterKey));
+
+        ______TS("updating a student invalidates the roster of its course");
+
+        studentsDb.updateStudentWithoutSearchability(COURSE_ID, student.email, "New Name", student.team,
+                student.section, student.email, student.googleId, student.comments);
+        newRosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        assertFalse(rosterKey.equals(newRosterKey));
+        assertNull(courseRosterDb.getCourseRoster(newRosterKey));
+        rosterKey = newRosterKey;
+
+        ______TS("updating an instructor invalidates the roster of its course");
+
+        instructor.name = "New Name";
+        instructorsDb.updateInstructorByEmail(instructor);
+        newRosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        assertFalse(rosterKey.equals(newRosterKey));
+        rosterKey = newRosterKey;
+
+        ______TS("deleting a student invalidates the roster of its course");
+
+        studentsDb.deleteStudentWithoutDocument(COURSE_ID, student.email);
+        newRosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        assertFalse(rosterKey.equals(newRosterKey));
+        rosterKey = newRosterKey;
+
+        ______TS("version of the course is the time of the last write");
+
+        long writeTime = System.currentTimeMillis();
+        studentsDb.deleteStudentWithoutDocument(COURSE_ID, student.email);
+        newRosterKey = courseRosterDb.getCourseRosterKey(COURSE_ID);
+        long lastWriteTime = Long.parseLong(newRosterKey.substring(newRosterKey.lastIndexOf('/') + 1));
+        assertTrue(lastWriteTime >= writeTime);
+        rosterKey = newRosterKey;
+
+        ______TS("deleting the instructors of a course invalidates the roster of the course");
+
+        instructorsDb.deleteInstructorsForCourse(COURSE_ID);
+        assertFalse(rosterKey.equals(courseRosterDb.getCourseRosterKey(COURSE_ID)));
+        assertEquals(otherRosterKey, courseRosterDb.getCourseRosterKey(OTHER_COURSE_ID));
+    }
+
+    @Test
+    public void testGetOrLoadCourseRoster() {
+        final List<String> loadedCourseIds = new ArrayList<String>();
+        CourseRosterLoader loader = new CourseRosterLoader() {
+            @Override
+            public CourseRoster load(String courseId) {
+                loadedCourseIds.add(courseId);
+                return new CourseRoster(new ArrayList<StudentAttributes>(), new ArrayList<InstructorAttributes>());
+            }
+        };
+
+        ______TS("roster that is not cached is loaded");
+
+        CourseRoster roster = courseRosterDb.getOrLoadCourseRoster(LOADED_COURSE_ID, loader);
+        assertTrue(roster.getStudents().isEmpty());
+        assertEquals(Arrays.asList(LOADED_COURSE_ID), loadedCourseIds);
+
+        ______TS("roster loaded right after the version of the course is created is loaded again");
+
+        courseRosterDb.getOrLoadCourseRoster(LOADED_COURSE_ID, loader);
+        assertEquals(2, loadedCourseIds.size());
+
+        ______TS("cached roster is not loaded again");
+
+        MemcacheServiceFactory.getMemcacheService().put(courseRosterDb.getCourseRosterKey(LOADED_COURSE_ID), roster);
+        assertNotNull(courseRosterDb.getOrLoadCourseRoster(LOADED_COURSE_ID, loader));
+        assertEquals(2, loadedCourseIds.size());
+    }
+
+    /**
+     * Returns the key of the roster read long after the last write to the course of {@code rosterKey}.
+     * The version of a roster key is the time of the last write, so a key with an earlier version
+     * stands for a roster read long after that write.
+     */
+    private String getSettledRosterKey(String rosterKey) {
+        int versionIndex = rosterKey.lastIndexOf('/') + 1;
+        long lastWriteTime = Long.parseLong(rosterKey.substring(versionIndex));
+        return rosterKey.substring(0, versionIndex) + (lastWriteTime - 60 * 1000);
+    }
+
+    @AfterClass
+    public void classTearDown() {
+        studentsDb.deleteStudentsForCourseWithoutDocument(COURSE_ID);
+        instructorsDb.deleteInstructorsForCourse(COURSE_ID);
+    }
+
+}
@@ -1,7 +1,11 @@
 package teammates.test.cases.storage;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CourseStats;
 import teammates.common.datatransfer.attributes.CourseAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -163,6 +167,55 @@ public class CoursesDbTest extends BaseComponentTestCase {
         assertEquals(c.getName() + " updated", retrieved.getName());
     }
 
+    @Test
+    public void testCourseStats() {
+        String courseId = "Computing101-stats";
+        Map<String, String> rosterKeys = new HashMap<String, String>();
+        rosterKeys.put(courseId, "rosterKey1");
+
+        ______TS("Success: statistics never saved");
+
+        assertTrue(coursesDb.getCourseStats(rosterKeys).isEmpty());
+
+        ______TS("Success: save and get statistics");
+
+        CourseStats stats = createCourseStats(2, 3, 10, 1);
+        coursesDb.putCourseStats(courseId, "rosterKey1", stats);
+
+        CourseStats savedStats = coursesDb.getCourseStats(rosterKeys).get(courseId);
+        assertEquals(2, savedStats.sectionsTotal);
+        assertEquals(3, savedStats.teamsTotal);
+        assertEquals(10, savedStats.studentsTotal);
+        assertEquals(1, savedStats.unregisteredTotal);
+
+        ______TS("Success: statistics counted from another roster are left out");
+
+        rosterKeys.put(courseId, "rosterKey2");
+        assertTrue(coursesDb.getCourseStats(rosterKeys).isEmpty());
+
+        ______TS("Success: replace statistics");
+
+        coursesDb.putCourseStats(courseId, "rosterKey2", createCourseStats(2, 3, 11, 2));
+
+        savedStats = coursesDb.getCourseStats(rosterKeys).get(courseId);
+        assertEquals(11, savedStats.studentsTotal);
+        assertEquals(2, savedStats.unregisteredTotal);
+
+        ______TS("Success: statistics are deleted with the course");
+
+        coursesDb.deleteCourse(courseId);
+        assertTrue(coursesDb.getCourseStats(rosterKeys).isEmpty());
+
+        ______TS("Failure: null parameter");
+
+        try {
+            coursesDb.putCourseStats(courseId, null, stats);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+
     @Test
     public void testDeleteCourse() throws InvalidParametersException {
         CourseAttributes c = createNewCourse();
@@ -189,6 +242,16 @@ public class CoursesDbTest extends BaseComponentTestCase {
         }
     }
 
+    private CourseStats createCourseStats(int sectionsTotal, int teamsTotal, int studentsTotal,
+                                          int unregisteredTotal) {
+        CourseStats stats = new CourseStats();
+        stats.sectionsTotal = sectionsTotal;
+        stats.teamsTotal = teamsTotal;
+        stats.studentsTotal = studentsTotal;
+        stats.unregisteredTotal = unregisteredTotal;
+        return stats;
+    }
+
     private CourseAttributes createNewCourse() throws InvalidParametersException {
 
         CourseAttributes c = new CourseAttributes("Computing101", "Basic Computing", "UTC");
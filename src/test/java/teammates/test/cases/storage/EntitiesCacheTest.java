@@ -0,0 +1,177 @@
+package teammates.test.cases.storage;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.attributes.CourseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackSessionAttributes;
+import teammates.common.datatransfer.attributes.InstructorAttributes;
+import teammates.common.datatransfer.attributes.StudentAttributes;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.EntitiesCache;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link EntitiesCache}.
+ */
+public class EntitiesCacheTest extends BaseComponentTestCase {
+
+    private static final String COURSE_ID = "ECT.idOfCourse";
+    private static final String OTHER_COURSE_ID = "ECT.idOfOtherCourse";
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private InstructorsDb instructorsDb = new InstructorsDb();
+    private StudentsDb studentsDb = new StudentsDb();
+    private FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+
+    @BeforeClass
+    public void classSetup() throws Exception {
+        coursesDb.createEntity(new CourseAttributes(COURSE_ID, "Entities Cache Course", "UTC"));
+        instructorsDb.createEntity(new InstructorAttributes("ECT.instr", COURSE_ID, "Instructor", "instr@ect.tmt",
+                "Co-owner", true, "Instructor", null));
+        studentsDb.createEntity(new StudentAttributes("ECT.student", "student@ect.tmt", "Student", "",
+                COURSE_ID, "Team 1", "Section 1"));
+    }
+
+    @BeforeMethod
+    public void startCaching() {
+        EntitiesCache.start();
+    }
+
+    @AfterMethod
+    public void stopCaching() {
+        EntitiesCache.stop();
+    }
+
+    @Test
+    public void testRepeatedReads() {
+
+        ______TS("repeated reads of the same entity are served from the cache");
+
+        CourseAttributes course = coursesDb.getCourse(COURSE_ID);
+        assertEquals(0, EntitiesCache.getHitCount());
+        assertEquals(1, EntitiesCache.getMissCount());
+
+        CourseAttributes cachedCourse = coursesDb.getCourse(COURSE_ID);
+        assertEquals(1, EntitiesCache.getHitCount());
+        assertEquals(1, EntitiesCache.getMissCount());
+        assertEquals(course.toString(), cachedCourse.toString());
+        assertEquals(course.createdAt, cachedCourse.createdAt);
+
+        ______TS("every read gets its own copy of the entity");
+
+        assertFalse(course == cachedCourse);
+        cachedCourse.setTimeZone("Asia/Singapore");
+        assertEquals("UTC", coursesDb.getCourse(COURSE_ID).getTimeZone());
+
+        ______TS("cached entities keep their values after the persistence manager is closed");
+
+        new PmClosingCoursesDb().closePmOfCurrentThread();
+        cachedCourse = coursesDb.getCourse(COURSE_ID);
+        assertEquals(3, EntitiesCache.getHitCount());
+        assertEquals(course.toString(), cachedCourse.toString());
+        assertEquals(course.createdAt, cachedCourse.createdAt);
+
+        ______TS("lookups of the same entity by different keys are cached separately");
+
+        InstructorAttributes instructor = instructorsDb.getInstructorForEmail(COURSE_ID, "instr@ect.tmt");
+        InstructorAttributes cachedInstructor = instructorsDb.getInstructorForGoogleId(COURSE_ID, "ECT.instr");
+        assertEquals(instructor.toString(), cachedInstructor.toString());
+        assertEquals(3, EntitiesCache.getHitCount());
+        assertEquals(3, EntitiesCache.getMissCount());
+
+        cachedInstructor = instructorsDb.getInstructorForGoogleId(COURSE_ID, "ECT.instr");
+        assertEquals(instructor.getTextFromInstructorPrivileges(), cachedInstructor.getTextFromInstructorPrivileges());
+        assertEquals(4, EntitiesCache.getHitCount());
+
+        ______TS("lookups that found nothing are cached too");
+
+        assertNull(studentsDb.getStudentForGoogleId(COURSE_ID, "ECT.nonExistentStudent"));
+        assertNull(studentsDb.getStudentForGoogleId(COURSE_ID, "ECT.nonExistentStudent"));
+        assertEquals(5, EntitiesCache.getHitCount());
+        assertEquals(4, EntitiesCache.getMissCount());
+
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(COURSE_ID, "Non-existent session");
+        assertNull(session);
+        assertNull(fsDb.getFeedbackSession(COURSE_ID, "Non-existent session"));
+        assertEquals(6, EntitiesCache.getHitCount());
+    }
+
+    @Test
+    public void testInvalidationOnWrites() throws Exception {
+
+        ______TS("updating an entity invalidates the cached entities of its kind");
+
+        CourseAttributes course = coursesDb.getCourse(COURSE_ID);
+        course.setTimeZone("Asia/Singapore");
+        coursesDb.updateCourse(course);
+
+        assertEquals("Asia/Singapore", coursesDb.getCourse(COURSE_ID).getTimeZone());
+        assertEquals(0, EntitiesCache.getHitCount());
+        assertEquals(2, EntitiesCache.getMissCount());
+
+        course.setTimeZone("UTC");
+        coursesDb.updateCourse(course);
+
+        ______TS("creating an entity invalidates cached lookups that found nothing");
+
+        StudentAttributes newStudent = new StudentAttributes("ECT.newStudent", "newStudent@ect.tmt", "New Student",
+                "", COURSE_ID, "Team 1", "Section 1");
+        assertNull(studentsDb.getStudentForEmail(COURSE_ID, newStudent.email));
+        studentsDb.createEntity(newStudent);
+        assertEquals(newStudent.name, studentsDb.getStudentForEmail(COURSE_ID, newStudent.email).name);
+
+        ______TS("deleting an entity invalidates the cached entities of its kind");
+
+        studentsDb.deleteStudentWithoutDocument(COURSE_ID, newStudent.email);
+        assertNull(studentsDb.getStudentForEmail(COURSE_ID, newStudent.email));
+
+        ______TS("deleting entities in bulk invalidates the cached entities of their kind");
+
+        studentsDb.createEntity(new StudentAttributes("ECT.otherStudent", "student@ect.tmt", "Student", "",
+                OTHER_COURSE_ID, "Team 1", "Section 1"));
+        instructorsDb.createEntity(new InstructorAttributes("ECT.otherInstr", OTHER_COURSE_ID, "Instructor",
+                "instr@ect.tmt", "Co-owner", true, "Instructor", null));
+        assertNotNull(studentsDb.getStudentForGoogleId(OTHER_COURSE_ID, "ECT.otherStudent"));
+        assertNotNull(instructorsDb.getInstructorForEmail(OTHER_COURSE_ID, "instr@ect.tmt"));
+        studentsDb.deleteStudentsForCourseWithoutDocument(OTHER_COURSE_ID);
+        instructorsDb.deleteInstructorsForCourse(OTHER_COURSE_ID);
+        assertNull(studentsDb.getStudentForGoogleId(OTHER_COURSE_ID, "ECT.otherStudent"));
+        assertNull(instructorsDb.getInstructorForEmail(OTHER_COURSE_ID, "instr@ect.tmt"));
+    }
+
+    @Test
+    public void testWithoutCaching() {
+        EntitiesCache.stop();
+
+        coursesDb.getCourse(COURSE_ID);
+        coursesDb.getCourse(COURSE_ID);
+        assertEquals(0, EntitiesCache.getHitCount());
+        assertEquals(0, EntitiesCache.getMissCount());
+    }
+
+    @AfterClass
+    public void classTearDown() {
+        studentsDb.deleteStudentsForCourseWithoutDocument(COURSE_ID);
+        instructorsDb.deleteInstructorsForCourse(COURSE_ID);
+        coursesDb.deleteCourse(COURSE_ID);
+    }
+
+    /**
+     * Closes the persistence manager of the thread it is used in.
+     */
+    private static class PmClosingCoursesDb extends CoursesDb {
+
+        void closePmOfCurrentThread() {
+            getPm().close();
+        }
+
+    }
+
+}
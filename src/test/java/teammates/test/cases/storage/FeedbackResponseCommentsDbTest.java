@@ -10,6 +10,7 @@ import org.testng.annotations.Test;
 import com.google.appengine.api.datastore.Text;
 
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -67,6 +68,8 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
 
         testGetFeedbackResponseCommentsForSession();
 
+        testGetFeedbackResponseCommentsForSessionPage();
+
         testUpdateFeedbackResponseCommentsGiverEmail();
 
         testDeleteFeedbackResponseCommentsForResponse();
@@ -313,6 +316,45 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         verifyListsContainSameResponseCommentAttributes(expectedFrcas, actualFrcas);
     }
 
+    private void testGetFeedbackResponseCommentsForSessionPage() {
+
+        ______TS("null parameter");
+
+        try {
+            frcDb.getFeedbackResponseCommentsForSessionPage(null, "", null, 1);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+
+        ______TS("typical success case: pages cover all comments of the session exactly once");
+
+        List<FeedbackResponseCommentAttributes> expectedFrcas =
+                frcDb.getFeedbackResponseCommentsForSession(frcaData.courseId, frcaData.feedbackSessionName);
+        List<FeedbackResponseCommentAttributes> actualFrcas = new ArrayList<FeedbackResponseCommentAttributes>();
+        int numberOfPages = 0;
+        String cursor = null;
+        do {
+            ResultsPage<FeedbackResponseCommentAttributes> page = frcDb.getFeedbackResponseCommentsForSessionPage(
+                    frcaData.courseId, frcaData.feedbackSessionName, cursor, 1);
+            assertTrue(page.getResults().size() <= 1);
+            actualFrcas.addAll(page.getResults());
+            cursor = page.getNextCursor();
+            numberOfPages++;
+        } while (cursor != null);
+
+        assertEquals(expectedFrcas.size(), actualFrcas.size());
+        verifyListsContainSameResponseCommentAttributes(expectedFrcas, actualFrcas);
+        assertTrue(numberOfPages > 1);
+
+        ______TS("non-existent session");
+
+        ResultsPage<FeedbackResponseCommentAttributes> page = frcDb.getFeedbackResponseCommentsForSessionPage(
+                frcaData.courseId, "non-existent session", null, 1);
+        assertTrue(page.getResults().isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+
     private void testUpdateFeedbackResponseCommentsGiverEmail()
             throws InvalidParametersException, EntityAlreadyExistsException {
         FeedbackResponseCommentAttributes frcaDataOfNewGiver =
@@ -1,6 +1,7 @@
 package teammates.test.cases.storage;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +11,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
 import teammates.common.datatransfer.questions.FeedbackQuestionType;
 import teammates.common.datatransfer.questions.FeedbackResponseDetails;
@@ -623,6 +625,67 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
                 feedbackSessionName, "non-existent courseId", 1).isEmpty());
     }
 
+    @Test
+    public void testGetFeedbackResponsesForSessionPage() {
+
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        List<FeedbackResponseAttributes> allResponses =
+                frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId);
+
+        ______TS("pages cover all responses of the session exactly once");
+
+        Set<String> responseIds = new HashSet<String>();
+        int numberOfPages = 0;
+        String cursor = null;
+        do {
+            ResultsPage<FeedbackResponseAttributes> page =
+                    frDb.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, 2);
+            assertTrue(page.getResults().size() <= 2);
+            for (FeedbackResponseAttributes response : page.getResults()) {
+                assertTrue(responseIds.add(response.getId()));
+            }
+            cursor = page.getNextCursor();
+            numberOfPages++;
+        } while (cursor != null);
+
+        assertEquals(allResponses.size(), responseIds.size());
+        assertTrue(numberOfPages > 1);
+
+        ______TS("page larger than the number of responses");
+
+        ResultsPage<FeedbackResponseAttributes> page = frDb.getFeedbackResponsesForSessionPage(
+                feedbackSessionName, courseId, null, allResponses.size() + 1);
+        assertEquals(allResponses.size(), page.getResults().size());
+        assertFalse(page.hasNextPage());
+
+        ______TS("pages of responses from and to a section");
+
+        page = frDb.getFeedbackResponsesForSessionFromSectionPage(
+                feedbackSessionName, courseId, "Section 1", null, 100);
+        assertEquals(frDb.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId, "Section 1").size(),
+                     page.getResults().size());
+        page = frDb.getFeedbackResponsesForSessionToSectionPage(
+                feedbackSessionName, courseId, "Section 2", null, 100);
+        assertEquals(frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, "Section 2").size(),
+                     page.getResults().size());
+
+        ______TS("null params");
+
+        try {
+            frDb.getFeedbackResponsesForSessionPage(null, courseId, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+
+        ______TS("non-existent feedback session");
+
+        page = frDb.getFeedbackResponsesForSessionPage("non-existent feedback session", courseId, null, 2);
+        assertTrue(page.getResults().isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+
     @Test
     public void testGetFeedbackResponsesForSessionInSection() {
 
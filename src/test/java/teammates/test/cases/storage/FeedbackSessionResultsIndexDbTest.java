@@ -0,0 +1,169 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.datastore.Text;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionResultsIndex;
+import teammates.common.datatransfer.attributes.FeedbackResponseAttributes;
+import teammates.common.datatransfer.attributes.FeedbackResponseCommentAttributes;
+import teammates.common.util.StringHelper;
+import teammates.storage.api.FeedbackResponseCommentsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.api.FeedbackSessionResultsIndexDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link FeedbackSessionResultsIndexDb}.
+ */
+public class FeedbackSessionResultsIndexDbTest extends BaseComponentTestCase {
+
+    private static final FeedbackSessionResultsIndexDb resultsIndexDb = new FeedbackSessionResultsIndexDb();
+    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private static final FeedbackResponseCommentsDb frcDb = new FeedbackResponseCommentsDb();
+
+    private static final String COURSE_ID = "FSRIDbT.idOfCourse";
+    private static final String QUESTION_ID = "FSRIDbT.idOfQuestion";
+
+    private DataBundle dataBundle = getTypicalDataBundle();
+
+    @Test
+    public void testCachingAndInvalidation() throws Exception {
+        FeedbackResponseAttributes response = dataBundle.feedbackResponses.get("response1ForQ1S1C1");
+        FeedbackResponseCommentAttributes comment =
+                dataBundle.feedbackResponseComments.get("comment1FromT1C1ToR1Q1S1C1");
+        // use a course of its own so that the datastore is not shared with other tests
+        response.courseId = COURSE_ID;
+        response.feedbackQuestionId = QUESTION_ID;
+        comment.courseId = COURSE_ID;
+        comment.feedbackQuestionId = QUESTION_ID;
+        comment.feedbackResponseId = QUESTION_ID + "%" + response.giver + "%" + response.recipient;
+        String feedbackSessionName = response.feedbackSessionName;
+        String courseId = response.courseId;
+        String otherFeedbackSessionName = "Second feedback session";
+
+        ______TS("index key does not change without writes");
+
+        String indexKey = resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId);
+        String otherIndexKey = resultsIndexDb.getFeedbackSessionResultsIndexKey(otherFeedbackSessionName, courseId);
+        assertEquals(indexKey, resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId));
+        assertFalse(indexKey.equals(otherIndexKey));
+        assertNull(resultsIndexDb.getFeedbackSessionResultsIndex(indexKey));
+
+        ______TS("writing a response invalidates the index of its session only");
+
+        frDb.createEntity(response);
+        String newIndexKey = resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId);
+        assertFalse(indexKey.equals(newIndexKey));
+        assertEquals(otherIndexKey,
+                     resultsIndexDb.getFeedbackSessionResultsIndexKey(otherFeedbackSessionName, courseId));
+        indexKey = newIndexKey;
+
+        ______TS("writing a response comment invalidates the index of its session");
+
+        comment = frcDb.createEntity(comment);
+        newIndexKey = resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId);
+        assertFalse(indexKey.equals(newIndexKey));
+        indexKey = newIndexKey;
+
+        ______TS("index read right after a write is not cached");
+
+        response = frDb.getFeedbackResponse(response.feedbackQuestionId, response.giver, response.recipient);
+        FeedbackSessionResultsIndex index = new FeedbackSessionResultsIndex(
+                feedbackSessionName, courseId, Arrays.asList(response), Arrays.asList(comment));
+
+        assertTrue(resultsIndexDb.isRecentlyWritten(indexKey));
+        resultsIndexDb.putFeedbackSessionResultsIndex(indexKey, index);
+        assertNull(resultsIndexDb.getFeedbackSessionResultsIndex(indexKey));
+
+        ______TS("cached index keeps all the details of responses and comments");
+
+        String settledIndexKey = getSettledIndexKey(indexKey);
+        assertFalse(resultsIndexDb.isRecentlyWritten(settledIndexKey));
+        resultsIndexDb.putFeedbackSessionResultsIndex(settledIndexKey, index);
+
+        FeedbackSessionResultsIndex cachedIndex = resultsIndexDb.getFeedbackSessionResultsIndex(settledIndexKey);
+        assertTrue(cachedIndex.isComplete());
+        assertEquals(1, cachedIndex.getNumberOfResponses());
+
+        FeedbackResponseAttributes cachedResponse =
+                cachedIndex.getResponsesForQuestion(response.feedbackQuestionId).get(0);
+        assertEquals(response.getId(), cachedResponse.getId());
+        assertEquals(response.toString(), cachedResponse.toString());
+        assertEquals(response.getCreatedAt(), cachedResponse.getCreatedAt());
+        assertEquals(response.getUpdatedAt(), cachedResponse.getUpdatedAt());
+
+        FeedbackResponseCommentAttributes cachedComment = cachedIndex.getResponseCommentsInSection(null).get(0);
+        assertEquals(comment.getId(), cachedComment.getId());
+        assertEquals(comment.toString(), cachedComment.toString());
+        assertEquals(comment.sendingState, cachedComment.sendingState);
+        assertEquals(comment.showCommentTo, cachedComment.showCommentTo);
+
+        ______TS("results are filtered by section");
+
+        assertEquals(1, cachedIndex.getResponsesInSection("Section 1").size());
+        assertEquals(1, cachedIndex.getResponsesFromSection("Section 1").size());
+        assertEquals(0, cachedIndex.getResponsesToSection("Section 2").size());
+        assertEquals(0, cachedIndex.getResponseCommentsInSection("Section 1").size());
+
+        ______TS("index of a session with too many responses is cached without results");
+
+        otherIndexKey = getSettledIndexKey(otherIndexKey);
+
+        resultsIndexDb.putFeedbackSessionResultsIndex(otherIndexKey,
+                new FeedbackSessionResultsIndex(otherFeedbackSessionName, courseId));
+        cachedIndex = resultsIndexDb.getFeedbackSessionResultsIndex(otherIndexKey);
+        assertFalse(cachedIndex.isComplete());
+        assertEquals(0, cachedIndex.getNumberOfResponses());
+
+        ______TS("index too large for memcache is cached without results");
+
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        String answer = StringHelper.generateStringOfLength(1000, 'x');
+        for (int i = 0; i < 2000; i++) {
+            FeedbackResponseAttributes largeResponse = new FeedbackResponseAttributes(response);
+            largeResponse.recipient = "recipient" + i + "@fsridbt.tmt";
+            largeResponse.responseMetaData = new Text(answer + i);
+            responses.add(largeResponse);
+        }
+        resultsIndexDb.putFeedbackSessionResultsIndex(otherIndexKey, new FeedbackSessionResultsIndex(
+                otherFeedbackSessionName, courseId, responses, new ArrayList<FeedbackResponseCommentAttributes>()));
+        cachedIndex = resultsIndexDb.getFeedbackSessionResultsIndex(otherIndexKey);
+        assertFalse(cachedIndex.isComplete());
+        assertEquals(0, cachedIndex.getNumberOfResponses());
+
+        ______TS("deleting a response invalidates the index of its session");
+
+        frDb.deleteEntity(response);
+        newIndexKey = resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId);
+        assertFalse(indexKey.equals(newIndexKey));
+        indexKey = newIndexKey;
+
+        ______TS("deleting the comments of a course invalidates the indexes of all its sessions");
+
+        frcDb.deleteFeedbackResponseCommentsForCourse(courseId);
+        assertFalse(indexKey.equals(resultsIndexDb.getFeedbackSessionResultsIndexKey(feedbackSessionName, courseId)));
+        assertFalse(otherIndexKey.equals(
+                resultsIndexDb.getFeedbackSessionResultsIndexKey(otherFeedbackSessionName, courseId)));
+    }
+
+    private String getSettledIndexKey(String indexKey) {
+        int versionIndex = indexKey.lastIndexOf('/') + 1;
+        String[] lastWriteTimes = indexKey.substring(versionIndex).split("\\.");
+        return indexKey.substring(0, versionIndex) + (Long.parseLong(lastWriteTimes[0]) - 60 * 1000)
+               + "." + (Long.parseLong(lastWriteTimes[1]) - 60 * 1000);
+    }
+
+    @AfterClass
+    public void classTearDown() {
+        frDb.deleteFeedbackResponsesForCourse(COURSE_ID);
+        frcDb.deleteFeedbackResponseCommentsForCourse(COURSE_ID);
+    }
+
+}
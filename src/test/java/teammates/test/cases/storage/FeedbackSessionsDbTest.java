@@ -4,8 +4,10 @@ import static teammates.common.util.FieldValidator.SESSION_END_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.SESSION_START_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.TIME_FRAME_ERROR_MESSAGE;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -284,6 +286,62 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         verifyPresentInDatastore(modifiedSession);
     }
 
+    @Test
+    public void testRespondents() throws Exception {
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.setFeedbackSessionName("fsRespondentsTest");
+        // respondents stored in the session itself, as before respondents were recorded separately
+        fsa.setRespondingStudentList(new HashSet<String>(Arrays.asList("stored@email.tmt")));
+        fsDb.createEntity(fsa);
+        fsa = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+
+        ______TS("respondents are recorded once and merged with the respondents stored in the session");
+
+        fsDb.addStudentRespondent("student@email.tmt", fsa);
+        fsDb.addStudentRespondents(Arrays.asList("student@email.tmt", "student2@email.tmt"), fsa);
+        fsDb.addInstructorRespondent("instructor@email.tmt", fsa);
+
+        assertTrue(fsDb.hasStudentRespondent("stored@email.tmt", fsa));
+        assertTrue(fsDb.hasStudentRespondent("student@email.tmt", fsa));
+        assertFalse(fsDb.hasStudentRespondent("instructor@email.tmt", fsa));
+        assertTrue(fsDb.hasInstructorRespondent("instructor@email.tmt", fsa));
+
+        FeedbackSessionAttributes merged = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        assertEquals(1, merged.getRespondingStudentList().size());
+        fsDb.mergeRespondents(merged);
+        assertEquals(new HashSet<String>(Arrays.asList("stored@email.tmt", "student@email.tmt", "student2@email.tmt")),
+                     merged.getRespondingStudentList());
+        assertEquals(new HashSet<String>(Arrays.asList("instructor@email.tmt")), merged.getRespondingInstructorList());
+
+        ______TS("recorded and stored respondents are updated and deleted");
+
+        fsDb.updateStudentRespondent("student@email.tmt", "new@email.tmt", fsa);
+        fsDb.updateStudentRespondent("stored@email.tmt", "newStored@email.tmt", fsa);
+        fsDb.deleteStudentRespondent("student2@email.tmt", fsa);
+        fsDb.deleteInstructorRespondent("instructor@email.tmt", fsa);
+
+        merged = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        fsDb.mergeRespondents(merged);
+        assertEquals(new HashSet<String>(Arrays.asList("newStored@email.tmt", "new@email.tmt")),
+                     merged.getRespondingStudentList());
+        assertTrue(merged.getRespondingInstructorList().isEmpty());
+
+        ______TS("clearing removes both recorded and stored respondents");
+
+        fsa = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        fsDb.clearStudentRespondents(fsa);
+
+        merged = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        fsDb.mergeRespondents(merged);
+        assertTrue(merged.getRespondingStudentList().isEmpty());
+
+        ______TS("respondents are deleted with the session");
+
+        fsDb.addStudentRespondent("student@email.tmt", fsa);
+        fsDb.deleteEntity(fsa);
+        assertFalse(fsDb.hasStudentRespondent("student@email.tmt", fsa));
+    }
+
     private FeedbackSessionAttributes getNewFeedbackSession() {
         FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
         fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
@@ -3,8 +3,14 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.ResultsPage;
 import teammates.common.datatransfer.attributes.StudentAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -285,6 +291,60 @@ public class StudentsDbTest extends BaseComponentTestCase {
 
     }
 
+    @Test
+    public void testGetStudentsForCoursePage() throws Exception {
+        String courseId = "valid-course-paged";
+        List<String> emails = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            StudentAttributes s = new StudentAttributes();
+            s.name = "paged student " + i;
+            s.course = courseId;
+            s.email = "paged" + i + "@email.com";
+            s.team = "validTeamName";
+            s.section = "validSectionName";
+            s.comments = "";
+            s.googleId = "";
+            studentsDb.createEntity(s);
+            emails.add(s.email);
+        }
+
+        ______TS("typical case: pages cover all students of the course exactly once");
+
+        Set<String> emailsRead = new HashSet<String>();
+        int numberOfPages = 0;
+        String cursor = null;
+        do {
+            ResultsPage<StudentAttributes> page = studentsDb.getStudentsForCoursePage(courseId, cursor, 2);
+            assertTrue(page.getResults().size() <= 2);
+            for (StudentAttributes student : page.getResults()) {
+                assertEquals(courseId, student.course);
+                assertTrue(emailsRead.add(student.email));
+            }
+            cursor = page.getNextCursor();
+            numberOfPages++;
+        } while (cursor != null);
+
+        assertEquals(new HashSet<String>(emails), emailsRead);
+        assertEquals(3, numberOfPages);
+
+        ______TS("page larger than the number of students");
+
+        ResultsPage<StudentAttributes> page = studentsDb.getStudentsForCoursePage(courseId, null, 10);
+        assertEquals(emails.size(), page.getResults().size());
+        assertFalse(page.hasNextPage());
+
+        ______TS("null params");
+
+        try {
+            studentsDb.getStudentsForCoursePage(null, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+
+        studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+    }
+
     private StudentAttributes createNewStudent() throws InvalidParametersException {
         StudentAttributes s = new StudentAttributes();
         s.name = "valid student";
@@ -126,10 +126,30 @@ public class StringHelperTest extends BaseTestCase {
 
         decrptedMsg = StringHelper.decrypt(StringHelper.encrypt(msg));
         assertEquals(msg, decrptedMsg);
+
+        // the ciphers are reused, so encrypting the same message again gives the same ciphertext
+        assertEquals(StringHelper.encrypt(msg), StringHelper.encrypt(msg));
     }
 
     @Test
-    public void testDecryptingInvalidCiphertextThrowsException() {
+    public void testKeyEncryptionInBatch() throws InvalidParametersException {
+        List<String> msgs = new ArrayList<String>();
+        assertTrue(StringHelper.encrypt(msgs).isEmpty());
+
+        msgs.add("First message");
+        msgs.add("");
+        msgs.add("First message");
+        List<String> encryptedMsgs = StringHelper.encrypt(msgs);
+
+        assertEquals(msgs.size(), encryptedMsgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            assertEquals(StringHelper.encrypt(msgs.get(i)), encryptedMsgs.get(i));
+            assertEquals(msgs.get(i), StringHelper.decrypt(encryptedMsgs.get(i)));
+        }
+    }
+
+    @Test
+    public void testDecryptingInvalidCiphertextThrowsException() throws InvalidParametersException {
         // The decrypt function converts a hex string into an array of bytes before decryption.
         // E.g AF is the byte 10101111
         // Hence, non-hex strings should fail to decrypt.
@@ -149,6 +169,10 @@ public class StringHelperTest extends BaseTestCase {
                 ignoreExpectedException();
             }
         }
+
+        // decryption still works after failing to decrypt invalid ciphertexts
+        String msg = "Test decryption";
+        assertEquals(msg, StringHelper.decrypt(StringHelper.encrypt(msg)));
     }
 
     @Test
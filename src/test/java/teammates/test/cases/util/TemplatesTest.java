@@ -0,0 +1,102 @@
+package teammates.test.cases.util;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link Templates}.
+ */
+public class TemplatesTest extends BaseTestCase {
+
+    @Test
+    public void testPopulateTemplate() {
+
+        ______TS("template without placeholders");
+
+        assertEquals("", Templates.populateTemplate(""));
+        assertEquals("plain text", Templates.populateTemplate("plain text", "${name}", "Alice"));
+
+        ______TS("typical case: placeholders at the start, middle and end of the template");
+
+        assertEquals("Alice, your course CS1101 is ready for Alice.",
+                Templates.populateTemplate("${name}, your course ${courseId} is ready for ${name}.",
+                        "${name}", "Alice",
+                        "${courseId}", "CS1101"));
+        assertEquals("CS1101", Templates.populateTemplate("${courseId}", "${courseId}", "CS1101"));
+
+        ______TS("placeholders without a value are left as they are");
+
+        assertEquals("Dear Alice, ${unknown}",
+                Templates.populateTemplate("Dear ${name}, ${unknown}", "${name}", "Alice"));
+
+        ______TS("placeholders given more than once take the first value");
+
+        assertEquals("Dear Alice",
+                Templates.populateTemplate("Dear ${name}", "${name}", "Alice", "${name}", "Bob"));
+
+        ______TS("incomplete and nested placeholders");
+
+        assertEquals("${name and $Alice",
+                Templates.populateTemplate("${name and $${name}", "${name}", "Alice"));
+        assertEquals("${a Alice}", Templates.populateTemplate("${a ${name}}", "${name}", "Alice"));
+
+        ______TS("values containing special characters are inserted as they are");
+
+        assertEquals("Dear $1 \\ ${",
+                Templates.populateTemplate("Dear ${name}", "${name}", "$1 \\ ${"));
+
+        ______TS("values containing placeholders are populated by later key-value pairs");
+
+        assertEquals("Dear Alice (CS1101)",
+                Templates.populateTemplate("Dear ${user}",
+                        "${user}", "${name} (${courseId})",
+                        "${name}", "Alice",
+                        "${courseId}", "CS1101"));
+
+        ______TS("keys which are not placeholders are replaced one after another");
+
+        assertEquals("{\"email\": \"alice@course.tmt\", \"course\": \"CS1101\"}",
+                Templates.populateTemplate("{\"email\": \"demo@demo.course\", \"course\": \"demo.course\"}",
+                        "demo@demo.course", "alice@demo.course",
+                        "demo.course", "course.tmt",
+                        "\"course.tmt\"", "\"CS1101\""));
+
+        ______TS("template read from a resource file gives the same result as replacing one after another");
+
+        String[] keyValuePairs = {
+                "${userName}", "Alice",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103",
+                "${feedbackSessionName}", "First Session",
+                "${deadline}", "Sun, 01 Jan 2017, 11:59 PM",
+                "${instructorFragment}", "",
+                "${sessionInstructions}", "Please answer all questions.",
+                "${submitUrl}", "http://localhost/submit",
+                "${reportUrl}", "http://localhost/report",
+                "${feedbackAction}", "submit",
+                "${status}", "is now open",
+                "${supportEmail}", "support@teammates.tmt",
+        };
+        String expected = EmailTemplates.USER_FEEDBACK_SESSION;
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            expected = expected.replace(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+        assertEquals(expected, Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION, keyValuePairs));
+    }
+
+    @Test
+    public void testAppendPopulatedTemplate() {
+        StringBuilder builder = new StringBuilder("List:");
+
+        Templates.appendPopulatedTemplate(builder, " ${item};", "${item}", "apple");
+        Templates.appendPopulatedTemplate(builder, " ${item};", "${item}", "banana");
+        assertEquals("List: apple; banana;", builder.toString());
+
+        Templates.appendPopulatedTemplate(builder, " item;", "item", "cherry");
+        assertEquals("List: apple; banana; cherry;", builder.toString());
+    }
+
+}
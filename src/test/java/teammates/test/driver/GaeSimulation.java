@@ -14,6 +14,7 @@ import com.google.appengine.api.log.dev.LocalLogService;
 import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalLogServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalMemcacheServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalModulesServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalSearchServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalServiceTestHelper;
@@ -75,8 +76,9 @@ public class GaeSimulation {
         localSearch.setPersistent(false);
         LocalModulesServiceTestConfig localModules = new LocalModulesServiceTestConfig();
         LocalLogServiceTestConfig localLog = new LocalLogServiceTestConfig();
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
         helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices,
-                                            localTasks, localSearch, localModules, localLog);
+                                            localTasks, localSearch, localModules, localLog, localMemcache);
         helper.setUp();
 
         sc = new ServletRunner().newClient();
@@ -176,8 +178,8 @@ public class GaeSimulation {
      * @param parameters Parameters that appear in a HttpServletRequest received by the app.
      */
     public AutomatedAction getAutomatedActionObject(String uri, String... parameters) {
-        HttpServletRequest req = createWebRequest(uri, parameters);
-        AutomatedAction action = new AutomatedActionFactory().getAction(req, null);
+        InvocationContext ic = createInvocation(uri, parameters);
+        AutomatedAction action = new AutomatedActionFactory().getAction(ic.getRequest(), ic.getResponse());
         action.setTaskQueuer(new MockTaskQueuer());
         action.setEmailSender(new MockEmailSender());
         return action;
@@ -198,6 +200,10 @@ public class GaeSimulation {
     }
 
     private HttpServletRequest createWebRequest(String uri, String... parameters) {
+        return createInvocation(uri, parameters).getRequest();
+    }
+
+    private InvocationContext createInvocation(String uri, String... parameters) {
 
         WebRequest request = new PostMethodWebRequest("http://localhost:8888" + uri);
 
@@ -216,8 +222,7 @@ public class GaeSimulation {
         }
 
         try {
-            InvocationContext ic = sc.newInvocation(request);
-            return ic.getRequest();
+            return sc.newInvocation(request);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -21,6 +21,20 @@ public class MockEmailSender extends EmailSender {
         sentEmails.add(email);
     }
 
+    @Override
+    public List<EmailWrapper> sendEmails(List<EmailWrapper> emails) {
+        sentEmails.addAll(emails);
+        return new ArrayList<EmailWrapper>();
+    }
+
+    /**
+     * Groups the emails into batches as the email sending service of {@link MockEmailSenderService} would.
+     */
+    @Override
+    public List<List<EmailWrapper>> groupIntoBatches(List<EmailWrapper> emails) {
+        return new MockEmailSenderService().groupIntoBatches(emails);
+    }
+
     @Override
     public List<EmailWrapper> getEmailsSent() {
         return sentEmails;
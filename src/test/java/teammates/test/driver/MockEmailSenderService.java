@@ -0,0 +1,50 @@
+package teammates.test.driver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.util.EmailWrapper;
+import teammates.logic.core.EmailSenderService;
+
+/**
+ * Allows mocking of the email sending services used in production.
+ *
+ * <p>Instead of actually calling an email sending service, the batches of emails the service
+ * would be called with are recorded, so that the number of calls made can be tracked.
+ */
+public class MockEmailSenderService extends EmailSenderService {
+
+    private static final int MAX_EMAILS_PER_BATCH = 10;
+
+    private List<List<EmailWrapper>> sentBatches = new ArrayList<List<EmailWrapper>>();
+
+    @Override
+    public EmailWrapper parseToEmail(EmailWrapper wrapper) {
+        return wrapper;
+    }
+
+    @Override
+    protected int getMaxEmailsPerBatch() {
+        return MAX_EMAILS_PER_BATCH;
+    }
+
+    @Override
+    protected void sendEmailWithService(EmailWrapper wrapper) {
+        List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+        batch.add(wrapper);
+        sentBatches.add(batch);
+    }
+
+    @Override
+    protected void sendEmailsWithService(List<EmailWrapper> batch) {
+        sentBatches.add(new ArrayList<EmailWrapper>(batch));
+    }
+
+    /**
+     * Returns the batches of emails sent, one for each call made to the service.
+     */
+    public List<List<EmailWrapper>> getBatchesSent() {
+        return sentBatches;
+    }
+
+}
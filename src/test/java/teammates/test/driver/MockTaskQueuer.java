@@ -1,6 +1,7 @@
 package teammates.test.driver;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,20 +13,17 @@ import teammates.logic.api.TaskQueuer;
  * Allows mocking of the {@link TaskQueuer} API used in production.
  *
  * <p>Instead of actually adding the task to the dev/production server's task queue,
- * the API will perform some operations that allow the queued tasks to be tracked.
+ * the API will perform some operations that allow the queued tasks, and the batches they are added in,
+ * to be tracked.
  */
 public class MockTaskQueuer extends TaskQueuer {
 
     private List<TaskWrapper> tasksAdded = new ArrayList<TaskWrapper>();
+    private List<List<TaskWrapper>> batchesAdded = new ArrayList<List<TaskWrapper>>();
 
     @Override
     protected void addTask(String queueName, String workerUrl, Map<String, String> paramMap) {
-        Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
-        for (Map.Entry<String, String> entrySet : paramMap.entrySet()) {
-            multisetParamMap.put(entrySet.getKey(), new String[] { entrySet.getValue() });
-        }
-        TaskWrapper task = new TaskWrapper(queueName, workerUrl, multisetParamMap);
-        tasksAdded.add(task);
+        addBatch(Arrays.asList(new TaskWrapper(queueName, workerUrl, toMultisetParamMap(paramMap))));
     }
 
     @Override
@@ -35,10 +33,48 @@ public class MockTaskQueuer extends TaskQueuer {
         addTask(queueName, workerUrl, paramMap);
     }
 
+    @Override
+    protected void addDeferredTasks(String queueName, String workerUrl, List<Map<String, String>> paramMaps,
+                                    long countdownTimeInterval) {
+        // countdown time not tested, the tasks of one call are recorded as one batch
+        List<TaskWrapper> batch = new ArrayList<TaskWrapper>();
+        for (Map<String, String> paramMap : paramMaps) {
+            batch.add(new TaskWrapper(queueName, workerUrl, toMultisetParamMap(paramMap)));
+        }
+        addBatch(batch);
+    }
+
+    @Override
+    protected void addDeferredTasksMultisetParam(String queueName, String workerUrl,
+                                                 List<Map<String, String[]>> paramMaps, long countdownTime,
+                                                 long countdownTimeInterval) {
+        // countdown time not tested, the tasks of one call are recorded as one batch
+        List<TaskWrapper> batch = new ArrayList<TaskWrapper>();
+        for (Map<String, String[]> paramMap : paramMaps) {
+            batch.add(new TaskWrapper(queueName, workerUrl, paramMap));
+        }
+        addBatch(batch);
+    }
+
     @Override
     protected void addTaskMultisetParam(String queueName, String workerUrl, Map<String, String[]> paramMap) {
-        TaskWrapper task = new TaskWrapper(queueName, workerUrl, paramMap);
-        tasksAdded.add(task);
+        addBatch(Arrays.asList(new TaskWrapper(queueName, workerUrl, paramMap)));
+    }
+
+    private void addBatch(List<TaskWrapper> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        tasksAdded.addAll(batch);
+        batchesAdded.add(batch);
+    }
+
+    private static Map<String, String[]> toMultisetParamMap(Map<String, String> paramMap) {
+        Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
+        for (Map.Entry<String, String> entrySet : paramMap.entrySet()) {
+            multisetParamMap.put(entrySet.getKey(), new String[] { entrySet.getValue() });
+        }
+        return multisetParamMap;
     }
 
     @Override
@@ -60,4 +96,18 @@ public class MockTaskQueuer extends TaskQueuer {
         return numberOfTasksAdded;
     }
 
+    @Override
+    public Map<String, Integer> getNumberOfBatchesAdded() {
+        Map<String, Integer> numberOfBatchesAdded = new HashMap<String, Integer>();
+        for (List<TaskWrapper> batch : batchesAdded) {
+            String queueName = batch.get(0).getQueueName();
+            if (!numberOfBatchesAdded.containsKey(queueName)) {
+                numberOfBatchesAdded.put(queueName, 0);
+            }
+            int oldBatchCount = numberOfBatchesAdded.get(queueName);
+            numberOfBatchesAdded.put(queueName, oldBatchCount + 1);
+        }
+        return numberOfBatchesAdded;
+    }
+
 }